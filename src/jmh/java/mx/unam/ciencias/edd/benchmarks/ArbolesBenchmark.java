@@ -0,0 +1,81 @@
+package mx.unam.ciencias.edd.benchmarks;
+
+import mx.unam.ciencias.edd.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Pruebas de rendimiento de {@link ArbolBinarioOrdenado}, {@link ArbolAVL}
+ * y {@link ArbolRojinegro}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArbolesBenchmark {
+
+    /** El tipo de árbol. */
+    @Param({"ArbolBinarioOrdenado", "ArbolAVL", "ArbolRojinegro"})
+    public String arbol;
+
+    /** El número de elementos. */
+    @Param({"100", "1000", "10000", "100000", "1000000"})
+    public int n;
+
+    /* Los elementos. */
+    private Integer[] datos;
+    /* Un árbol con los elementos. */
+    private ArbolBinarioOrdenado<Integer> lleno;
+    /* El siguiente índice a buscar o reemplazar. */
+    private int siguiente;
+
+    /* Regresa un árbol vacío del tipo del parámetro. */
+    private ArbolBinarioOrdenado<Integer> nuevo() {
+        switch (arbol) {
+          case "ArbolAVL":
+            return new ArbolAVL<Integer>();
+          case "ArbolRojinegro":
+            return new ArbolRojinegro<Integer>();
+          default:
+            return new ArbolBinarioOrdenado<Integer>();
+        }
+    }
+
+    /** Prepara los datos. */
+    @Setup(Level.Trial)
+    public void prepara() {
+        datos = Datos.aleatorios(n);
+        lleno = nuevo();
+        for (Integer e : datos) {
+          lleno.agrega(e);
+        }
+    }
+
+    /** Agrega n elementos a un árbol vacío. */
+    @Benchmark
+    public ArbolBinarioOrdenado<Integer> agrega() {
+        ArbolBinarioOrdenado<Integer> a = nuevo();
+        for (Integer e : datos) {
+          a.agrega(e);
+        }
+        return a;
+    }
+
+    /** Busca un elemento del árbol. */
+    @Benchmark
+    public boolean busca() {
+        siguiente = (siguiente + 7919) % n;
+        return lleno.contiene(datos[siguiente]);
+    }
+
+    /** Elimina un elemento del árbol y lo vuelve a agregar. */
+    @Benchmark
+    public ArbolBinarioOrdenado<Integer> eliminaAgrega() {
+        siguiente = (siguiente + 7919) % n;
+        lleno.elimina(datos[siguiente]);
+        lleno.agrega(datos[siguiente]);
+        return lleno;
+    }
+}
@@ -0,0 +1,104 @@
+package mx.unam.ciencias.edd.benchmarks;
+
+import mx.unam.ciencias.edd.*;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Pruebas de rendimiento de {@link Arreglos}, con entradas aleatorias,
+ * ordenadas, en orden inverso y con muchos repetidos. Los ordenamientos se
+ * comparan con {@link Arrays#sort(Object[])}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArreglosBenchmark {
+
+    /** El número de elementos. */
+    @Param({"100", "1000", "10000", "100000", "1000000"})
+    public int n;
+
+    /**
+     * Cómo están acomodados los elementos: ALEATORIOS, ORDENADOS, INVERSOS o
+     * REPETIDOS (sólo 16 valores distintos).
+     */
+    @Param({"ALEATORIOS", "ORDENADOS", "INVERSOS", "REPETIDOS"})
+    public String distribucion;
+
+    /* Los elementos sin ordenar. */
+    private Integer[] datos;
+    /* Los elementos ordenados. */
+    private Integer[] ordenados;
+    /* La copia que ordena cada invocación. */
+    private Integer[] copia;
+    /* El siguiente índice a buscar. */
+    private int siguiente;
+
+    /** Prepara los datos. */
+    @Setup(Level.Trial)
+    public void prepara() {
+        datos = Datos.aleatorios(n);
+        switch (distribucion) {
+          case "ORDENADOS":
+            Arrays.sort(datos);
+            break;
+          case "INVERSOS":
+            Arrays.sort(datos);
+            for (int i = 0, j = n-1; i < j; i++, j--) {
+              Integer t = datos[i];
+              datos[i] = datos[j];
+              datos[j] = t;
+            }
+            break;
+          case "REPETIDOS":
+            Random r = new Random(Datos.SEMILLA);
+            for (int i = 0; i < n; i++) {
+              datos[i] = r.nextInt(16);
+            }
+            break;
+          default:
+            break;
+        }
+        ordenados = datos.clone();
+        Arrays.sort(ordenados);
+    }
+
+    /** Copia los datos antes de cada ordenamiento. */
+    @Setup(Level.Invocation)
+    public void copia() {
+        copia = datos.clone();
+    }
+
+    /** Ordena los n elementos. */
+    @Benchmark
+    public Integer[] quickSort() {
+        Arreglos.quickSort(copia);
+        return copia;
+    }
+
+    /** Ordena los n elementos en paralelo. */
+    @Benchmark
+    public Integer[] quickSortParalelo() {
+        Arreglos.quickSortParalelo(copia);
+        return copia;
+    }
+
+    /** Ordena los n elementos con la biblioteca de Java, como referencia. */
+    @Benchmark
+    public Integer[] arraysSort() {
+        Arrays.sort(copia);
+        return copia;
+    }
+
+    /** Busca un elemento del arreglo ordenado. */
+    @Benchmark
+    public int busquedaBinaria() {
+        siguiente = (siguiente + 7919) % n;
+        return Arreglos.busquedaBinaria(ordenados, ordenados[siguiente]);
+    }
+}
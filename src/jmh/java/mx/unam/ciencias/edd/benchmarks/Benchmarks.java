@@ -0,0 +1,43 @@
+package mx.unam.ciencias.edd.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Clase Benchmarks.
+ * Punto de entrada del jar de pruebas de rendimiento. Acepta las mismas
+ * opciones que JMH, pero si no se indica otra cosa guarda los resultados en
+ * JSON en <code>jmh-result.json</code>, para compararlos entre versiones.
+ */
+public class Benchmarks {
+
+    /** El archivo de resultados por omisión. */
+    public static final String RESULTADOS = "jmh-result.json";
+
+    /* Constructor privado, la clase sólo tiene el método main. */
+    private Benchmarks() {}
+
+    /**
+     * Corre las pruebas de rendimiento.
+     * @param args las opciones de JMH.
+     * @throws CommandLineOptionException si las opciones no son válidas.
+     * @throws RunnerException si falla alguna prueba.
+     */
+    public static void main(String[] args)
+        throws CommandLineOptionException, RunnerException {
+        CommandLineOptions opciones = new CommandLineOptions(args);
+        ChainedOptionsBuilder constructor = new OptionsBuilder().parent(opciones);
+        if (!opciones.getResultFormat().hasValue()) {
+          constructor.resultFormat(ResultFormatType.JSON);
+        }
+        if (!opciones.getResult().hasValue()) {
+          constructor.result(RESULTADOS);
+        }
+        new Runner(constructor.build()).run();
+    }
+}
@@ -0,0 +1,97 @@
+package mx.unam.ciencias.edd.benchmarks;
+
+import mx.unam.ciencias.edd.*;
+import java.util.HashSet;
+import java.util.Random;
+
+/**
+ * Clase Datos.
+ * Entradas reproducibles para las pruebas de rendimiento: todas usan la
+ * misma semilla, así que dos corridas miden exactamente los mismos datos.
+ */
+public class Datos {
+
+    /** La semilla de todas las entradas. */
+    public static final long SEMILLA = 2020L;
+
+    /* Constructor privado, la clase sólo tiene métodos estáticos. */
+    private Datos() {}
+
+    /**
+     * Regresa n enteros no negativos aleatorios.
+     * @param n el número de enteros.
+     * @return un arreglo con n enteros aleatorios en [0, 4n).
+     */
+    public static Integer[] aleatorios(int n) {
+        Random r = new Random(SEMILLA);
+        Integer[] a = new Integer[n];
+        for (int i = 0; i < n; i++) {
+          a[i] = r.nextInt(4*n);
+        }
+        return a;
+    }
+
+    /**
+     * Regresa una lista con n enteros no negativos aleatorios.
+     * @param n el número de enteros.
+     * @return una lista con los enteros de {@link #aleatorios}.
+     */
+    public static ListaEnteros enteros(int n) {
+        ListaEnteros l = new ListaEnteros(n);
+        for (Integer e : aleatorios(n)) {
+          l.agrega(e);
+        }
+        return l;
+    }
+
+    /**
+     * Regresa una lista con n enteros en pares, lista para graficarse como
+     * gráfica: n/2 aristas aleatorias distintas y sin lazos sobre n/2
+     * vértices.
+     * @param n el número de enteros; se redondea a un número par.
+     * @return una lista con los extremos de las aristas.
+     */
+    public static ListaEnteros aristas(int n) {
+        Random r = new Random(SEMILLA);
+        int v = Math.max(n/2, 3);
+        HashSet<Long> vistas = new HashSet<Long>();
+        ListaEnteros l = new ListaEnteros(n);
+        while (l.getElementos() + 1 < n) {
+          int a = r.nextInt(v);
+          int b = r.nextInt(v);
+          long llave = (long)Math.min(a, b) * v + Math.max(a, b);
+          if (a == b || !vistas.add(llave)) {
+            continue;
+          }
+          l.agrega(a);
+          l.agrega(b);
+        }
+        return l;
+    }
+
+    /**
+     * Clase Descarta.
+     * Un {@link Appendable} que descarta lo que recibe y sólo cuenta los
+     * caracteres, para medir a los graficadores sin medir la escritura.
+     */
+    public static class Descarta implements Appendable {
+
+        /** Los caracteres recibidos. */
+        public long caracteres;
+
+        @Override public Appendable append(CharSequence csq) {
+            caracteres += csq.length();
+            return this;
+        }
+
+        @Override public Appendable append(CharSequence csq, int inicio, int fin) {
+            caracteres += fin - inicio;
+            return this;
+        }
+
+        @Override public Appendable append(char c) {
+            caracteres++;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package mx.unam.ciencias.edd.benchmarks;
+
+import mx.unam.ciencias.edd.*;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Pruebas de rendimiento de Dijkstra con cada {@link MonticuloDijkstra},
+ * sobre gráficas aleatorias de distintas densidades. Las gráficas se guardan
+ * en arreglos, como en {@link GraficaCompacta}, para medir sólo los
+ * montículos. {@link EligeMonticulo} corre estas pruebas y elige el mejor
+ * montículo para cada densidad.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DijkstraBenchmark {
+
+    /**
+     * Enumeración de las densidades: el número de vértices y el grado
+     * promedio de cada gráfica.
+     */
+    public enum Densidad {
+        /** 20000 vértices de grado 4. */
+        DISPERSA(20000, 4),
+        /** 5000 vértices de grado 64. */
+        MEDIA(5000, 64),
+        /** 2000 vértices de grado 500. */
+        DENSA(2000, 500),
+        /** 1000 vértices de grado 999: la gráfica completa. */
+        COMPLETA(1000, 999);
+
+        /** El número de vértices. */
+        public final int vertices;
+        /** El grado promedio. */
+        public final int grado;
+
+        /* Define la densidad. */
+        Densidad(int vertices, int grado) {
+            this.vertices = vertices;
+            this.grado = grado;
+        }
+    }
+
+    /** Enumeración de los montículos. */
+    public enum Monticulo {
+        /** {@link MonticuloArreglo}. */
+        ARREGLO,
+        /** {@link MonticuloMinimo} binario. */
+        MINIMO,
+        /** {@link MonticuloMinimo} de aridad 4. */
+        MINIMO4,
+        /** {@link MonticuloEmparejamiento}. */
+        EMPAREJAMIENTO;
+
+        /**
+         * Crea el montículo con todos los valores.
+         * @param valores los valores.
+         * @param n el número de valores.
+         * @return el montículo.
+         */
+        public MonticuloDijkstra<ValorIndexable<Integer>>
+        crea(Lista<ValorIndexable<Integer>> valores, int n) {
+            switch (this) {
+              case ARREGLO:
+                return new MonticuloArreglo<ValorIndexable<Integer>>(valores, n);
+              case MINIMO:
+                return new MonticuloMinimo<ValorIndexable<Integer>>(valores, n);
+              case MINIMO4:
+                return new MonticuloMinimo<ValorIndexable<Integer>>(valores, n, 4);
+              default:
+                return new MonticuloEmparejamiento<ValorIndexable<Integer>>(valores, n);
+            }
+        }
+    }
+
+    /** La densidad de la gráfica. */
+    @Param({"DISPERSA", "MEDIA", "DENSA", "COMPLETA"})
+    public Densidad densidad;
+
+    /** El montículo. */
+    @Param({"ARREGLO", "MINIMO", "MINIMO4", "EMPAREJAMIENTO"})
+    public Monticulo monticulo;
+
+    /* Dónde empiezan los vecinos de cada vértice; tiene n+1 entradas. */
+    private int[] inicios;
+    /* Los vecinos de todos los vértices, uno tras otro. */
+    private int[] vecinos;
+    /* El peso de cada arista en vecinos. */
+    private int[] pesos;
+
+    /**
+     * Prepara la gráfica: un árbol aleatorio, para que sea conexa, y aristas
+     * aleatorias hasta llegar al grado promedio, con pesos de 1 a 1000. La
+     * gráfica completa tiene todas las aristas.
+     */
+    @Setup(Level.Trial)
+    public void prepara() {
+        Random r = new Random(Datos.SEMILLA);
+        int n = densidad.vertices;
+        int m = (int)((long)n * densidad.grado / 2);
+        int[] a = new int[m];
+        int[] b = new int[m];
+        int k = 0;
+        if (densidad == Densidad.COMPLETA) {
+          for (int i = 0; i < n; i++) {
+            for (int j = 0; j < i; j++, k++) {
+              a[k] = i;
+              b[k] = j;
+            }
+          }
+        }
+        for (; k < m; k++) {
+          a[k] = k < n-1 ? k+1 : r.nextInt(n);
+          b[k] = k < n-1 ? r.nextInt(k+1) : r.nextInt(n);
+          if (a[k] == b[k]) {
+            b[k] = (b[k] + 1) % n;
+          }
+        }
+        inicios = new int[n+1];
+        for (int i = 0; i < m; i++) {
+          inicios[a[i]+1]++;
+          inicios[b[i]+1]++;
+        }
+        for (int i = 0; i < n; i++) {
+          inicios[i+1] += inicios[i];
+        }
+        int[] siguiente = new int[n];
+        System.arraycopy(inicios, 0, siguiente, 0, n);
+        vecinos = new int[2*m];
+        pesos = new int[2*m];
+        for (int i = 0; i < m; i++) {
+          int p = 1 + r.nextInt(1000);
+          vecinos[siguiente[a[i]]] = b[i];
+          pesos[siguiente[a[i]]++] = p;
+          vecinos[siguiente[b[i]]] = a[i];
+          pesos[siguiente[b[i]]++] = p;
+        }
+    }
+
+    /**
+     * Calcula las distancias desde el vértice 0, con todos los vértices en
+     * el montículo desde el inicio y {@link MonticuloDijkstra#disminuye} por
+     * cada trayectoria más corta.
+     * @return la suma de las distancias.
+     */
+    @Benchmark
+    public double dijkstra() {
+        int n = densidad.vertices;
+        @SuppressWarnings("unchecked") ValorIndexable<Integer>[] valores =
+            (ValorIndexable<Integer>[])new ValorIndexable[n];
+        Lista<ValorIndexable<Integer>> todos = new Lista<ValorIndexable<Integer>>();
+        for (int i = 0; i < n; i++) {
+          valores[i] = new ValorIndexable<Integer>(i, i == 0 ? 0 : Double.POSITIVE_INFINITY);
+          todos.agrega(valores[i]);
+        }
+        MonticuloDijkstra<ValorIndexable<Integer>> m = monticulo.crea(todos, n);
+        double suma = 0;
+        while (!m.esVacia()) {
+          ValorIndexable<Integer> u = m.elimina();
+          double d = u.getValor();
+          suma += d;
+          int v = u.getElemento();
+          for (int k = inicios[v]; k < inicios[v+1]; k++) {
+            ValorIndexable<Integer> w = valores[vecinos[k]];
+            if (w.getIndice() >= 0 && d + pesos[k] < w.getValor()) {
+              w.setValor(d + pesos[k]);
+              m.disminuye(w);
+            }
+          }
+        }
+        return suma;
+    }
+}
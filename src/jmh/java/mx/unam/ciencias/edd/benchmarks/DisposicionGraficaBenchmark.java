@@ -0,0 +1,102 @@
+package mx.unam.ciencias.edd.benchmarks;
+
+import mx.unam.ciencias.edd.*;
+import mx.unam.ciencias.edd.proyecto2.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Pruebas de rendimiento de las disposiciones de {@link Graficador} para
+ * gráficas: acomodar <i>n</i> vértices con unas <i>n</i> aristas de {@link
+ * Datos#aristas}, en uno y en varios hilos, toda la gráfica o cada
+ * componente por separado con {@link DisposicionComponentes}. Las fuerzas
+ * tardan segundos con 10<sup>4</sup> vértices, así que hay pocas
+ * iteraciones.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 1, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class DisposicionGraficaBenchmark {
+
+    /** El número de vértices. */
+    @Param({"1000", "10000"})
+    public int n;
+
+    /** La disposición, sin iteraciones. */
+    @Param({"zigzag", "circular", "capas", "fuerzas"})
+    public String disposicion;
+
+    /** Los hilos de las capas y las fuerzas. */
+    @Param({"1", "4"})
+    public int hilos;
+
+    /* La gráfica. */
+    private GraficaCompacta<Integer> compacta;
+    /* La disposición. */
+    private DisposicionGrafica d;
+    /* La disposición por componentes. */
+    private DisposicionComponentes porComponentes;
+    /* Las componentes de la gráfica. */
+    private ComponentesConexas<Integer> componentes;
+    /* Las coordenadas. */
+    private int[] x, y;
+
+    /** Prepara los datos. */
+    @Setup(Level.Trial)
+    public void prepara() {
+        ListaEnteros aristas = Datos.aristas(2 * n);
+        Grafica<Integer> g = new Grafica<Integer>();
+        for (int i = 0; i < aristas.getElementos(); i += 2) {
+          int a = aristas.get(i);
+          int b = aristas.get(i+1);
+          if (!g.contiene(a)) {
+            g.agrega(a);
+          }
+          if (!g.contiene(b)) {
+            g.agrega(b);
+          }
+          g.conecta(a, b);
+        }
+        compacta = g.compacta();
+        switch (disposicion) {
+          case "capas":
+            d = new DisposicionCapas(DisposicionCapas.ITERACIONES, hilos);
+          break;
+
+          case "fuerzas":
+            d = new DisposicionFuerzas(DisposicionFuerzas.ITERACIONES, hilos);
+          break;
+
+          default:
+            d = DisposicionGrafica.elige(disposicion);
+          break;
+        }
+        porComponentes = new DisposicionComponentes(d, hilos);
+        componentes = compacta.componentes();
+        x = new int[compacta.getElementos()];
+        y = new int[compacta.getElementos()];
+    }
+
+    /**
+     * Acomoda la gráfica.
+     * @return la abscisa del primer vértice.
+     */
+    @Benchmark
+    public int acomoda() {
+        d.acomoda(compacta, x, y);
+        return x[0];
+    }
+
+    /**
+     * Acomoda cada componente de la gráfica por separado y las empaca.
+     * @return la abscisa del primer vértice.
+     */
+    @Benchmark
+    public int acomodaPorComponentes() {
+        porComponentes.acomoda(componentes, x, y);
+        return x[0];
+    }
+}
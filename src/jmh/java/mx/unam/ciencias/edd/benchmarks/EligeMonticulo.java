@@ -0,0 +1,61 @@
+package mx.unam.ciencias.edd.benchmarks;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Clase EligeMonticulo.
+ * Corre {@link DijkstraBenchmark} y escribe, para cada densidad, el
+ * montículo más rápido y cuánto tardó cada uno. Acepta las mismas opciones
+ * que JMH, por ejemplo <code>-p densidad=DISPERSA,MEDIA</code>.
+ */
+public class EligeMonticulo {
+
+    /* Constructor privado, la clase sólo tiene el método main. */
+    private EligeMonticulo() {}
+
+    /**
+     * Corre las pruebas y escribe el mejor montículo por densidad.
+     * @param args las opciones de JMH.
+     * @throws CommandLineOptionException si las opciones no son válidas.
+     * @throws RunnerException si falla alguna prueba.
+     */
+    public static void main(String[] args)
+        throws CommandLineOptionException, RunnerException {
+        CommandLineOptions opciones = new CommandLineOptions(args);
+        Collection<RunResult> resultados =
+            new Runner(new OptionsBuilder().parent(opciones)
+                       .include(DijkstraBenchmark.class.getSimpleName())
+                       .build()).run();
+        /* Por densidad, los tiempos de cada montículo y el mejor. */
+        Map<String, StringBuilder> tiempos = new TreeMap<String, StringBuilder>();
+        Map<String, RunResult> mejores = new TreeMap<String, RunResult>();
+        for (RunResult r : resultados) {
+          String densidad = r.getParams().getParam("densidad");
+          if (!tiempos.containsKey(densidad)) {
+            tiempos.put(densidad, new StringBuilder());
+          }
+          tiempos.get(densidad).append(String.format(" %s=%.1f",
+              r.getParams().getParam("monticulo"), r.getPrimaryResult().getScore()));
+          RunResult mejor = mejores.get(densidad);
+          if (mejor == null
+              || r.getPrimaryResult().getScore() < mejor.getPrimaryResult().getScore()) {
+            mejores.put(densidad, r);
+          }
+        }
+        for (Map.Entry<String, RunResult> e : mejores.entrySet()) {
+          RunResult mejor = e.getValue();
+          System.out.printf("%-9s mejor: %-14s (%s)%s%n", e.getKey(),
+                            mejor.getParams().getParam("monticulo"),
+                            mejor.getPrimaryResult().getScoreUnit(),
+                            tiempos.get(e.getKey()));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package mx.unam.ciencias.edd.benchmarks;
+
+import mx.unam.ciencias.edd.*;
+import mx.unam.ciencias.edd.proyecto2.*;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Pruebas de rendimiento de {@link EmisorArbol}: escribir un árbol AVL ya
+ * acomodado, en un solo hilo y en paralelo.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmisorArbolBenchmark {
+
+    /** El número de elementos. */
+    @Param({"10000", "100000", "1000000"})
+    public int n;
+
+    /* El árbol plano. */
+    private ArbolPlano plano;
+    /* Las coordenadas de los vértices. */
+    private int[] x, y;
+    /* Las figuras de cada vértice. */
+    private EmisorArbol.EstiloVertice estilo;
+
+    /** Prepara los datos. */
+    @Setup(Level.Trial)
+    public void prepara() {
+        ArbolAVL<Integer> arbol = new ArbolAVL<Integer>();
+        for (Integer e : Datos.aleatorios(n)) {
+          arbol.agrega(e);
+        }
+        plano = ArbolPlano.deArbol(arbol);
+        x = new int[plano.getElementos()];
+        y = new int[plano.getElementos()];
+        Disposicion.elige(plano).acomoda(plano, x, y);
+        estilo = (p, i, xi, yi, salida) ->
+            salida.append("<circle cx='").append(String.valueOf(xi))
+                  .append("' cy='").append(String.valueOf(yi))
+                  .append("' r='20'/>").append(String.valueOf(p.getValor(i)));
+    }
+
+    /**
+     * Escribe el árbol en un solo hilo.
+     * @return el número de caracteres escritos.
+     * @throws IOException nunca; la salida descarta lo que recibe.
+     */
+    @Benchmark
+    public long secuencial() throws IOException {
+        Datos.Descarta salida = new Datos.Descarta();
+        EmisorArbol.emite(plano, x, y, estilo, salida, 0, plano.getElementos());
+        return salida.caracteres;
+    }
+
+    /**
+     * Escribe el árbol en paralelo.
+     * @return el número de caracteres escritos.
+     * @throws IOException nunca; la salida descarta lo que recibe.
+     */
+    @Benchmark
+    public long paralelo() throws IOException {
+        Datos.Descarta salida = new Datos.Descarta();
+        EmisorArbol.emiteParalelo(plano, x, y, estilo, salida);
+        return salida.caracteres;
+    }
+}
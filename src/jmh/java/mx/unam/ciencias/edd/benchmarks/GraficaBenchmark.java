@@ -0,0 +1,145 @@
+package mx.unam.ciencias.edd.benchmarks;
+
+import mx.unam.ciencias.edd.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Pruebas de rendimiento de {@link Grafica}. Cada gráfica tiene n/2
+ * vértices y las aristas de {@link Datos#aristas}. Para Dijkstra también hay
+ * una gráfica completa con más o menos el mismo número de aristas, que usa
+ * el montículo de arreglo en lugar del montículo mínimo.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GraficaBenchmark {
+
+    /** El número de enteros de la entrada (el doble de las aristas). */
+    @Param({"100", "1000", "10000", "100000", "1000000"})
+    public int n;
+
+    /* Los extremos de las aristas. */
+    private ListaEnteros aristas;
+    /* Una gráfica con todas las aristas. */
+    private Grafica<Integer> grafica;
+    /* La fotografía compacta de la gráfica. */
+    private GraficaCompacta<Integer> compacta;
+    /* Una gráfica completa con pesos, con unas n/2 aristas. */
+    private Grafica<Integer> densa;
+    /* La siguiente arista a consultar. */
+    private int siguiente;
+
+    /** Prepara los datos. */
+    @Setup(Level.Trial)
+    public void prepara() {
+        aristas = Datos.aristas(n);
+        grafica = construye();
+        compacta = grafica.compacta();
+        densa = new Grafica<Integer>();
+        int k = (int)Math.sqrt(n);
+        for (int i = 0; i < k; i++) {
+          densa.agrega(i);
+          for (int j = 0; j < i; j++) {
+            densa.conecta(i, j, 1 + (i*31 + j*17) % 100);
+          }
+        }
+    }
+
+    /* Construye la gráfica con todas las aristas. */
+    private Grafica<Integer> construye() {
+        Grafica<Integer> g = new Grafica<Integer>();
+        for (int i = 0; i < aristas.getElementos(); i += 2) {
+          int a = aristas.get(i);
+          int b = aristas.get(i+1);
+          if (!g.contiene(a)) {
+            g.agrega(a);
+          }
+          if (!g.contiene(b)) {
+            g.agrega(b);
+          }
+          if (!g.sonVecinos(a, b)) {
+            g.conecta(a, b);
+          }
+        }
+        return g;
+    }
+
+    /** Construye la gráfica agregando vértices y conectándolos. */
+    @Benchmark
+    public Grafica<Integer> conecta() {
+        return construye();
+    }
+
+    /** Pregunta si los extremos de una arista son vecinos. */
+    @Benchmark
+    public boolean sonVecinos() {
+        siguiente = (siguiente + 2) % (aristas.getElementos() - 1);
+        siguiente -= siguiente % 2;
+        return grafica.sonVecinos(aristas.get(siguiente), aristas.get(siguiente+1));
+    }
+
+    /** Recorre la componente del primer vértice en BFS. */
+    @Benchmark
+    public void bfs(Blackhole bh) {
+        grafica.bfs(aristas.get(0), v -> bh.consume(v.get()));
+    }
+
+    /** Recorre la componente del primer vértice en DFS. */
+    @Benchmark
+    public void dfs(Blackhole bh) {
+        grafica.dfs(aristas.get(0), v -> bh.consume(v.get()));
+    }
+
+    /** Toma la fotografía compacta de la gráfica. */
+    @Benchmark
+    public GraficaCompacta<Integer> compacta() {
+        return grafica.compacta();
+    }
+
+    /** Recorre la componente del primer vértice en BFS sobre la fotografía. */
+    @Benchmark
+    public void bfsCompacta(Blackhole bh) {
+        compacta.bfs(0, bh::consume);
+    }
+
+    /** Recorre la componente del primer vértice en DFS sobre la fotografía. */
+    @Benchmark
+    public void dfsCompacta(Blackhole bh) {
+        compacta.dfs(0, bh::consume);
+    }
+
+    /** Nos dice si la gráfica es conexa, sobre la fotografía. */
+    @Benchmark
+    public boolean esConexaCompacta() {
+        return compacta.esConexa();
+    }
+
+    /** Calcula las componentes conexas, sobre la fotografía. */
+    @Benchmark
+    public ComponentesConexas<Integer> componentesCompacta() {
+        return compacta.componentes();
+    }
+
+    /** Calcula las trayectorias mínimas desde el primer vértice. */
+    @Benchmark
+    public TrayectoriasMinimas<Integer> dijkstra() {
+        return grafica.dijkstra(aristas.get(0));
+    }
+
+    /** Calcula las trayectorias mínimas en la gráfica completa. */
+    @Benchmark
+    public TrayectoriasMinimas<Integer> dijkstraDensa() {
+        return densa.dijkstra(0);
+    }
+
+    /** Busca la trayectoria mínima entre los extremos de una arista lejana. */
+    @Benchmark
+    public Lista<VerticeGrafica<Integer>> trayectoriaMinima() {
+        return grafica.trayectoriaMinima(aristas.get(0), aristas.get(aristas.getElementos()-1));
+    }
+}
@@ -0,0 +1,75 @@
+package mx.unam.ciencias.edd.benchmarks;
+
+import mx.unam.ciencias.edd.*;
+import mx.unam.ciencias.edd.proyecto2.*;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Pruebas de rendimiento de punta a punta de {@link Graficador}: construir la
+ * estructura a partir de los enteros y escribir su SVG, que se descarta.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GraficadorBenchmark {
+
+    /** La estructura a graficar. */
+    @Param({"LISTA", "PILA", "COLA", "ARBOLCOMPLETO", "ARBOLORDENADO",
+            "ARBOLROJINEGRO", "ARBOLAVL", "GRAFICA", "MONTICULOMINIMO"})
+    public Estructura estructura;
+
+    /** El número de elementos. */
+    @Param({"100", "1000", "10000", "100000", "1000000"})
+    public int n;
+
+    /* Los elementos. */
+    private ListaEnteros enteros;
+    /* El graficador. */
+    private Graficador graficador;
+    /* Una caché en memoria que ya tiene la gráfica. */
+    private CacheGraficas cache;
+
+    /** Prepara los datos. */
+    @Setup(Level.Trial)
+    public void prepara() {
+        enteros = estructura == Estructura.GRAFICA ? Datos.aristas(n) : Datos.enteros(n);
+        graficador = new Graficador();
+        graficador.estructura(estructura);
+        cache = new CacheGraficas(Long.MAX_VALUE);
+        try {
+          cache.grafica(graficador, enteros, new Datos.Descarta());
+        } catch (IOException ioe) {
+          throw new IllegalStateException(ioe);
+        }
+    }
+
+    /**
+     * Grafica la estructura.
+     * @return el número de caracteres escritos.
+     * @throws IOException nunca; la salida descarta lo que recibe.
+     */
+    @Benchmark
+    public long grafica() throws IOException {
+        Datos.Descarta salida = new Datos.Descarta();
+        graficador.grafica(enteros, salida);
+        return salida.caracteres;
+    }
+
+    /**
+     * Escribe la gráfica desde la caché en memoria, sin construir la
+     * estructura; incluye calcular la llave de los enteros.
+     * @return el número de caracteres escritos.
+     * @throws IOException nunca; la salida descarta lo que recibe.
+     */
+    @Benchmark
+    public long graficaCacheada() throws IOException {
+        Datos.Descarta salida = new Datos.Descarta();
+        cache.grafica(graficador, enteros, salida);
+        return salida.caracteres;
+    }
+}
@@ -0,0 +1,80 @@
+package mx.unam.ciencias.edd.benchmarks;
+
+import mx.unam.ciencias.edd.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Pruebas de rendimiento de {@link Lista}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListaBenchmark {
+
+    /** El número de elementos. */
+    @Param({"100", "1000", "10000", "100000", "1000000"})
+    public int n;
+
+    /* Los elementos. */
+    private Integer[] datos;
+    /* Una lista con los elementos. */
+    private Lista<Integer> lista;
+
+    /** Prepara los datos. */
+    @Setup(Level.Trial)
+    public void prepara() {
+        datos = Datos.aleatorios(n);
+        lista = new Lista<Integer>();
+        for (Integer e : datos) {
+          lista.agrega(e);
+        }
+    }
+
+    /** Agrega n elementos a una lista vacía. */
+    @Benchmark
+    public Lista<Integer> agrega() {
+        Lista<Integer> l = new Lista<Integer>();
+        for (Integer e : datos) {
+          l.agrega(e);
+        }
+        return l;
+    }
+
+    /** Obtiene el elemento de en medio. */
+    @Benchmark
+    public Integer get() {
+        return lista.get(n/2);
+    }
+
+    /** Inserta un elemento a la mitad y lo vuelve a eliminar. */
+    @Benchmark
+    public Lista<Integer> insertaElimina() {
+        lista.inserta(n/2, -1);
+        lista.elimina(-1);
+        return lista;
+    }
+
+    /** Ordena una copia de la lista. */
+    @Benchmark
+    public Lista<Integer> mergeSort() {
+        return Lista.mergeSort(lista);
+    }
+
+    /** Ordena una copia de la lista en paralelo. */
+    @Benchmark
+    public Lista<Integer> mergeSortParalelo() {
+        return Lista.mergeSortParalelo(lista);
+    }
+
+    /** Copia la lista y la ordena en su lugar; la copia es lo único que crea nodos. */
+    @Benchmark
+    public Lista<Integer> ordena() {
+        Lista<Integer> l = lista.copia();
+        l.ordena((a, b) -> a.compareTo(b));
+        return l;
+    }
+}
@@ -0,0 +1,130 @@
+package mx.unam.ciencias.edd.benchmarks;
+
+import mx.unam.ciencias.edd.*;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Pruebas de rendimiento de {@link MonticuloMinimo} binario contra los de
+ * aridad 4 y 8 con cargas como las de Dijkstra: sacar el mínimo y disminuir
+ * el valor de algunos de los que quedan, tantos como el grado promedio.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MonticuloIndexadoBenchmark {
+
+    /** El número de elementos. */
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int n;
+
+    /** El número de hijos de cada vértice del montículo. */
+    @Param({"2", "4", "8"})
+    public int aridad;
+
+    /** Cuántas disminuciones hay por cada mínimo que sale. */
+    @Param({"2", "16"})
+    public int grado;
+
+    /* Los elementos. */
+    private ValorIndexable<Integer>[] valores;
+    /* Los valores iniciales. */
+    private double[] iniciales;
+    /* Los elementos a disminuir después de cada mínimo. */
+    private int[] objetivos;
+    /* Los pesos de cada disminución. */
+    private int[] pesos;
+
+    /** Prepara los datos. */
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void prepara() {
+        Random r = new Random(Datos.SEMILLA);
+        valores = (ValorIndexable<Integer>[])new ValorIndexable[n];
+        iniciales = new double[n];
+        for (int i = 0; i < n; i++) {
+          iniciales[i] = 1_000_000 + r.nextInt(1_000_000);
+          valores[i] = new ValorIndexable<Integer>(i, iniciales[i]);
+        }
+        objetivos = new int[n * grado];
+        pesos = new int[n * grado];
+        for (int i = 0; i < objetivos.length; i++) {
+          objetivos[i] = r.nextInt(n);
+          pesos[i] = 1 + r.nextInt(1000);
+        }
+    }
+
+    /** Devuelve los valores iniciales antes de cada iteración. */
+    @Setup(Level.Invocation)
+    public void reinicia() {
+        for (int i = 0; i < n; i++) {
+          valores[i].setValor(iniciales[i]);
+        }
+    }
+
+    /* Construye el montículo con todos los elementos. */
+    private MonticuloMinimo<ValorIndexable<Integer>> monticulo() {
+        Lista<ValorIndexable<Integer>> l = new Lista<ValorIndexable<Integer>>();
+        for (ValorIndexable<Integer> v : valores) {
+          l.agrega(v);
+        }
+        return new MonticuloMinimo<ValorIndexable<Integer>>(l, n, aridad);
+    }
+
+    /**
+     * Saca todos los mínimos y después de cada uno disminuye el valor de
+     * {@link #grado} elementos con {@link MonticuloMinimo#disminuye}, como
+     * cuando Dijkstra relaja las aristas del vértice que sale.
+     * @return el último mínimo.
+     */
+    @Benchmark
+    public ValorIndexable<Integer> disminuye() {
+        MonticuloMinimo<ValorIndexable<Integer>> m = monticulo();
+        ValorIndexable<Integer> u = null;
+        int k = 0;
+        while (!m.esVacia()) {
+          u = m.elimina();
+          for (int j = 0; j < grado; j++, k++) {
+            ValorIndexable<Integer> v = valores[objetivos[k]];
+            double d = u.getValor() + pesos[k];
+            if (m.contiene(v) && d < v.getValor()) {
+              v.setValor(d);
+              m.disminuye(v);
+            }
+          }
+        }
+        return u;
+    }
+
+    /**
+     * La misma carga que {@link #disminuye}, pero cambiando todos los
+     * valores de un mínimo antes de reordenarlos juntos con {@link
+     * MonticuloMinimo#reordena(Coleccion)}.
+     * @return el último mínimo.
+     */
+    @Benchmark
+    public ValorIndexable<Integer> reordenaPorLotes() {
+        MonticuloMinimo<ValorIndexable<Integer>> m = monticulo();
+        ValorIndexable<Integer> u = null;
+        int k = 0;
+        Lista<ValorIndexable<Integer>> lote = new Lista<ValorIndexable<Integer>>();
+        while (!m.esVacia()) {
+          u = m.elimina();
+          lote.limpia();
+          for (int j = 0; j < grado; j++, k++) {
+            ValorIndexable<Integer> v = valores[objetivos[k]];
+            double d = u.getValor() + pesos[k];
+            if (m.contiene(v) && d < v.getValor()) {
+              v.setValor(d);
+              lote.agrega(v);
+            }
+          }
+          m.reordena(lote);
+        }
+        return u;
+    }
+}
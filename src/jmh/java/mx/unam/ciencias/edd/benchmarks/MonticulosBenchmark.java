@@ -0,0 +1,81 @@
+package mx.unam.ciencias.edd.benchmarks;
+
+import mx.unam.ciencias.edd.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Pruebas de rendimiento de {@link MonticuloMinimo} y {@link
+ * MonticuloArreglo}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MonticulosBenchmark {
+
+    /** Cuántos mínimos saca cada prueba de {@link MonticuloArreglo}. */
+    public static final int MINIMOS = 100;
+
+    /** El número de elementos. */
+    @Param({"100", "1000", "10000", "100000", "1000000"})
+    public int n;
+
+    /* Los elementos. */
+    private Lista<ValorIndexable<Integer>> valores;
+
+    /** Prepara los datos. */
+    @Setup(Level.Trial)
+    public void prepara() {
+        valores = new Lista<ValorIndexable<Integer>>();
+        for (Integer e : Datos.aleatorios(n)) {
+          valores.agrega(new ValorIndexable<Integer>(e, e));
+        }
+    }
+
+    /** Construye un montículo mínimo con todos los elementos de una vez. */
+    @Benchmark
+    public MonticuloMinimo<ValorIndexable<Integer>> minimoCargaMasiva() {
+        return new MonticuloMinimo<ValorIndexable<Integer>>(valores, n);
+    }
+
+    /** Construye un montículo mínimo agregando los elementos uno por uno. */
+    @Benchmark
+    public MonticuloMinimo<ValorIndexable<Integer>> minimoAgregaUnoPorUno() {
+        MonticuloMinimo<ValorIndexable<Integer>> m =
+            new MonticuloMinimo<ValorIndexable<Integer>>();
+        for (ValorIndexable<Integer> v : valores) {
+          m.agrega(v);
+        }
+        return m;
+    }
+
+    /** Construye un montículo mínimo y saca todos sus elementos. */
+    @Benchmark
+    public ValorIndexable<Integer> minimoVacia() {
+        MonticuloMinimo<ValorIndexable<Integer>> m =
+            new MonticuloMinimo<ValorIndexable<Integer>>(valores, n);
+        ValorIndexable<Integer> ultimo = null;
+        while (!m.esVacia()) {
+          ultimo = m.elimina();
+        }
+        return ultimo;
+    }
+
+    /**
+     * Construye un montículo de arreglo y saca {@link #MINIMOS} elementos.
+     * Vaciarlo toma tiempo cuadrático, así que no se vacía completo.
+     */
+    @Benchmark
+    public ValorIndexable<Integer> arregloMinimos() {
+        MonticuloArreglo<ValorIndexable<Integer>> m =
+            new MonticuloArreglo<ValorIndexable<Integer>>(valores, n);
+        ValorIndexable<Integer> ultimo = null;
+        for (int i = 0; i < MINIMOS && !m.esVacia(); i++) {
+          ultimo = m.elimina();
+        }
+        return ultimo;
+    }
+}
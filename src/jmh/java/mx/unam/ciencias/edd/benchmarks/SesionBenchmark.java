@@ -0,0 +1,54 @@
+package mx.unam.ciencias.edd.benchmarks;
+
+import mx.unam.ciencias.edd.*;
+import mx.unam.ciencias.edd.proyecto2.*;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Pruebas de rendimiento de {@link SesionGrafica}: agregar y eliminar un
+ * elemento de una estructura con <i>n</i> elementos, obteniendo sólo los
+ * fragmentos que cambiaron. Se compara con {@link GraficadorBenchmark}, que
+ * grafica la estructura completa.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SesionBenchmark {
+
+    /** La estructura de la sesión. */
+    @Param({"ARBOLROJINEGRO", "ARBOLAVL", "MONTICULOMINIMO"})
+    public Estructura estructura;
+
+    /** El número de elementos. */
+    @Param({"100", "1000", "10000", "100000", "1000000"})
+    public int n;
+
+    /* La sesión. */
+    private SesionGrafica sesion;
+    /* Genera los elementos que se agregan y eliminan. */
+    private Random random;
+
+    /** Prepara los datos. */
+    @Setup(Level.Trial)
+    public void prepara() {
+        sesion = SesionGrafica.abre(estructura, Datos.enteros(n));
+        random = new Random(17);
+    }
+
+    /**
+     * Agrega un elemento y lo vuelve a eliminar, para que el tamaño no
+     * cambie entre invocaciones.
+     * @return el número de fragmentos que cambiaron.
+     */
+    @Benchmark
+    public int agregaElimina() {
+        int e = random.nextInt();
+        return sesion.agrega(e).getFragmentos().getElementos()
+            + sesion.elimina(e).getFragmentos().getElementos();
+    }
+}
@@ -75,6 +75,46 @@ public class ArbolAVL<T extends Comparable<T>>
         super(coleccion);
     }
 
+    /**
+     * Construye un árbol AVL con los elementos de la colección recibida en
+     * tiempo <i>O</i>(<i>n</i>) si la colección ya está ordenada (si no, se
+     * ordena primero). El árbol se arma directamente, tomando la mediana de
+     * cada rango como raíz del subárbol, sin agregar elementos uno por uno ni
+     * girar; las alturas se calculan de abajo hacia arriba. El árbol tiene
+     * los mismos elementos, pero no necesariamente la misma forma, que el
+     * construido con {@link #ArbolAVL(Coleccion)}.
+     * @param <T> tipo de los elementos del árbol.
+     * @param coleccion la colección a partir de la cual creamos el árbol AVL.
+     * @return un árbol AVL con los elementos de la colección.
+     */
+    public static <T extends Comparable<T>>
+    ArbolAVL<T> cargaOrdenada(Coleccion<T> coleccion) {
+        ArbolAVL<T> arbol = new ArbolAVL<T>();
+        ListaArreglo<T> orden = ordenados(coleccion);
+        arbol.raiz = arbol.construye(orden, 0, orden.getElementos()-1, null);
+        arbol.elementos = orden.getElementos();
+        return arbol;
+    }
+
+    /*
+    * Método auxiliar recursivo construye.
+    * Que recibe los elementos ordenados, el rango [ini, fin] del subárbol y
+    * el padre de su raíz. Regresa la raíz del subárbol, con su altura.
+    */
+    private VerticeAVL construye(ListaArreglo<T> orden, int ini, int fin,
+                                 Vertice padre) {
+        if (ini > fin) {
+          return null;
+        }
+        int m = (ini + fin) >>> 1;
+        VerticeAVL v = verticeAVL(nuevoVertice(orden.get(m)));
+        v.padre = padre;
+        v.izquierdo = construye(orden, ini, m-1, v);
+        v.derecho = construye(orden, m+1, fin, v);
+        setAltura(v);
+        return v;
+    }
+
     /**
      * Construye un nuevo vértice, usando una instancia de {@link VerticeAVL}.
      * @param elemento el elemento dentro del vértice.
@@ -118,6 +158,7 @@ public class ArbolAVL<T extends Comparable<T>>
         if (eliminado == null) {
           return;
         }
+        modificado();
         /* En otro caso si existe. Verificamos el número de hijos. */
         if (eliminado.hayIzquierdo() && eliminado.hayDerecho()) {
           eliminado = verticeAVL(intercambiaEliminable(eliminado));
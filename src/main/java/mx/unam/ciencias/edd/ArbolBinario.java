@@ -24,6 +24,15 @@ public abstract class ArbolBinario<T> implements Coleccion<T> {
         /** El derecho del vértice. */
         public Vertice derecho;
 
+        /* La altura calculada del vértice. */
+        private int alturaCalculada;
+        /* La profundidad calculada del vértice. */
+        private int profundidadCalculada;
+        /* Las modificaciones del árbol cuando se calculó la altura. */
+        private int versionAltura = -1;
+        /* Las modificaciones del árbol cuando se calculó la profundidad. */
+        private int versionProfundidad = -1;
+
         /**
          * Constructor único que recibe un elemento.
          * @param elemento el elemento del vértice.
@@ -96,38 +105,78 @@ public abstract class ArbolBinario<T> implements Coleccion<T> {
         }
 
         /**
-         * Regresa la altura del vértice.
+         * Regresa la altura del vértice. La altura se guarda en el vértice y
+         * sólo se recalcula si el árbol cambió de forma desde la última vez,
+         * por lo que después del primer cálculo toma tiempo constante en
+         * todos los vértices del subárbol. El cálculo sube por los padres en
+         * lugar de usar recursión, así que no depende de la altura del árbol.
          * @return la altura del vértice.
          */
         @Override public int altura() {
-            return altura(this);
+            if (versionAltura != modificaciones) {
+              calculaAlturas();
+            }
+            return alturaCalculada;
         }
 
         /*
-        * Método auxiliar para altura
-        * Recibe un vértice.
+        * Método auxiliar calculaAlturas.
+        * Que recorre en post-order los vértices del subárbol cuya altura no
+        * está al día, bajando sólo a los hijos pendientes y subiendo por los
+        * padres, y guarda la altura de cada uno.
         */
-        private int altura(Vertice v) {
-            if (v == null) {
-              return -1;
+        private void calculaAlturas() {
+            Vertice v = this;
+            while (true) {
+              if (pendiente(v.izquierdo)) {
+                v = v.izquierdo;
+              } else if (pendiente(v.derecho)) {
+                v = v.derecho;
+              } else {
+                v.alturaCalculada = 1 + Math.max(alturaGuardada(v.izquierdo),
+                                                 alturaGuardada(v.derecho));
+                v.versionAltura = modificaciones;
+                if (v == this) {
+                  return;
+                }
+                v = v.padre;
+              }
             }
-            return 1 + Math.max(altura(v.izquierdo),altura(v.derecho));
+        }
+
+        /* Nos dice si el vértice existe y su altura no está al día. */
+        private boolean pendiente(Vertice v) {
+            return v != null && v.versionAltura != modificaciones;
+        }
+
+        /* Regresa la altura guardada del vértice, o -1 si es null. */
+        private int alturaGuardada(Vertice v) {
+            return v == null ? -1 : v.alturaCalculada;
         }
 
         /**
-         * Regresa la profundidad del vértice.
+         * Regresa la profundidad del vértice. Igual que la altura, se guarda
+         * en el vértice mientras el árbol no cambie de forma. Si no está al
+         * día, sube hasta el primer ancestro que sí lo esté y llena las
+         * profundidades de arriba hacia abajo, sin recursión.
          * @return la profundidad del vértice.
          */
         @Override public int profundidad() {
-            return profundidad(this);
-        }
-
-        /* Método auxiliar profundidad que recibe un vértice. */
-        private  int profundidad(Vertice v){
-            if (v.padre == null) {
-              return 0;
+            if (versionProfundidad == modificaciones) {
+              return profundidadCalculada;
             }
-            return 1 + profundidad(v.padre);
+            Vertice u = this;
+            int distancia = 0;
+            while (u != null && u.versionProfundidad != modificaciones) {
+              u = u.padre;
+              distancia++;
+            }
+            int p = (u == null ? -1 : u.profundidadCalculada) + distancia;
+            for (Vertice w = this; w != u; w = w.padre) {
+              w.profundidadCalculada = p--;
+              w.versionProfundidad = modificaciones;
+            }
+            return profundidadCalculada;
         }
 
         /**
@@ -187,6 +236,8 @@ public abstract class ArbolBinario<T> implements Coleccion<T> {
     protected Vertice raiz;
     /** El número de elementos */
     protected int elementos;
+    /* El número de veces que ha cambiado la forma del árbol. */
+    private int modificaciones;
 
     /**
      * Constructor sin parámetros. Tenemos que definirlo para no perderlo.
@@ -219,6 +270,15 @@ public abstract class ArbolBinario<T> implements Coleccion<T> {
         return v;
     }
 
+    /**
+     * Avisa que la forma del árbol cambió, para que los vértices recalculen
+     * su altura y profundidad la próxima vez que se pidan. Las clases
+     * herederas deben invocarlo en cada operación que mueva vértices.
+     */
+    protected void modificado() {
+        modificaciones++;
+    }
+
     /**
      * Regresa la altura del árbol. La altura de un árbol es la altura de su
      * raíz.
@@ -310,6 +370,7 @@ public abstract class ArbolBinario<T> implements Coleccion<T> {
      * Limpia el árbol de elementos, dejándolo vacío.
      */
     @Override public void limpia() {
+        modificado();
         raiz = null;
         elementos = 0;
     }
@@ -344,9 +405,6 @@ public abstract class ArbolBinario<T> implements Coleccion<T> {
           return "";
         }
         int[] a = new int[altura() + 1];
-        for (int i = 0; i < altura()+1; i++) {
-          a[i] = 0;
-        }
         return toString(raiz, 0, a);
     }
 
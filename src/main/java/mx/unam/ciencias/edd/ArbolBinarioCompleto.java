@@ -93,32 +93,38 @@ public class ArbolBinarioCompleto<T> extends ArbolBinario<T> {
         if (elemento == null) {
           throw new IllegalArgumentException("No hay elemento a agregar");
         }
+        modificado();
         Vertice v = nuevoVertice(elemento);
         if (esVacia()) {
           raiz = v;
           elementos++;
           return;
         }
-        Cola<Vertice> bfs = new Cola<Vertice>();
-        bfs.mete(raiz);
-        Vertice n = raiz;
-        while (!bfs.esVacia()) {
-          n = bfs.saca();
-          if (n.izquierdo == null) {
-            elementos++;
-            n.izquierdo = v;
-            v.padre = n;
-            return;
-          }
-          if (n.derecho == null) {
-            elementos++;
-            n.derecho = v;
-            v.padre = n;
-            return;
-          }
-          bfs.mete(n.izquierdo);
-          bfs.mete(n.derecho);
+        /* El padre del nuevo vértice está en la posición ⌊(n-1)/2⌋. */
+        Vertice n = verticeEn((elementos-1)/2);
+        if (elementos % 2 == 1) {
+          n.izquierdo = v;
+        } else {
+          n.derecho = v;
         }
+        v.padre = n;
+        elementos++;
+    }
+
+    /*
+    * Método auxiliar verticeEn
+    * Regresa el vértice en la posición i del recorrido BFS, bajando desde la
+    * raíz en tiempo O(log n): los bits de i+1 después del más significativo
+    * dicen, de arriba hacia abajo, si hay que ir a la izquierda (0) o a la
+    * derecha (1).
+    */
+    private Vertice verticeEn(int i){
+      int camino = i + 1;
+      Vertice v = raiz;
+      for (int b = 30 - Integer.numberOfLeadingZeros(camino); b >= 0; b--) {
+        v = (camino & (1 << b)) == 0 ? v.izquierdo : v.derecho;
+      }
+      return v;
     }
 
     /**
@@ -132,12 +138,13 @@ public class ArbolBinarioCompleto<T> extends ArbolBinario<T> {
         if (e == null) {
           return;
         }
+        modificado();
         elementos -= 1;
         if (raiz.izquierdo == null && raiz.derecho == null) {
           raiz = null;
           return;
         }
-        Vertice u = ultimoCola();
+        Vertice u = verticeEn(elementos);
         intercambia(e,u);
         if (esIzquierdo(u)){
           u.padre.izquierdo = null;
@@ -150,24 +157,6 @@ public class ArbolBinarioCompleto<T> extends ArbolBinario<T> {
         }
     }
 
-    /*
-    * Método auxiliar ultimoCola
-    * Recorre el árbol en BFS y regresa el ultimo vertice
-    */
-    private Vertice ultimoCola(){
-      Cola<Vertice> bfs = new Cola<Vertice>();
-      Vertice s = raiz;
-      bfs.mete(raiz);
-      while (!bfs.esVacia()) {
-        s = bfs.saca();
-        if (s.hayIzquierdo())
-          bfs.mete(s.izquierdo);
-        if (s.hayDerecho())
-          bfs.mete(s.derecho);
-      }
-      return s;
-    }
-
     /*
     * Método auxiliar intercambia
     * Que cambia la posición de dos vértices
@@ -1,6 +1,7 @@
 package mx.unam.ciencias.edd;
 
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 /**
  * <p>Clase para árboles binarios ordenados. Los árboles son genéricos, pero
@@ -20,41 +21,35 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
     /* Clase interna privada para iteradores. */
     private class Iterador implements Iterator<T> {
 
-        /* Pila para recorrer los vértices en DFS in-order. */
-        private Pila<Vertice> pila;
+        /* El vértice con el siguiente elemento en orden DFS in-order. */
+        private Vertice siguiente;
 
-        /* Inicializa al iterador. */
+        /* Inicializa al iterador en el mínimo del árbol. */
         public Iterador() {
-            pila = new Pila<>();
-            if (esVacia()) {
-              return;
-            }
-            Vertice r = raiz;
-            while (r != null) {
-              pila.mete(r);
-              r = r.izquierdo;
-            }
+            siguiente = raiz == null ? null : minimoEnSubarbol(raiz);
         }
 
         /* Nos dice si hay un elemento siguiente. */
         @Override public boolean hasNext() {
-            return !pila.esVacia();
+            return siguiente != null;
         }
 
         /* Regresa el siguiente elemento en orden DFS in-order. */
         @Override public T next() {
-            Vertice n = pila.saca();
-            if (n.derecho != null) {
-              Vertice d = n.derecho;
-              while (d != null) {
-                pila.mete(d);
-                d = d.izquierdo;
-              }
+            if (siguiente == null) {
+              throw new NoSuchElementException("No hay elemento siguiente");
             }
+            Vertice n = siguiente;
+            siguiente = sucesor(n);
             return n.elemento;
         }
     }
 
+    /* Recorridos DFS que sabe hacer el método auxiliar recorre. */
+    private static final int PRE_ORDER = 0;
+    private static final int IN_ORDER = 1;
+    private static final int POST_ORDER = 2;
+
     /**
      * El vértice del último elemento agegado. Este vértice sólo se puede
      * garantizar que existe <em>inmediatamente</em> después de haber agregado
@@ -64,6 +59,9 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
      */
     protected Vertice ultimoAgregado;
 
+    /** El observador de los giros y recoloreos, o null si no hay. */
+    protected ObservadorArbol<T> observador;
+
     /**
      * Constructor sin parámetros. Para no perder el constructor sin parámetros
      * de {@link ArbolBinario}.
@@ -80,6 +78,36 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
         super(coleccion);
     }
 
+    /**
+     * Regresa los elementos de la colección recibida en orden, en una lista
+     * con acceso en tiempo constante. Si la colección ya está ordenada sus
+     * elementos sólo se copian, en tiempo lineal; si no, se ordenan con
+     * {@link Lista#mergeSort(Lista)}. Lo usan las cargas ordenadas de las
+     * subclases balanceadas.
+     * @param <T> tipo de los elementos de la colección.
+     * @param coleccion la colección a ordenar.
+     * @return una lista con los elementos de la colección, ordenados.
+     */
+    protected static <T extends Comparable<T>>
+    ListaArreglo<T> ordenados(Coleccion<T> coleccion) {
+        ListaArreglo<T> orden = new ListaArreglo<T>(coleccion.getElementos());
+        boolean ordenada = true;
+        for (T e : coleccion) {
+          if (!orden.esVacia() && orden.getUltimo().compareTo(e) > 0) {
+            ordenada = false;
+          }
+          orden.agrega(e);
+        }
+        if (ordenada) {
+          return orden;
+        }
+        Lista<T> lista = new Lista<T>();
+        for (T e : orden) {
+          lista.agrega(e);
+        }
+        return new ListaArreglo<T>(Lista.mergeSort(lista));
+    }
+
     /*
     * Método auxiliar esDerecho para saber si un vértice es
     * hijo derecho.
@@ -112,6 +140,7 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
         if (elemento == null) {
           throw new IllegalArgumentException();
         }
+        modificado();
         Vertice nuevo = nuevoVertice(elemento);
         elementos++;
         ultimoAgregado = nuevo;
@@ -123,24 +152,27 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
     }
 
     /*
-    * Método auxiliar recursivo agrega.
-    * Recibe un vértice distinto de null y el nuevo vértice a agregar.
+    * Método auxiliar agrega.
+    * Recibe un vértice distinto de null y el nuevo vértice a agregar, y
+    * baja desde él con un ciclo hasta el lugar del nuevo vértice.
     */
     private void agrega(Vertice v, Vertice nuevo){
-      if (nuevo.elemento.compareTo(v.elemento) <= 0) {
-        if (v.izquierdo == null) {
-          v.izquierdo = nuevo;
-          nuevo.padre = v;
-          return;
-        }
-        agrega(v.izquierdo, nuevo);
-      } else {
-        if (v.derecho == null) {
-          v.derecho = nuevo;
-          nuevo.padre = v;
-          return;
+      while (true) {
+        if (nuevo.elemento.compareTo(v.elemento) <= 0) {
+          if (v.izquierdo == null) {
+            v.izquierdo = nuevo;
+            nuevo.padre = v;
+            return;
+          }
+          v = v.izquierdo;
+        } else {
+          if (v.derecho == null) {
+            v.derecho = nuevo;
+            nuevo.padre = v;
+            return;
+          }
+          v = v.derecho;
         }
-        agrega(v.derecho,nuevo);
       }
     }
 
@@ -158,6 +190,7 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
         if (e == null) {
           return;
         }
+        modificado();
         elementos--;
         if (elementos == 0) {
           raiz = null;
@@ -170,15 +203,43 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
     }
 
     /*
-    * Método auxiliar recursivo maximoEnSubarbol
+    * Método auxiliar maximoEnSubarbol
     * Recibe un vértice
-    * Regresa un vértice menor o igual que el recibido
+    * Regresa el vértice con el máximo de su subárbol
     */
     private Vertice maximoEnSubarbol(Vertice v){
-        if (v.derecho == null) {
-          return v;
+        while (v.derecho != null) {
+          v = v.derecho;
         }
-        return maximoEnSubarbol(v.derecho);
+        return v;
+    }
+
+    /*
+    * Método auxiliar minimoEnSubarbol
+    * Recibe un vértice
+    * Regresa el vértice con el mínimo de su subárbol
+    */
+    private Vertice minimoEnSubarbol(Vertice v){
+        while (v.izquierdo != null) {
+          v = v.izquierdo;
+        }
+        return v;
+    }
+
+    /*
+    * Método auxiliar sucesor
+    * Recibe un vértice
+    * Regresa el siguiente vértice en in-order, o null si es el último;
+    * sube por los padres en lugar de usar una pila.
+    */
+    private Vertice sucesor(Vertice v){
+        if (v.derecho != null) {
+          return minimoEnSubarbol(v.derecho);
+        }
+        while (v.padre != null && v.padre.derecho == v) {
+          v = v.padre;
+        }
+        return v.padre;
     }
 
     /*
@@ -216,6 +277,7 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
      *                distinto de <code>null</code>.
      */
     protected void eliminaVertice(Vertice vertice) {
+        modificado();
         if (vertice.hayPadre()) {
           if (esIzquierdo(vertice)) {
             if (vertice.izquierdo != null) {
@@ -270,26 +332,23 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
     }
 
     /*
-    * Métdo auxiliar recursivo que mejora el algoritmo de búsqueda
+    * Métdo auxiliar que mejora el algoritmo de búsqueda
     * en árboles ordenaodos.
-    * Recibe un vértice sobre el cual se hará la recursión.
+    * Recibe el vértice desde el cual se baja con un ciclo.
     * Recibe el elemento a buscar.
     */
     private VerticeArbolBinario<T> busca(Vertice v, T elemento){
-        if (v.elemento.equals(elemento)) {
-          return (VerticeArbolBinario<T>)v;
-        }
-        if (v.elemento.compareTo(elemento) < 0) {
-          if (v.derecho != null) {
-            return busca(v.derecho,elemento);
+        while (v != null) {
+          if (v.elemento.equals(elemento)) {
+            return (VerticeArbolBinario<T>)v;
           }
-          return null;
-        } else {
-          if (v.izquierdo != null) {
-            return busca(v.izquierdo,elemento);
+          if (v.elemento.compareTo(elemento) < 0) {
+            v = v.derecho;
+          } else {
+            v = v.izquierdo;
           }
-          return null;
         }
+        return null;
     }
 
     /**
@@ -307,6 +366,16 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
         return ultimoAgregado;
     }
 
+    /**
+     * Define el observador que se invoca después de cada giro y, en los
+     * árboles con colores, de cada recoloreo, incluidos los que hacen las
+     * subclases al rebalancear el árbol.
+     * @param observador el observador, o null para no observar el árbol.
+     */
+    public void setObservador(ObservadorArbol<T> observador) {
+        this.observador = observador;
+    }
+
     /**
      * Gira el árbol a la derecha sobre el vértice recibido. Si el vértice no
      * tiene hijo izquierdo, el método no hace nada.
@@ -314,6 +383,7 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
      */
     public void giraDerecha(VerticeArbolBinario<T> vertice) {
         if (vertice.hayIzquierdo()) {
+          modificado();
           Vertice p = vertice(vertice);
           Vertice q = p.izquierdo;
           p.izquierdo = q.derecho;
@@ -332,6 +402,9 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
           }
           q.derecho = p;
           p.padre = q;
+          if (observador != null) {
+            observador.giro(p, true);
+          }
         }
         return;
     }
@@ -343,6 +416,7 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
      */
     public void giraIzquierda(VerticeArbolBinario<T> vertice) {
         if (vertice.hayDerecho()) {
+          modificado();
           Vertice p = vertice(vertice);
           Vertice q = p.derecho;
           p.derecho = q.izquierdo;
@@ -361,92 +435,98 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
           }
           q.izquierdo = p;
           p.padre = q;
+          if (observador != null) {
+            observador.giro(p, false);
+          }
         }
         return;
     }
 
     /**
      * Realiza un recorrido DFS <em>pre-order</em> en el árbol, ejecutando la
-     * acción recibida en cada elemento del árbol.
+     * acción recibida en cada elemento del árbol. El recorrido sube por los
+     * padres en lugar de usar recursión, así que no depende de la altura del
+     * árbol.
      * @param accion la acción a realizar en cada elemento del árbol.
      */
     public void dfsPreOrder(AccionVerticeArbolBinario<T> accion) {
-        if (esVacia()) {
-          return;
-        } else {
-          dfsPreOrder(accion,raiz);
-        }
-    }
-
-    /*
-    * Método auxiliar dfsPreOrder para hacer recorrido en bfs
-    * Recibe la accion a realizar en cada elemento del árbol
-    * Recibe un vértice
-    */
-    private void dfsPreOrder(AccionVerticeArbolBinario<T> accion, Vertice v) {
-      accion.actua(v);
-      if (v.hayIzquierdo()) {
-        dfsPreOrder(accion,v.izquierdo);
-      }
-      if (v.hayDerecho()) {
-        dfsPreOrder(accion,v.derecho);
-      }
+        recorre(accion, PRE_ORDER);
     }
 
     /**
      * Realiza un recorrido DFS <em>in-order</em> en el árbol, ejecutando la
-     * acción recibida en cada elemento del árbol.
+     * acción recibida en cada elemento del árbol. El recorrido sube por los
+     * padres en lugar de usar recursión, así que no depende de la altura del
+     * árbol.
      * @param accion la acción a realizar en cada elemento del árbol.
      */
     public void dfsInOrder(AccionVerticeArbolBinario<T> accion) {
-        if (raiz == null) {
-          return;
-        } else {
-          dfsInOrder(accion,raiz);
-        }
-    }
-
-    /*
-    * Método auxiliar dfsInOrder para hacer recorrido en bfs
-    * Recibe la accion a realizar en cada elemento del árbol
-    * Recibe un vértice
-    */
-    private void dfsInOrder(AccionVerticeArbolBinario<T> accion, Vertice v) {
-      if (v.hayIzquierdo()) {
-        dfsInOrder(accion,v.izquierdo);
-      }
-      accion.actua(v);
-      if (v.hayDerecho()) {
-        dfsInOrder(accion,v.derecho);
-      }
+        recorre(accion, IN_ORDER);
     }
 
     /**
      * Realiza un recorrido DFS <em>post-order</em> en el árbol, ejecutando la
-     * acción recibida en cada elemento del árbol.
+     * acción recibida en cada elemento del árbol. El recorrido sube por los
+     * padres en lugar de usar recursión, así que no depende de la altura del
+     * árbol.
      * @param accion la acción a realizar en cada elemento del árbol.
      */
     public void dfsPostOrder(AccionVerticeArbolBinario<T> accion) {
-        if (raiz == null) {
-          return;
+        recorre(accion, POST_ORDER);
+    }
+
+    /*
+    * Método auxiliar recorre para los recorridos DFS.
+    * Recibe la acción a realizar y el orden del recorrido.
+    * Camina por el árbol recordando el vértice anterior: si venimos del
+    * padre es la primera visita, si venimos del izquierdo la segunda y si
+    * venimos del derecho la última. La acción no debe modificar el árbol.
+    */
+    private void recorre(AccionVerticeArbolBinario<T> accion, int orden) {
+      Vertice v = raiz;
+      Vertice anterior = null;
+      while (v != null) {
+        Vertice siguiente;
+        if (anterior == v.padre) {
+          if (orden == PRE_ORDER) {
+            accion.actua(v);
+          }
+          if (v.izquierdo != null) {
+            siguiente = v.izquierdo;
+          } else {
+            siguiente = bajaDerecho(accion, orden, v);
+          }
+        } else if (anterior == v.izquierdo) {
+          siguiente = bajaDerecho(accion, orden, v);
         } else {
-          dfsPostOrder(accion,raiz);
+          if (orden == POST_ORDER) {
+            accion.actua(v);
+          }
+          siguiente = v.padre;
         }
+        anterior = v;
+        v = siguiente;
+      }
     }
 
     /*
-    * Método auxiliar dfsPostOrder para hacer recorrido en bfs
-    * Recibe la accion a realizar en cada elemento del árbol
-    * Recibe un vértice
+    * Método auxiliar bajaDerecho para el método recorre.
+    * Hace la visita in-order del vértice, ya recorrido su subárbol izquierdo,
+    * y regresa su hijo derecho; si no tiene, hace la visita post-order y
+    * regresa su padre.
     */
-    private void dfsPostOrder(AccionVerticeArbolBinario<T> accion, Vertice v) {
-      if (v.hayIzquierdo()) {
-        dfsPostOrder(accion,v.izquierdo);
+    private Vertice bajaDerecho(AccionVerticeArbolBinario<T> accion, int orden,
+                                Vertice v) {
+      if (orden == IN_ORDER) {
+        accion.actua(v);
+      }
+      if (v.derecho != null) {
+        return v.derecho;
       }
-      if (v.hayDerecho()) {
-        dfsPostOrder(accion,v.derecho);
+      if (orden == POST_ORDER) {
+        accion.actua(v);
       }
-      accion.actua(v);
+      return v.padre;
     }
 
     /**
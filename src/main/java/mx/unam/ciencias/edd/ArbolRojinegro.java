@@ -84,6 +84,56 @@ public class ArbolRojinegro<T extends Comparable<T>>
         super(coleccion);
     }
 
+    /**
+     * Construye un árbol rojinegro con los elementos de la colección recibida
+     * en tiempo <i>O</i>(<i>n</i>) si la colección ya está ordenada (si no,
+     * se ordena primero). El árbol se arma directamente, tomando la mediana
+     * de cada rango como raíz del subárbol, sin agregar elementos uno por uno
+     * ni girar. Así todas las hojas quedan a lo más a un nivel de distancia:
+     * los vértices del último nivel se pintan de ROJO y los demás de NEGRO,
+     * con lo que todo camino a una hoja tiene los mismos vértices NEGROS. El
+     * árbol tiene los mismos elementos, pero no necesariamente la misma
+     * forma, que el construido con {@link #ArbolRojinegro(Coleccion)}.
+     * @param <T> tipo de los elementos del árbol.
+     * @param coleccion la colección a partir de la cual creamos el árbol
+     *        rojinegro.
+     * @return un árbol rojinegro con los elementos de la colección.
+     */
+    public static <T extends Comparable<T>>
+    ArbolRojinegro<T> cargaOrdenada(Coleccion<T> coleccion) {
+        ArbolRojinegro<T> arbol = new ArbolRojinegro<T>();
+        ListaArreglo<T> orden = ordenados(coleccion);
+        int n = orden.getElementos();
+        if (n == 0) {
+          return arbol;
+        }
+        /* La altura del árbol que resulta es el piso de log2(n). */
+        int ultimoNivel = 31 - Integer.numberOfLeadingZeros(n);
+        arbol.raiz = arbol.construye(orden, 0, n-1, null, 0, ultimoNivel);
+        arbol.elementos = n;
+        return arbol;
+    }
+
+    /*
+    * Método auxiliar recursivo construye.
+    * Que recibe los elementos ordenados, el rango [ini, fin] del subárbol,
+    * el padre de su raíz, la profundidad de ésta y la del último nivel.
+    * Regresa la raíz del subárbol, ya coloreada.
+    */
+    private VerticeRojinegro construye(ListaArreglo<T> orden, int ini, int fin,
+                                       Vertice padre, int nivel, int ultimoNivel) {
+        if (ini > fin) {
+          return null;
+        }
+        int m = (ini + fin) >>> 1;
+        VerticeRojinegro v = verticeRojinegro(nuevoVertice(orden.get(m)));
+        v.padre = padre;
+        v.color = (nivel == ultimoNivel && nivel > 0) ? Color.ROJO : Color.NEGRO;
+        v.izquierdo = construye(orden, ini, m-1, v, nivel+1, ultimoNivel);
+        v.derecho = construye(orden, m+1, fin, v, nivel+1, ultimoNivel);
+        return v;
+    }
+
     /**
      * Construye un nuevo vértice, usando una instancia de {@link
      * VerticeRojinegro}.
@@ -126,10 +176,25 @@ public class ArbolRojinegro<T extends Comparable<T>>
     @Override public void agrega(T elemento) {
         super.agrega(elemento);
         VerticeRojinegro ultimo = verticeRojinegro(ultimoAgregado);
-        ultimo.color = Color.ROJO;
+        colorea(ultimo, Color.ROJO);
         rebalanceaAgrega(ultimo);
     }
 
+    /*
+    * Método auxiliar colorea.
+    * Que cambia el color del vértice y avisa al observador, si lo hay y el
+    * color cambió. Los vértices fantasma no se reportan.
+    */
+    private void colorea(VerticeRojinegro vertice, Color color) {
+        if (vertice.color == color) {
+          return;
+        }
+        vertice.color = color;
+        if (observador != null && vertice.elemento != null) {
+          observador.recoloreo(vertice);
+        }
+    }
+
     /*
     * Método auxiliar esRojo.
     * Regresa true si el vertice es rojo.
@@ -158,7 +223,7 @@ public class ArbolRojinegro<T extends Comparable<T>>
         VerticeRojinegro tio;
         /* Caso1 */
         if (ultimo.padre == null) {
-          ultimo.color = Color.NEGRO;
+          colorea(ultimo, Color.NEGRO);
           return;
         }
 
@@ -177,9 +242,9 @@ public class ArbolRojinegro<T extends Comparable<T>>
           tio = verticeRojinegro(abuelo.izquierdo);
         }
         if (tio != null && (tio.color == Color.ROJO)) {
-          tio.color = Color.NEGRO;
-          padreA.color = Color.NEGRO;
-          abuelo.color = Color.ROJO;
+          colorea(tio, Color.NEGRO);
+          colorea(padreA, Color.NEGRO);
+          colorea(abuelo, Color.ROJO);
           rebalanceaAgrega(abuelo);
           return;
         }
@@ -198,8 +263,8 @@ public class ArbolRojinegro<T extends Comparable<T>>
         }
 
         /* Caso 5. */
-        padreA.color = Color.NEGRO;
-        abuelo.color = Color.ROJO;
+        colorea(padreA, Color.NEGRO);
+        colorea(abuelo, Color.ROJO);
         if (esIzquierdo(ultimo)) {
           super.giraDerecha(abuelo);
         } else {
@@ -219,6 +284,7 @@ public class ArbolRojinegro<T extends Comparable<T>>
       if (eliminado == null) {
         return;
       }
+      modificado();
       /* Caso donde tiene dos hijos distintos de null. */
       if (eliminado.hayIzquierdo()) {
         eliminado = verticeRojinegro(intercambiaEliminable(eliminado));
@@ -236,7 +302,7 @@ public class ArbolRojinegro<T extends Comparable<T>>
       if (esNegro(eliminado) && esNegro(h)) {
         rebalanceaNegro(h);
       } else {
-        h.color = Color.NEGRO;
+        colorea(h, Color.NEGRO);
       }
       eliminaFantasma(h);
       elementos--;
@@ -306,8 +372,8 @@ public class ArbolRojinegro<T extends Comparable<T>>
 
         /* Caso 2, verticeF tiene padre. */
         if (esRojo(hermanoV)) {
-          hermanoV.color = Color.NEGRO;
-          padreV.color = Color.ROJO;
+          colorea(hermanoV, Color.NEGRO);
+          colorea(padreV, Color.ROJO);
           if (esIzquierdo(verticeF)) {
             super.giraIzquierda(padreV);
           } else {
@@ -322,7 +388,7 @@ public class ArbolRojinegro<T extends Comparable<T>>
         /* Caso 3. */
         if (esNegro(hermanoV) && esNegro(hijoIzq) && esNegro(hijoDer)) {
           if (esNegro(padreV)) {
-            hermanoV.color = Color.ROJO;
+            colorea(hermanoV, Color.ROJO);
             rebalanceaNegro(padreV);
             return;
           }
@@ -330,8 +396,8 @@ public class ArbolRojinegro<T extends Comparable<T>>
            * Aquí mismo entra en caso 4, ya que no pasó el 3 y están
            * relacionados.
            */
-           padreV.color = Color.NEGRO;
-           hermanoV.color = Color.ROJO;
+           colorea(padreV, Color.NEGRO);
+           colorea(hermanoV, Color.ROJO);
            return;
         }
 
@@ -339,11 +405,11 @@ public class ArbolRojinegro<T extends Comparable<T>>
         if ((esRojo(hijoIzq) && esNegro(hijoDer) && esIzquierdo(verticeF)) ||
              esRojo(hijoDer) && esNegro(hijoIzq) && esDerecho(verticeF)) {
            if (esRojo(hijoIzq)) {
-             hijoIzq.color = Color.NEGRO;
+             colorea(hijoIzq, Color.NEGRO);
            } else {
-             hijoDer.color = Color.NEGRO;
+             colorea(hijoDer, Color.NEGRO);
            }
-           hermanoV.color = Color.ROJO;
+           colorea(hermanoV, Color.ROJO);
            if (esIzquierdo(verticeF)) {
              super.giraDerecha(hermanoV);
            } else {
@@ -355,12 +421,12 @@ public class ArbolRojinegro<T extends Comparable<T>>
         }
 
         /* Caso 6, es lo único que puede pasar. */
-        hermanoV.color = padreV.color;
-        padreV.color = Color.NEGRO;
+        colorea(hermanoV, padreV.color);
+        colorea(padreV, Color.NEGRO);
         if (esIzquierdo(verticeF)) {
-          hijoDer.color = Color.NEGRO;
+          colorea(hijoDer, Color.NEGRO);
         } else {
-          hijoIzq.color = Color.NEGRO;
+          colorea(hijoIzq, Color.NEGRO);
         }
         if (esIzquierdo(verticeF)) {
           super.giraIzquierda(padreV);
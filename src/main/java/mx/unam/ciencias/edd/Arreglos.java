@@ -1,6 +1,8 @@
 package mx.unam.ciencias.edd;
 
 import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * Clase para ordenar y buscar arreglos genéricos.
@@ -10,47 +12,264 @@ public class Arreglos {
     /* Constructor privado para evitar instanciación. */
     private Arreglos() {}
 
+    /* Los subarreglos de a lo más este tamaño se ordenan por inserción. */
+    private static final int INSERCION = 24;
+
     /**
-     * Ordena el arreglo recibido usando QickSort.
+     * Tamaño a partir del cual {@link #quickSortParalelo} parte el arreglo
+     * en tareas; los subarreglos más chicos se ordenan en un solo hilo.
+     */
+    public static final int UMBRAL_PARALELO = 1 << 13;
+
+    /* Tarea que ordena un subarreglo y ordena en paralelo sus partes. */
+    @SuppressWarnings("serial")
+    private static class OrdenaParalelo<T> extends RecursiveAction {
+
+        /* El arreglo. */
+        private T[] arreglo;
+        /* El comparador. */
+        private Comparator<T> comparador;
+        /* Los extremos del subarreglo, incluidos. */
+        private int a, b;
+        /* Las particiones que faltan antes de usar HeapSort. */
+        private int profundidad;
+
+        /* Crea la tarea del subarreglo [a, b]. */
+        private OrdenaParalelo(T[] arreglo, Comparator<T> comparador,
+                               int a, int b, int profundidad) {
+            this.arreglo = arreglo;
+            this.comparador = comparador;
+            this.a = a;
+            this.b = b;
+            this.profundidad = profundidad;
+        }
+
+        /* Parte el subarreglo y ordena sus tres partes en paralelo. */
+        @Override protected void compute() {
+            if (b - a < UMBRAL_PARALELO || profundidad == 0) {
+              quickSort(arreglo, comparador, a, b, profundidad);
+              return;
+            }
+            int[] p = parte(arreglo, comparador, a, b);
+            invokeAll(new OrdenaParalelo<T>(arreglo, comparador, a, p[0], profundidad-1),
+                      new OrdenaParalelo<T>(arreglo, comparador, p[1], p[2], profundidad-1),
+                      new OrdenaParalelo<T>(arreglo, comparador, p[3], b, profundidad-1));
+        }
+    }
+
+    /**
+     * Ordena el arreglo recibido usando QickSort. Los pivotes se eligen entre
+     * cinco muestras del subarreglo y se parte con dos pivotes, o en menores,
+     * iguales y mayores si los pivotes son iguales; los subarreglos chicos se
+     * ordenan por inserción, y si la recursión pasa de 2 log <i>n</i> niveles
+     * el subarreglo se ordena con HeapSort. Así el peor caso es <i>O</i>(<i>n</i>
+     * log <i>n</i>) aunque el arreglo ya esté ordenado o tenga muchos
+     * elementos repetidos.
      * @param <T> tipo del que puede ser el arreglo.
      * @param arreglo el arreglo a ordenar.
      * @param comparador el comparador para ordenar el arreglo.
      */
     public static <T> void quickSort(T[] arreglo, Comparator<T> comparador) {
-        quickSort(arreglo, comparador, 0, arreglo.length-1);
+        quickSort(arreglo, comparador, 0, arreglo.length-1, profundidad(arreglo.length));
+    }
+
+    /**
+     * Ordena el arreglo recibido como {@link #quickSort(Object[], Comparator)},
+     * pero ordena en paralelo, en el {@link ForkJoinPool} común, las partes
+     * de al menos {@link #UMBRAL_PARALELO} elementos. El comparador se usa
+     * desde varios hilos a la vez.
+     * @param <T> tipo del que puede ser el arreglo.
+     * @param arreglo el arreglo a ordenar.
+     * @param comparador el comparador para ordenar el arreglo.
+     */
+    public static <T> void quickSortParalelo(T[] arreglo, Comparator<T> comparador) {
+        if (arreglo.length < UMBRAL_PARALELO || ForkJoinPool.getCommonPoolParallelism() < 2) {
+          quickSort(arreglo, comparador);
+          return;
+        }
+        ForkJoinPool.commonPool().invoke(
+            new OrdenaParalelo<T>(arreglo, comparador, 0, arreglo.length-1,
+                                  profundidad(arreglo.length)));
+    }
+
+    /**
+     * Ordena el arreglo recibido como {@link #quickSortParalelo(Object[],
+     * Comparator)}.
+     * @param <T> tipo del que puede ser el arreglo.
+     * @param arreglo un arreglo cuyos elementos son comparables.
+     */
+    public static <T extends Comparable<T>> void
+    quickSortParalelo(T[] arreglo) {
+        quickSortParalelo(arreglo, (a, b) -> a.compareTo(b));
+    }
+
+    /*
+    * Método auxiliar profundidad.
+    * Que regresa cuántos niveles de particiones se permiten para n
+    * elementos antes de usar HeapSort: 2 log n.
+    */
+    private static int profundidad(int n) {
+        return 2 * (32 - Integer.numberOfLeadingZeros(n));
     }
 
     /*
     * Método auxiliar quickSort que ejecuta el algoritmo completo.
     * Recibe: arreglo el arreglo a ordenar.
     * comparador el comparador para ordenar el arreglo.
-    * Entero a posición del pivote del arreglo.
-    * Entero b.
+    * Enteros a y b, los extremos del subarreglo, incluidos.
+    * Entero profundidad, las particiones que faltan antes de usar HeapSort.
     */
-    private static <T> void quickSort(T[] arreglo, Comparator<T> comparador, int a, int b){
-      if (b<=a){
+    private static <T> void quickSort(T[] arreglo, Comparator<T> comparador,
+                                      int a, int b, int profundidad) {
+      if (b - a < INSERCION) {
+        insercion(arreglo, comparador, a, b);
         return;
       }
-      int i = a+1;
-      int j = b;
-      while(i<j){
-        if ((comparador.compare(arreglo[i], arreglo[a]) > 0)
-        && comparador.compare(arreglo[j], arreglo[a]) <= 0){
-          intercambia(arreglo, i, j);
-          i++;
-          j--;
-        } else if (comparador.compare(arreglo[j],arreglo[a])<=0){
-          i++;
+      if (profundidad == 0) {
+        heapSort(arreglo, comparador, a, b);
+        return;
+      }
+      int[] p = parte(arreglo, comparador, a, b);
+      quickSort(arreglo, comparador, a, p[0], profundidad-1);
+      quickSort(arreglo, comparador, p[1], p[2], profundidad-1);
+      quickSort(arreglo, comparador, p[3], b, profundidad-1);
+    }
+
+    /*
+    * Método auxiliar parte.
+    * Que parte el subarreglo [a, b], de al menos seis elementos, y regresa
+    * los extremos {i0, i1, i2, i3} de las tres partes que faltan por ordenar:
+    * [a, i0], [i1, i2] e [i3, b]. Los pivotes son la segunda y la cuarta de
+    * cinco muestras equiespaciadas. Si son distintos, las partes son los
+    * menores que el primero, los que están entre los dos y los mayores que el
+    * segundo; si son iguales, los menores y los mayores, y la parte de en
+    * medio es vacía porque los iguales ya quedan en su lugar.
+    */
+    private static <T> int[] parte(T[] arreglo, Comparator<T> comparador, int a, int b) {
+      int sexto = (b - a + 1) / 6;
+      int m3 = (a + b) >>> 1;
+      int m1 = a + sexto, m2 = m3 - sexto, m4 = m3 + sexto, m5 = b - sexto;
+      ordenaMuestras(arreglo, comparador, m1, m2, m3, m4, m5);
+      if (comparador.compare(arreglo[m2], arreglo[m4]) == 0) {
+        return parteTres(arreglo, comparador, a, b, arreglo[m3]);
+      }
+      intercambia(arreglo, a, m2);
+      intercambia(arreglo, b, m4);
+      T p = arreglo[a], q = arreglo[b];
+      int menores = a + 1, mayores = b - 1;
+      for (int k = menores; k <= mayores; k++) {
+        if (comparador.compare(arreglo[k], p) < 0) {
+          intercambia(arreglo, k, menores++);
+        } else if (comparador.compare(arreglo[k], q) > 0) {
+          while (k < mayores && comparador.compare(arreglo[mayores], q) > 0) {
+            mayores--;
+          }
+          intercambia(arreglo, k, mayores--);
+          if (comparador.compare(arreglo[k], p) < 0) {
+            intercambia(arreglo, k, menores++);
+          }
+        }
+      }
+      menores--;
+      mayores++;
+      intercambia(arreglo, a, menores);
+      intercambia(arreglo, b, mayores);
+      return new int[] { menores-1, menores+1, mayores-1, mayores+1 };
+    }
+
+    /*
+    * Método auxiliar parteTres.
+    * Que parte el subarreglo [a, b] en los menores, los iguales y los
+    * mayores que el pivote, y regresa las partes como parte.
+    */
+    private static <T> int[] parteTres(T[] arreglo, Comparator<T> comparador,
+                                       int a, int b, T pivote) {
+      int menores = a, mayores = b, k = a;
+      while (k <= mayores) {
+        int c = comparador.compare(arreglo[k], pivote);
+        if (c < 0) {
+          intercambia(arreglo, k++, menores++);
+        } else if (c > 0) {
+          intercambia(arreglo, k, mayores--);
         } else {
+          k++;
+        }
+      }
+      return new int[] { menores-1, 0, -1, mayores+1 };
+    }
+
+    /*
+    * Método auxiliar ordenaMuestras.
+    * Que ordena los elementos de las cinco posiciones recibidas, que están
+    * en orden, por inserción.
+    */
+    private static <T> void ordenaMuestras(T[] arreglo, Comparator<T> comparador,
+                                           int m1, int m2, int m3, int m4, int m5) {
+      int[] m = { m1, m2, m3, m4, m5 };
+      for (int i = 1; i < m.length; i++) {
+        T e = arreglo[m[i]];
+        int j = i - 1;
+        while (j >= 0 && comparador.compare(arreglo[m[j]], e) > 0) {
+          arreglo[m[j+1]] = arreglo[m[j]];
           j--;
         }
+        arreglo[m[j+1]] = e;
       }
-      if (comparador.compare(arreglo[i], arreglo[a])>0){
-        i--;
+    }
+
+    /*
+    * Método auxiliar insercion.
+    * Que ordena el subarreglo [a, b] por inserción.
+    */
+    private static <T> void insercion(T[] arreglo, Comparator<T> comparador, int a, int b) {
+      for (int i = a + 1; i <= b; i++) {
+        T e = arreglo[i];
+        int j = i - 1;
+        while (j >= a && comparador.compare(arreglo[j], e) > 0) {
+          arreglo[j+1] = arreglo[j];
+          j--;
+        }
+        arreglo[j+1] = e;
+      }
+    }
+
+    /*
+    * Método auxiliar heapSort.
+    * Que ordena el subarreglo [a, b] con un montículo máximo en el mismo
+    * subarreglo.
+    */
+    private static <T> void heapSort(T[] arreglo, Comparator<T> comparador, int a, int b) {
+      int n = b - a + 1;
+      for (int i = n/2 - 1; i >= 0; i--) {
+        haciaAbajo(arreglo, comparador, a, i, n);
+      }
+      for (int fin = n - 1; fin > 0; fin--) {
+        intercambia(arreglo, a, a + fin);
+        haciaAbajo(arreglo, comparador, a, 0, fin);
+      }
+    }
+
+    /*
+    * Método auxiliar haciaAbajo.
+    * Que baja el elemento i del montículo máximo de n elementos que empieza
+    * en la posición a.
+    */
+    private static <T> void haciaAbajo(T[] arreglo, Comparator<T> comparador,
+                                       int a, int i, int n) {
+      T e = arreglo[a + i];
+      int hijo = 2*i + 1;
+      while (hijo < n) {
+        if (hijo + 1 < n && comparador.compare(arreglo[a+hijo+1], arreglo[a+hijo]) > 0) {
+          hijo++;
+        }
+        if (comparador.compare(e, arreglo[a+hijo]) >= 0) {
+          break;
+        }
+        arreglo[a+i] = arreglo[a+hijo];
+        i = hijo;
+        hijo = 2*i + 1;
       }
-      intercambia(arreglo, a, i);
-      quickSort(arreglo, comparador, a, i-1);
-      quickSort(arreglo, comparador, i+1, b);
+      arreglo[a+i] = e;
     }
 
     /**
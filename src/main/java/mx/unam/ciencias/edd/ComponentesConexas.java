@@ -0,0 +1,187 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * <p>Clase para las componentes conexas de una {@link GraficaCompacta}, como
+ * las regresan {@link GraficaCompacta#componentes} y {@link
+ * Grafica#componentes}.</p>
+ *
+ * <p>Los vértices se identifican con los índices de la gráfica compacta, y
+ * las componentes con enteros de 0 a <i>c</i>-1, en el orden de su primer
+ * vértice. Los vértices de todas las componentes se guardan en un solo
+ * arreglo: los de la componente <i>c</i> ocupan las posiciones de {@link
+ * #getInicio}(<i>c</i>) a {@link #getFin}(<i>c</i>), en el orden de BFS
+ * desde su primer vértice.</p>
+ *
+ * <p>Calcularlas no modifica la gráfica, y como la gráfica compacta es
+ * inmutable, las componentes tampoco cambian.</p>
+ *
+ * @param <T> El tipo de los elementos de la gráfica.
+ */
+public class ComponentesConexas<T> {
+
+    /* La gráfica. */
+    private GraficaCompacta<T> grafica;
+    /* La componente de cada vértice. */
+    private int[] componente;
+    /* La posición de cada vértice en su componente. */
+    private int[] posicion;
+    /* Los vértices agrupados por componente. */
+    private int[] vertices;
+    /* Dónde empieza cada componente en los vértices; tiene c+1 entradas. */
+    private int[] inicios;
+
+    /* Calcula las componentes con un BFS desde cada vértice no visto. */
+    ComponentesConexas(GraficaCompacta<T> grafica) {
+        this.grafica = grafica;
+        int n = grafica.getElementos();
+        componente = new int[n];
+        posicion = new int[n];
+        vertices = new int[n];
+        int[] primeros = new int[n + 1];
+        for (int v = 0; v < n; v++) {
+          componente[v] = -1;
+        }
+        int c = 0, k = 0;
+        for (int v = 0; v < n; v++) {
+          if (componente[v] != -1) {
+            continue;
+          }
+          primeros[c] = k;
+          int cabeza = k;
+          vertices[k++] = v;
+          componente[v] = c;
+          while (cabeza < k) {
+            int u = vertices[cabeza];
+            posicion[u] = cabeza - primeros[c];
+            cabeza++;
+            for (int e = grafica.getInicio(u); e < grafica.getFin(u); e++) {
+              int w = grafica.getVecino(e);
+              if (componente[w] == -1) {
+                componente[w] = c;
+                vertices[k++] = w;
+              }
+            }
+          }
+          c++;
+        }
+        primeros[c] = n;
+        inicios = new int[c + 1];
+        System.arraycopy(primeros, 0, inicios, 0, c + 1);
+    }
+
+    /**
+     * Regresa el número de vértices de la gráfica.
+     * @return el número de vértices.
+     */
+    public int getElementos() {
+        return componente.length;
+    }
+
+    /**
+     * Regresa el número de componentes.
+     * @return el número de componentes; 0 si la gráfica es vacía.
+     */
+    public int getComponentes() {
+        return inicios.length - 1;
+    }
+
+    /**
+     * Regresa la componente del vértice recibido.
+     * @param v el índice del vértice.
+     * @return la componente del vértice.
+     * @throws ExcepcionIndiceInvalido si el índice no es válido.
+     */
+    public int getComponente(int v) {
+        revisa(v, componente.length);
+        return componente[v];
+    }
+
+    /**
+     * Regresa el número de vértices de la componente recibida.
+     * @param c la componente.
+     * @return el número de vértices de la componente.
+     * @throws ExcepcionIndiceInvalido si la componente no es válida.
+     */
+    public int getTamano(int c) {
+        revisa(c, inicios.length - 1);
+        return inicios[c+1] - inicios[c];
+    }
+
+    /**
+     * Regresa dónde empiezan los vértices de la componente recibida.
+     * @param c la componente.
+     * @return la posición del primer vértice, para {@link #getVertice}.
+     * @throws ExcepcionIndiceInvalido si la componente no es válida.
+     */
+    public int getInicio(int c) {
+        revisa(c, inicios.length - 1);
+        return inicios[c];
+    }
+
+    /**
+     * Regresa dónde terminan los vértices de la componente recibida.
+     * @param c la componente.
+     * @return la posición siguiente al último vértice, para {@link
+     *         #getVertice}.
+     * @throws ExcepcionIndiceInvalido si la componente no es válida.
+     */
+    public int getFin(int c) {
+        revisa(c, inicios.length - 1);
+        return inicios[c+1];
+    }
+
+    /**
+     * Regresa el vértice en la posición recibida del arreglo de vértices.
+     * @param k una posición entre {@link #getInicio} y {@link #getFin} de
+     *        alguna componente.
+     * @return el índice del vértice.
+     * @throws ExcepcionIndiceInvalido si la posición no es válida.
+     */
+    public int getVertice(int k) {
+        revisa(k, vertices.length);
+        return vertices[k];
+    }
+
+    /**
+     * Regresa la componente recibida como una gráfica compacta. El vértice
+     * <i>i</i> de la componente es el vértice {@link #getVertice}({@link
+     * #getInicio}(<i>c</i>) + <i>i</i>) de la gráfica, y sus vecinos quedan
+     * en orden creciente. Toma tiempo lineal en el tamaño de la componente.
+     * @param c la componente.
+     * @return la componente como gráfica compacta.
+     * @throws ExcepcionIndiceInvalido si la componente no es válida.
+     */
+    public GraficaCompacta<T> componente(int c) {
+        revisa(c, inicios.length - 1);
+        int inicio = inicios[c];
+        int n = inicios[c+1] - inicio;
+        @SuppressWarnings("unchecked") T[] elementos = (T[])new Object[n];
+        int[] iniciosVecinos = new int[n+1];
+        for (int i = 0; i < n; i++) {
+          int v = vertices[inicio + i];
+          elementos[i] = grafica.get(v);
+          iniciosVecinos[i+1] = iniciosVecinos[i] + grafica.getGrado(v);
+        }
+        /* Recorremos los vértices en orden, así cada vecindad queda ordenada. */
+        int[] siguiente = new int[n];
+        System.arraycopy(iniciosVecinos, 0, siguiente, 0, n);
+        int[] vecinos = new int[iniciosVecinos[n]];
+        for (int i = 0; i < n; i++) {
+          int v = vertices[inicio + i];
+          for (int e = grafica.getInicio(v); e < grafica.getFin(v); e++) {
+            vecinos[siguiente[posicion[grafica.getVecino(e)]]++] = i;
+          }
+        }
+        return new GraficaCompacta<T>(elementos, iniciosVecinos, vecinos);
+    }
+
+    /*
+     * Método auxiliar revisa.
+     * Que lanza ExcepcionIndiceInvalido si el índice no está entre 0 y n-1.
+     */
+    private static void revisa(int i, int n) {
+        if (i < 0 || i >= n) {
+          throw new ExcepcionIndiceInvalido("Índice no válido.");
+        }
+    }
+}
@@ -0,0 +1,341 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase para diccionarios (<em>hash tables</em>). Un diccionario generaliza
+ * el concepto de arreglo, mapeando un conjunto de <em>llaves</em> a una
+ * colección de <em>valores</em>.</p>
+ *
+ * <p>Las colisiones se resuelven encadenando las entradas de cada cubeta.
+ * Además, todas las entradas forman una lista doblemente ligada, por lo que el
+ * diccionario se itera en el orden en que fueron agregadas sus llaves, y
+ * eliminar una entrada toma tiempo constante.</p>
+ *
+ * <p>Los diccionarios no aceptan a <code>null</code> como llave ni como
+ * valor.</p>
+ *
+ * @param <K> El tipo de las llaves del diccionario.
+ * @param <V> El tipo de los valores del diccionario.
+ */
+public class Diccionario<K, V> implements Iterable<V> {
+
+    /* Clase interna privada para entradas. */
+    private class Entrada {
+        /* La llave. */
+        public K llave;
+        /* El valor. */
+        public V valor;
+        /* La dispersión de la llave. */
+        public int dispersion;
+        /* La siguiente entrada en la misma cubeta. */
+        public Entrada cubeta;
+        /* La entrada agregada antes que ésta. */
+        public Entrada anterior;
+        /* La entrada agregada después de ésta. */
+        public Entrada siguiente;
+
+        /* Construye una nueva entrada. */
+        public Entrada(K llave, V valor, int dispersion) {
+            this.llave = llave;
+            this.valor = valor;
+            this.dispersion = dispersion;
+        }
+    }
+
+    /* Clase interna privada para iteradores. */
+    private class Iterador {
+        /* La siguiente entrada a visitar. */
+        private Entrada siguiente;
+
+        /* Construye un nuevo iterador. */
+        public Iterador() {
+            siguiente = cabeza;
+        }
+
+        /* Nos dice si hay una siguiente entrada. */
+        public boolean hasNext() {
+            return siguiente != null;
+        }
+
+        /* Regresa la siguiente entrada. */
+        public Entrada siguiente() {
+            if (siguiente == null) {
+              throw new NoSuchElementException("No hay siguiente.");
+            }
+            Entrada e = siguiente;
+            siguiente = siguiente.siguiente;
+            return e;
+        }
+    }
+
+    /* Clase interna privada para iteradores de llaves. */
+    private class IteradorLlaves extends Iterador implements Iterator<K> {
+
+        /* Regresa la siguiente llave. */
+        @Override public K next() {
+            return siguiente().llave;
+        }
+    }
+
+    /* Clase interna privada para iteradores de valores. */
+    private class IteradorValores extends Iterador implements Iterator<V> {
+
+        /* Regresa el siguiente valor. */
+        @Override public V next() {
+            return siguiente().valor;
+        }
+    }
+
+    /** Capacidad mínima; decidida arbitrariamente a 2^4. */
+    private static final int MINIMA_CAPACIDAD = 16;
+    /** Máxima carga permitida antes de crecer el arreglo. */
+    private static final double MAXIMA_CARGA = 0.75;
+
+    /* Las cubetas del diccionario. */
+    private Entrada[] entradas;
+    /* La primera entrada agregada. */
+    private Entrada cabeza;
+    /* La última entrada agregada. */
+    private Entrada rabo;
+    /* El número de entradas en el diccionario. */
+    private int elementos;
+
+    /* Truco para crear arreglos genéricos. Es necesario hacerlo así por cómo
+       Java implementa sus genéricos; de otra forma obtenemos advertencias del
+       compilador. */
+    @SuppressWarnings("unchecked") private Entrada[] nuevoArreglo(int n) {
+        return (Entrada[])new Diccionario.Entrada[n];
+    }
+
+    /**
+     * Construye un diccionario con la capacidad mínima.
+     */
+    public Diccionario() {
+        this(MINIMA_CAPACIDAD);
+    }
+
+    /**
+     * Construye un diccionario con espacio para al menos el número de
+     * elementos recibido sin tener que crecer.
+     * @param capacidad el número de elementos que se esperan.
+     */
+    public Diccionario(int capacidad) {
+        int c = MINIMA_CAPACIDAD;
+        while (c * MAXIMA_CARGA < capacidad) {
+          c *= 2;
+        }
+        entradas = nuevoArreglo(c);
+    }
+
+    /*
+     * Método auxiliar dispersa.
+     * Que mezcla los bits altos de la dispersión de la llave con los bajos,
+     * porque el índice de la cubeta sólo usa los bits bajos.
+     */
+    private static int dispersa(Object llave) {
+        int h = llave.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /*
+     * Método auxiliar busca.
+     * Que regresa la entrada con la llave recibida, o null si no existe.
+     */
+    private Entrada busca(K llave) {
+        if (llave == null) {
+          return null;
+        }
+        int d = dispersa(llave);
+        Entrada e = entradas[d & (entradas.length-1)];
+        while (e != null) {
+          if (e.dispersion == d && e.llave.equals(llave)) {
+            return e;
+          }
+          e = e.cubeta;
+        }
+        return null;
+    }
+
+    /**
+     * Agrega un nuevo valor al diccionario, usando la llave proporcionada. Si
+     * la llave ya había sido utilizada antes para agregar un valor, el
+     * diccionario reemplaza ese valor con el recibido aquí, y la llave
+     * conserva su lugar en el orden de iteración.
+     * @param llave la llave para agregar el valor.
+     * @param valor el valor a agregar.
+     * @throws IllegalArgumentException si la llave o el valor son nulos.
+     */
+    public void agrega(K llave, V valor) {
+        if (llave == null || valor == null) {
+          throw new IllegalArgumentException("Llave o valor nulos.");
+        }
+        Entrada e = busca(llave);
+        if (e != null) {
+          e.valor = valor;
+          return;
+        }
+        if (elementos+1 > entradas.length * MAXIMA_CARGA) {
+          crece();
+        }
+        e = new Entrada(llave, valor, dispersa(llave));
+        int i = e.dispersion & (entradas.length-1);
+        e.cubeta = entradas[i];
+        entradas[i] = e;
+        if (rabo == null) {
+          cabeza = rabo = e;
+        } else {
+          rabo.siguiente = e;
+          e.anterior = rabo;
+          rabo = e;
+        }
+        elementos++;
+    }
+
+    /*
+     * Método auxiliar crece.
+     * Que duplica el número de cubetas y redistribuye las entradas.
+     */
+    private void crece() {
+        Entrada[] nuevas = nuevoArreglo(entradas.length * 2);
+        Entrada e = cabeza;
+        while (e != null) {
+          int i = e.dispersion & (nuevas.length-1);
+          e.cubeta = nuevas[i];
+          nuevas[i] = e;
+          e = e.siguiente;
+        }
+        entradas = nuevas;
+    }
+
+    /**
+     * Regresa el valor del diccionario asociado a la llave proporcionada.
+     * @param llave la llave para buscar el valor.
+     * @return el valor correspondiente a la llave.
+     * @throws IllegalArgumentException si la llave es nula.
+     * @throws NoSuchElementException si la llave no está en el diccionario.
+     */
+    public V get(K llave) {
+        if (llave == null) {
+          throw new IllegalArgumentException("Llave nula.");
+        }
+        Entrada e = busca(llave);
+        if (e == null) {
+          throw new NoSuchElementException("La llave no está.");
+        }
+        return e.valor;
+    }
+
+    /**
+     * Nos dice si una llave se encuentra en el diccionario.
+     * @param llave la llave que queremos ver si está en el diccionario.
+     * @return <code>true</code> si la llave está en el diccionario,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean contiene(K llave) {
+        return busca(llave) != null;
+    }
+
+    /**
+     * Elimina el valor del diccionario asociado a la llave proporcionada.
+     * @param llave la llave para buscar el valor a eliminar.
+     * @throws IllegalArgumentException si la llave es nula.
+     * @throws NoSuchElementException si la llave no se encuentra en
+     *         el diccionario.
+     */
+    public void elimina(K llave) {
+        if (llave == null) {
+          throw new IllegalArgumentException("Llave nula.");
+        }
+        int d = dispersa(llave);
+        int i = d & (entradas.length-1);
+        Entrada previa = null;
+        Entrada e = entradas[i];
+        while (e != null && !(e.dispersion == d && e.llave.equals(llave))) {
+          previa = e;
+          e = e.cubeta;
+        }
+        if (e == null) {
+          throw new NoSuchElementException("La llave no está.");
+        }
+        if (previa == null) {
+          entradas[i] = e.cubeta;
+        } else {
+          previa.cubeta = e.cubeta;
+        }
+        if (e.anterior == null) {
+          cabeza = e.siguiente;
+        } else {
+          e.anterior.siguiente = e.siguiente;
+        }
+        if (e.siguiente == null) {
+          rabo = e.anterior;
+        } else {
+          e.siguiente.anterior = e.anterior;
+        }
+        elementos--;
+    }
+
+    /**
+     * Regresa el número de entradas en el diccionario.
+     * @return el número de entradas en el diccionario.
+     */
+    public int getElementos() {
+        return elementos;
+    }
+
+    /**
+     * Nos dice si el diccionario es vacío.
+     * @return <code>true</code> si el diccionario es vacío, <code>false</code>
+     *         en otro caso.
+     */
+    public boolean esVacia() {
+        return elementos == 0;
+    }
+
+    /**
+     * Borra todos los elementos del diccionario.
+     */
+    public void limpia() {
+        for (int i = 0; i < entradas.length; i++) {
+          entradas[i] = null;
+        }
+        cabeza = rabo = null;
+        elementos = 0;
+    }
+
+    /**
+     * Regresa una representación en cadena del diccionario.
+     * @return una representación en cadena del diccionario.
+     */
+    @Override public String toString() {
+        if (elementos == 0) {
+          return "{}";
+        }
+        StringBuilder sb = new StringBuilder("{ ");
+        for (Entrada e = cabeza; e != null; e = e.siguiente) {
+          sb.append("'").append(e.llave).append("': '")
+            .append(e.valor).append("', ");
+        }
+        return sb.append("}").toString();
+    }
+
+    /**
+     * Regresa un iterador para iterar las llaves del diccionario, en el orden
+     * en que fueron agregadas.
+     * @return un iterador para iterar las llaves del diccionario.
+     */
+    public Iterator<K> iteradorLlaves() {
+        return new IteradorLlaves();
+    }
+
+    /**
+     * Regresa un iterador para iterar los valores del diccionario, en el orden
+     * en que fueron agregadas sus llaves.
+     * @return un iterador para iterar los valores del diccionario.
+     */
+    @Override public Iterator<V> iterator() {
+        return new IteradorValores();
+    }
+}
@@ -38,14 +38,14 @@ public class Grafica<T> implements Coleccion<T> {
         public T elemento;
         /* El color del vértice. */
         public Color color;
-        /* La lista de vecinos del vértice. */
-        public Lista<Vertice> vecinos;
+        /* Los vecinos del vértice, en el orden en que fueron conectados. */
+        public Diccionario<Vertice, Vecino> vecinos;
 
         /* Crea un nuevo vértice a partir de un elemento. */
         public Vertice(T elemento) {
             this.elemento = elemento;
             color = Color.NINGUNO;
-            vecinos = new Lista<Vertice>();
+            vecinos = new Diccionario<Vertice, Vecino>();
         }
 
         /* Regresa el elemento del vértice. */
@@ -55,7 +55,7 @@ public class Grafica<T> implements Coleccion<T> {
 
         /* Regresa el grado del vértice. */
         @Override public int getGrado() {
-            return vecinos.getLongitud();
+            return vecinos.getElementos();
         }
 
         /* Regresa el color del vértice. */
@@ -64,13 +64,53 @@ public class Grafica<T> implements Coleccion<T> {
         }
 
         /* Regresa un iterable para los vecinos. */
-        @Override public Iterable<? extends VerticeGrafica<T>> vecinos() {
+        @Override public Iterable<? extends VecinoGrafica<T>> vecinos() {
             return vecinos;
         }
     }
 
-    /* Vértices. */
-    private Lista<Vertice> vertices;
+    /* Clase interna privada para vértices vecinos. */
+    private class Vecino implements VecinoGrafica<T> {
+
+        /* El vértice vecino. */
+        public Vertice vecino;
+        /* El peso de la arista conectando al vértice con su vecino. */
+        public double peso;
+
+        /* Construye un vecino con el vértice y el peso recibidos. */
+        public Vecino(Vertice vecino, double peso) {
+            this.vecino = vecino;
+            this.peso = peso;
+        }
+
+        /* Regresa el elemento del vecino. */
+        @Override public T get() {
+            return vecino.elemento;
+        }
+
+        /* Regresa el grado del vecino. */
+        @Override public int getGrado() {
+            return vecino.getGrado();
+        }
+
+        /* Regresa el color del vecino. */
+        @Override public Color getColor() {
+            return vecino.color;
+        }
+
+        /* Regresa un iterable para los vecinos del vecino. */
+        @Override public Iterable<? extends VecinoGrafica<T>> vecinos() {
+            return vecino.vecinos;
+        }
+
+        /* Regresa el peso de la arista que conecta al vecino. */
+        @Override public double getPeso() {
+            return peso;
+        }
+    }
+
+    /* Vértices, indexados por su elemento y en orden de inserción. */
+    private Diccionario<T, Vertice> vertices;
     /* Número de aristas. */
     private int aristas;
 
@@ -78,7 +118,7 @@ public class Grafica<T> implements Coleccion<T> {
      * Constructor único.
      */
     public Grafica() {
-        this.vertices = new Lista<Vertice>();
+        this.vertices = new Diccionario<T, Vertice>();
     }
 
     /**
@@ -87,7 +127,7 @@ public class Grafica<T> implements Coleccion<T> {
      * @return el número de elementos en la gráfica.
      */
     @Override public int getElementos() {
-        return vertices.getLongitud();
+        return vertices.getElementos();
     }
 
     /**
@@ -109,22 +149,20 @@ public class Grafica<T> implements Coleccion<T> {
           throw new IllegalArgumentException("No se puede agregar.");
         }
         Vertice n = new Vertice(elemento);
-        vertices.agrega(n);
+        vertices.agrega(elemento, n);
     }
 
     /*
      * Método auxiliar buscaVertice.
      * Que recibe un elemento y regresa el vértice
      * correspondiente al elemento si existe, regresa null si no
-     * se encuentra.
+     * se encuentra. Toma tiempo constante gracias al diccionario.
      */
     private Vertice buscaVertice(T elemento) {
-        for (Vertice b : vertices) {
-          if (b.elemento.equals(elemento)) {
-            return b;
-          }
+        if (!vertices.contiene(elemento)) {
+          return null;
         }
-        return null;
+        return vertices.get(elemento);
     }
 
     /**
@@ -137,16 +175,30 @@ public class Grafica<T> implements Coleccion<T> {
      *         igual a b.
      */
     public void conecta(T a, T b) {
-        if (!this.contiene(a) || !this.contiene(b)) {
+        conecta(a, b, 1);
+    }
+
+    /**
+     * Conecta dos elementos de la gráfica con una arista de peso recibido.
+     * Los elementos deben estar en la gráfica.
+     * @param a el primer elemento a conectar.
+     * @param b el segundo elemento a conectar.
+     * @param peso el peso de la nueva arista.
+     * @throws NoSuchElementException si a o b no son elementos de la gráfica.
+     * @throws IllegalArgumentException si a o b ya están conectados, si a es
+     *         igual a b, o si el peso es no positivo.
+     */
+    public void conecta(T a, T b, double peso) {
+        Vertice aN = buscaVertice(a);
+        Vertice bN = buscaVertice(b);
+        if (aN == null || bN == null) {
           throw new NoSuchElementException("No hay elementos suficientes.");
         }
-        if (a == b || sonVecinos(a,b)) {
+        if (aN == bN || aN.vecinos.contiene(bN) || !(peso > 0)) {
           throw new IllegalArgumentException();
         }
-        Vertice aN = buscaVertice(a);
-        Vertice bN = buscaVertice(b);
-        aN.vecinos.agrega(bN);
-        bN.vecinos.agrega(aN);
+        aN.vecinos.agrega(bN, new Vecino(bN, peso));
+        bN.vecinos.agrega(aN, new Vecino(aN, peso));
         aristas++;
     }
 
@@ -159,14 +211,14 @@ public class Grafica<T> implements Coleccion<T> {
      * @throws IllegalArgumentException si a o b no están conectados.
      */
     public void desconecta(T a, T b) {
-      if (!this.contiene(a) || !this.contiene(b)) {
+      Vertice aN = buscaVertice(a);
+      Vertice bN = buscaVertice(b);
+      if (aN == null || bN == null) {
         throw new NoSuchElementException("No hay elementos suficientes.");
       }
-      if (!sonVecinos(a,b)) {
+      if (!aN.vecinos.contiene(bN)) {
         throw new IllegalArgumentException("No hay conexión.");
       }
-      Vertice aN = buscaVertice(a);
-      Vertice bN = buscaVertice(b);
       aN.vecinos.elimina(bN);
       bN.vecinos.elimina(aN);
       aristas--;
@@ -189,19 +241,16 @@ public class Grafica<T> implements Coleccion<T> {
      *         gráfica.
      */
     @Override public void elimina(T elemento) {
-        if (!this.contiene(elemento)) {
+        Vertice eliminado = buscaVertice(elemento);
+        if (eliminado == null) {
           throw new NoSuchElementException("No hay elemento.");
         }
-        Vertice eliminado = buscaVertice(elemento);
-        for (Vertice vertice : vertices) {
-          for (Vertice t : vertice.vecinos) {
-            if (t.equals(eliminado)) {
-              vertice.vecinos.elimina(eliminado);
-              aristas--;
-            }
-          }
+        /* Sólo los vecinos del eliminado tienen aristas hacia él. */
+        for (Vecino vecino : eliminado.vecinos) {
+          vecino.vecino.vecinos.elimina(eliminado);
+          aristas--;
         }
-        vertices.elimina(eliminado);
+        vertices.elimina(elemento);
     }
 
     /**
@@ -215,10 +264,61 @@ public class Grafica<T> implements Coleccion<T> {
     public boolean sonVecinos(T a, T b) {
       Vertice primer = buscaVertice(a);
       Vertice segundo = buscaVertice(b);
-      if (!this.contiene(a) || !this.contiene(b)) {
+      if (primer == null || segundo == null) {
         throw new NoSuchElementException("No hay elementos.");
       }
-      return primer.vecinos.contiene(segundo) && segundo.vecinos.contiene(primer);
+      return primer.vecinos.contiene(segundo);
+    }
+
+    /**
+     * Regresa el peso de la arista que comparten los vértices que contienen a
+     * los elementos recibidos.
+     * @param a el primer elemento.
+     * @param b el segundo elemento.
+     * @return el peso de la arista que comparten los vértices que contienen a
+     *         los elementos recibidos.
+     * @throws NoSuchElementException si a o b no son elementos de la gráfica.
+     * @throws IllegalArgumentException si a o b no están conectados.
+     */
+    public double getPeso(T a, T b) {
+        return arista(a, b).peso;
+    }
+
+    /**
+     * Define el peso de la arista que comparten los vértices que contienen a
+     * los elementos recibidos.
+     * @param a el primer elemento.
+     * @param b el segundo elemento.
+     * @param peso el nuevo peso de la arista que comparten los vértices que
+     *        contienen a los elementos recibidos.
+     * @throws NoSuchElementException si a o b no son elementos de la gráfica.
+     * @throws IllegalArgumentException si a o b no están conectados, o si peso
+     *         es no positivo.
+     */
+    public void setPeso(T a, T b, double peso) {
+        if (!(peso > 0)) {
+          throw new IllegalArgumentException("El peso debe ser positivo.");
+        }
+        Vecino ab = arista(a, b);
+        ab.peso = peso;
+        ab.vecino.vecinos.get(buscaVertice(a)).peso = peso;
+    }
+
+    /*
+     * Método auxiliar arista.
+     * Que regresa el vecino de a que corresponde a b, y lanza las mismas
+     * excepciones que getPeso si no hay arista entre ellos.
+     */
+    private Vecino arista(T a, T b) {
+        Vertice aN = buscaVertice(a);
+        Vertice bN = buscaVertice(b);
+        if (aN == null || bN == null) {
+          throw new NoSuchElementException("No hay elementos suficientes.");
+        }
+        if (!aN.vecinos.contiene(bN)) {
+          throw new IllegalArgumentException("No hay conexión.");
+        }
+        return aN.vecinos.get(bN);
     }
 
     /**
@@ -228,10 +328,11 @@ public class Grafica<T> implements Coleccion<T> {
      * @return el vértice correspondiente el elemento recibido.
      */
     public VerticeGrafica<T> vertice(T elemento) {
-        if (!this.contiene(elemento)) {
+        Vertice v = buscaVertice(elemento);
+        if (v == null) {
           throw new NoSuchElementException("No está en la gráfica.");
         }
-        return buscaVertice(elemento);
+        return v;
     }
 
     /**
@@ -241,41 +342,44 @@ public class Grafica<T> implements Coleccion<T> {
      * @throws IllegalArgumentException si el vértice no es válido.
      */
     public void setColor(VerticeGrafica<T> vertice, Color color) {
-        if (vertice == null || vertice.getClass() != Vertice.class) {
-          throw new IllegalArgumentException("Vértice no válido.");
-        }
-        Vertice b = (Vertice)vertice;
+        Vertice b = vertice(vertice);
         b.color = color;
     }
 
+    /*
+     * Método auxiliar vertice.
+     * Que regresa el vértice detrás de un vértice o de un vecino de la
+     * gráfica, y lanza IllegalArgumentException si no es ninguno de los dos.
+     */
+    private Vertice vertice(VerticeGrafica<T> vertice) {
+        if (vertice != null && vertice.getClass() == Vertice.class) {
+          return (Vertice)vertice;
+        }
+        if (vertice != null && vertice.getClass() == Vecino.class) {
+          return ((Vecino)vertice).vecino;
+        }
+        throw new IllegalArgumentException("Vértice no válido.");
+    }
+
     /**
-     * Nos dice si la gráfica es conexa.
+     * Nos dice si la gráfica es conexa. La gráfica vacía es conexa. No
+     * modifica la gráfica, ni siquiera el color de los vértices.
      * @return <code>true</code> si la gráfica es conexa, <code>false</code> en
      *         otro caso.
      */
     public boolean esConexa() {
-        Vertice n = vertices.getPrimero();
-        for (Vertice t : vertices) {
-          t.color = Color.ROJO;
-        }
-        Cola<Vertice> conexa = new Cola<Vertice>();
-        n.color = Color.ROJO;
-        conexa.mete(n);
-        while (!conexa.esVacia()) {
-          Vertice u = conexa.saca();
-          for (Vertice s : u.vecinos) {
-            if (s.color == Color.ROJO) {
-              s.color = Color.NEGRO;
-              conexa.mete(s);
-            }
-          }
-        }
-        for (Vertice m : vertices) {
-          if (m.color == Color.ROJO) {
-            return false;
-          }
-        }
-        return true;
+        return compacta().esConexa();
+    }
+
+    /**
+     * Regresa las componentes conexas de la gráfica, con los vértices
+     * numerados en el orden en que fueron agregados, como en {@link
+     * #compacta}. Toma tiempo <i>O</i>(<i>n</i>+<i>m</i>) y no modifica la
+     * gráfica, ni siquiera el color de los vértices.
+     * @return las componentes conexas de la gráfica.
+     */
+    public ComponentesConexas<T> componentes() {
+        return compacta().componentes();
     }
 
     /**
@@ -300,12 +404,12 @@ public class Grafica<T> implements Coleccion<T> {
      * @throws NoSuchElementException si el elemento no está en la gráfica.
      */
     public void bfs(T elemento, AccionVerticeGrafica<T> accion) {
-        if (!this.contiene(elemento)) {
+        Vertice inicio = buscaVertice(elemento);
+        if (inicio == null) {
           throw new NoSuchElementException("No hay elemento.");
         }
         /* En otro caso si existe el elemento.*/
         Cola<Vertice> bfs = new Cola<Vertice>();
-        Vertice inicio = buscaVertice(elemento);
         recorrido(inicio, accion, bfs);
     }
 
@@ -320,12 +424,12 @@ public class Grafica<T> implements Coleccion<T> {
      * @throws NoSuchElementException si el elemento no está en la gráfica.
      */
     public void dfs(T elemento, AccionVerticeGrafica<T> accion) {
-        if (!this.contiene(elemento)) {
+        Vertice inicio = buscaVertice(elemento);
+        if (inicio == null) {
           throw new NoSuchElementException("No hay elemento.");
         }
         /* En otro caso si existe el elemento.*/
         Pila<Vertice> dfs = new Pila<Vertice>();
-        Vertice inicio = buscaVertice(elemento);
         recorrido(inicio, accion, dfs);
     }
 
@@ -344,10 +448,10 @@ public class Grafica<T> implements Coleccion<T> {
       while (!estructura.esVacia()) {
         Vertice u = estructura.saca();
         accion.actua(u);
-        for (Vertice n : u.vecinos) {
-          if (n.color == Color.ROJO) {
-            estructura.mete(n);
-            n.color = Color.NEGRO;
+        for (Vecino n : u.vecinos) {
+          if (n.vecino.color == Color.ROJO) {
+            estructura.mete(n.vecino);
+            n.vecino.color = Color.NEGRO;
           }
         }
       }
@@ -356,6 +460,184 @@ public class Grafica<T> implements Coleccion<T> {
       }
     }
 
+    /**
+     * Calcula las trayectorias de peso mínimo desde el elemento recibido
+     * hasta todos los vértices alcanzables, con el algoritmo de Dijkstra. Los
+     * vértices se numeran en el orden en que fueron agregados, como en {@link
+     * #compacta}. Si la gráfica es densa se usa un {@link MonticuloArreglo},
+     * que toma tiempo <i>O</i>(<i>n</i><sup>2</sup>); si no, un {@link
+     * MonticuloMinimo} de aridad 4, que toma tiempo
+     * <i>O</i>((<i>n</i>+<i>m</i>) log <i>n</i>).
+     * @param origen el elemento donde comienzan las trayectorias.
+     * @return las trayectorias de peso mínimo desde el origen.
+     * @throws NoSuchElementException si el origen no está en la gráfica.
+     */
+    public TrayectoriasMinimas<T> dijkstra(T origen) {
+        Vertice s = buscaVertice(origen);
+        if (s == null) {
+          throw new NoSuchElementException("No hay elemento.");
+        }
+        return dijkstra(s, null, indices());
+    }
+
+    /**
+     * Regresa una trayectoria de peso mínimo entre los vértices de los
+     * elementos recibidos, con el algoritmo de Dijkstra, que se detiene en
+     * cuanto llega al destino.
+     * @param origen el elemento de donde empieza la trayectoria.
+     * @param destino el elemento donde termina la trayectoria.
+     * @return los vértices de la trayectoria, del origen al destino; la lista
+     *         es vacía si el destino no es alcanzable desde el origen.
+     * @throws NoSuchElementException si el origen o el destino no están en
+     *         la gráfica.
+     */
+    public Lista<VerticeGrafica<T>> trayectoriaMinima(T origen, T destino) {
+        Vertice s = buscaVertice(origen);
+        Vertice t = buscaVertice(destino);
+        if (s == null || t == null) {
+          throw new NoSuchElementException("No hay elementos suficientes.");
+        }
+        Diccionario<Vertice, Integer> indices = indices();
+        return dijkstra(s, t, indices).trayectoria(indices.get(t));
+    }
+
+    /*
+     * Método auxiliar indices.
+     * Que regresa el índice de cada vértice en el orden en que fueron
+     * agregados. Los índices se guardan en un diccionario propio y no en los
+     * vértices, así que la gráfica no se modifica.
+     */
+    private Diccionario<Vertice, Integer> indices() {
+        Diccionario<Vertice, Integer> indices =
+            new Diccionario<Vertice, Integer>(vertices.getElementos());
+        int i = 0;
+        for (Vertice v : vertices) {
+          indices.agrega(v, i++);
+        }
+        return indices;
+    }
+
+    /*
+     * Método auxiliar dijkstra.
+     * Que calcula las distancias desde el origen, con los vértices numerados
+     * por los índices recibidos, hasta que el montículo se acaba, sólo
+     * quedan vértices inalcanzables o sale el destino, si no es null.
+     */
+    private TrayectoriasMinimas<T> dijkstra(Vertice origen, Vertice destino,
+                                            Diccionario<Vertice, Integer> indices) {
+        int n = vertices.getElementos();
+        @SuppressWarnings("unchecked") VerticeGrafica<T>[] orden =
+            (VerticeGrafica<T>[])new VerticeGrafica[n];
+        int i = 0;
+        for (Vertice v : vertices) {
+          orden[i++] = v;
+        }
+        int s = indices.get(origen);
+        /* El valor de cada vértice es su distancia tentativa; su índice en
+           el montículo es -1 cuando ya salió y la distancia es definitiva. */
+        @SuppressWarnings("unchecked") ValorIndexable<Vertice>[] valores =
+            (ValorIndexable<Vertice>[])new ValorIndexable[n];
+        double[] distancias = new double[n];
+        int[] anteriores = new int[n];
+        for (int v = 0; v < n; v++) {
+          distancias[v] = Double.POSITIVE_INFINITY;
+          anteriores[v] = -1;
+        }
+        MonticuloDijkstra<ValorIndexable<Vertice>> monticulo;
+        MonticuloMinimo<ValorIndexable<Vertice>> minimo = null;
+        if (esDensa(n, aristas)) {
+          /* El montículo de arreglo no crece: empieza con todos los vértices. */
+          Lista<ValorIndexable<Vertice>> todos = new Lista<ValorIndexable<Vertice>>();
+          for (int v = 0; v < n; v++) {
+            valores[v] = new ValorIndexable<Vertice>((Vertice)orden[v], Double.POSITIVE_INFINITY);
+            todos.agrega(valores[v]);
+          }
+          valores[s].setValor(0);
+          monticulo = new MonticuloArreglo<ValorIndexable<Vertice>>(todos, n);
+        } else {
+          /* El montículo mínimo sólo recibe los vértices ya alcanzados; con
+             cuatro hijos por vértice es más bajo y las distancias que sólo
+             disminuyen suben menos niveles. */
+          minimo = new MonticuloMinimo<ValorIndexable<Vertice>>(4);
+          valores[s] = new ValorIndexable<Vertice>(origen, 0);
+          minimo.agrega(valores[s]);
+          monticulo = minimo;
+        }
+        while (!monticulo.esVacia()) {
+          ValorIndexable<Vertice> u = monticulo.elimina();
+          double d = u.getValor();
+          if (d == Double.POSITIVE_INFINITY) {
+            break;
+          }
+          Vertice vu = u.getElemento();
+          int iu = indices.get(vu);
+          distancias[iu] = d;
+          if (vu == destino) {
+            break;
+          }
+          for (Vecino x : vu.vecinos) {
+            int w = indices.get(x.vecino);
+            ValorIndexable<Vertice> vw = valores[w];
+            if (vw == null) {
+              valores[w] = new ValorIndexable<Vertice>(x.vecino, d + x.peso);
+              anteriores[w] = iu;
+              minimo.agrega(valores[w]);
+            } else if (vw.getIndice() >= 0 && d + x.peso < vw.getValor()) {
+              vw.setValor(d + x.peso);
+              anteriores[w] = iu;
+              monticulo.disminuye(vw);
+            }
+          }
+        }
+        return new TrayectoriasMinimas<T>(orden, s, distancias, anteriores);
+    }
+
+    /*
+     * Método auxiliar esDensa.
+     * Que nos dice si una gráfica con n vértices y m aristas es densa: si
+     * m log n pasa de n^2, buscar el mínimo recorriendo un arreglo, en
+     * tiempo O(n^2), cuesta menos que reordenar un montículo por cada
+     * arista, en tiempo O(m log n).
+     */
+    private static boolean esDensa(int n, int m) {
+        int log = 32 - Integer.numberOfLeadingZeros(Math.max(n, 1));
+        return (long)m * log > (long)n * n;
+    }
+
+    /**
+     * Regresa una fotografía inmutable de la gráfica, con los vértices
+     * numerados en el orden en que fueron agregados y sus vecinos en arreglos
+     * de enteros. Toma tiempo <i>O</i>(<i>n</i>+<i>m</i>) y no modifica la
+     * gráfica, así que varios hilos pueden tomar fotografías de la misma
+     * gráfica a la vez; los cambios posteriores a la gráfica no se reflejan
+     * en la fotografía.
+     * @return una fotografía compacta de la gráfica.
+     */
+    public GraficaCompacta<T> compacta() {
+        int n = vertices.getElementos();
+        @SuppressWarnings("unchecked") T[] elementos = (T[])new Object[n];
+        int[] inicios = new int[n+1];
+        Diccionario<Vertice, Integer> indices = indices();
+        int i = 0;
+        for (Vertice v : vertices) {
+          elementos[i] = v.elemento;
+          inicios[i+1] = inicios[i] + v.vecinos.getElementos();
+          i++;
+        }
+        /* Recorremos los vértices en orden, así cada vecindad queda ordenada. */
+        int[] siguiente = new int[n];
+        System.arraycopy(inicios, 0, siguiente, 0, n);
+        int[] vecinos = new int[inicios[n]];
+        i = 0;
+        for (Vertice b : vertices) {
+          for (Vecino a : b.vecinos) {
+            vecinos[siguiente[indices.get(a.vecino)]++] = i;
+          }
+          i++;
+        }
+        return new GraficaCompacta<T>(elementos, inicios, vecinos);
+    }
+
     /**
      * Nos dice si la gráfica es vacía.
      * @return <code>true</code> si la gráfica es vacía, <code>false</code> en
@@ -411,8 +693,8 @@ public class Grafica<T> implements Coleccion<T> {
         if (objeto == null || getClass() != objeto.getClass())
             return false;
         @SuppressWarnings("unchecked") Grafica<T> grafica = (Grafica<T>)objeto;
-        if (vertices.getLongitud() != grafica.vertices.getLongitud() ||
-        aristas != grafica.aristas || equals(vertices, grafica.vertices)) {
+        if (vertices.getElementos() != grafica.vertices.getElementos() ||
+        aristas != grafica.aristas || !equals(vertices, grafica.vertices)) {
           return false;
         }
         for (Vertice r : vertices) {
@@ -429,13 +711,13 @@ public class Grafica<T> implements Coleccion<T> {
 
     /*
      * Método auxiliar equals.
-     * Que recibe dos listas de vertices, recorre la primera
-     * y revisa si los vertices de las listas son iguales.
-     * Regresa true si las listas son iguales, false en otro caso.
+     * Que recibe dos diccionarios de vertices, recorre el primero
+     * y revisa si los elementos de sus vértices están en el segundo.
+     * Regresa true si tienen los mismos elementos, false en otro caso.
      */
-    private boolean equals(Lista<Vertice> prim, Lista<Vertice> seg) {
+    private boolean equals(Diccionario<T, Vertice> prim, Diccionario<T, Vertice> seg) {
         for (Vertice m : prim) {
-          if (!seg.contiene(m)) {
+          if (!seg.contiene(m.elemento)) {
             return false;
           }
         }
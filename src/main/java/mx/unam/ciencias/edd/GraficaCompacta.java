@@ -0,0 +1,243 @@
+package mx.unam.ciencias.edd;
+
+import java.util.NoSuchElementException;
+import java.util.function.IntConsumer;
+
+/**
+ * <p>Clase para fotografías inmutables de una {@link Grafica}.</p>
+ *
+ * <p>Cada vértice se identifica con un entero de 0 a <i>n</i>-1, en el orden
+ * en que fue agregado a la gráfica. Las listas de vecinos se guardan todas en
+ * un solo arreglo de enteros: los vecinos del vértice <i>v</i> ocupan los
+ * índices de {@link #getInicio}(<i>v</i>) a {@link #getFin}(<i>v</i>), en
+ * orden creciente. Cada arista ocupa dos enteros, uno por extremo.</p>
+ *
+ * <p>Los recorridos marcan los vértices en un arreglo propio, así que no
+ * modifican la gráfica y se pueden hacer desde varios hilos a la vez.</p>
+ *
+ * @param <T> El tipo de los elementos de la gráfica.
+ */
+public class GraficaCompacta<T> {
+
+    /* Los elementos, por índice de vértice. */
+    private T[] elementos;
+    /* Los índices de vértice, por elemento. */
+    private Diccionario<T, Integer> indices;
+    /* Dónde empiezan los vecinos de cada vértice; tiene n+1 entradas. */
+    private int[] inicios;
+    /* Los vecinos de todos los vértices, uno tras otro. */
+    private int[] vecinos;
+
+    /* Construye la fotografía con los arreglos ya llenos; la usa Grafica. */
+    GraficaCompacta(T[] elementos, int[] inicios, int[] vecinos) {
+        this.elementos = elementos;
+        this.inicios = inicios;
+        this.vecinos = vecinos;
+        indices = new Diccionario<T, Integer>(elementos.length);
+        for (int i = 0; i < elementos.length; i++) {
+          indices.agrega(elementos[i], i);
+        }
+    }
+
+    /**
+     * Regresa el número de vértices.
+     * @return el número de vértices.
+     */
+    public int getElementos() {
+        return elementos.length;
+    }
+
+    /**
+     * Regresa el número de aristas.
+     * @return el número de aristas.
+     */
+    public int getAristas() {
+        return vecinos.length / 2;
+    }
+
+    /**
+     * Regresa el elemento del vértice recibido.
+     * @param v el índice del vértice.
+     * @return el elemento del vértice.
+     * @throws ExcepcionIndiceInvalido si el índice no es válido.
+     */
+    public T get(int v) {
+        revisa(v);
+        return elementos[v];
+    }
+
+    /**
+     * Regresa el índice del vértice con el elemento recibido.
+     * @param elemento el elemento del vértice.
+     * @return el índice del vértice.
+     * @throws NoSuchElementException si el elemento no está en la gráfica.
+     */
+    public int indiceDe(T elemento) {
+        if (elemento == null || !indices.contiene(elemento)) {
+          throw new NoSuchElementException("No está en la gráfica.");
+        }
+        return indices.get(elemento);
+    }
+
+    /**
+     * Regresa el grado del vértice recibido.
+     * @param v el índice del vértice.
+     * @return el grado del vértice.
+     * @throws ExcepcionIndiceInvalido si el índice no es válido.
+     */
+    public int getGrado(int v) {
+        revisa(v);
+        return inicios[v+1] - inicios[v];
+    }
+
+    /**
+     * Regresa dónde empiezan los vecinos del vértice recibido.
+     * @param v el índice del vértice.
+     * @return el índice del primer vecino, para {@link #getVecino}.
+     * @throws ExcepcionIndiceInvalido si el índice no es válido.
+     */
+    public int getInicio(int v) {
+        revisa(v);
+        return inicios[v];
+    }
+
+    /**
+     * Regresa dónde terminan los vecinos del vértice recibido.
+     * @param v el índice del vértice.
+     * @return el índice siguiente al último vecino, para {@link #getVecino}.
+     * @throws ExcepcionIndiceInvalido si el índice no es válido.
+     */
+    public int getFin(int v) {
+        revisa(v);
+        return inicios[v+1];
+    }
+
+    /**
+     * Regresa el vértice en la posición recibida del arreglo de vecinos.
+     * @param k una posición entre {@link #getInicio} y {@link #getFin} de
+     *        algún vértice.
+     * @return el índice del vecino.
+     * @throws ExcepcionIndiceInvalido si la posición no es válida.
+     */
+    public int getVecino(int k) {
+        if (k < 0 || k >= vecinos.length) {
+          throw new ExcepcionIndiceInvalido("Índice no válido.");
+        }
+        return vecinos[k];
+    }
+
+    /**
+     * Nos dice si dos vértices son vecinos, con una búsqueda binaria en los
+     * vecinos del primero.
+     * @param a el índice del primer vértice.
+     * @param b el índice del segundo vértice.
+     * @return <code>true</code> si a y b son vecinos, <code>false</code> en
+     *         otro caso.
+     * @throws ExcepcionIndiceInvalido si algún índice no es válido.
+     */
+    public boolean sonVecinos(int a, int b) {
+        revisa(a);
+        revisa(b);
+        int ini = inicios[a];
+        int fin = inicios[a+1] - 1;
+        while (ini <= fin) {
+          int m = (ini + fin) >>> 1;
+          if (vecinos[m] == b) {
+            return true;
+          }
+          if (vecinos[m] < b) {
+            ini = m + 1;
+          } else {
+            fin = m - 1;
+          }
+        }
+        return false;
+    }
+
+    /**
+     * Nos dice si la gráfica es conexa. La gráfica vacía es conexa.
+     * @return <code>true</code> si la gráfica es conexa, <code>false</code> en
+     *         otro caso.
+     */
+    public boolean esConexa() {
+        if (elementos.length == 0) {
+          return true;
+        }
+        int[] visitados = new int[1];
+        bfs(0, v -> visitados[0]++);
+        return visitados[0] == elementos.length;
+    }
+
+    /**
+     * Regresa las componentes conexas de la gráfica, en tiempo
+     * <i>O</i>(<i>n</i>+<i>m</i>).
+     * @return las componentes conexas de la gráfica.
+     */
+    public ComponentesConexas<T> componentes() {
+        return new ComponentesConexas<T>(this);
+    }
+
+    /**
+     * Realiza la acción recibida en los vértices alcanzables desde el vértice
+     * recibido, en el orden determinado por BFS. Los vecinos de cada vértice
+     * se visitan en orden creciente.
+     * @param v el índice del vértice donde comienza el recorrido.
+     * @param accion la acción a realizar con el índice de cada vértice.
+     * @throws ExcepcionIndiceInvalido si el índice no es válido.
+     */
+    public void bfs(int v, IntConsumer accion) {
+        revisa(v);
+        boolean[] vistos = new boolean[elementos.length];
+        int[] cola = new int[elementos.length];
+        int cabeza = 0, rabo = 0;
+        cola[rabo++] = v;
+        vistos[v] = true;
+        while (cabeza < rabo) {
+          int u = cola[cabeza++];
+          accion.accept(u);
+          for (int k = inicios[u]; k < inicios[u+1]; k++) {
+            if (!vistos[vecinos[k]]) {
+              vistos[vecinos[k]] = true;
+              cola[rabo++] = vecinos[k];
+            }
+          }
+        }
+    }
+
+    /**
+     * Realiza la acción recibida en los vértices alcanzables desde el vértice
+     * recibido, en el orden determinado por DFS con una pila, como en {@link
+     * Grafica#dfs}: cada vértice se marca al meterlo a la pila.
+     * @param v el índice del vértice donde comienza el recorrido.
+     * @param accion la acción a realizar con el índice de cada vértice.
+     * @throws ExcepcionIndiceInvalido si el índice no es válido.
+     */
+    public void dfs(int v, IntConsumer accion) {
+        revisa(v);
+        boolean[] vistos = new boolean[elementos.length];
+        int[] pila = new int[elementos.length];
+        int tope = 0;
+        pila[tope++] = v;
+        vistos[v] = true;
+        while (tope > 0) {
+          int u = pila[--tope];
+          accion.accept(u);
+          for (int k = inicios[u]; k < inicios[u+1]; k++) {
+            if (!vistos[vecinos[k]]) {
+              vistos[vecinos[k]] = true;
+              pila[tope++] = vecinos[k];
+            }
+          }
+        }
+    }
+
+    /*
+     * Método auxiliar revisa.
+     * Que lanza ExcepcionIndiceInvalido si el índice no es de un vértice.
+     */
+    private void revisa(int v) {
+        if (v < 0 || v >= elementos.length) {
+          throw new ExcepcionIndiceInvalido("Índice no válido.");
+        }
+    }
+}
@@ -3,6 +3,8 @@ package mx.unam.ciencias.edd;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 /**
  * <p>Clase genérica para listas doblemente ligadas.</p>
@@ -487,68 +489,189 @@ public class Lista<T> implements Coleccion<T> {
         return new Iterador();
     }
 
-    /*
-    * Métod auxiliar mezcla.
-    * Recibe dos listas ordenadas y regresa una lista ordenada
-    * que contiene los elementos de las listas de entrada.
-    * @param c un comparador que hace el ordenamiento en la lista.
-    */
-    private Lista<T> mezcla(Comparator<T> c, Lista<T> lista1, Lista<T> lista2){
-      Lista<T>.Nodo l1 = lista1.cabeza;
-      Lista<T>.Nodo l2 = lista2.cabeza;
-      Lista<T> n = new Lista<>();
-      while (l1 != null && l2 != null) {
-        if (c.compare(l1.elemento, l2.elemento) <= 0) {
-          n.agrega(l1.elemento);
-          l1 = l1.siguiente;
-        } else {
-          n.agrega(l2.elemento);
-          l2 = l2.siguiente;
-        }
-      }
-      while (l1 != null && l2 == null) {
-        n.agrega(l1.elemento);
-        l1 = l1.siguiente;
-      }
-      while (l1 == null && l2 != null) {
-        n.agrega(l2.elemento);
-        l2 = l2.siguiente;
-      }
-      return n;
+    /**
+     * Tamaño a partir del cual {@link #mergeSortParalelo} ordena en paralelo;
+     * las listas más chicas se ordenan en un solo hilo.
+     */
+    public static final int UMBRAL_PARALELO = 1 << 14;
+
+    /**
+     * Ordena la lista usando MergeSort de abajo hacia arriba: mezcla tramos
+     * de 1, 2, 4, ... nodos religando los nodos existentes, sin crear nodos
+     * nuevos ni usar recursión; sólo usa un arreglo de 32 referencias. El
+     * ordenamiento es estable: los elementos iguales conservan su orden.
+     * @param comparador el comparador que la lista usará para hacer el
+     *                   ordenamiento.
+     */
+    public void ordena(Comparator<T> comparador) {
+        cabeza = ordena(cabeza, comparador);
+        religa();
     }
 
     /**
      * Regresa una copia de la lista, pero ordenada. Para poder hacer el
      * ordenamiento, el método necesita una instancia de {@link Comparator} para
-     * poder comparar los elementos de la lista.
+     * poder comparar los elementos de la lista. La copia se ordena con {@link
+     * #ordena}, así que el ordenamiento es estable.
      * @param comparador el comparador que la lista usará para hacer el
      *                   ordenamiento.
      * @return una copia de la lista, pero ordenada.
      */
     public Lista<T> mergeSort(Comparator<T> comparador) {
-        return mergeSort(copia(), comparador);
+        Lista<T> lista = copia();
+        lista.ordena(comparador);
+        return lista;
+    }
+
+    /**
+     * Regresa una copia de la lista, pero ordenada, como {@link
+     * #mergeSort(Comparator)}. Si la lista tiene al menos {@link
+     * #UMBRAL_PARALELO} elementos, la copia se corta en un tramo por hilo del
+     * {@link ForkJoinPool} común, los tramos se ordenan en paralelo y se
+     * mezclan por pares, también en paralelo. El ordenamiento es estable y el
+     * comparador se usa desde varios hilos a la vez.
+     * @param comparador el comparador que la lista usará para hacer el
+     *                   ordenamiento.
+     * @return una copia de la lista, pero ordenada.
+     */
+    public Lista<T> mergeSortParalelo(Comparator<T> comparador) {
+        Lista<T> lista = copia();
+        int hilos = ForkJoinPool.getCommonPoolParallelism();
+        if (longitud < UMBRAL_PARALELO || hilos < 2) {
+          lista.ordena(comparador);
+          return lista;
+        }
+        lista.cabeza = lista.ordenaParalelo(hilos, comparador);
+        lista.religa();
+        return lista;
+    }
+
+    /*
+    * Método auxiliar ordena.
+    * Que ordena la cadena que empieza en la cabeza recibida, siguiendo sólo
+    * las referencias siguiente, y regresa su nueva cabeza. Los nodos se
+    * toman uno por uno y se mezclan en montones de 1, 2, 4, ... nodos, como
+    * un contador binario: el montón i siempre tiene 2^i nodos anteriores a
+    * los del montón i-1, así que cada mezcla es de dos cadenas del mismo
+    * tamaño que se acaban de recorrer y siguen en caché.
+    */
+    private Nodo ordena(Nodo cabeza, Comparator<T> comparador) {
+      @SuppressWarnings("unchecked") Nodo[] montones = (Nodo[])new Lista.Nodo[32];
+      while (cabeza != null) {
+        Nodo carga = cabeza;
+        cabeza = cabeza.siguiente;
+        carga.siguiente = null;
+        int i = 0;
+        while (montones[i] != null) {
+          carga = mezcla(montones[i], carga, comparador);
+          montones[i++] = null;
+        }
+        montones[i] = carga;
+      }
+      Nodo ordenada = null;
+      for (Nodo monton : montones) {
+        if (monton != null) {
+          ordenada = mezcla(monton, ordenada, comparador);
+        }
+      }
+      return ordenada;
     }
 
     /*
-    * Método auxiliar mergeSort que ejecuta el algoritmo completo.
-    * Recibe una lista.
-    * comparador el comparador para odernar la lista
+    * Método auxiliar ordenaParalelo.
+    * Que corta la cadena de la lista en tramos, los ordena en paralelo y los
+    * mezcla por pares, en rondas, hasta que queda uno. Regresa su cabeza.
     */
-    private Lista<T> mergeSort(Lista<T> lista, Comparator<T> comparador){
-      Lista<T> lista1 = new Lista<>();
-      Lista<T> lista2;
-      if (lista.getLongitud() == 1 || lista.esVacia()) {
-        return lista.copia();
-      }
-      int l = lista.getLongitud()/2;
-      while (lista.getLongitud() != l) {
-        lista1.agrega(lista.getPrimero());
-        if (lista.longitud != 0) {
-          lista.eliminaPrimero();
+    private Nodo ordenaParalelo(int tramos, Comparator<T> comparador) {
+      ListaArreglo<ForkJoinTask<Nodo>> tareas = new ListaArreglo<ForkJoinTask<Nodo>>(tramos);
+      int largo = (longitud + tramos - 1) / tramos;
+      Nodo actual = cabeza;
+      while (actual != null) {
+        Nodo inicio = actual;
+        actual = corta(inicio, largo);
+        tareas.agrega(ForkJoinPool.commonPool().submit(() -> ordena(inicio, comparador)));
+      }
+      while (tareas.getElementos() > 1) {
+        ListaArreglo<ForkJoinTask<Nodo>> mezclas =
+            new ListaArreglo<ForkJoinTask<Nodo>>(tareas.getElementos() / 2 + 1);
+        for (int i = 0; i + 1 < tareas.getElementos(); i += 2) {
+          ForkJoinTask<Nodo> a = tareas.get(i), b = tareas.get(i+1);
+          mezclas.agrega(ForkJoinPool.commonPool().submit(
+              () -> mezcla(a.join(), b.join(), comparador)));
+        }
+        if (tareas.getElementos() % 2 == 1) {
+          mezclas.agrega(tareas.get(tareas.getElementos() - 1));
         }
+        tareas = mezclas;
       }
-      lista2 = lista.copia();
-      return (mezcla(comparador,mergeSort(lista1,comparador),mergeSort(lista2,comparador)));
+      return tareas.get(0).join();
+    }
+
+    /*
+    * Método auxiliar corta.
+    * Que corta la cadena después de sus primeros n nodos y regresa el resto,
+    * o null si no hay.
+    */
+    private Nodo corta(Nodo cabeza, int n) {
+      for (int i = 1; cabeza != null && i < n; i++) {
+        cabeza = cabeza.siguiente;
+      }
+      if (cabeza == null) {
+        return null;
+      }
+      Nodo resto = cabeza.siguiente;
+      cabeza.siguiente = null;
+      return resto;
+    }
+
+    /*
+    * Método auxiliar mezcla.
+    * Que mezcla dos cadenas ordenadas y regresa la cabeza de la mezcla. Ante
+    * elementos iguales toma primero los de la izquierda, para que el
+    * ordenamiento sea estable.
+    */
+    private Nodo mezcla(Nodo izquierda, Nodo derecha, Comparator<T> c) {
+      if (izquierda == null) {
+        return derecha;
+      }
+      if (derecha == null) {
+        return izquierda;
+      }
+      Nodo primero;
+      if (c.compare(izquierda.elemento, derecha.elemento) <= 0) {
+        primero = izquierda;
+        izquierda = izquierda.siguiente;
+      } else {
+        primero = derecha;
+        derecha = derecha.siguiente;
+      }
+      Nodo cola = primero;
+      while (izquierda != null && derecha != null) {
+        if (c.compare(izquierda.elemento, derecha.elemento) <= 0) {
+          cola.siguiente = izquierda;
+          izquierda = izquierda.siguiente;
+        } else {
+          cola.siguiente = derecha;
+          derecha = derecha.siguiente;
+        }
+        cola = cola.siguiente;
+      }
+      cola.siguiente = izquierda != null ? izquierda : derecha;
+      return primero;
+    }
+
+    /*
+    * Método auxiliar religa.
+    * Que recorre la cadena desde la cabeza para rehacer las referencias
+    * anterior y el rabo después de ordenar.
+    */
+    private void religa() {
+      Nodo anterior = null;
+      for (Nodo m = cabeza; m != null; m = m.siguiente) {
+        m.anterior = anterior;
+        anterior = m;
+      }
+      rabo = anterior;
     }
 
     /**
@@ -563,6 +686,19 @@ public class Lista<T> implements Coleccion<T> {
         return lista.mergeSort((a, b) -> a.compareTo(b));
     }
 
+    /**
+     * Regresa una copia de la lista recibida, pero ordenada en paralelo con
+     * {@link #mergeSortParalelo(Comparator)}. La lista recibida tiene que
+     * contener nada más elementos que implementan la interfaz {@link
+     * Comparable}.
+     * @param <T> tipo del que puede ser la lista.
+     * @param lista la lista que se ordenará.
+     * @return una copia de la lista recibida, pero ordenada.
+     */
+    public static <T extends Comparable<T>> Lista<T> mergeSortParalelo(Lista<T> lista) {
+        return lista.mergeSortParalelo((a, b) -> a.compareTo(b));
+    }
+
     /**
      * Busca un elemento en la lista ordenada, usando el comparador recibido. El
      * método supone que la lista está ordenada usando el mismo comparador.
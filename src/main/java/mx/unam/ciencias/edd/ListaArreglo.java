@@ -0,0 +1,387 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase genérica para listas respaldadas por un arreglo que crece.</p>
+ *
+ * <p>A diferencia de {@link Lista}, obtener el <em>i</em>-ésimo elemento toma
+ * tiempo constante, y agregar al final toma tiempo constante amortizado; a
+ * cambio, agregar o eliminar al inicio o a la mitad de la lista toma tiempo
+ * lineal.</p>
+ *
+ * <p>Las listas no aceptan a <code>null</code> como elemento.</p>
+ *
+ * @param <T> El tipo de los elementos de la lista.
+ */
+public class ListaArreglo<T> implements Coleccion<T> {
+
+    /* Clase interna privada para iteradores. */
+    private class Iterador implements IteradorLista<T> {
+        /* El índice del elemento siguiente. */
+        private int siguiente;
+
+        /* Nos dice si hay un elemento siguiente. */
+        @Override public boolean hasNext() {
+            return siguiente < longitud;
+        }
+
+        /* Nos da el elemento siguiente. */
+        @Override public T next() {
+            if (siguiente >= longitud) {
+              throw new NoSuchElementException("No hay elemento siguiente");
+            }
+            return arreglo[siguiente++];
+        }
+
+        /* Nos dice si hay un elemento anterior. */
+        @Override public boolean hasPrevious() {
+            return siguiente > 0;
+        }
+
+        /* Nos da el elemento anterior. */
+        @Override public T previous() {
+            if (siguiente <= 0) {
+              throw new NoSuchElementException("No hay elemento anterior");
+            }
+            return arreglo[--siguiente];
+        }
+
+        /* Mueve el iterador al inicio de la lista. */
+        @Override public void start() {
+            siguiente = 0;
+        }
+
+        /* Mueve el iterador al final de la lista. */
+        @Override public void end() {
+            siguiente = longitud;
+        }
+    }
+
+    /* Capacidad inicial por omisión. */
+    private static final int CAPACIDAD_INICIAL = 16;
+
+    /* Los elementos de la lista. */
+    private T[] arreglo;
+    /* Número de elementos en la lista. */
+    private int longitud;
+
+    /* Truco para crear arreglos genéricos. Es necesario hacerlo así por cómo
+       Java implementa sus genéricos; de otra forma obtenemos advertencias del
+       compilador. */
+    @SuppressWarnings("unchecked") private T[] nuevoArreglo(int n) {
+        return (T[])(new Object[n]);
+    }
+
+    /**
+     * Construye una lista vacía con la capacidad inicial por omisión.
+     */
+    public ListaArreglo() {
+        this(CAPACIDAD_INICIAL);
+    }
+
+    /**
+     * Construye una lista vacía con espacio para el número de elementos
+     * recibido, de forma que agregarlos no requiera crecer el arreglo.
+     * @param capacidad el número de elementos que se esperan.
+     */
+    public ListaArreglo(int capacidad) {
+        arreglo = nuevoArreglo(Math.max(capacidad, 1));
+    }
+
+    /**
+     * Construye una lista con los elementos de la colección recibida, en el
+     * orden en que la colección los itera.
+     * @param coleccion la colección a partir de la cual creamos la lista.
+     */
+    public ListaArreglo(Coleccion<T> coleccion) {
+        this(coleccion.getElementos());
+        for (T e : coleccion) {
+          agregaFinal(e);
+        }
+    }
+
+    /*
+     * Método auxiliar asegura.
+     * Que duplica el arreglo hasta que quepan n elementos.
+     */
+    private void asegura(int n) {
+        if (n <= arreglo.length) {
+          return;
+        }
+        int c = arreglo.length;
+        while (c < n) {
+          c *= 2;
+        }
+        T[] nuevo = nuevoArreglo(c);
+        System.arraycopy(arreglo, 0, nuevo, 0, longitud);
+        arreglo = nuevo;
+    }
+
+    /**
+     * Regresa la longitud de la lista. El método es idéntico a {@link
+     * #getElementos}.
+     * @return la longitud de la lista, el número de elementos que contiene.
+     */
+    public int getLongitud() {
+        return longitud;
+    }
+
+    /**
+     * Regresa el número elementos en la lista. El método es idéntico a {@link
+     * #getLongitud}.
+     * @return el número elementos en la lista.
+     */
+    @Override public int getElementos() {
+        return longitud;
+    }
+
+    /**
+     * Nos dice si la lista es vacía.
+     * @return <code>true</code> si la lista es vacía, <code>false</code> en
+     *         otro caso.
+     */
+    @Override public boolean esVacia() {
+        return longitud == 0;
+    }
+
+    /**
+     * Agrega un elemento al final de la lista. El método es idéntico a {@link
+     * #agregaFinal}.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     */
+    @Override public void agrega(T elemento) {
+        agregaFinal(elemento);
+    }
+
+    /**
+     * Agrega un elemento al final de la lista en tiempo constante amortizado.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     */
+    public void agregaFinal(T elemento) {
+        if (elemento == null) {
+          throw new IllegalArgumentException("El elemento debe ser"
+          + " distinto de null");
+        }
+        asegura(longitud+1);
+        arreglo[longitud++] = elemento;
+    }
+
+    /**
+     * Agrega un elemento al inicio de la lista. Toma tiempo lineal porque
+     * recorre todos los elementos una posición.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     */
+    public void agregaInicio(T elemento) {
+        inserta(0, elemento);
+    }
+
+    /**
+     * Inserta un elemento en un índice explícito. Si el índice es menor o
+     * igual que cero, el elemento se agrega al inicio de la lista; si es mayor
+     * o igual que el número de elementos, se agrega al final.
+     * @param i el índice dónde insertar el elemento.
+     * @param elemento el elemento a insertar.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     */
+    public void inserta(int i, T elemento) {
+        if (elemento == null) {
+          throw new IllegalArgumentException("El elemento no es válido");
+        }
+        if (i >= longitud) {
+          agregaFinal(elemento);
+          return;
+        }
+        if (i < 0) {
+          i = 0;
+        }
+        asegura(longitud+1);
+        System.arraycopy(arreglo, i, arreglo, i+1, longitud-i);
+        arreglo[i] = elemento;
+        longitud++;
+    }
+
+    /*
+     * Método auxiliar eliminaIndice.
+     * Que elimina el elemento en el índice recibido y lo regresa.
+     */
+    private T eliminaIndice(int i) {
+        T e = arreglo[i];
+        System.arraycopy(arreglo, i+1, arreglo, i, longitud-i-1);
+        arreglo[--longitud] = null;
+        return e;
+    }
+
+    /**
+     * Elimina un elemento de la lista. Si el elemento no está contenido en la
+     * lista, el método no la modifica.
+     * @param elemento el elemento a eliminar.
+     */
+    @Override public void elimina(T elemento) {
+        int i = indiceDe(elemento);
+        if (i != -1) {
+          eliminaIndice(i);
+        }
+    }
+
+    /**
+     * Elimina el primer elemento de la lista y lo regresa. Toma tiempo lineal.
+     * @return el primer elemento de la lista antes de eliminarlo.
+     * @throws NoSuchElementException si la lista es vacía.
+     */
+    public T eliminaPrimero() {
+        if (longitud == 0) {
+          throw new NoSuchElementException("Lista vacía");
+        }
+        return eliminaIndice(0);
+    }
+
+    /**
+     * Elimina el último elemento de la lista y lo regresa.
+     * @return el último elemento de la lista antes de eliminarlo.
+     * @throws NoSuchElementException si la lista es vacía.
+     */
+    public T eliminaUltimo() {
+        if (longitud == 0) {
+          throw new NoSuchElementException("La lista es vacía");
+        }
+        return eliminaIndice(longitud-1);
+    }
+
+    /**
+     * Nos dice si un elemento está en la lista.
+     * @param elemento el elemento que queremos saber si está en la lista.
+     * @return <code>true</code> si <code>elemento</code> está en la lista,
+     *         <code>false</code> en otro caso.
+     */
+    @Override public boolean contiene(T elemento) {
+        return indiceDe(elemento) != -1;
+    }
+
+    /**
+     * Limpia la lista de elementos, dejándola vacía.
+     */
+    @Override public void limpia() {
+        for (int i = 0; i < longitud; i++) {
+          arreglo[i] = null;
+        }
+        longitud = 0;
+    }
+
+    /**
+     * Regresa el primer elemento de la lista.
+     * @return el primer elemento de la lista.
+     * @throws NoSuchElementException si la lista es vacía.
+     */
+    public T getPrimero() {
+        if (longitud == 0) {
+          throw new NoSuchElementException("La lista no debe ser vacía");
+        }
+        return arreglo[0];
+    }
+
+    /**
+     * Regresa el último elemento de la lista.
+     * @return el último elemento de la lista.
+     * @throws NoSuchElementException si la lista es vacía.
+     */
+    public T getUltimo() {
+        if (longitud == 0) {
+          throw new NoSuchElementException("La lista no debe ser vacía");
+        }
+        return arreglo[longitud-1];
+    }
+
+    /**
+     * Regresa el <em>i</em>-ésimo elemento de la lista en tiempo constante.
+     * @param i el índice del elemento que queremos.
+     * @return el <em>i</em>-ésimo elemento de la lista.
+     * @throws ExcepcionIndiceInvalido si <em>i</em> es menor que cero o mayor o
+     *         igual que el número de elementos en la lista.
+     */
+    public T get(int i) {
+        if (i < 0 || i >= longitud) {
+          throw new ExcepcionIndiceInvalido("Índice no valido");
+        }
+        return arreglo[i];
+    }
+
+    /**
+     * Regresa el índice del elemento recibido en la lista.
+     * @param elemento el elemento del que se busca el índice.
+     * @return el índice del elemento recibido en la lista, o -1 si el elemento
+     *         no está contenido en la lista.
+     */
+    public int indiceDe(T elemento) {
+        if (elemento == null) {
+          return -1;
+        }
+        for (int i = 0; i < longitud; i++) {
+          if (arreglo[i].equals(elemento)) {
+            return i;
+          }
+        }
+        return -1;
+    }
+
+    /**
+     * Regresa una representación en cadena de la lista.
+     * @return una representación en cadena de la lista.
+     */
+    @Override public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < longitud; i++) {
+          if (i > 0) {
+            sb.append(", ");
+          }
+          sb.append(arreglo[i]);
+        }
+        return sb.append("]").toString();
+    }
+
+    /**
+     * Nos dice si la lista es igual al objeto recibido.
+     * @param objeto el objeto con el que hay que comparar.
+     * @return <code>true</code> si la lista es igual al objeto recibido;
+     *         <code>false</code> en otro caso.
+     */
+    @Override public boolean equals(Object objeto) {
+        if (objeto == null || getClass() != objeto.getClass())
+            return false;
+        @SuppressWarnings("unchecked") ListaArreglo<T> lista =
+            (ListaArreglo<T>)objeto;
+        if (longitud != lista.longitud) {
+          return false;
+        }
+        for (int i = 0; i < longitud; i++) {
+          if (!arreglo[i].equals(lista.arreglo[i])) {
+            return false;
+          }
+        }
+        return true;
+    }
+
+    /**
+     * Regresa un iterador para recorrer la lista en una dirección.
+     * @return un iterador para recorrer la lista en una dirección.
+     */
+    @Override public Iterator<T> iterator() {
+        return new Iterador();
+    }
+
+    /**
+     * Regresa un iterador para recorrer la lista en ambas direcciones.
+     * @return un iterador para recorrer la lista en ambas direcciones.
+     */
+    public IteradorLista<T> iteradorLista() {
+        return new Iterador();
+    }
+}
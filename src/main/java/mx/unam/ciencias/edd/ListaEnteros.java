@@ -0,0 +1,159 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Arrays;
+
+/**
+ * <p>Clase para listas de enteros primitivos respaldadas por un arreglo que
+ * crece.</p>
+ *
+ * <p>Es la versión especializada para <code>int</code> de {@link
+ * ListaArreglo}: guarda los elementos directamente en un arreglo de enteros,
+ * sin envolverlos en {@link Integer}, por lo que un millón de elementos ocupan
+ * cuatro megabytes en lugar de un objeto por elemento.</p>
+ */
+public class ListaEnteros {
+
+    /* Capacidad inicial por omisión. */
+    private static final int CAPACIDAD_INICIAL = 16;
+
+    /* Los elementos de la lista. */
+    private int[] arreglo;
+    /* Número de elementos en la lista. */
+    private int longitud;
+
+    /**
+     * Construye una lista vacía con la capacidad inicial por omisión.
+     */
+    public ListaEnteros() {
+        this(CAPACIDAD_INICIAL);
+    }
+
+    /**
+     * Construye una lista vacía con espacio para el número de elementos
+     * recibido.
+     * @param capacidad el número de elementos que se esperan.
+     */
+    public ListaEnteros(int capacidad) {
+        arreglo = new int[Math.max(capacidad, 1)];
+    }
+
+    /**
+     * Construye una lista con los elementos de la colección recibida, en el
+     * orden en que la colección los itera.
+     * @param coleccion la colección a partir de la cual creamos la lista.
+     */
+    public ListaEnteros(Coleccion<Integer> coleccion) {
+        this(coleccion.getElementos());
+        for (Integer e : coleccion) {
+          agrega(e);
+        }
+    }
+
+    /**
+     * Agrega un entero al final de la lista en tiempo constante amortizado.
+     * @param elemento el entero a agregar.
+     */
+    public void agrega(int elemento) {
+        if (longitud == arreglo.length) {
+          arreglo = Arrays.copyOf(arreglo, arreglo.length * 2);
+        }
+        arreglo[longitud++] = elemento;
+    }
+
+    /**
+     * Regresa el <em>i</em>-ésimo entero de la lista.
+     * @param i el índice del entero que queremos.
+     * @return el <em>i</em>-ésimo entero de la lista.
+     * @throws ExcepcionIndiceInvalido si <em>i</em> es menor que cero o mayor o
+     *         igual que el número de elementos en la lista.
+     */
+    public int get(int i) {
+        if (i < 0 || i >= longitud) {
+          throw new ExcepcionIndiceInvalido("Índice no valido");
+        }
+        return arreglo[i];
+    }
+
+    /**
+     * Regresa el número de enteros en la lista.
+     * @return el número de enteros en la lista.
+     */
+    public int getElementos() {
+        return longitud;
+    }
+
+    /**
+     * Nos dice si la lista es vacía.
+     * @return <code>true</code> si la lista es vacía, <code>false</code> en
+     *         otro caso.
+     */
+    public boolean esVacia() {
+        return longitud == 0;
+    }
+
+    /**
+     * Limpia la lista, dejándola vacía. No libera el arreglo.
+     */
+    public void limpia() {
+        longitud = 0;
+    }
+
+    /**
+     * Regresa una copia de los enteros de la lista en un arreglo del tamaño
+     * exacto.
+     * @return un arreglo con los enteros de la lista.
+     */
+    public int[] toArreglo() {
+        return Arrays.copyOf(arreglo, longitud);
+    }
+
+    /**
+     * Regresa una lista de {@link Integer} con los mismos elementos, para las
+     * estructuras genéricas que la necesiten.
+     * @return una lista con los enteros de la lista, en el mismo orden.
+     */
+    public ListaArreglo<Integer> toListaArreglo() {
+        ListaArreglo<Integer> lista = new ListaArreglo<Integer>(longitud);
+        for (int i = 0; i < longitud; i++) {
+          lista.agrega(arreglo[i]);
+        }
+        return lista;
+    }
+
+    /**
+     * Regresa una representación en cadena de la lista.
+     * @return una representación en cadena de la lista.
+     */
+    @Override public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < longitud; i++) {
+          if (i > 0) {
+            sb.append(", ");
+          }
+          sb.append(arreglo[i]);
+        }
+        return sb.append("]").toString();
+    }
+
+    /**
+     * Nos dice si la lista es igual al objeto recibido.
+     * @param objeto el objeto con el que hay que comparar.
+     * @return <code>true</code> si el objeto es una lista de enteros con los
+     *         mismos elementos en el mismo orden; <code>false</code> en otro
+     *         caso.
+     */
+    @Override public boolean equals(Object objeto) {
+        if (objeto == null || getClass() != objeto.getClass())
+            return false;
+        ListaEnteros lista = (ListaEnteros)objeto;
+        if (longitud != lista.longitud) {
+          return false;
+        }
+        for (int i = 0; i < longitud; i++) {
+          if (arreglo[i] != lista.arreglo[i]) {
+            return false;
+          }
+        }
+        return true;
+    }
+}
@@ -56,37 +56,29 @@ public class MonticuloArreglo<T extends ComparableIndexable<T>>
         if (elementos == 0) {
           throw new IllegalStateException("El montículo es vacío.");
         }
-        elementos--;
         return buscaMinimo();
     }
 
     /*
      * Método auxiliar buscaMinimo.
-     * Que recibe un arreglo génerico, anula la entrada del elemento
-     * mínimo y define su indice como -1.
+     * Que busca el elemento mínimo en un solo recorrido de los elementos que
+     * quedan, lo cambia por el último para que los que quedan sigan juntos
+     * al inicio del arreglo, y define su índice como -1.
      * Devuelve el elemento eliminado.
      */
     private T buscaMinimo() {
-        /* Obtenemos el elemento mínimo. */
-        T min = null;
-        for (int i = 0; i<arreglo.length; i++) {
-          if (arreglo[i] != null) {
-            min = arreglo[i];
+        int ind = 0;
+        for (int j = 1; j < elementos; j++) {
+          if (arreglo[ind].compareTo(arreglo[j]) > 0) {
+            ind = j;
           }
         }
-
-        /* Obtenemos el indice del elemento mínimo. */
-        int ind = min.getIndice();
-        for (int j = 0; j<arreglo.length; j++) {
-          if (arreglo[j] != null) {
-            if (min.compareTo(arreglo[j]) > 0) {
-              min = arreglo[j];
-              ind = arreglo[j].getIndice();
-            }
-          }
-        }
-        arreglo[ind].setIndice(-1);
-        arreglo[ind] = null;
+        T min = arreglo[ind];
+        elementos--;
+        arreglo[ind] = arreglo[elementos];
+        arreglo[ind].setIndice(ind);
+        arreglo[elementos] = null;
+        min.setIndice(-1);
         return min;
     }
 
@@ -20,6 +20,17 @@ public interface MonticuloDijkstra<T extends ComparableIndexable<T>> {
      */
     default public void reordena(T elemento) {}
 
+    /**
+     * Reordena un elemento cuyo valor disminuyó, como cuando Dijkstra
+     * encuentra una trayectoria más corta. Por omisión lo reordena con {@link
+     * #reordena}; los montículos que pueden aprovechar que el valor sólo
+     * disminuyó lo redefinen.
+     * @param elemento el elemento cuyo valor disminuyó.
+     */
+    default public void disminuye(T elemento) {
+        reordena(elemento);
+    }
+
     /**
      * Regresa el <i>i</i>-ésimo elemento del montículo.
      * @param i el índice del elemento que queremos.
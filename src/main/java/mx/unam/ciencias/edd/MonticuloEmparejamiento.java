@@ -0,0 +1,312 @@
+package mx.unam.ciencias.edd;
+
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase para montículos de emparejamiento (<i>pairing heaps</i>) de
+ * Dijkstra.</p>
+ *
+ * <p>El montículo es un árbol general donde cada vértice es menor o igual que
+ * sus hijos. Agregar y disminuir el valor de un elemento sólo ligan dos
+ * árboles, en tiempo constante; eliminar el mínimo empareja a los hijos de la
+ * raíz de izquierda a derecha y luego los liga de derecha a izquierda, en
+ * tiempo amortizado <i>O</i>(log <i>n</i>). En teoría conviene cuando hay
+ * muchas más disminuciones que eliminaciones, como en Dijkstra sobre
+ * gráficas con vértices de grado alto; en la práctica sus vértices quedan
+ * dispersos en memoria, y un {@link MonticuloMinimo} de aridad 4 suele ser
+ * más rápido.</p>
+ *
+ * <p>El índice de cada elemento es el de su vértice en un arreglo, así que
+ * {@link #contiene} y {@link #get} toman tiempo constante.</p>
+ */
+public class MonticuloEmparejamiento<T extends ComparableIndexable<T>>
+    implements MonticuloDijkstra<T> {
+
+    /* Clase interna privada para vértices. */
+    private class Nodo {
+
+        /* El elemento del vértice. */
+        private T elemento;
+        /* El hijo más a la izquierda. */
+        private Nodo hijo;
+        /* El hermano a la derecha. */
+        private Nodo hermano;
+        /* El hermano a la izquierda, o el padre si es el hijo más a la izquierda. */
+        private Nodo anterior;
+
+        /* Crea un vértice sin hijos ni hermanos. */
+        private Nodo(T elemento) {
+            this.elemento = elemento;
+        }
+    }
+
+    /* La raíz, con el elemento mínimo. */
+    private Nodo raiz;
+    /* Los vértices, por índice de su elemento. */
+    private Nodo[] nodos;
+    /* Número de elementos en el montículo. */
+    private int elementos;
+
+    /* Truco para crear arreglos genéricos. Es necesario hacerlo así por cómo
+       Java implementa sus genéricos; de otra forma obtenemos advertencias del
+       compilador. */
+    @SuppressWarnings("unchecked") private Nodo[] nuevoArreglo(int n) {
+        return (Nodo[])(new MonticuloEmparejamiento.Nodo[n]);
+    }
+
+    /**
+     * Constructor sin parámetros, para un montículo vacío.
+     */
+    public MonticuloEmparejamiento() {
+        nodos = nuevoArreglo(100);
+    }
+
+    /**
+     * Constructor para montículo de emparejamiento a partir de una
+     * colección.
+     * @param coleccion la colección a partir de la cuál queremos construir el
+     *                  montículo.
+     */
+    public MonticuloEmparejamiento(Coleccion<T> coleccion) {
+        this(coleccion, coleccion.getElementos());
+    }
+
+    /**
+     * Constructor para montículo de emparejamiento a partir de un iterable,
+     * en tiempo <i>O</i>(<i>n</i>).
+     * @param iterable el iterable a partir de la cual construir el montículo.
+     * @param n el número de elementos en el iterable.
+     */
+    public MonticuloEmparejamiento(Iterable<T> iterable, int n) {
+        nodos = nuevoArreglo(Math.max(n, 1));
+        for (T a : iterable) {
+          agrega(a);
+        }
+    }
+
+    /**
+     * Agrega un elemento al montículo, en tiempo constante.
+     * @param elemento el elemento a agregar.
+     */
+    public void agrega(T elemento) {
+        if (elementos == nodos.length) {
+          Nodo[] nuevos = nuevoArreglo(2 * nodos.length);
+          System.arraycopy(nodos, 0, nuevos, 0, elementos);
+          nodos = nuevos;
+        }
+        Nodo n = new Nodo(elemento);
+        nodos[elementos] = n;
+        elemento.setIndice(elementos);
+        elementos++;
+        raiz = junta(raiz, n);
+    }
+
+    /**
+     * Elimina el elemento mínimo del montículo, en tiempo amortizado
+     * <i>O</i>(log <i>n</i>).
+     * @return el elemento mínimo del montículo.
+     * @throws IllegalStateException si el montículo es vacío.
+     */
+    @Override public T elimina() {
+        if (elementos == 0) {
+          throw new IllegalStateException("El montículo es vacío.");
+        }
+        Nodo r = raiz;
+        raiz = empareja(r.hijo);
+        libera(r);
+        return r.elemento;
+    }
+
+    /**
+     * Nos dice si un elemento está contenido en el montículo, en tiempo
+     * constante.
+     * @param elemento el elemento que queremos saber si está contenido.
+     * @return <code>true</code> si el elemento está contenido,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean contiene(T elemento) {
+        int i = elemento.getIndice();
+        return i >= 0 && i < elementos && nodos[i].elemento == elemento;
+    }
+
+    /**
+     * Reordena un elemento cuyo valor disminuyó, en tiempo constante: corta
+     * su subárbol y lo liga con la raíz. Si el elemento no está en el
+     * montículo no hace nada.
+     * @param elemento el elemento cuyo valor disminuyó.
+     */
+    @Override public void disminuye(T elemento) {
+        if (!contiene(elemento)) {
+          return;
+        }
+        Nodo n = nodos[elemento.getIndice()];
+        if (n != raiz) {
+          corta(n);
+          raiz = liga(raiz, n);
+        }
+    }
+
+    /**
+     * Reordena un elemento cuyo valor aumentó o disminuyó. Si el elemento
+     * sigue siendo menor o igual que sus hijos, sólo se corta su subárbol y
+     * se liga con la raíz; si no, también se emparejan sus hijos, en tiempo
+     * amortizado <i>O</i>(log <i>n</i>). Si el elemento no está en el
+     * montículo no hace nada.
+     * @param elemento el elemento que hay que reordenar.
+     */
+    @Override public void reordena(T elemento) {
+        if (!contiene(elemento)) {
+          return;
+        }
+        Nodo n = nodos[elemento.getIndice()];
+        boolean ordenado = true;
+        for (Nodo h = n.hijo; h != null && ordenado; h = h.hermano) {
+          ordenado = h.elemento.compareTo(n.elemento) >= 0;
+        }
+        if (ordenado) {
+          if (n != raiz) {
+            corta(n);
+            raiz = liga(raiz, n);
+          }
+          return;
+        }
+        if (n == raiz) {
+          raiz = null;
+        } else {
+          corta(n);
+        }
+        Nodo hijos = empareja(n.hijo);
+        n.hijo = null;
+        raiz = junta(junta(raiz, hijos), n);
+    }
+
+    /**
+     * Regresa el elemento con el índice recibido.
+     * @param i el índice del elemento que queremos.
+     * @return el elemento con el índice recibido.
+     * @throws NoSuchElementException si i es menor que cero, o mayor o igual
+     *         que el número de elementos.
+     */
+    @Override public T get(int i) {
+        if (i < 0 || i >= elementos) {
+          throw new NoSuchElementException("Indice invalido.");
+        }
+        return nodos[i].elemento;
+    }
+
+    /**
+     * Nos dice si el montículo es vacío.
+     * @return <code>true</code> si ya no hay elementos en el montículo,
+     *         <code>false</code> en otro caso.
+     */
+    @Override public boolean esVacia() {
+        return elementos == 0;
+    }
+
+    /**
+     * Regresa el número de elementos en el montículo.
+     * @return el número de elementos en el montículo.
+     */
+    @Override public int getElementos() {
+        return elementos;
+    }
+
+    /*
+     * Método auxiliar liga.
+     * Que recibe dos raíces sin hermanos y hace a la mayor el hijo más a la
+     * izquierda de la menor. Regresa la nueva raíz.
+     */
+    private Nodo liga(Nodo a, Nodo b) {
+        if (b.elemento.compareTo(a.elemento) < 0) {
+          Nodo t = a;
+          a = b;
+          b = t;
+        }
+        b.hermano = a.hijo;
+        if (a.hijo != null) {
+          a.hijo.anterior = b;
+        }
+        b.anterior = a;
+        a.hijo = b;
+        return a;
+    }
+
+    /* Liga dos raíces que pueden ser null. */
+    private Nodo junta(Nodo a, Nodo b) {
+        if (a == null) {
+          return b;
+        }
+        if (b == null) {
+          return a;
+        }
+        return liga(a, b);
+    }
+
+    /*
+     * Método auxiliar corta.
+     * Que separa de su padre y sus hermanos al subárbol del vértice, que no
+     * es la raíz.
+     */
+    private void corta(Nodo n) {
+        if (n.anterior.hijo == n) {
+          n.anterior.hijo = n.hermano;
+        } else {
+          n.anterior.hermano = n.hermano;
+        }
+        if (n.hermano != null) {
+          n.hermano.anterior = n.anterior;
+        }
+        n.anterior = null;
+        n.hermano = null;
+    }
+
+    /*
+     * Método auxiliar empareja.
+     * Que recibe el primero de una lista de hermanos, los liga por parejas
+     * de izquierda a derecha y liga las parejas de derecha a izquierda.
+     * Regresa la raíz del árbol resultante, o null si no había hermanos. Las
+     * parejas se apilan usando sus propios hermanos, sin memoria extra.
+     */
+    private Nodo empareja(Nodo primero) {
+        Nodo parejas = null;
+        Nodo a = primero;
+        while (a != null) {
+          Nodo b = a.hermano;
+          Nodo siguiente = b == null ? null : b.hermano;
+          a.anterior = null;
+          a.hermano = null;
+          if (b != null) {
+            b.anterior = null;
+            b.hermano = null;
+            a = liga(a, b);
+          }
+          a.hermano = parejas;
+          parejas = a;
+          a = siguiente;
+        }
+        /* La pila tiene arriba a la pareja de más a la derecha. */
+        Nodo r = null;
+        while (parejas != null) {
+          Nodo s = parejas;
+          parejas = parejas.hermano;
+          s.hermano = null;
+          r = junta(r, s);
+        }
+        return r;
+    }
+
+    /*
+     * Método auxiliar libera.
+     * Que quita al vértice del arreglo, pasando al último a su lugar, y
+     * define el índice de su elemento como -1.
+     */
+    private void libera(Nodo n) {
+        int i = n.elemento.getIndice();
+        elementos--;
+        nodos[i] = nodos[elementos];
+        nodos[i].elemento.setIndice(i);
+        nodos[elementos] = null;
+        n.elemento.setIndice(-1);
+        n.hijo = null;
+    }
+}
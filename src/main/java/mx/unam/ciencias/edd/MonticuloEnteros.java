@@ -0,0 +1,137 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase para montículos mínimos de enteros primitivos.</p>
+ *
+ * <p>Es la versión especializada para <code>int</code> de {@link
+ * MonticuloMinimo}: los enteros se comparan por su valor y se guardan en un
+ * arreglo de enteros, sin envolverlos ni llevar índices por elemento.</p>
+ */
+public class MonticuloEnteros {
+
+    /* El número de elementos en el arreglo. */
+    private int elementos;
+    /* El árbol del montículo, por niveles. */
+    private int[] arbol;
+
+    /**
+     * Constructor sin parámetros.
+     */
+    public MonticuloEnteros() {
+        arbol = new int[100];
+    }
+
+    /**
+     * Construye un montículo con los enteros de la lista recibida. Los enteros
+     * se copian al arreglo y se acomodan de abajo hacia arriba en tiempo
+     * <i>O</i>(<i>n</i>).
+     * @param lista la lista a partir de la cuál construimos el montículo.
+     */
+    public MonticuloEnteros(ListaEnteros lista) {
+        arbol = lista.toArreglo();
+        elementos = arbol.length;
+        if (arbol.length == 0) {
+          arbol = new int[1];
+        }
+        for (int i = elementos/2 - 1; i >= 0; i--) {
+          haciaAbajo(i);
+        }
+    }
+
+    /*
+     * Método auxiliar haciaAbajo.
+     * Que recibe un índice y acomoda su entero hacia abajo en el montículo.
+     */
+    private void haciaAbajo(int i) {
+        int e = arbol[i];
+        int hijo = 2*i + 1;
+        while (hijo < elementos) {
+          if (hijo+1 < elementos && arbol[hijo+1] < arbol[hijo]) {
+            hijo++;
+          }
+          if (e <= arbol[hijo]) {
+            break;
+          }
+          arbol[i] = arbol[hijo];
+          i = hijo;
+          hijo = 2*i + 1;
+        }
+        arbol[i] = e;
+    }
+
+    /*
+     * Método auxiliar haciaArriba.
+     * Que recibe un índice y acomoda su entero hacia arriba en el montículo.
+     */
+    private void haciaArriba(int i) {
+        int e = arbol[i];
+        while (i > 0 && arbol[(i-1)/2] > e) {
+          arbol[i] = arbol[(i-1)/2];
+          i = (i-1)/2;
+        }
+        arbol[i] = e;
+    }
+
+    /**
+     * Agrega un nuevo entero en el montículo.
+     * @param elemento el entero a agregar en el montículo.
+     */
+    public void agrega(int elemento) {
+        if (elementos == arbol.length) {
+          arbol = Arrays.copyOf(arbol, arbol.length * 2);
+        }
+        arbol[elementos] = elemento;
+        haciaArriba(elementos++);
+    }
+
+    /**
+     * Elimina el entero mínimo del montículo.
+     * @return el entero mínimo del montículo.
+     * @throws IllegalStateException si el montículo es vacío.
+     */
+    public int elimina() {
+        if (elementos == 0) {
+          throw new IllegalStateException("El montículo es vacío.");
+        }
+        int e = arbol[0];
+        arbol[0] = arbol[--elementos];
+        if (elementos > 0) {
+          haciaAbajo(0);
+        }
+        return e;
+    }
+
+    /**
+     * Regresa el <i>i</i>-ésimo entero del árbol, por niveles.
+     * @param i el índice del entero que queremos.
+     * @return el <i>i</i>-ésimo entero del árbol, por niveles.
+     * @throws NoSuchElementException si i es menor que cero, o mayor o igual
+     *         que el número de elementos.
+     */
+    public int get(int i) {
+        if (i < 0 || i >= elementos) {
+          throw new NoSuchElementException("Indice no válido.");
+        }
+        return arbol[i];
+    }
+
+    /**
+     * Nos dice si el montículo es vacío.
+     * @return <code>true</code> si ya no hay elementos en el montículo,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean esVacia() {
+        return elementos == 0;
+    }
+
+    /**
+     * Regresa el número de enteros en el montículo.
+     * @return el número de enteros en el montículo.
+     */
+    public int getElementos() {
+        return elementos;
+    }
+}
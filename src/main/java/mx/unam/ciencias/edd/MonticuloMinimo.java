@@ -4,7 +4,15 @@ import java.util.Iterator;
 import java.util.NoSuchElementException;
 
 /**
- * Clase para montículos mínimos (<i>min heaps</i>).
+ * <p>Clase para montículos mínimos (<i>min heaps</i>).</p>
+ *
+ * <p>Cada elemento guarda su índice en el montículo, así que {@link
+ * #contiene}, {@link #elimina(ComparableIndexable)} y {@link #reordena} no
+ * buscan al elemento: toman tiempo constante y <i>O</i>(log <i>n</i>)
+ * respectivamente. El montículo puede ser <i>d</i>-ario, con <i>d</i> una
+ * potencia de dos: con 4 u 8 hijos por vértice el árbol es más bajo y los
+ * hijos de cada vértice quedan juntos en memoria, lo que conviene cuando hay
+ * muchas más disminuciones de valor que eliminaciones, como en Dijkstra.</p>
  */
 public class MonticuloMinimo<T extends ComparableIndexable<T>>
     implements Coleccion<T>, MonticuloDijkstra<T> {
@@ -62,10 +70,21 @@ public class MonticuloMinimo<T extends ComparableIndexable<T>>
         }
     }
 
+    /** La aridad de un montículo binario, la que se usa por omisión. */
+    public static final int BINARIO = 2;
+    /* La aridad máxima. */
+    private static final int ARIDAD_MAXIMA = 16;
+
     /* El número de elementos en el arreglo. */
     private int elementos;
     /* Usamos un truco para poder utilizar arreglos genéricos. */
     private T[] arbol;
+    /* El logaritmo base 2 de la aridad: los hijos de i empiezan en (i << d) + 1. */
+    private int desplazamiento;
+    /* Marcas de los índices vistos al reordenar varios; se reusan entre llamadas. */
+    private int[] marcas;
+    /* La marca de los índices vistos en la llamada actual. */
+    private int marca;
 
     /* Truco para crear arreglos genéricos. Es necesario hacerlo así por cómo
        Java implementa sus genéricos; de otra forma obtenemos advertencias del
@@ -80,6 +99,16 @@ public class MonticuloMinimo<T extends ComparableIndexable<T>>
      * pero se ofrece este constructor por completez.
      */
     public MonticuloMinimo() {
+        this(BINARIO);
+    }
+
+    /**
+     * Constructor para un montículo vacío con la aridad recibida.
+     * @param aridad el número de hijos de cada vértice: 2, 4, 8 o 16.
+     * @throws IllegalArgumentException si la aridad no es una de esas.
+     */
+    public MonticuloMinimo(int aridad) {
+        desplazamiento = desplazamiento(aridad);
         arbol = nuevoArreglo(100);
     }
 
@@ -105,60 +134,116 @@ public class MonticuloMinimo<T extends ComparableIndexable<T>>
      * @param n el número de elementos en el iterable.
      */
     public MonticuloMinimo(Iterable<T> iterable, int n) {
-        this.arbol = nuevoArreglo(n);
+        this(iterable, n, BINARIO);
+    }
+
+    /**
+     * Constructor para montículo mínimo con la aridad recibida que recibe un
+     * iterable y el número de elementos en el mismo, en tiempo
+     * <i>O</i>(<i>n</i>).
+     * @param iterable el iterable a partir de la cuál queremos construir el
+     *                 montículo.
+     * @param n el número de elementos en el iterable.
+     * @param aridad el número de hijos de cada vértice: 2, 4, 8 o 16.
+     * @throws IllegalArgumentException si la aridad no es una de esas.
+     */
+    public MonticuloMinimo(Iterable<T> iterable, int n, int aridad) {
+        desplazamiento = desplazamiento(aridad);
+        this.arbol = nuevoArreglo(Math.max(n, 1));
         for (T a : iterable) {
-          agrega(a);
+          if (elementos == arbol.length) {
+            crece();
+          }
+          a.setIndice(elementos);
+          arbol[elementos++] = a;
+        }
+        amontona();
+    }
+
+    /*
+     * Método auxiliar desplazamiento.
+     * Que regresa el logaritmo base 2 de la aridad, y lanza
+     * IllegalArgumentException si no es una potencia de dos entre 2 y 16.
+     */
+    private static int desplazamiento(int aridad) {
+        if (aridad < BINARIO || aridad > ARIDAD_MAXIMA || Integer.bitCount(aridad) != 1) {
+          throw new IllegalArgumentException("La aridad debe ser 2, 4, 8 o 16.");
         }
-        for (int j = (elementos/2)-1; j>=0; j--) {
+        return Integer.numberOfTrailingZeros(aridad);
+    }
+
+    /* Acomoda hacia abajo a todos los vértices con hijos, del último a la raíz. */
+    private void amontona() {
+        for (int j = ((elementos-2) >> desplazamiento); j >= 0; j--) {
           haciaAbajo(j);
         }
     }
 
+    /*
+     * Método auxiliar crece.
+     * Que duplica el tamaño del arreglo.
+     */
+    private void crece() {
+        T[] arreglito = nuevoArreglo(2 * arbol.length);
+        System.arraycopy(arbol, 0, arreglito, 0, elementos);
+        arbol = arreglito;
+    }
+
     /*
      * Método auxiliar haciaAbajo.
      * Que recibe el índice correspondiente a un elemento del arreglo
-     * y se encarga de acomodarlo hacia abajo en el montículo.
+     * y se encarga de acomodarlo hacia abajo en el montículo. Los hijos
+     * menores suben un nivel y el elemento se coloca una sola vez al final.
      */
     private void haciaAbajo(int indiceE) {
-        if (indiceE >= elementos) {
+        if (indiceE < 0 || indiceE >= elementos) {
           return;
         }
-        int aux = indiceE;
-        int hijoIzq = 2*(indiceE)+1;
-        int hijoDer = 2*(indiceE)+2;
-        if (hijoIzq < elementos && arbol[hijoIzq] != null) {
-          if (arbol[aux].compareTo(arbol[hijoIzq]) > 0) {
-            aux = hijoIzq;
+        T e = arbol[indiceE];
+        /* Comparamos antes de desplazar para no desbordar con índices grandes. */
+        int ultimoPadre = (elementos-2) >> desplazamiento;
+        while (indiceE <= ultimoPadre) {
+          int hijo = (indiceE << desplazamiento) + 1;
+          int fin = Math.min(hijo + (1 << desplazamiento), elementos);
+          int menor = hijo;
+          for (int h = hijo+1; h < fin; h++) {
+            if (arbol[h].compareTo(arbol[menor]) < 0) {
+              menor = h;
+            }
           }
-        }
-        if (hijoDer < elementos && arbol[hijoDer] != null) {
-          if (arbol[aux].compareTo(arbol[hijoDer]) > 0) {
-            aux = hijoDer;
+          if (e.compareTo(arbol[menor]) <= 0) {
+            break;
           }
+          arbol[indiceE] = arbol[menor];
+          arbol[indiceE].setIndice(indiceE);
+          indiceE = menor;
         }
-        if (aux == indiceE) {
-          return;
-        }
-        intercambia(indiceE,aux);
-        haciaAbajo(aux);
+        arbol[indiceE] = e;
+        e.setIndice(indiceE);
     }
 
     /*
      * Método auxiliar haciaArriba.
      * Que recibe un indice y se encarga de acomodar su elemento hacia arriba
-     * en el montículo.
+     * en el montículo. Los padres mayores bajan un nivel y el elemento se
+     * coloca una sola vez al final.
      */
     private void haciaArriba(int indiceE) {
-      if (indiceE <= 0) {
-        return;
-      }
-      int padre = (indiceE-1)/2;
-      if (arbol[padre] != null && arbol[indiceE] != null) {
-        if (arbol[padre].compareTo(arbol[indiceE]) > 0) {
-          intercambia(padre, indiceE);
-          haciaArriba(padre);
+        if (indiceE <= 0 || indiceE >= elementos) {
+          return;
+        }
+        T e = arbol[indiceE];
+        while (indiceE > 0) {
+          int padre = (indiceE-1) >> desplazamiento;
+          if (arbol[padre].compareTo(e) <= 0) {
+            break;
+          }
+          arbol[indiceE] = arbol[padre];
+          arbol[indiceE].setIndice(indiceE);
+          indiceE = padre;
         }
-      }
+        arbol[indiceE] = e;
+        e.setIndice(indiceE);
     }
 
     /*
@@ -181,16 +266,12 @@ public class MonticuloMinimo<T extends ComparableIndexable<T>>
      */
     @Override public void agrega(T elemento) {
         if (elementos == arbol.length) {
-          T[] arreglito = nuevoArreglo(2 * arbol.length);
-          for (int i = 0; i < arbol.length; i++) {
-            arreglito[i] = arbol[i];
-          }
-          arbol = arreglito;
+          crece();
         }
         arbol[elementos] = elemento;
         arbol[elementos].setIndice(elementos);
         elementos++;
-        reordena(arbol[elementos-1]);
+        haciaArriba(elementos-1);
     }
 
     /**
@@ -212,11 +293,12 @@ public class MonticuloMinimo<T extends ComparableIndexable<T>>
     }
 
     /**
-     * Elimina un elemento del montículo.
+     * Elimina un elemento del montículo, en tiempo <i>O</i>(log <i>n</i>).
+     * Si el elemento no está en el montículo no hace nada.
      * @param elemento a eliminar del montículo.
      */
     @Override public void elimina(T elemento) {
-        if (elemento.getIndice() < 0 || elemento.getIndice() >= elementos) {
+        if (!contiene(elemento)) {
           return;
         }
         int e = elemento.getIndice();
@@ -229,16 +311,16 @@ public class MonticuloMinimo<T extends ComparableIndexable<T>>
     }
 
     /**
-     * Nos dice si un elemento está contenido en el montículo.
+     * Nos dice si un elemento está contenido en el montículo, en tiempo
+     * constante: el elemento debe ser el que está en su índice, no sólo uno
+     * igual a él.
      * @param elemento el elemento que queremos saber si está contenido.
      * @return <code>true</code> si el elemento está contenido,
      *         <code>false</code> en otro caso.
      */
     @Override public boolean contiene(T elemento) {
-        if (elemento.getIndice() < 0 || elemento.getIndice() >= elementos) {
-          return false;
-        }
-        return arbol[elemento.getIndice()].equals(elemento);
+        int i = elemento.getIndice();
+        return i >= 0 && i < elementos && arbol[i] == elemento;
     }
 
     /**
@@ -260,16 +342,115 @@ public class MonticuloMinimo<T extends ComparableIndexable<T>>
         }
     }
 
-   /**
-     * Reordena un elemento en el árbol.
+    /**
+     * Reordena un elemento en el árbol, cuyo valor aumentó o disminuyó, en
+     * tiempo <i>O</i>(log <i>n</i>). Si el elemento no está en el montículo
+     * no hace nada.
      * @param elemento el elemento que hay que reordenar.
      */
     @Override public void reordena(T elemento) {
+        if (!contiene(elemento)) {
+          return;
+        }
         int r = elemento.getIndice();
         haciaAbajo(r);
         haciaArriba(r);
     }
 
+    /**
+     * Reordena un elemento cuyo valor disminuyó: sólo lo sube hacia la raíz.
+     * Si el elemento no está en el montículo no hace nada.
+     * @param elemento el elemento cuyo valor disminuyó.
+     */
+    @Override public void disminuye(T elemento) {
+        if (contiene(elemento)) {
+          haciaArriba(elemento.getIndice());
+        }
+    }
+
+    /**
+     * Reordena un elemento cuyo valor aumentó: sólo lo baja hacia las hojas.
+     * Si el elemento no está en el montículo no hace nada.
+     * @param elemento el elemento cuyo valor aumentó.
+     */
+    public void aumenta(T elemento) {
+        if (contiene(elemento)) {
+          haciaAbajo(elemento.getIndice());
+        }
+    }
+
+    /**
+     * Reordena todos los elementos recibidos, cuyos valores cambiaron. Los
+     * elementos se acomodan hacia abajo junto con sus ancestros, de los más
+     * profundos a la raíz, como al construir el montículo pero sólo en los
+     * caminos que cambiaron. Si son tantos que eso costaría más que
+     * reconstruir el montículo, en tiempo <i>O</i>(<i>n</i>), lo reconstruye.
+     * Los elementos que no están en el montículo se ignoran.
+     * @param cambiados los elementos cuyos valores cambiaron.
+     */
+    public void reordena(Coleccion<T> cambiados) {
+        int niveles = nivel(elementos-1) + 1;
+        if ((long)cambiados.getElementos() * niveles > elementos) {
+          amontona();
+          return;
+        }
+        /* Los índices de los cambiados y sus ancestros, por nivel. */
+        ListaEnteros[] porNivel = new ListaEnteros[niveles];
+        if (marcas == null || marcas.length < elementos || marca == Integer.MAX_VALUE) {
+          marcas = new int[arbol.length];
+          marca = 0;
+        }
+        marca++;
+        for (T elemento : cambiados) {
+          if (!contiene(elemento)) {
+            continue;
+          }
+          int i = elemento.getIndice();
+          int nivel = nivel(i);
+          while (marcas[i] != marca) {
+            marcas[i] = marca;
+            if (porNivel[nivel] == null) {
+              porNivel[nivel] = new ListaEnteros();
+            }
+            porNivel[nivel].agrega(i);
+            if (i == 0) {
+              break;
+            }
+            i = (i-1) >> desplazamiento;
+            nivel--;
+          }
+        }
+        /* Cada vértice se acomoda cuando sus subárboles ya son montículos. */
+        for (int nivel = niveles-1; nivel >= 0; nivel--) {
+          if (porNivel[nivel] != null) {
+            for (int j = 0; j < porNivel[nivel].getElementos(); j++) {
+              haciaAbajo(porNivel[nivel].get(j));
+            }
+          }
+        }
+    }
+
+    /* Regresa el nivel del índice recibido; la raíz está en el nivel 0. */
+    private int nivel(int i) {
+        int nivel = 0;
+        long fin = 1;
+        long ancho = 1;
+        while (i >= fin) {
+          ancho <<= desplazamiento;
+          fin += ancho;
+          nivel++;
+        }
+        return nivel;
+    }
+
+    /**
+     * Regresa la aridad del montículo: el número de hijos de cada vértice.
+     * @return la aridad del montículo.
+     */
+    public int getAridad() {
+        return 1 << desplazamiento;
+    }
+
     /**
      * Regresa el número de elementos en el montículo mínimo.
      * @return el número de elementos en el montículo mínimo.
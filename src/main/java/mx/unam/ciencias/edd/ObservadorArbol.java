@@ -0,0 +1,24 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * Interfaz para observar los cambios de forma y color de un árbol binario
+ * ordenado mientras se rebalancea.
+ */
+public interface ObservadorArbol<T> {
+
+    /**
+     * Se invoca después de girar el árbol sobre un vértice.
+     * @param vertice el vértice sobre el que se giró; ahora es hijo del que
+     *        ocupó su lugar.
+     * @param derecha <code>true</code> si el giro fue a la derecha,
+     *        <code>false</code> si fue a la izquierda.
+     */
+    public void giro(VerticeArbolBinario<T> vertice, boolean derecha);
+
+    /**
+     * Se invoca después de cambiar el color de un vértice. Los árboles sin
+     * colores nunca lo invocan.
+     * @param vertice el vértice que cambió de color.
+     */
+    public default void recoloreo(VerticeArbolBinario<T> vertice) {}
+}
@@ -0,0 +1,153 @@
+package mx.unam.ciencias.edd;
+
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase para las trayectorias de peso mínimo desde un vértice de una
+ * {@link Grafica}, como las regresa {@link Grafica#dijkstra}.</p>
+ *
+ * <p>Cada vértice se identifica con un entero de 0 a <i>n</i>-1, en el orden
+ * en que fue agregado a la gráfica, igual que en {@link GraficaCompacta}. Las
+ * trayectorias forman un árbol con raíz en el origen: cada vértice alcanzable
+ * guarda su distancia al origen y el vértice anterior en su trayectoria.</p>
+ *
+ * <p>Las trayectorias son una fotografía: los cambios posteriores a la
+ * gráfica no se reflejan en ellas.</p>
+ *
+ * @param <T> El tipo de los elementos de la gráfica.
+ */
+public class TrayectoriasMinimas<T> {
+
+    /* Los vértices, por índice. */
+    private VerticeGrafica<T>[] vertices;
+    /* Los índices de vértice, por elemento; se llena la primera vez que se usa. */
+    private Diccionario<T, Integer> indices;
+    /* El índice del origen. */
+    private int origen;
+    /* La distancia al origen de cada vértice; infinita si no es alcanzable. */
+    private double[] distancias;
+    /* El vértice anterior de cada vértice en su trayectoria, o -1. */
+    private int[] anteriores;
+
+    /* Construye las trayectorias con los arreglos ya llenos; la usa Grafica. */
+    TrayectoriasMinimas(VerticeGrafica<T>[] vertices, int origen,
+                        double[] distancias, int[] anteriores) {
+        this.vertices = vertices;
+        this.origen = origen;
+        this.distancias = distancias;
+        this.anteriores = anteriores;
+    }
+
+    /**
+     * Regresa el número de vértices.
+     * @return el número de vértices.
+     */
+    public int getElementos() {
+        return vertices.length;
+    }
+
+    /**
+     * Regresa el índice del origen de las trayectorias.
+     * @return el índice del origen.
+     */
+    public int getOrigen() {
+        return origen;
+    }
+
+    /**
+     * Regresa el vértice con el índice recibido.
+     * @param v el índice del vértice.
+     * @return el vértice con el índice recibido.
+     * @throws ExcepcionIndiceInvalido si el índice no es válido.
+     */
+    public VerticeGrafica<T> get(int v) {
+        revisa(v);
+        return vertices[v];
+    }
+
+    /**
+     * Regresa el índice del vértice con el elemento recibido.
+     * @param elemento el elemento del vértice.
+     * @return el índice del vértice.
+     * @throws NoSuchElementException si el elemento no estaba en la gráfica.
+     */
+    public int indiceDe(T elemento) {
+        if (indices == null) {
+          indices = new Diccionario<T, Integer>(vertices.length);
+          for (int i = 0; i < vertices.length; i++) {
+            indices.agrega(vertices[i].get(), i);
+          }
+        }
+        if (elemento == null || !indices.contiene(elemento)) {
+          throw new NoSuchElementException("No está en la gráfica.");
+        }
+        return indices.get(elemento);
+    }
+
+    /**
+     * Nos dice si el vértice recibido es alcanzable desde el origen.
+     * @param v el índice del vértice.
+     * @return <code>true</code> si el vértice es alcanzable,
+     *         <code>false</code> en otro caso.
+     * @throws ExcepcionIndiceInvalido si el índice no es válido.
+     */
+    public boolean esAlcanzable(int v) {
+        revisa(v);
+        return distancias[v] != Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Regresa la distancia del origen al vértice recibido: el peso de su
+     * trayectoria mínima.
+     * @param v el índice del vértice.
+     * @return la distancia del origen al vértice, o {@link
+     *         Double#POSITIVE_INFINITY} si no es alcanzable.
+     * @throws ExcepcionIndiceInvalido si el índice no es válido.
+     */
+    public double getDistancia(int v) {
+        revisa(v);
+        return distancias[v];
+    }
+
+    /**
+     * Regresa el vértice anterior al recibido en su trayectoria mínima: su
+     * padre en el árbol de trayectorias.
+     * @param v el índice del vértice.
+     * @return el índice del vértice anterior, o -1 si el vértice es el
+     *         origen o no es alcanzable.
+     * @throws ExcepcionIndiceInvalido si el índice no es válido.
+     */
+    public int getAnterior(int v) {
+        revisa(v);
+        return esAlcanzable(v) ? anteriores[v] : -1;
+    }
+
+    /**
+     * Regresa la trayectoria mínima del origen al vértice recibido.
+     * @param v el índice del vértice.
+     * @return los vértices de la trayectoria, del origen al vértice; la lista
+     *         es vacía si el vértice no es alcanzable.
+     * @throws ExcepcionIndiceInvalido si el índice no es válido.
+     */
+    public Lista<VerticeGrafica<T>> trayectoria(int v) {
+        revisa(v);
+        Lista<VerticeGrafica<T>> trayectoria = new Lista<VerticeGrafica<T>>();
+        if (!esAlcanzable(v)) {
+          return trayectoria;
+        }
+        for (int u = v; u != -1; u = anteriores[u]) {
+          trayectoria.agregaInicio(vertices[u]);
+        }
+        return trayectoria;
+    }
+
+    /*
+     * Método auxiliar revisa.
+     * Que lanza ExcepcionIndiceInvalido si el índice no es de un vértice.
+     */
+    private void revisa(int v) {
+        if (v < 0 || v >= vertices.length) {
+          throw new ExcepcionIndiceInvalido("Índice no válido.");
+        }
+    }
+}
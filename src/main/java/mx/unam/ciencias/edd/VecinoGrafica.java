@@ -0,0 +1,15 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * Interfaz para vecinos de un vértice de gráfica. Un vecino es un vértice de
+ * la gráfica que además puede darnos el peso de la arista que lo conecta con
+ * el vértice del que es vecino.
+ */
+public interface VecinoGrafica<T> extends VerticeGrafica<T> {
+
+    /**
+     * Regresa el peso de la arista que conecta al vecino.
+     * @return el peso de la arista que conecta al vecino.
+     */
+    public double getPeso();
+}
@@ -0,0 +1,196 @@
+package mx.unam.ciencias.edd.proyecto2;
+
+import mx.unam.ciencias.edd.*;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Clase AnimacionArbol.
+ * Que convierte la bitácora de una {@link Traza} en un solo SVG animado con
+ * SMIL, donde cada giro, recoloreo y operación es un paso.
+ *
+ * <p>La bitácora se vuelve a aplicar a un árbol nuevo dentro de una {@link
+ * SesionGrafica}, así que cada paso escribe sólo los vértices que cambiaron:
+ * cada versión de un vértice aparece en su paso y se oculta cuando otra la
+ * reemplaza. El árbol se acomoda con dos niveles de más, así que sólo se
+ * escribe completo cuando crece más allá de ellos, no cada vez que un giro
+ * sube o baja su altura. Cada vez que se escribe completo, va en su propio
+ * svg anidado con el viewBox de ese acomodo, que se escala si no cabe en el
+ * lienzo; cada vértice escrito se revisa contra ese viewBox. El SVG se
+ * escribe conforme se genera; en memoria sólo queda el árbol.</p>
+ * @author Armando Ramírez González.
+ * @version 1.0.0.
+ */
+public class AnimacionArbol {
+
+    /** La duración de cada paso, en milisegundos. */
+    public static final int PASO = 500;
+
+    /* Los niveles de más con que se acomoda el árbol cuando crece. */
+    private static final int HOLGURA = 2;
+
+    /* La sesión con el árbol que se anima. */
+    private SesionOrdenada sesion;
+    /* Donde se escribe el SVG. */
+    private Appendable salida;
+    /* El número de pasos escritos. */
+    private int pasos;
+    /* El número de veces que se escribió el árbol completo. */
+    private int completos;
+    /* El paso de la versión visible de cada casilla. */
+    private Diccionario<Long, Integer> versiones;
+
+    /* Crea una animación de la sesión que escribe en la salida recibida. */
+    private AnimacionArbol(SesionOrdenada sesion, Appendable salida) {
+        this.sesion = sesion;
+        this.salida = salida;
+        versiones = new Diccionario<Long, Integer>();
+    }
+
+    /**
+     * Método emite.
+     * Que escribe el documento SVG animado de la bitácora recibida.
+     * @param estructura la estructura de la traza.
+     * @param eventos la bitácora de la traza.
+     * @param salida donde se escribe el SVG.
+     * @throws IOException si ocurre un error al escribir en la salida.
+     * @throws IllegalArgumentException si la estructura no es un árbol AVL
+     *         o rojinegro, o si la bitácora no corresponde a sus operaciones.
+     * @throws IllegalStateException si el árbol es demasiado alto para
+     *         graficarlo.
+     */
+    public static void emite(Estructura estructura, ListaEnteros eventos,
+                             Appendable salida) throws IOException {
+        Traza.arbol(estructura);
+        SesionOrdenada sesion = (SesionOrdenada)SesionGrafica.abre(estructura);
+        ArbolBinarioOrdenado<Integer> arbol = sesion.getArbol();
+        /* Los giros suben y bajan la altura a mitad de cada operación. */
+        sesion.setHolgura(HOLGURA);
+        AnimacionArbol animacion = new AnimacionArbol(sesion, salida);
+        /* Cada evento del árbol debe ser el siguiente de la bitácora. */
+        int[] siguiente = new int[1];
+        ObservadorArbol<Integer> registro = Traza.observador(arbol, e -> {
+            if (siguiente[0] >= eventos.getElementos() || eventos.get(siguiente[0]) != e) {
+              throw new IllegalArgumentException("La bitácora no corresponde al árbol.");
+            }
+            siguiente[0]++;
+        });
+        arbol.setObservador(new ObservadorArbol<Integer>() {
+            @Override public void giro(VerticeArbolBinario<Integer> vertice, boolean derecha) {
+                registro.giro(vertice, derecha);
+                animacion.paso(sesion.paso(vertice));
+            }
+
+            @Override public void recoloreo(VerticeArbolBinario<Integer> vertice) {
+                registro.recoloreo(vertice);
+                animacion.paso(sesion.paso(vertice));
+            }
+        });
+        salida.append("<svg xmlns='http://www.w3.org/2000/svg' "
+                      + "xmlns:xlink='http://www.w3.org/1999/xlink' "
+                      + "width='" + Proyecto2.LIENZO + "' height='" + Proyecto2.LIENZO + "'>\n");
+        try {
+          while (siguiente[0] < eventos.getElementos()) {
+            int tipo = eventos.get(siguiente[0]);
+            if (siguiente[0] + 1 == eventos.getElementos()
+                || (tipo != Traza.AGREGA && tipo != Traza.ELIMINA)) {
+              throw new IllegalArgumentException("La bitácora no corresponde al árbol.");
+            }
+            int elemento = eventos.get(siguiente[0] + 1);
+            siguiente[0] += 2;
+            animacion.paso(tipo == Traza.AGREGA ? sesion.agrega(elemento)
+                                                : sesion.elimina(elemento));
+          }
+        } catch (UncheckedIOException uioe) {
+          throw uioe.getCause();
+        }
+        if (animacion.completos > 0) {
+          salida.append("</svg></g>\n");
+        }
+        salida.append("</svg>\n");
+    }
+
+    /*
+     * Método auxiliar paso.
+     * Que escribe los cambios de un paso: oculta las versiones reemplazadas
+     * o eliminadas y agrega las nuevas, que aparecen al empezar el paso.
+     */
+    private void paso(Cambios cambios) {
+        if (cambios.esVacio()) {
+          return;
+        }
+        try {
+          String inicio = pasos*PASO + "ms";
+          if (cambios.esCompleta()) {
+            if (completos > 0) {
+              salida.append("</svg></g>\n");
+              oculta("c" + (completos-1), inicio);
+            }
+            versiones.limpia();
+            salida.append("<g id='c").append(String.valueOf(completos))
+                  .append("' visibility='hidden'>");
+            muestra(inicio);
+            abreLienzo();
+            completos++;
+          }
+          for (String id : cambios.getEliminados()) {
+            long casilla = Long.parseLong(id.substring(1));
+            oculta("p" + versiones.get(casilla) + id, inicio);
+            versiones.elimina(casilla);
+          }
+          for (String fragmento : cambios.getFragmentos()) {
+            int fin = fragmento.indexOf('\'', 7);
+            String id = fragmento.substring(7, fin);
+            long casilla = Long.parseLong(id.substring(1));
+            if (!sesion.dentro(casilla)) {
+              throw new IllegalStateException("El vértice " + id + " queda fuera del lienzo.");
+            }
+            if (versiones.contiene(casilla)) {
+              oculta("p" + versiones.get(casilla) + id, inicio);
+            }
+            salida.append("<g id='p").append(String.valueOf(pasos)).append(id).append("'");
+            if (cambios.esCompleta()) {
+              salida.append(">");
+            } else {
+              salida.append(" visibility='hidden'>");
+              muestra(inicio);
+            }
+            salida.append(fragmento, fin + 2, fragmento.length()).append("\n");
+            versiones.agrega(casilla, pasos);
+          }
+          pasos++;
+        } catch (IOException ioe) {
+          throw new UncheckedIOException(ioe);
+        }
+    }
+
+    /*
+     * Escribe el svg anidado de un árbol completo, con el viewBox del acomodo
+     * de la sesión. Si el acomodo no cabe en el lienzo, el svg se reduce
+     * en la misma proporción en ambos ejes hasta caber, y el árbol con él.
+     */
+    private void abreLienzo() throws IOException {
+        long[] lienzo = sesion.lienzo();
+        double escala = Math.min(1.0, Math.min((double)Proyecto2.LIENZO / lienzo[2],
+                                               (double)Proyecto2.LIENZO / lienzo[3]));
+        salida.append("<svg width='").append(String.valueOf((long)(lienzo[2] * escala)))
+              .append("' height='").append(String.valueOf((long)(lienzo[3] * escala)))
+              .append("' viewBox='").append(String.valueOf(lienzo[0])).append(' ')
+              .append(String.valueOf(lienzo[1])).append(' ')
+              .append(String.valueOf(lienzo[2])).append(' ')
+              .append(String.valueOf(lienzo[3])).append("'>\n");
+    }
+
+    /* Escribe la animación que muestra al elemento que la contiene. */
+    private void muestra(String inicio) throws IOException {
+        salida.append("<set attributeName='visibility' to='visible' begin='")
+              .append(inicio).append("' fill='freeze'/>");
+    }
+
+    /* Escribe la animación que oculta al elemento con el id recibido. */
+    private void oculta(String id, String inicio) throws IOException {
+        salida.append("<set xlink:href='#").append(id)
+              .append("' attributeName='visibility' to='hidden' begin='")
+              .append(inicio).append("' fill='freeze'/>\n");
+    }
+}
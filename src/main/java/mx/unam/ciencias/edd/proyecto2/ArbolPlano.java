@@ -0,0 +1,228 @@
+package mx.unam.ciencias.edd.proyecto2;
+
+import mx.unam.ciencias.edd.*;
+
+/**
+ * Clase ArbolPlano.
+ * Que guarda la forma de un árbol binario de enteros en arreglos de
+ * primitivos, con los vértices numerados en preorden: la raíz es el vértice
+ * 0 y todo vértice aparece antes que sus descendientes. Así las etapas de
+ * acomodo ({@link Disposicion}) y de escritura ({@link EmisorArbol}) recorren
+ * el árbol con ciclos lineales, sin recursión.
+ * @author Armando Ramírez González.
+ * @version 1.0.0.
+ */
+public class ArbolPlano {
+
+    /* El número de vértices. */
+    private int elementos;
+    /* La altura del árbol. */
+    private int altura;
+    /* El entero de cada vértice. */
+    private int[] valores;
+    /* El índice del hijo izquierdo de cada vértice, o -1. */
+    private int[] izquierdos;
+    /* El índice del hijo derecho de cada vértice, o -1. */
+    private int[] derechos;
+    /* El índice del padre de cada vértice, o -1. */
+    private int[] padres;
+    /* La profundidad de cada vértice. */
+    private int[] niveles;
+    /* El vértice original de cada índice, si el árbol viene de uno. */
+    private VerticeArbolBinario<Integer>[] vertices;
+
+    /* Crea un árbol plano vacío con espacio para n vértices. */
+    private ArbolPlano(int n) {
+        valores = new int[n];
+        izquierdos = new int[n];
+        derechos = new int[n];
+        padres = new int[n];
+        niveles = new int[n];
+        altura = -1;
+    }
+
+    /* Truco para crear arreglos genéricos. Es necesario hacerlo así por cómo
+       Java implementa sus genéricos; de otra forma obtenemos advertencias del
+       compilador. */
+    @SuppressWarnings("unchecked")
+    private static VerticeArbolBinario<Integer>[] nuevoArreglo(int n) {
+        return (VerticeArbolBinario<Integer>[])new VerticeArbolBinario[n];
+    }
+
+    /*
+     * Método auxiliar agrega.
+     * Que agrega el siguiente vértice en preorden, hijo del vértice padre
+     * (o -1 si es la raíz), y regresa su índice.
+     */
+    private int agrega(int valor, int padre, boolean izquierdo) {
+        int i = elementos++;
+        valores[i] = valor;
+        izquierdos[i] = -1;
+        derechos[i] = -1;
+        padres[i] = padre;
+        niveles[i] = padre == -1 ? 0 : niveles[padre] + 1;
+        if (niveles[i] > altura) {
+          altura = niveles[i];
+        }
+        if (padre != -1) {
+          if (izquierdo) {
+            izquierdos[padre] = i;
+          } else {
+            derechos[padre] = i;
+          }
+        }
+        return i;
+    }
+
+    /**
+     * Método deArbol.
+     * Que aplana el árbol binario recibido, recorriéndolo en preorden con una
+     * pila explícita.
+     * @param arbol el árbol a aplanar.
+     * @return el árbol plano con la forma del árbol recibido.
+     */
+    public static ArbolPlano deArbol(ArbolBinario<Integer> arbol) {
+        int n = arbol.getElementos();
+        ArbolPlano plano = new ArbolPlano(n);
+        plano.vertices = nuevoArreglo(n);
+        if (arbol.esVacia()) {
+          return plano;
+        }
+        /* Vértices pendientes, con el índice de su padre y su lado. */
+        VerticeArbolBinario<Integer>[] pila = nuevoArreglo(n);
+        int[] padrePila = new int[n];
+        boolean[] ladoPila = new boolean[n];
+        int tope = 0;
+        pila[tope] = arbol.raiz();
+        padrePila[tope] = -1;
+        tope++;
+        while (tope > 0) {
+          tope--;
+          VerticeArbolBinario<Integer> v = pila[tope];
+          int i = plano.agrega(v.get(), padrePila[tope], ladoPila[tope]);
+          plano.vertices[i] = v;
+          /* El derecho se mete primero para sacar antes al izquierdo. */
+          if (v.hayDerecho()) {
+            pila[tope] = v.derecho();
+            padrePila[tope] = i;
+            ladoPila[tope] = false;
+            tope++;
+          }
+          if (v.hayIzquierdo()) {
+            pila[tope] = v.izquierdo();
+            padrePila[tope] = i;
+            ladoPila[tope] = true;
+            tope++;
+          }
+        }
+        return plano;
+    }
+
+    /**
+     * Método deMonticulo.
+     * Que aplana el árbol implícito del montículo recibido, en el que los
+     * hijos del índice k son 2k+1 y 2k+2.
+     * @param monticulo el montículo a aplanar.
+     * @return el árbol plano con la forma del montículo.
+     */
+    public static ArbolPlano deMonticulo(MonticuloEnteros monticulo) {
+        int n = monticulo.getElementos();
+        ArbolPlano plano = new ArbolPlano(n);
+        if (n == 0) {
+          return plano;
+        }
+        /* Índices pendientes del montículo, con el índice plano de su padre. */
+        int[] pila = new int[n];
+        int[] padrePila = new int[n];
+        int tope = 0;
+        pila[tope] = 0;
+        padrePila[tope] = -1;
+        tope++;
+        while (tope > 0) {
+          tope--;
+          int k = pila[tope];
+          int i = plano.agrega(monticulo.get(k), padrePila[tope], k % 2 == 1);
+          if (2*k+2 < n) {
+            pila[tope] = 2*k+2;
+            padrePila[tope] = i;
+            tope++;
+          }
+          if (2*k+1 < n) {
+            pila[tope] = 2*k+1;
+            padrePila[tope] = i;
+            tope++;
+          }
+        }
+        return plano;
+    }
+
+    /**
+     * Método getElementos.
+     * @return el número de vértices.
+     */
+    public int getElementos() {
+        return elementos;
+    }
+
+    /**
+     * Método getAltura.
+     * @return la altura del árbol, o -1 si es vacío.
+     */
+    public int getAltura() {
+        return altura;
+    }
+
+    /**
+     * Método getValor.
+     * @param i el índice del vértice.
+     * @return el entero del vértice.
+     */
+    public int getValor(int i) {
+        return valores[i];
+    }
+
+    /**
+     * Método getIzquierdo.
+     * @param i el índice del vértice.
+     * @return el índice de su hijo izquierdo, o -1 si no tiene.
+     */
+    public int getIzquierdo(int i) {
+        return izquierdos[i];
+    }
+
+    /**
+     * Método getDerecho.
+     * @param i el índice del vértice.
+     * @return el índice de su hijo derecho, o -1 si no tiene.
+     */
+    public int getDerecho(int i) {
+        return derechos[i];
+    }
+
+    /**
+     * Método getPadre.
+     * @param i el índice del vértice.
+     * @return el índice de su padre, o -1 si es la raíz.
+     */
+    public int getPadre(int i) {
+        return padres[i];
+    }
+
+    /**
+     * Método getNivel.
+     * @param i el índice del vértice.
+     * @return la profundidad del vértice.
+     */
+    public int getNivel(int i) {
+        return niveles[i];
+    }
+
+    /**
+     * Método getVertice.
+     * @param i el índice del vértice.
+     * @return el vértice original, o null si el árbol viene de un montículo.
+     */
+    public VerticeArbolBinario<Integer> getVertice(int i) {
+        return vertices == null ? null : vertices[i];
+    }
+}
@@ -10,36 +10,32 @@ import mx.unam.ciencias.edd.*;
 public class Archivo {
 
     /* Lista para guardar los elementos de la estructura. */
-    Lista<String> arch = new Lista<String>();
+    ListaArreglo<String> arch = new ListaArreglo<String>();
 
     /**
      * Método organiza.
-     * Que recibe una lista de tipo String.
-     * Regresa la lista con el nombre de la clase y los elementos a graficar.
+     * Que recibe una colección de líneas de tipo String.
+     * Regresa la lista con el nombre de la clase y los elementos a graficar,
+     * con acceso constante por índice.
      */
-    public Lista<String> organiza(Lista<String> archivo) {
+    public ListaArreglo<String> organiza(Coleccion<String> archivo) {
         for (String a : archivo) {
           if (!a.startsWith("#")) {
-            arch.agrega(a);
+            separa(a, arch);
           }
         }
-        arch = separa(arch);
         return arch;
     }
 
     /*
      * Método auxiliar separa.
-     * Que recibe una lista de tipo String y regresa una lista de
-     * tipo String con sus elementos separados.
+     * Que recibe una línea de tipo String y agrega sus elementos
+     * separados a la lista recibida.
      */
-    private Lista<String> separa(Lista<String> lista) {
-        Lista<String> nueva = new Lista<String>();
-        for (String d : lista) {
-          String[] nodos = d.split(" ");
-          for (int i = 0; i<nodos.length; i++) {
-            nueva.agrega(nodos[i]);
-          }
+    private void separa(String linea, ListaArreglo<String> lista) {
+        String[] nodos = linea.split(" ");
+        for (int i = 0; i<nodos.length; i++) {
+          lista.agrega(nodos[i]);
         }
-        return nueva;
     }
 }
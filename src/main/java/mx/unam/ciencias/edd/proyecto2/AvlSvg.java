@@ -1,6 +1,7 @@
 package mx.unam.ciencias.edd.proyecto2;
 
 import mx.unam.ciencias.edd.*;
+import java.io.IOException;
 
 /**
  * Clase auxiliar AvlSvg.
@@ -11,51 +12,96 @@ import mx.unam.ciencias.edd.*;
  */
  public class AvlSvg {
 
+   /* La disposición de los vértices, o null para elegirla por árbol. */
+   private Disposicion disposicion;
+
+   /**
+    * Constructor que elige la disposición de cada árbol según su altura.
+    * @see Disposicion#elige
+    */
+   public AvlSvg() {}
+
+   /**
+    * Constructor que acomoda todos los árboles con la disposición recibida.
+    * @param disposicion la disposición de los vértices.
+    */
+   public AvlSvg(Disposicion disposicion) {
+     this.disposicion = disposicion;
+   }
+
+   /**
+    * Método graficadorAVL.
+    * Que escribe el árbol avl en svg directamente en la salida.
+    * @param coleccion una colección de enteros.
+    * @param salida donde se escribe el árbol.
+    * @throws IOException si ocurre un error al escribir en la salida.
+    */
+   public void graficadorAVL(Coleccion<Integer> coleccion, Appendable salida)
+       throws IOException {
+     /* Construimos el árbol. */
+     graficadorAVL(new ArbolAVL<>(coleccion), salida);
+   }
+
    /**
     * Método graficadorAVL.
-    * @param coleccion una lista de tipo String.
-    * @return String el árbol avl en svg.
+    * Que escribe el árbol avl en svg directamente en la salida,
+    * construyéndolo a partir de una lista de enteros primitivos.
+    * @param enteros la lista de enteros.
+    * @param salida donde se escribe el árbol.
+    * @throws IOException si ocurre un error al escribir en la salida.
     */
-   public String graficadorAVL(Lista<Integer> coleccion) {
-     String svg = "";
+   public void graficadorAVL(ListaEnteros enteros, Appendable salida)
+       throws IOException {
      /* Construimos el árbol. */
-     ArbolAVL<Integer> arbolAvl = new ArbolAVL<>(coleccion);
-     /* Variable que leerá la lambda. */
-     int alturaArbol = arbolAvl.altura();
-     VerticeArbolBinario<Integer> raiz = arbolAvl.raiz();
-     int v = (int)(Math.pow(2,alturaArbol));
-     int p = v/2;
-     svg += avlSVG(raiz, v, 0,v);
-     return svg;
+     ArbolAVL<Integer> arbolAvl = new ArbolAVL<>();
+     for (int i = 0; i < enteros.getElementos(); i++) {
+       arbolAvl.agrega(enteros.get(i));
+     }
+     graficadorAVL(arbolAvl, salida);
+   }
+
+   /**
+    * Método graficadorAVLOrdenado.
+    * Que escribe en la salida el árbol avl balanceado con los enteros
+    * recibidos, armado en tiempo lineal con {@link ArbolAVL#cargaOrdenada}
+    * en lugar de agregarlos uno por uno. La forma del árbol puede ser
+    * distinta a la de {@link #graficadorAVL(ListaEnteros, Appendable)}.
+    * @param enteros la lista de enteros, de preferencia ya ordenada.
+    * @param salida donde se escribe el árbol.
+    * @throws IOException si ocurre un error al escribir en la salida.
+    */
+   public void graficadorAVLOrdenado(ListaEnteros enteros, Appendable salida)
+       throws IOException {
+     graficadorAVL(ArbolAVL.cargaOrdenada(enteros.toListaArreglo()), salida);
+   }
+
+   /*
+    * Método auxiliar graficadorAVL.
+    * Que recibe el árbol ya construido, lo aplana, lo acomoda y lo escribe
+    * en la salida. Sobre cada vértice se escribe su altura y su balance.
+    */
+   private void graficadorAVL(ArbolAVL<Integer> arbolAvl, Appendable salida)
+       throws IOException {
+     ArbolPlano plano = ArbolPlano.deArbol(arbolAvl);
+     Disposicion d = disposicion != null ? disposicion : Disposicion.elige(plano);
+     EmisorArbol.emite(plano, d,
+                       (arbol, i, x, y, s) -> vertice(arbol.getVertice(i), x, y, s),
+                       salida);
    }
 
    /*
-    * Método auxiliar avlSVG.
-    * Que recibe un vértice de VerticeArbolBinario, su posicion espacial,
-    * el nivel del vértice y su posicion auxiliar.
-    * Regresa un String con el formato SVG del árbol.
+    * Método auxiliar vertice.
+    * Que escribe las figuras de un vértice centrado en (x, y): su elemento
+    * y, encima, su altura y su balance. Lo usa también SesionArbol.
     */
-   private String avlSVG(VerticeArbolBinario<Integer> n, int posicion, int nivel, int aux) {
-       String m = "";
-       int pos = posicion*40;
-       int pvp = aux/2;
-       String[] s = n.toString().split(" ");
-       Circulo circ = new Circulo(pos-20,40+(100*nivel),20,"black","white");
-       Texto texO = new Texto(n.get().toString(),pos-30,40+(100*nivel),"black");
-       Texto texB = new Texto(s[1],pos-70,25+(100*nivel),"black");
-       m += circ.toSVG() + "\n";
-       m += texO.toSVG() + "\n";
-       m += texB.toSVG() + "\n";
-       if (n.hayIzquierdo()) {
-         Linea linI = new Linea(pos-20, 60+(100*nivel), pos-(pvp*40)-20, 20+(100*(nivel+1)));
-         m += linI.toSVG() + "\n";
-         m += avlSVG(n.izquierdo(), posicion-pvp, nivel+1, pvp);
-       }
-       if (n.hayDerecho()) {
-         Linea linD = new Linea(pos-20, 60+(100*nivel), pos+(pvp*40)-20, 20+(100*(nivel+1)));
-         m += linD.toSVG() + "\n";
-         m += avlSVG(n.derecho(), posicion+pvp, nivel+1,pvp);
-       }
-       return m;
+   static void vertice(VerticeArbolBinario<Integer> v, int x, int y, Appendable s)
+       throws IOException {
+     String[] hb = v.toString().split(" ");
+     new Circulo(x, y, 20, "black", "white").toSVG(s);
+     s.append("\n");
+     new Texto(Integer.toString(v.get()), x-10, y, "black").toSVG(s);
+     s.append("\n");
+     new Texto(hb[1], x-50, y-15, "black").toSVG(s);
+     s.append("\n");
    }
  }
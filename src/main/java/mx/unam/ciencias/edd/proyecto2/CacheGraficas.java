@@ -0,0 +1,463 @@
+package mx.unam.ciencias.edd.proyecto2;
+
+import mx.unam.ciencias.edd.*;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Clase CacheGraficas.
+ * Que guarda el SVG de las estructuras ya graficadas, para escribirlo de
+ * nuevo sin construir la estructura cuando llega la misma entrada. La llave
+ * es el tipo de estructura junto con el SHA-256 de sus enteros, y en las
+ * gráficas con una disposición distinta de la de zigzag, su nombre.
+ *
+ * <p>Tiene dos niveles: uno en memoria y uno opcional en un directorio local,
+ * que sobrevive entre ejecuciones. Cada nivel tiene un tamaño máximo en bytes
+ * y, al llenarse, desecha las gráficas usadas hace más tiempo. Las gráficas
+ * se copian a la caché mientras se escriben en la salida, así que no se
+ * guardan completas en memoria para poder escribirlas.</p>
+ *
+ * <p>Una misma caché se puede usar desde varios hilos a la vez.</p>
+ * @author Armando Ramírez González.
+ * @version 1.0.0.
+ */
+public class CacheGraficas {
+
+    /* Clase interna privada para los archivos del directorio al iniciar. */
+    private static class Archivo {
+        /* La llave del archivo. */
+        public String llave;
+        /* El tamaño del archivo. */
+        public long tam;
+        /* La última vez que se usó el archivo. */
+        public long tiempo;
+    }
+
+    /* Clase interna privada para copiar lo que se escribe en la salida. */
+    private static class Copia implements Appendable {
+        /* La salida original. */
+        private Appendable salida;
+        /* La copia en memoria, o null si ya excedió su límite. */
+        private StringBuilder memoria;
+        /* El número máximo de caracteres de la copia en memoria. */
+        private long limite;
+        /* La copia en disco, o null si no hay. */
+        private Writer disco;
+
+        /* Construye una copia de la salida. */
+        public Copia(Appendable salida, long limite, Writer disco) {
+            this.salida = salida;
+            this.limite = limite;
+            this.disco = disco;
+            if (limite > 0) {
+              memoria = new StringBuilder();
+            }
+        }
+
+        /* Escribe una secuencia de caracteres. */
+        @Override public Appendable append(CharSequence csq) throws IOException {
+            return append(csq, 0, csq.length());
+        }
+
+        /* Escribe una parte de una secuencia de caracteres. */
+        @Override public Appendable append(CharSequence csq, int inicio, int fin)
+            throws IOException {
+            salida.append(csq, inicio, fin);
+            if (memoria != null) {
+              if (memoria.length() + (fin - inicio) > limite) {
+                memoria = null;
+              } else {
+                memoria.append(csq, inicio, fin);
+              }
+            }
+            if (disco != null) {
+              disco.append(csq, inicio, fin);
+            }
+            return this;
+        }
+
+        /* Escribe un caracter. */
+        @Override public Appendable append(char c) throws IOException {
+            salida.append(c);
+            if (memoria != null) {
+              if (memoria.length() + 1 > limite) {
+                memoria = null;
+              } else {
+                memoria.append(c);
+              }
+            }
+            if (disco != null) {
+              disco.append(c);
+            }
+            return this;
+        }
+    }
+
+    /* Tamaño del búfer para leer gráficas del disco. */
+    private static final int BUFER = 1 << 16;
+    /* Extensión de las gráficas en el directorio. */
+    private static final String EXTENSION = ".svg";
+    /*
+     * Versión del SVG que escribe el graficador. Va en cada llave, así que
+     * se debe incrementar siempre que cambie la salida de alguna estructura,
+     * para que las gráficas guardadas en disco por una versión anterior no
+     * se vuelvan a usar.
+     */
+    private static final int VERSION = 2;
+
+    /* Las gráficas en memoria, de la usada hace más tiempo a la más reciente. */
+    private Diccionario<String, byte[]> memoria;
+    /* Los bytes de todas las gráficas en memoria. */
+    private long bytesMemoria;
+    /* El máximo de bytes en memoria. */
+    private long maxMemoria;
+
+    /* El directorio del nivel en disco, o null si no hay. */
+    private Path directorio;
+    /* Los tamaños de las gráficas en disco, en el mismo orden que memoria. */
+    private Diccionario<String, Long> disco;
+    /* Los bytes de todas las gráficas en disco. */
+    private long bytesDisco;
+    /* El máximo de bytes en disco. */
+    private long maxDisco;
+
+    /* Cuántas gráficas se encontraron en la caché. */
+    private long aciertos;
+    /* Cuántas gráficas no se encontraron en la caché. */
+    private long fallos;
+
+    /**
+     * Constructor, que crea una caché sólo en memoria.
+     * @param maxMemoria el máximo de bytes en memoria.
+     * @throws IllegalArgumentException si el máximo es negativo.
+     */
+    public CacheGraficas(long maxMemoria) {
+        if (maxMemoria < 0) {
+          throw new IllegalArgumentException("Tamaño de caché no válido.");
+        }
+        this.maxMemoria = maxMemoria;
+        memoria = new Diccionario<String, byte[]>();
+    }
+
+    /**
+     * Constructor, que crea una caché en memoria y en el directorio
+     * recibido. Si el directorio no existe se crea; si ya tiene gráficas de
+     * una ejecución anterior, se usan.
+     * @param maxMemoria el máximo de bytes en memoria.
+     * @param directorio el directorio donde se guardan las gráficas.
+     * @param maxDisco el máximo de bytes en el directorio.
+     * @throws IOException si no se puede crear o leer el directorio.
+     * @throws IllegalArgumentException si algún máximo es negativo.
+     */
+    public CacheGraficas(long maxMemoria, Path directorio, long maxDisco)
+        throws IOException {
+        this(maxMemoria);
+        if (maxDisco < 0) {
+          throw new IllegalArgumentException("Tamaño de caché no válido.");
+        }
+        this.directorio = directorio;
+        this.maxDisco = maxDisco;
+        disco = new Diccionario<String, Long>();
+        Files.createDirectories(directorio);
+        cargaDirectorio();
+    }
+
+    /*
+     * Método auxiliar cargaDirectorio.
+     * Que registra las gráficas que ya están en el directorio, de la usada
+     * hace más tiempo a la más reciente, y borra los temporales que dejó una
+     * ejecución interrumpida.
+     */
+    private void cargaDirectorio() throws IOException {
+        Lista<Archivo> archivos = new Lista<Archivo>();
+        try (DirectoryStream<Path> rutas = Files.newDirectoryStream(directorio)) {
+          for (Path ruta : rutas) {
+            String nombre = ruta.getFileName().toString();
+            if (nombre.endsWith(".tmp")) {
+              Files.deleteIfExists(ruta);
+            } else if (nombre.endsWith(EXTENSION)) {
+              Archivo a = new Archivo();
+              a.llave = nombre.substring(0, nombre.length() - EXTENSION.length());
+              a.tam = Files.size(ruta);
+              a.tiempo = Files.getLastModifiedTime(ruta).toMillis();
+              archivos.agregaFinal(a);
+            }
+          }
+        }
+        for (Archivo a : archivos.mergeSort((x, y) -> Long.compare(x.tiempo, y.tiempo))) {
+          disco.agrega(a.llave, a.tam);
+          bytesDisco += a.tam;
+        }
+        desechaDisco();
+    }
+
+    /**
+     * Método llave.
+     * Que regresa la llave de una estructura con sus enteros: el nombre de
+     * la estructura, la versión del SVG del graficador y el SHA-256 de los
+     * enteros, en hexadecimal.
+     * @param estructura el tipo de estructura.
+     * @param enteros los enteros de la estructura.
+     * @return la llave de la gráfica.
+     */
+    public static String llave(Estructura estructura, ListaEnteros enteros) {
+        MessageDigest sha;
+        try {
+          sha = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException nsae) {
+          /* Toda máquina virtual de Java tiene SHA-256. */
+          throw new IllegalStateException(nsae);
+        }
+        byte[] bloque = new byte[4 * 1024];
+        int b = 0;
+        for (int i = 0; i < enteros.getElementos(); i++) {
+          int e = enteros.get(i);
+          bloque[b++] = (byte)(e >>> 24);
+          bloque[b++] = (byte)(e >>> 16);
+          bloque[b++] = (byte)(e >>> 8);
+          bloque[b++] = (byte)e;
+          if (b == bloque.length) {
+            sha.update(bloque, 0, b);
+            b = 0;
+          }
+        }
+        sha.update(bloque, 0, b);
+        StringBuilder llave = new StringBuilder(estructura.name().toLowerCase());
+        llave.append("-v").append(VERSION).append('-');
+        for (byte d : sha.digest()) {
+          llave.append(Character.forDigit((d >> 4) & 0xf, 16))
+               .append(Character.forDigit(d & 0xf, 16));
+        }
+        return llave.toString();
+    }
+
+    /*
+     * Método auxiliar llave.
+     * Que regresa la llave de los enteros con la estructura del graficador;
+     * en las gráficas que no se acomodan en zigzag le agrega el nombre de la
+     * disposición, sin dos puntos para que sirva como nombre de archivo.
+     */
+    private static String llave(Graficador graficador, ListaEnteros enteros) {
+        String llave = llave(graficador.getEstructura(), enteros);
+        String disposicion = graficador.getDisposicion().getNombre();
+        if (graficador.getEstructura() != Estructura.GRAFICA || disposicion.equals("zigzag")) {
+          return llave;
+        }
+        return llave + "-" + disposicion.replace(':', '-');
+    }
+
+    /**
+     * Método grafica.
+     * Que escribe en la salida la gráfica de los enteros con el graficador
+     * recibido. Si ya está en la caché, escribe la copia guardada sin
+     * construir la estructura; si no, la grafica y la guarda.
+     * @param graficador el graficador con la estructura definida.
+     * @param enteros los enteros de la estructura.
+     * @param salida donde se escribe la gráfica.
+     * @throws IOException si ocurre un error al escribir en la salida o al
+     *         leer la caché en disco.
+     */
+    public void grafica(Graficador graficador, ListaEnteros enteros,
+                        Appendable salida) throws IOException {
+        String llave = llave(graficador, enteros);
+        byte[] svg = buscaMemoria(llave);
+        if (svg != null) {
+          escribe(svg, salida);
+          return;
+        }
+        if (directorio != null && leeDisco(llave, salida)) {
+          return;
+        }
+        synchronized (this) {
+          fallos++;
+        }
+        Path temporal = null;
+        Writer copiaDisco = null;
+        if (directorio != null && maxDisco > 0) {
+          temporal = Files.createTempFile(directorio, "grafica", ".tmp");
+          copiaDisco = Files.newBufferedWriter(temporal, StandardCharsets.UTF_8);
+        }
+        Copia copia = new Copia(salida, maxMemoria, copiaDisco);
+        try {
+          graficador.grafica(enteros, copia);
+          if (copiaDisco != null) {
+            copiaDisco.close();
+            guardaDisco(llave, temporal);
+          }
+        } finally {
+          if (copiaDisco != null) {
+            copiaDisco.close();
+            Files.deleteIfExists(temporal);
+          }
+        }
+        if (copia.memoria != null) {
+          guardaMemoria(llave, copia.memoria.toString().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /*
+     * Método auxiliar escribe.
+     * Que escribe una gráfica guardada en la salida; si la salida es por
+     * bloques, sus bytes se envían sin decodificarlos.
+     */
+    private static void escribe(byte[] svg, Appendable salida) throws IOException {
+        if (salida instanceof SalidaPorBloques) {
+          ((SalidaPorBloques)salida).escribeBytes(svg);
+        } else {
+          salida.append(new String(svg, StandardCharsets.UTF_8));
+        }
+    }
+
+    /*
+     * Método auxiliar buscaMemoria.
+     * Que regresa la gráfica en memoria y la marca como la más reciente, o
+     * regresa null si no está.
+     */
+    private synchronized byte[] buscaMemoria(String llave) {
+        if (!memoria.contiene(llave)) {
+          return null;
+        }
+        byte[] svg = memoria.get(llave);
+        memoria.elimina(llave);
+        memoria.agrega(llave, svg);
+        aciertos++;
+        return svg;
+    }
+
+    /*
+     * Método auxiliar guardaMemoria.
+     * Que guarda una gráfica en memoria y desecha las usadas hace más tiempo
+     * hasta que todas quepan.
+     */
+    private synchronized void guardaMemoria(String llave, byte[] svg) {
+        if (svg.length > maxMemoria) {
+          return;
+        }
+        if (memoria.contiene(llave)) {
+          bytesMemoria -= memoria.get(llave).length;
+          memoria.elimina(llave);
+        }
+        memoria.agrega(llave, svg);
+        bytesMemoria += svg.length;
+        while (bytesMemoria > maxMemoria) {
+          String vieja = memoria.iteradorLlaves().next();
+          bytesMemoria -= memoria.get(vieja).length;
+          memoria.elimina(vieja);
+        }
+    }
+
+    /*
+     * Método auxiliar leeDisco.
+     * Que escribe en la salida la gráfica guardada en disco, si está. Si
+     * cabe en memoria la sube al nivel en memoria. Regresa si la encontró.
+     */
+    private boolean leeDisco(String llave, Appendable salida) throws IOException {
+        InputStream entrada;
+        long tam;
+        synchronized (this) {
+          if (!disco.contiene(llave)) {
+            return false;
+          }
+          Path ruta = directorio.resolve(llave + EXTENSION);
+          tam = disco.get(llave);
+          try {
+            entrada = Files.newInputStream(ruta);
+            Files.setLastModifiedTime(ruta, FileTime.fromMillis(System.currentTimeMillis()));
+          } catch (IOException ioe) {
+            /* Alguien más borró el archivo; lo olvidamos. */
+            disco.elimina(llave);
+            bytesDisco -= tam;
+            return false;
+          }
+          disco.elimina(llave);
+          disco.agrega(llave, tam);
+          aciertos++;
+        }
+        try (InputStream in = entrada) {
+          if (tam <= maxMemoria) {
+            byte[] svg = new byte[(int)tam];
+            int leidos = 0;
+            int r;
+            while (leidos < svg.length && (r = in.read(svg, leidos, svg.length - leidos)) != -1) {
+              leidos += r;
+            }
+            if (leidos != svg.length) {
+              throw new IOException("Gráfica incompleta en la caché.");
+            }
+            escribe(svg, salida);
+            guardaMemoria(llave, svg);
+            return true;
+          }
+          Reader lector = new InputStreamReader(in, StandardCharsets.UTF_8);
+          char[] bufer = new char[BUFER];
+          int r;
+          while ((r = lector.read(bufer)) != -1) {
+            salida.append(CharBuffer.wrap(bufer, 0, r));
+          }
+          return true;
+        }
+    }
+
+    /*
+     * Método auxiliar guardaDisco.
+     * Que mueve el archivo temporal con la gráfica a su lugar en el
+     * directorio y desecha las usadas hace más tiempo hasta que todas quepan.
+     */
+    private synchronized void guardaDisco(String llave, Path temporal) throws IOException {
+        long tam = Files.size(temporal);
+        if (tam > maxDisco) {
+          return;
+        }
+        Files.move(temporal, directorio.resolve(llave + EXTENSION),
+                   StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        if (disco.contiene(llave)) {
+          bytesDisco -= disco.get(llave);
+          disco.elimina(llave);
+        }
+        disco.agrega(llave, tam);
+        bytesDisco += tam;
+        desechaDisco();
+    }
+
+    /*
+     * Método auxiliar desechaDisco.
+     * Que borra las gráficas del disco usadas hace más tiempo hasta que todas
+     * quepan en el máximo.
+     */
+    private synchronized void desechaDisco() throws IOException {
+        while (bytesDisco > maxDisco) {
+          String vieja = disco.iteradorLlaves().next();
+          bytesDisco -= disco.get(vieja);
+          disco.elimina(vieja);
+          Files.deleteIfExists(directorio.resolve(vieja + EXTENSION));
+        }
+    }
+
+    /**
+     * Método getAciertos.
+     * @return cuántas gráficas se escribieron desde la caché.
+     */
+    public synchronized long getAciertos() {
+        return aciertos;
+    }
+
+    /**
+     * Método getFallos.
+     * @return cuántas gráficas no estaban en la caché y se graficaron.
+     */
+    public synchronized long getFallos() {
+        return fallos;
+    }
+}
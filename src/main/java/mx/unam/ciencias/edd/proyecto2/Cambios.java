@@ -0,0 +1,81 @@
+package mx.unam.ciencias.edd.proyecto2;
+
+import mx.unam.ciencias.edd.*;
+
+/**
+ * Clase Cambios.
+ * Que guarda lo que cambió en la gráfica de una {@link SesionGrafica} después
+ * de una operación: los fragmentos SVG nuevos o redibujados, y los
+ * identificadores de los fragmentos que ya no existen.
+ *
+ * <p>Cada fragmento es un grupo <code>&lt;g id='...'&gt;</code>; un
+ * fragmento con el mismo identificador que uno anterior lo reemplaza. Si
+ * {@link #esCompleta} es <code>true</code>, los fragmentos son la gráfica
+ * completa y todos los anteriores se descartan.</p>
+ * @author Armando Ramírez González.
+ * @version 1.0.0.
+ */
+public class Cambios {
+
+    /* Los fragmentos nuevos o redibujados. */
+    private Lista<String> fragmentos;
+    /* Los identificadores de los fragmentos eliminados. */
+    private Lista<String> eliminados;
+    /* Si los fragmentos son la gráfica completa. */
+    private boolean completa;
+
+    /* Crea cambios vacíos; los llena la sesión. */
+    Cambios() {
+        fragmentos = new Lista<String>();
+        eliminados = new Lista<String>();
+    }
+
+    /* Agrega un fragmento nuevo o redibujado. */
+    void agregaFragmento(String fragmento) {
+        fragmentos.agrega(fragmento);
+    }
+
+    /* Agrega el identificador de un fragmento eliminado. */
+    void agregaEliminado(String id) {
+        eliminados.agrega(id);
+    }
+
+    /* Marca los cambios como la gráfica completa. */
+    void setCompleta() {
+        completa = true;
+    }
+
+    /**
+     * Método getFragmentos.
+     * @return los fragmentos SVG nuevos o redibujados.
+     */
+    public Lista<String> getFragmentos() {
+        return fragmentos;
+    }
+
+    /**
+     * Método getEliminados.
+     * @return los identificadores de los fragmentos que ya no existen.
+     */
+    public Lista<String> getEliminados() {
+        return eliminados;
+    }
+
+    /**
+     * Método esCompleta.
+     * @return <code>true</code> si los fragmentos son la gráfica completa y
+     *         los anteriores se deben descartar, <code>false</code> si sólo
+     *         reemplazan a los de su mismo identificador.
+     */
+    public boolean esCompleta() {
+        return completa;
+    }
+
+    /**
+     * Método esVacio.
+     * @return <code>true</code> si la operación no cambió la gráfica.
+     */
+    public boolean esVacio() {
+        return !completa && fragmentos.esVacia() && eliminados.esVacia();
+    }
+}
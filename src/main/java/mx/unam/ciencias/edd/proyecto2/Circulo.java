@@ -1,5 +1,7 @@
 package mx.unam.ciencias.edd.proyecto2;
 
+import java.io.IOException;
+
 /**
  * Clase Circulo.
  * Que modela un círculo en formato SVG.
@@ -40,14 +42,15 @@ public class Circulo extends Figura {
      * stroke-width indica el grosor de la línea exterior que delimita
      *        la figura expresado en píxeles.
      * fill indica el color del relleno de la figura.
+     * @param salida donde se escribe el círculo.
+     * @throws IOException si ocurre un error al escribir en la salida.
      */
-    public String toSVG(){
-      String circulo = "<circle cx='" + centro.abscisa
-                        + "' cy='" + centro.ordenada
-                        + "' r='" + radio
-                        + "' stroke='" + exterior
-                        + "' stroke-width='3'"
-                        + " fill='" + relleno + "' />";
-      return circulo;
+    @Override public void toSVG(Appendable salida) throws IOException {
+      salida.append("<circle cx='").append(String.valueOf(centro.abscisa))
+            .append("' cy='").append(String.valueOf(centro.ordenada))
+            .append("' r='").append(String.valueOf(radio))
+            .append("' stroke='").append(exterior)
+            .append("' stroke-width='3'")
+            .append(" fill='").append(relleno).append("' />");
     }
 }
@@ -0,0 +1,42 @@
+package mx.unam.ciencias.edd.proyecto2;
+
+/**
+ * Interfaz Disposicion.
+ * Para las etapas que acomodan un {@link ArbolPlano} en el lienzo. Una
+ * disposición sólo calcula coordenadas; {@link EmisorArbol} las escribe.
+ * @author Armando Ramírez González.
+ * @version 1.0.0.
+ */
+public interface Disposicion {
+
+    /** Altura máxima con la que las columnas binarias caben en un int. */
+    int ALTURA_BINARIA = 25;
+
+    /**
+     * Método acomoda.
+     * Que calcula el centro de cada vértice del árbol.
+     * @param arbol el árbol a acomodar.
+     * @param x donde se guarda la abscisa del centro de cada vértice.
+     * @param y donde se guarda la ordenada del centro de cada vértice.
+     */
+    void acomoda(ArbolPlano arbol, int[] x, int[] y);
+
+    /**
+     * Método elige.
+     * Que elige la disposición para el árbol: la binaria, que parte el
+     * lienzo a la mitad en cada nivel, mientras el árbol no sea más alto que
+     * un árbol rojinegro con sus mismos vértices (2<sup>altura</sup> ≤
+     * (n+1)<sup>2</sup>) y sus coordenadas quepan en un int; si no, la
+     * compacta, cuyo ancho es lineal.
+     * @param arbol el árbol a acomodar.
+     * @return la disposición adecuada para el árbol.
+     */
+    static Disposicion elige(ArbolPlano arbol) {
+        int h = arbol.getAltura();
+        long n = arbol.getElementos();
+        if (h > ALTURA_BINARIA || (1L << h) > (n+1)*(n+1)) {
+          return new DisposicionCompacta();
+        }
+        return new DisposicionBinaria();
+    }
+}
@@ -0,0 +1,44 @@
+package mx.unam.ciencias.edd.proyecto2;
+
+/**
+ * Clase DisposicionBinaria.
+ * La disposición original de los graficadores de árboles: la raíz va a la
+ * mitad de un lienzo de 2<sup>altura</sup> columnas y cada nivel parte a la
+ * mitad el espacio de su padre. Es la más legible para árboles balanceados,
+ * pero su ancho crece exponencialmente con la altura.
+ * @author Armando Ramírez González.
+ * @version 1.0.0.
+ */
+public class DisposicionBinaria implements Disposicion {
+
+    /**
+     * Método acomoda.
+     * Que calcula los centros en una sola pasada en preorden: la columna de
+     * cada hijo es la de su padre más o menos 2<sup>altura-nivel</sup>.
+     * @param arbol el árbol a acomodar.
+     * @param x donde se guarda la abscisa del centro de cada vértice.
+     * @param y donde se guarda la ordenada del centro de cada vértice.
+     */
+    @Override public void acomoda(ArbolPlano arbol, int[] x, int[] y) {
+        int n = arbol.getElementos();
+        if (n == 0) {
+          return;
+        }
+        int h = arbol.getAltura();
+        int[] columna = new int[n];
+        columna[0] = 1 << h;
+        for (int i = 0; i < n; i++) {
+          int p = arbol.getPadre(i);
+          if (p != -1) {
+            int desplazamiento = (1 << h) >> (arbol.getNivel(p) + 1);
+            if (arbol.getIzquierdo(p) == i) {
+              columna[i] = columna[p] - desplazamiento;
+            } else {
+              columna[i] = columna[p] + desplazamiento;
+            }
+          }
+          x[i] = columna[i]*40 - 20;
+          y[i] = 40 + 100*arbol.getNivel(i);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package mx.unam.ciencias.edd.proyecto2;
+
+import mx.unam.ciencias.edd.Arreglos;
+import mx.unam.ciencias.edd.GraficaCompacta;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Clase DisposicionCapas.
+ * Disposición que acomoda cada componente conexa en capas horizontales por
+ * su distancia al primero de sus vértices, en el orden de BFS, y las
+ * componentes una junto a otra. Las aristas sólo unen capas consecutivas o
+ * vértices de la misma capa.
+ *
+ * <p>Después, cada capa se ordena por el baricentro de las posiciones de
+ * sus vecinos en la capa anterior, de arriba hacia abajo, y luego en la
+ * siguiente, de abajo hacia arriba, para reducir los cruces. Cada ida y
+ * vuelta es una iteración; se detiene cuando ninguna capa cambia o se
+ * acaban las iteraciones. Las componentes se ordenan en paralelo.</p>
+ * @author Armando Ramírez González.
+ * @version 1.0.0.
+ */
+public class DisposicionCapas implements DisposicionGrafica {
+
+    /** Las iteraciones por omisión. */
+    public static final int ITERACIONES = 8;
+
+    /* Separación horizontal entre vértices de una capa. */
+    private static final int SEPARACION = 80;
+    /* Separación vertical entre capas. */
+    private static final int ALTURA = 100;
+    /* Margen del lienzo. */
+    private static final int MARGEN = 40;
+    /* Vértices de las componentes de cada tarea en paralelo. */
+    private static final int UMBRAL = 1 << 11;
+
+    /* El máximo de iteraciones. */
+    private int iteraciones;
+    /* Los hilos. */
+    private int hilos;
+
+    /**
+     * Constructor que recibe el máximo de iteraciones y el número de hilos.
+     * @param iteraciones el máximo de iteraciones para reducir cruces.
+     * @param hilos el número de hilos.
+     * @throws IllegalArgumentException si las iteraciones son negativas o
+     *         los hilos menos de uno.
+     */
+    public DisposicionCapas(int iteraciones, int hilos) {
+        if (iteraciones < 0 || hilos < 1) {
+          throw new IllegalArgumentException("Iteraciones o hilos no válidos.");
+        }
+        this.iteraciones = iteraciones;
+        this.hilos = hilos;
+    }
+
+    /**
+     * Método acomoda.
+     * Que calcula las capas con un BFS por componente, en tiempo lineal, y
+     * luego reduce los cruces.
+     * @param grafica la gráfica a acomodar.
+     * @param x donde se guarda la abscisa del centro de cada vértice.
+     * @param y donde se guarda la ordenada del centro de cada vértice.
+     */
+    @Override public void acomoda(GraficaCompacta<?> grafica, int[] x, int[] y) {
+        int n = grafica.getElementos();
+        /* El BFS de GraficaCompacta.bfs desde el primer vértice de cada
+           componente, con las marcas compartidas. Los vértices de una capa
+           quedan contiguos en el orden. */
+        int[] orden = new int[n];
+        int[] nivel = new int[n];
+        boolean[] vistos = new boolean[n];
+        /* Dónde empieza cada capa en el orden, y cada componente en las capas. */
+        int[] capas = new int[n + 1];
+        int[] componentes = new int[n + 1];
+        int c = 0, l = 0, k = 0;
+        for (int v = 0; v < n; v++) {
+          if (vistos[v]) {
+            continue;
+          }
+          componentes[c++] = l;
+          int cabeza = k;
+          orden[k++] = v;
+          vistos[v] = true;
+          nivel[v] = 0;
+          while (cabeza < k) {
+            int u = orden[cabeza];
+            if (u == v || nivel[u] != nivel[orden[cabeza-1]]) {
+              capas[l++] = cabeza;
+            }
+            cabeza++;
+            for (int e = grafica.getInicio(u); e < grafica.getFin(u); e++) {
+              int w = grafica.getVecino(e);
+              if (!vistos[w]) {
+                vistos[w] = true;
+                nivel[w] = nivel[u] + 1;
+                orden[k++] = w;
+              }
+            }
+          }
+        }
+        capas[l] = n;
+        componentes[c] = l;
+        int total = c;
+        int[] posicion = new int[n];
+        for (int i = 0; i < l; i++) {
+          for (int j = capas[i]; j < capas[i+1]; j++) {
+            posicion[orden[j]] = j - capas[i];
+          }
+        }
+        double[] baricentro = new double[n];
+        int umbral = (int)Math.max(1, (long)total * UMBRAL / Math.max(n, 1));
+        ForkJoinPool pool = TareaRangos.hilos(hilos, total, umbral);
+        try {
+          TareaRangos.ejecuta(pool, total, umbral, (inicio, fin) -> {
+                for (int i = inicio; i < fin; i++) {
+                  ordena(grafica, orden, capas, componentes[i], componentes[i+1],
+                         nivel, posicion, baricentro);
+                }
+              });
+        } finally {
+          if (pool != null) {
+            pool.shutdown();
+          }
+        }
+        int desplazamiento = 0;
+        for (int i = 0; i < total; i++) {
+          int ancho = 0;
+          for (int j = componentes[i]; j < componentes[i+1]; j++) {
+            ancho = Math.max(ancho, capas[j+1] - capas[j]);
+          }
+          for (int j = componentes[i]; j < componentes[i+1]; j++) {
+            int hueco = ancho - (capas[j+1] - capas[j]);
+            for (int t = capas[j]; t < capas[j+1]; t++) {
+              int v = orden[t];
+              x[v] = MARGEN + SEPARACION*(desplazamiento + posicion[v]) + SEPARACION*hueco/2;
+              y[v] = MARGEN + ALTURA*nivel[v];
+            }
+          }
+          desplazamiento += ancho;
+        }
+    }
+
+    /*
+     * Método auxiliar ordena.
+     * Que reduce los cruces entre las capas primera (incluida) a última
+     * (excluida) de una componente, actualizando el orden, la posición y el
+     * baricentro de sus vértices, y de ningún otro.
+     */
+    private void ordena(GraficaCompacta<?> grafica, int[] orden, int[] capas,
+                        int primera, int ultima, int[] nivel, int[] posicion,
+                        double[] baricentro) {
+        for (int i = 0; i < iteraciones; i++) {
+          boolean cambio = false;
+          for (int j = primera + 1; j < ultima; j++) {
+            cambio |= ordenaCapa(grafica, orden, capas[j], capas[j+1], -1,
+                                 nivel, posicion, baricentro);
+          }
+          for (int j = ultima - 2; j >= primera; j--) {
+            cambio |= ordenaCapa(grafica, orden, capas[j], capas[j+1], 1,
+                                 nivel, posicion, baricentro);
+          }
+          if (!cambio) {
+            return;
+          }
+        }
+    }
+
+    /*
+     * Método auxiliar ordenaCapa.
+     * Que ordena los vértices del orden de inicio a fin, que forman una
+     * capa, por el baricentro de las posiciones de sus vecinos en la capa de
+     * al lado (arriba si lado es -1, abajo si es 1). Los vértices sin vecinos
+     * en esa capa conservan su posición como baricentro, y los empates
+     * conservan el orden anterior. Regresa si el orden cambió.
+     */
+    private static boolean ordenaCapa(GraficaCompacta<?> grafica, int[] orden,
+                                      int inicio, int fin, int lado, int[] nivel,
+                                      int[] posicion, double[] baricentro) {
+        if (fin - inicio < 2) {
+          return false;
+        }
+        Integer[] capa = new Integer[fin - inicio];
+        for (int t = inicio; t < fin; t++) {
+          int v = orden[t];
+          double suma = 0;
+          int vecinos = 0;
+          for (int e = grafica.getInicio(v); e < grafica.getFin(v); e++) {
+            int w = grafica.getVecino(e);
+            if (nivel[w] == nivel[v] + lado) {
+              suma += posicion[w];
+              vecinos++;
+            }
+          }
+          baricentro[v] = vecinos == 0 ? posicion[v] : suma / vecinos;
+          capa[t - inicio] = v;
+        }
+        Arreglos.quickSort(capa, (a, b) -> {
+            int r = Double.compare(baricentro[a], baricentro[b]);
+            return r != 0 ? r : Integer.compare(posicion[a], posicion[b]);
+          });
+        boolean cambio = false;
+        for (int t = inicio; t < fin; t++) {
+          int v = capa[t - inicio];
+          cambio |= orden[t] != v;
+          orden[t] = v;
+          posicion[v] = t - inicio;
+        }
+        return cambio;
+    }
+
+    /**
+     * Método getNombre.
+     * @return <code>capas:</code> seguido de las iteraciones.
+     */
+    @Override public String getNombre() {
+        return "capas:" + iteraciones;
+    }
+}
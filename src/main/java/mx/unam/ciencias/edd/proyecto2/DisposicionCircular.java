@@ -0,0 +1,74 @@
+package mx.unam.ciencias.edd.proyecto2;
+
+import mx.unam.ciencias.edd.GraficaCompacta;
+
+/**
+ * Clase DisposicionCircular.
+ * Disposición que acomoda los vértices en un círculo, en el orden de DFS de
+ * cada componente conexa, para que los vecinos queden cerca unos de otros.
+ * El radio crece con el número de vértices, así que dos vértices
+ * consecutivos nunca se enciman. Es lineal y no necesita iteraciones.
+ * @author Armando Ramírez González.
+ * @version 1.0.0.
+ */
+public class DisposicionCircular implements DisposicionGrafica {
+
+    /* Distancia mínima entre los centros de dos vértices consecutivos. */
+    private static final int SEPARACION = 60;
+    /* Radio mínimo del círculo. */
+    private static final int RADIO = 100;
+    /* Margen entre el círculo y el borde del lienzo. */
+    private static final int MARGEN = 60;
+
+    /**
+     * Método acomoda.
+     * Que calcula los centros en una pasada lineal. El primer vértice queda
+     * arriba y los demás siguen en el sentido de las manecillas del reloj.
+     * @param grafica la gráfica a acomodar.
+     * @param x donde se guarda la abscisa del centro de cada vértice.
+     * @param y donde se guarda la ordenada del centro de cada vértice.
+     */
+    @Override public void acomoda(GraficaCompacta<?> grafica, int[] x, int[] y) {
+        int n = grafica.getElementos();
+        /* DFS con una pila, como GraficaCompacta.dfs, pero con las marcas
+           compartidas entre componentes para que todo sea lineal. */
+        int[] orden = new int[n];
+        boolean[] vistos = new boolean[n];
+        int[] pila = new int[n];
+        int k = 0;
+        for (int v = 0; v < n; v++) {
+          if (vistos[v]) {
+            continue;
+          }
+          int tope = 0;
+          pila[tope++] = v;
+          vistos[v] = true;
+          while (tope > 0) {
+            int u = pila[--tope];
+            orden[k++] = u;
+            for (int e = grafica.getInicio(u); e < grafica.getFin(u); e++) {
+              int w = grafica.getVecino(e);
+              if (!vistos[w]) {
+                vistos[w] = true;
+                pila[tope++] = w;
+              }
+            }
+          }
+        }
+        double radio = Math.max(RADIO, n * SEPARACION / (2 * Math.PI));
+        double centro = radio + MARGEN;
+        for (int i = 0; i < n; i++) {
+          double angulo = 2 * Math.PI * i / n;
+          x[orden[i]] = (int)Math.round(centro + radio * Math.sin(angulo));
+          y[orden[i]] = (int)Math.round(centro - radio * Math.cos(angulo));
+        }
+    }
+
+    /**
+     * Método getNombre.
+     * @return <code>circular</code>.
+     */
+    @Override public String getNombre() {
+        return "circular";
+    }
+}
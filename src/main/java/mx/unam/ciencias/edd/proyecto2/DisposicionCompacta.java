@@ -0,0 +1,49 @@
+package mx.unam.ciencias.edd.proyecto2;
+
+/**
+ * Clase DisposicionCompacta.
+ * Disposición en la que cada vértice ocupa la columna de su posición en el
+ * recorrido in-order, por lo que el ancho del lienzo es lineal en el número
+ * de vértices sin importar la altura del árbol. Dos vértices en columnas
+ * consecutivas nunca están en el mismo nivel, así que no se enciman.
+ * @author Armando Ramírez González.
+ * @version 1.0.0.
+ */
+public class DisposicionCompacta implements Disposicion {
+
+    /**
+     * Método acomoda.
+     * Que calcula los centros en dos pasadas lineales: una en preorden
+     * inverso para el tamaño de cada subárbol, y otra en preorden para la
+     * posición in-order de cada vértice.
+     * @param arbol el árbol a acomodar.
+     * @param x donde se guarda la abscisa del centro de cada vértice.
+     * @param y donde se guarda la ordenada del centro de cada vértice.
+     */
+    @Override public void acomoda(ArbolPlano arbol, int[] x, int[] y) {
+        int n = arbol.getElementos();
+        int[] tam = new int[n];
+        for (int i = n-1; i >= 0; i--) {
+          tam[i] = 1 + tamano(tam, arbol.getIzquierdo(i))
+                     + tamano(tam, arbol.getDerecho(i));
+        }
+        /* Primera columna in-order de cada subárbol. */
+        int[] inicio = new int[n];
+        for (int i = 0; i < n; i++) {
+          int columna = inicio[i] + tamano(tam, arbol.getIzquierdo(i));
+          if (arbol.getIzquierdo(i) != -1) {
+            inicio[arbol.getIzquierdo(i)] = inicio[i];
+          }
+          if (arbol.getDerecho(i) != -1) {
+            inicio[arbol.getDerecho(i)] = columna + 1;
+          }
+          x[i] = (columna+1)*40 - 20;
+          y[i] = 40 + 100*arbol.getNivel(i);
+        }
+    }
+
+    /* Regresa el tamaño del subárbol con raíz en i, o 0 si i es -1. */
+    private static int tamano(int[] tam, int i) {
+        return i == -1 ? 0 : tam[i];
+    }
+}
@@ -0,0 +1,173 @@
+package mx.unam.ciencias.edd.proyecto2;
+
+import mx.unam.ciencias.edd.Arreglos;
+import mx.unam.ciencias.edd.ComponentesConexas;
+import mx.unam.ciencias.edd.GraficaCompacta;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Clase DisposicionComponentes.
+ * Disposición que acomoda cada componente conexa por separado con otra
+ * disposición, en paralelo, y luego las empaca en el lienzo por estantes:
+ * de la más alta a la más baja, de izquierda a derecha, en renglones de un
+ * ancho cercano a la raíz del área total, así que el lienzo queda más o
+ * menos cuadrado aunque haya miles de componentes pequeñas.
+ *
+ * <p>Cada componente se acomoda como una gráfica aparte, así que una
+ * disposición iterativa sólo mueve los vértices de la componente y la
+ * gravedad de una no jala a las demás.</p>
+ * @author Armando Ramírez González.
+ * @version 1.0.0.
+ */
+public class DisposicionComponentes implements DisposicionGrafica {
+
+    /* Separación entre componentes. */
+    private static final int SEPARACION = 80;
+    /* Margen del lienzo, con lugar para las etiquetas de la izquierda. */
+    private static final int MARGEN = 60;
+    /* Vértices de las componentes de cada tarea en paralelo. */
+    private static final int UMBRAL = 1 << 11;
+
+    /* La disposición de cada componente. */
+    private DisposicionGrafica disposicion;
+    /* Los hilos. */
+    private int hilos;
+
+    /**
+     * Constructor que recibe la disposición de cada componente y el número
+     * de hilos.
+     * @param disposicion la disposición de cada componente.
+     * @param hilos el número de hilos.
+     * @throws IllegalArgumentException si los hilos son menos de uno.
+     */
+    public DisposicionComponentes(DisposicionGrafica disposicion, int hilos) {
+        if (hilos < 1) {
+          throw new IllegalArgumentException("Número de hilos no válido.");
+        }
+        this.disposicion = disposicion;
+        this.hilos = hilos;
+    }
+
+    /**
+     * Método acomoda.
+     * Que calcula las componentes de la gráfica y la acomoda con ellas.
+     * @param grafica la gráfica a acomodar.
+     * @param x donde se guarda la abscisa del centro de cada vértice.
+     * @param y donde se guarda la ordenada del centro de cada vértice.
+     */
+    @Override public void acomoda(GraficaCompacta<?> grafica, int[] x, int[] y) {
+        acomoda(grafica.componentes(), x, y);
+    }
+
+    /**
+     * Método acomoda.
+     * Que acomoda cada una de las componentes recibidas y las empaca.
+     * @param componentes las componentes de la gráfica a acomodar.
+     * @param x donde se guarda la abscisa del centro de cada vértice.
+     * @param y donde se guarda la ordenada del centro de cada vértice.
+     */
+    public void acomoda(ComponentesConexas<?> componentes, int[] x, int[] y) {
+        int c = componentes.getComponentes();
+        int n = componentes.getElementos();
+        int umbral = (int)Math.max(1, (long)c * UMBRAL / Math.max(n, 1));
+        ForkJoinPool pool = TareaRangos.hilos(hilos, c, umbral);
+        try {
+          TareaRangos.ejecuta(pool, c, umbral, (inicio, fin) -> {
+                for (int i = inicio; i < fin; i++) {
+                  acomoda(componentes, i, x, y);
+                }
+              });
+        } finally {
+          if (pool != null) {
+            pool.shutdown();
+          }
+        }
+        empaca(componentes, x, y);
+    }
+
+    /*
+     * Método auxiliar acomoda.
+     * Que acomoda la componente i con la disposición y guarda las
+     * coordenadas de sus vértices; no escribe en las de ningún otro.
+     */
+    private void acomoda(ComponentesConexas<?> componentes, int i, int[] x, int[] y) {
+        GraficaCompacta<?> componente = componentes.componente(i);
+        int m = componente.getElementos();
+        int[] cx = new int[m], cy = new int[m];
+        disposicion.acomoda(componente, cx, cy);
+        int inicio = componentes.getInicio(i);
+        for (int j = 0; j < m; j++) {
+          int v = componentes.getVertice(inicio + j);
+          x[v] = cx[j];
+          y[v] = cy[j];
+        }
+    }
+
+    /*
+     * Método auxiliar empaca.
+     * Que recorre cada componente a su lugar en los estantes.
+     */
+    private static void empaca(ComponentesConexas<?> componentes, int[] x, int[] y) {
+        int c = componentes.getComponentes();
+        int[] minX = new int[c], minY = new int[c], ancho = new int[c], alto = new int[c];
+        Integer[] orden = new Integer[c];
+        long area = 0;
+        int maximo = 0;
+        for (int i = 0; i < c; i++) {
+          int x0 = Integer.MAX_VALUE, y0 = Integer.MAX_VALUE;
+          int x1 = Integer.MIN_VALUE, y1 = Integer.MIN_VALUE;
+          for (int k = componentes.getInicio(i); k < componentes.getFin(i); k++) {
+            int v = componentes.getVertice(k);
+            x0 = Math.min(x0, x[v]);
+            x1 = Math.max(x1, x[v]);
+            y0 = Math.min(y0, y[v]);
+            y1 = Math.max(y1, y[v]);
+          }
+          minX[i] = x0;
+          minY[i] = y0;
+          ancho[i] = x1 - x0;
+          alto[i] = y1 - y0;
+          area += (long)(ancho[i] + SEPARACION) * (alto[i] + SEPARACION);
+          maximo = Math.max(maximo, ancho[i]);
+          orden[i] = i;
+        }
+        Arreglos.quickSort(orden, (a, b) -> alto[a] != alto[b] ?
+                           Integer.compare(alto[b], alto[a]) : Integer.compare(a, b));
+        long estante = Math.max(maximo, (long)Math.sqrt((double)area));
+        long px = 0, py = 0;
+        int altoEstante = 0;
+        for (int i : orden) {
+          if (px > 0 && px + ancho[i] > estante) {
+            px = 0;
+            py += altoEstante + SEPARACION;
+            altoEstante = 0;
+          }
+          int dx = (int)(MARGEN + px - minX[i]);
+          int dy = (int)(MARGEN + py - minY[i]);
+          for (int k = componentes.getInicio(i); k < componentes.getFin(i); k++) {
+            int v = componentes.getVertice(k);
+            x[v] += dx;
+            y[v] += dy;
+          }
+          px += ancho[i] + SEPARACION;
+          altoEstante = Math.max(altoEstante, alto[i]);
+        }
+    }
+
+    /**
+     * Método porComponentes.
+     * @return <code>false</code>; esta disposición ya acomoda por
+     *         componentes.
+     */
+    @Override public boolean porComponentes() {
+        return false;
+    }
+
+    /**
+     * Método getNombre.
+     * @return el nombre de la disposición de cada componente.
+     */
+    @Override public String getNombre() {
+        return disposicion.getNombre();
+    }
+}
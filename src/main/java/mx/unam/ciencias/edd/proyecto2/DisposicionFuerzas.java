@@ -0,0 +1,401 @@
+package mx.unam.ciencias.edd.proyecto2;
+
+import mx.unam.ciencias.edd.GraficaCompacta;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Clase DisposicionFuerzas.
+ * Disposición dirigida por fuerzas, como la de Fruchterman y Reingold: las
+ * aristas atraen a sus extremos con fuerza <i>d</i>²/<i>K</i>, los vértices
+ * se repelen entre sí con fuerza <i>K</i>³/<i>d</i>², que se siente menos
+ * lejos que la <i>K</i>²/<i>d</i> original y no infla las gráficas grandes,
+ * y una gravedad débil hacia el centro mantiene juntas a las componentes. En cada
+ * iteración los vértices se mueven en la dirección de su fuerza, a lo más
+ * una temperatura que baja linealmente hasta cero.
+ *
+ * <p>La repulsión entre todas las parejas tomaría tiempo cuadrático; se
+ * aproxima con un árbol de cuadrantes de Barnes y Hut, que trata a un
+ * cuadrante lejano como un solo vértice en su centro de masa, así que cada
+ * iteración toma tiempo <i>O</i>(<i>n</i> log <i>n</i> + <i>m</i>). Las
+ * fuerzas de cada vértice se calculan en paralelo, y como cada una sólo
+ * depende de las posiciones de la iteración anterior, el resultado no
+ * depende del número de hilos.</p>
+ *
+ * <p>Las posiciones iniciales son las de {@link DisposicionCapas}, que casi
+ * no tienen cruces, así que las fuerzas sólo tienen que alisarlas y no hace
+ * falta azar.</p>
+ * @author Armando Ramírez González.
+ * @version 1.0.0.
+ */
+public class DisposicionFuerzas implements DisposicionGrafica {
+
+    /** Las iteraciones por omisión. */
+    public static final int ITERACIONES = 200;
+
+    /* La longitud ideal de una arista. */
+    private static final double K = 80;
+    /* Cuadrantes de lado menor a THETA veces su distancia se aproximan. */
+    private static final double THETA = 0.9;
+    /* La fuerza de la gravedad hacia el centro, por unidad de distancia. */
+    private static final double GRAVEDAD = 0.1;
+    /* Ángulo entre lugares consecutivos de la espiral inicial. */
+    private static final double AUREO = Math.PI * (3 - Math.sqrt(5));
+    /* Margen del lienzo. */
+    private static final int MARGEN = 40;
+    /* Vértices de cada tarea en paralelo. */
+    private static final int UMBRAL = 512;
+
+    /* El número de iteraciones. */
+    private int iteraciones;
+    /* Los hilos. */
+    private int hilos;
+
+    /**
+     * Constructor que recibe el número de iteraciones y de hilos.
+     * @param iteraciones el número de iteraciones.
+     * @param hilos el número de hilos.
+     * @throws IllegalArgumentException si las iteraciones son negativas o
+     *         los hilos menos de uno.
+     */
+    public DisposicionFuerzas(int iteraciones, int hilos) {
+        if (iteraciones < 0 || hilos < 1) {
+          throw new IllegalArgumentException("Iteraciones o hilos no válidos.");
+        }
+        this.iteraciones = iteraciones;
+        this.hilos = hilos;
+    }
+
+    /**
+     * Método acomoda.
+     * Que mueve los vértices el número de iteraciones, y luego los recorre
+     * para que el de más arriba y el de más a la izquierda queden en el
+     * margen.
+     * @param grafica la gráfica a acomodar.
+     * @param x donde se guarda la abscisa del centro de cada vértice.
+     * @param y donde se guarda la ordenada del centro de cada vértice.
+     */
+    @Override public void acomoda(GraficaCompacta<?> grafica, int[] x, int[] y) {
+        int n = grafica.getElementos();
+        if (n == 0) {
+          return;
+        }
+        double[] px = new double[n], py = new double[n];
+        double radio = inicia(grafica, px, py);
+        double[] fx = new double[n], fy = new double[n];
+        Cuadrantes arbol = new Cuadrantes(n);
+        ForkJoinPool pool = TareaRangos.hilos(hilos, n, UMBRAL);
+        try {
+          double inicial = Math.max(K, radio / 20);
+          for (int i = 0; i < iteraciones; i++) {
+            arbol.construye(px, py);
+            TareaRangos.ejecuta(pool, n, UMBRAL, (inicio, fin) -> {
+                int[] pila = arbol.pila();
+                for (int v = inicio; v < fin; v++) {
+                  fuerza(grafica, arbol, pila, v, px, py, fx, fy);
+                }
+              });
+            double t = inicial * (iteraciones - i) / iteraciones;
+            for (int v = 0; v < n; v++) {
+              double f = Math.sqrt(fx[v]*fx[v] + fy[v]*fy[v]);
+              if (f > 0) {
+                double s = Math.min(f, t) / f;
+                px[v] += fx[v] * s;
+                py[v] += fy[v] * s;
+              }
+            }
+          }
+        } finally {
+          if (pool != null) {
+            pool.shutdown();
+          }
+        }
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+        for (int v = 0; v < n; v++) {
+          minX = Math.min(minX, px[v]);
+          minY = Math.min(minY, py[v]);
+        }
+        for (int v = 0; v < n; v++) {
+          x[v] = MARGEN + (int)Math.round(px[v] - minX);
+          y[v] = MARGEN + (int)Math.round(py[v] - minY);
+        }
+    }
+
+    /*
+     * Método auxiliar inicia.
+     * Que calcula las posiciones iniciales: cada componente como la acomoda
+     * DisposicionCapas, que ya casi no tiene cruces, con su centro en una
+     * espiral de Fermat centrada en el origen. Cada componente ocupa en la
+     * espiral tantos lugares como vértices tiene, así que las grandes quedan
+     * más separadas. Regresa el radio de la espiral.
+     */
+    private double inicia(GraficaCompacta<?> grafica, double[] px, double[] py) {
+        int n = grafica.getElementos();
+        int[] cx = new int[n], cy = new int[n];
+        new DisposicionCapas(DisposicionCapas.ITERACIONES, hilos).acomoda(grafica, cx, cy);
+        int[] orden = new int[n];
+        boolean[] vistos = new boolean[n];
+        int k = 0;
+        for (int v = 0; v < n; v++) {
+          if (vistos[v]) {
+            continue;
+          }
+          int inicio = k;
+          k = bfs(grafica, v, orden, k, vistos);
+          double sx = 0, sy = 0;
+          for (int i = inicio; i < k; i++) {
+            sx += cx[orden[i]];
+            sy += cy[orden[i]];
+          }
+          double lugar = (inicio + k) / 2.0;
+          double r = K * 0.5 * Math.sqrt(lugar);
+          double ox = r * Math.cos(lugar * AUREO) - sx / (k - inicio);
+          double oy = r * Math.sin(lugar * AUREO) - sy / (k - inicio);
+          for (int i = inicio; i < k; i++) {
+            px[orden[i]] = cx[orden[i]] + ox;
+            py[orden[i]] = cy[orden[i]] + oy;
+          }
+        }
+        double radio = 0;
+        for (int v = 0; v < n; v++) {
+          radio = Math.max(radio, Math.sqrt(px[v]*px[v] + py[v]*py[v]));
+        }
+        return radio;
+    }
+
+    /*
+     * Método auxiliar bfs.
+     * Que guarda en el orden, desde la posición k, los vértices alcanzables
+     * desde v que no estaban vistos, en el orden de BFS, como
+     * GraficaCompacta.bfs, y los marca como vistos. Regresa la posición
+     * después del último vértice.
+     */
+    private static int bfs(GraficaCompacta<?> grafica, int v, int[] orden, int k,
+                           boolean[] vistos) {
+        int cabeza = k;
+        orden[k++] = v;
+        vistos[v] = true;
+        while (cabeza < k) {
+          int u = orden[cabeza++];
+          for (int e = grafica.getInicio(u); e < grafica.getFin(u); e++) {
+            int w = grafica.getVecino(e);
+            if (!vistos[w]) {
+              vistos[w] = true;
+              orden[k++] = w;
+            }
+          }
+        }
+        return k;
+    }
+
+    /*
+     * Método auxiliar fuerza.
+     * Que calcula la fuerza sobre el vértice v: la repulsión de los demás
+     * con el árbol de cuadrantes, la atracción de sus vecinos y la gravedad.
+     * Sólo escribe en las casillas de v.
+     */
+    private static void fuerza(GraficaCompacta<?> grafica, Cuadrantes arbol, int[] pila,
+                               int v, double[] px, double[] py, double[] fx, double[] fy) {
+        double x = px[v], y = py[v];
+        double[] r = arbol.repulsion(v, x, y, pila);
+        double sx = r[0] - GRAVEDAD * x;
+        double sy = r[1] - GRAVEDAD * y;
+        for (int e = grafica.getInicio(v); e < grafica.getFin(v); e++) {
+          int u = grafica.getVecino(e);
+          double dx = x - px[u], dy = y - py[u];
+          double d = Math.sqrt(dx*dx + dy*dy);
+          sx -= dx * d / K;
+          sy -= dy * d / K;
+        }
+        fx[v] = sx;
+        fy[v] = sy;
+    }
+
+    /*
+     * Clase interna privada para el árbol de cuadrantes, en arreglos
+     * paralelos para no crear un objeto por cuadrante. Los cuatro hijos de
+     * un cuadrante son consecutivos. Se reconstruye en cada iteración
+     * reusando los arreglos.
+     */
+    private static class Cuadrantes {
+
+        /* La profundidad máxima; más abajo los vértices se juntan en una hoja. */
+        private static final int PROFUNDIDAD = 40;
+        /* El vértice de una hoja con varios vértices. */
+        private static final int VARIOS = -2;
+
+        /* Número de cuadrantes usados. */
+        private int cuadrantes;
+        /* El centro y la mitad del lado de cada cuadrante. */
+        private double[] cx, cy, mitad;
+        /* La suma de las posiciones de sus vértices. */
+        private double[] sumaX, sumaY;
+        /* Cuántos vértices tiene. */
+        private int[] masa;
+        /* El primero de sus hijos, o -1 si es hoja. */
+        private int[] hijos;
+        /* Su vértice si es hoja con uno, VARIOS si tiene varios, o -1. */
+        private int[] vertice;
+
+        /* Crea un árbol para n vértices. */
+        private Cuadrantes(int n) {
+            reserva(4 * n + 1);
+        }
+
+        /* Crea los arreglos con la capacidad recibida, copiando los usados. */
+        private void reserva(int capacidad) {
+            cx = copia(cx, capacidad);
+            cy = copia(cy, capacidad);
+            mitad = copia(mitad, capacidad);
+            sumaX = copia(sumaX, capacidad);
+            sumaY = copia(sumaY, capacidad);
+            masa = copia(masa, capacidad);
+            hijos = copia(hijos, capacidad);
+            vertice = copia(vertice, capacidad);
+        }
+
+        /* Copia los cuadrantes usados a un arreglo nuevo. */
+        private double[] copia(double[] a, int capacidad) {
+            double[] b = new double[capacidad];
+            if (a != null) {
+              System.arraycopy(a, 0, b, 0, cuadrantes);
+            }
+            return b;
+        }
+
+        /* Copia los cuadrantes usados a un arreglo nuevo. */
+        private int[] copia(int[] a, int capacidad) {
+            int[] b = new int[capacidad];
+            if (a != null) {
+              System.arraycopy(a, 0, b, 0, cuadrantes);
+            }
+            return b;
+        }
+
+        /* Regresa una pila para recorrer el árbol desde un hilo. */
+        private int[] pila() {
+            return new int[3 * PROFUNDIDAD + 4];
+        }
+
+        /* Agrega un cuadrante vacío. */
+        private int nuevo(double x, double y, double m) {
+            if (cuadrantes == masa.length) {
+              reserva(2 * masa.length);
+            }
+            int c = cuadrantes++;
+            cx[c] = x;
+            cy[c] = y;
+            mitad[c] = m;
+            sumaX[c] = sumaY[c] = 0;
+            masa[c] = 0;
+            hijos[c] = -1;
+            vertice[c] = -1;
+            return c;
+        }
+
+        /* Construye el árbol con las posiciones recibidas. */
+        private void construye(double[] px, double[] py) {
+            double minX = Double.POSITIVE_INFINITY, maxX = Double.NEGATIVE_INFINITY;
+            double minY = Double.POSITIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+            for (int v = 0; v < px.length; v++) {
+              minX = Math.min(minX, px[v]);
+              maxX = Math.max(maxX, px[v]);
+              minY = Math.min(minY, py[v]);
+              maxY = Math.max(maxY, py[v]);
+            }
+            cuadrantes = 0;
+            nuevo((minX + maxX) / 2, (minY + maxY) / 2,
+                  Math.max(maxX - minX, maxY - minY) / 2 + 1);
+            for (int v = 0; v < px.length; v++) {
+              agrega(v, px, py);
+            }
+        }
+
+        /* Regresa el hijo de c en el cuadrante del punto. */
+        private int hijo(int c, double x, double y) {
+            return hijos[c] + (x < cx[c] ? 0 : 1) + (y < cy[c] ? 0 : 2);
+        }
+
+        /* Suma el punto al cuadrante. */
+        private void suma(int c, double x, double y) {
+            sumaX[c] += x;
+            sumaY[c] += y;
+            masa[c]++;
+        }
+
+        /* Agrega el vértice v al árbol. */
+        private void agrega(int v, double[] px, double[] py) {
+            double x = px[v], y = py[v];
+            int c = 0;
+            for (int p = 0; ; p++) {
+              if (masa[c] == 0) {
+                vertice[c] = v;
+                suma(c, x, y);
+                return;
+              }
+              if (hijos[c] == -1) {
+                if (p == PROFUNDIDAD || vertice[c] == VARIOS) {
+                  vertice[c] = VARIOS;
+                  suma(c, x, y);
+                  return;
+                }
+                int u = vertice[c];
+                double m = mitad[c] / 2;
+                int h = nuevo(cx[c] - m, cy[c] - m, m);
+                nuevo(cx[c] + m, cy[c] - m, m);
+                nuevo(cx[c] - m, cy[c] + m, m);
+                nuevo(cx[c] + m, cy[c] + m, m);
+                hijos[c] = h;
+                vertice[c] = -1;
+                int hu = hijo(c, px[u], py[u]);
+                vertice[hu] = u;
+                suma(hu, px[u], py[u]);
+              }
+              suma(c, x, y);
+              c = hijo(c, x, y);
+            }
+        }
+
+        /*
+         * Regresa la repulsión sobre el vértice v en (x, y): K³/d² por cada
+         * vértice a distancia d, en dirección contraria a él.
+         */
+        private double[] repulsion(int v, double x, double y, int[] pila) {
+            double sx = 0, sy = 0;
+            int tope = 0;
+            pila[tope++] = 0;
+            while (tope > 0) {
+              int c = pila[--tope];
+              int m = masa[c];
+              if (m == 0 || vertice[c] == v) {
+                continue;
+              }
+              double dx = x - sumaX[c] / m, dy = y - sumaY[c] / m;
+              double d2 = dx*dx + dy*dy;
+              double lado = 2 * mitad[c];
+              if (hijos[c] == -1 || lado * lado < THETA * THETA * d2) {
+                /* Los vértices encimados con v no lo empujan a ningún lado. */
+                if (d2 > 1e-9) {
+                  double f = m * K * K * K / (d2 * Math.sqrt(d2));
+                  sx += dx * f;
+                  sy += dy * f;
+                }
+              } else {
+                int h = hijos[c];
+                pila[tope++] = h;
+                pila[tope++] = h + 1;
+                pila[tope++] = h + 2;
+                pila[tope++] = h + 3;
+              }
+            }
+            return new double[] { sx, sy };
+        }
+    }
+
+    /**
+     * Método getNombre.
+     * @return <code>fuerzas:</code> seguido de las iteraciones.
+     */
+    @Override public String getNombre() {
+        return "fuerzas:" + iteraciones;
+    }
+}
@@ -0,0 +1,105 @@
+package mx.unam.ciencias.edd.proyecto2;
+
+import mx.unam.ciencias.edd.GraficaCompacta;
+
+/**
+ * Interfaz DisposicionGrafica.
+ * Para las etapas que acomodan los vértices de una {@link GraficaCompacta}
+ * en el lienzo, como {@link Disposicion} con los árboles. Una disposición
+ * sólo calcula coordenadas; {@link Graficador} las dibuja.
+ * @author Armando Ramírez González.
+ * @version 1.0.0.
+ */
+public interface DisposicionGrafica {
+
+    /** La propiedad del sistema con la disposición de las gráficas. */
+    String PROPIEDAD = "proyecto2.disposicion";
+
+    /**
+     * Método acomoda.
+     * Que calcula el centro de cada vértice de la gráfica.
+     * @param grafica la gráfica a acomodar.
+     * @param x donde se guarda la abscisa del centro de cada vértice.
+     * @param y donde se guarda la ordenada del centro de cada vértice.
+     */
+    void acomoda(GraficaCompacta<?> grafica, int[] x, int[] y);
+
+    /**
+     * Método getNombre.
+     * Que regresa el nombre de la disposición con sus parámetros, como lo
+     * recibe {@link #elige}. Dos disposiciones con el mismo nombre acomodan
+     * igual cualquier gráfica.
+     * @return el nombre de la disposición.
+     */
+    String getNombre();
+
+    /**
+     * Método porComponentes.
+     * Que nos dice si el graficador debe acomodar cada componente conexa por
+     * separado con esta disposición, en paralelo, y luego empacarlas con
+     * {@link DisposicionComponentes}. Por omisión es <code>true</code>.
+     * @return <code>true</code> si se acomoda por componentes,
+     *         <code>false</code> si la gráfica se acomoda completa.
+     */
+    default boolean porComponentes() {
+        return true;
+    }
+
+    /**
+     * Método elige.
+     * Que regresa la disposición con el nombre recibido: <code>zigzag</code>,
+     * <code>circular</code>, <code>capas</code> o <code>fuerzas</code>. Las
+     * dos últimas aceptan un límite de iteraciones después de dos puntos,
+     * como <code>fuerzas:500</code>, y usan un hilo por procesador.
+     * @param nombre el nombre de la disposición.
+     * @return la disposición con ese nombre.
+     * @throws IllegalArgumentException si no hay disposición con ese nombre.
+     */
+    static DisposicionGrafica elige(String nombre) {
+        int i = nombre.indexOf(':');
+        String tipo = i == -1 ? nombre : nombre.substring(0, i);
+        int hilos = Runtime.getRuntime().availableProcessors();
+        switch (tipo) {
+          case "zigzag":
+          case "circular":
+            if (i != -1) {
+              break;
+            }
+            return tipo.equals("zigzag") ? new DisposicionZigzag() : new DisposicionCircular();
+
+          case "capas":
+            return new DisposicionCapas(iteraciones(nombre, i, DisposicionCapas.ITERACIONES), hilos);
+
+          case "fuerzas":
+            return new DisposicionFuerzas(iteraciones(nombre, i, DisposicionFuerzas.ITERACIONES), hilos);
+
+          default:
+          break;
+        }
+        throw new IllegalArgumentException("Disposición desconocida: " + nombre);
+    }
+
+    /**
+     * Método porOmision.
+     * Que regresa la disposición de la propiedad {@link #PROPIEDAD}, o la de
+     * zigzag si no está definida.
+     * @return la disposición por omisión.
+     * @throws IllegalArgumentException si la propiedad no es una disposición.
+     */
+    static DisposicionGrafica porOmision() {
+        String nombre = System.getProperty(PROPIEDAD);
+        return nombre == null ? new DisposicionZigzag() : elige(nombre);
+    }
+
+    /* Regresa las iteraciones después de los dos puntos, o las recibidas. */
+    static int iteraciones(String nombre, int i, int omision) {
+        if (i == -1) {
+          return omision;
+        }
+        try {
+          return Integer.parseInt(nombre.substring(i+1));
+        } catch (NumberFormatException nfe) {
+          throw new IllegalArgumentException("Iteraciones no válidas: " + nombre);
+        }
+    }
+}
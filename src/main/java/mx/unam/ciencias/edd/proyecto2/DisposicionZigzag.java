@@ -0,0 +1,59 @@
+package mx.unam.ciencias.edd.proyecto2;
+
+import mx.unam.ciencias.edd.GraficaCompacta;
+
+/**
+ * Clase DisposicionZigzag.
+ * Disposición que acomoda los vértices en dos columnas en zigzag, en el
+ * orden en que se agregaron a la gráfica, sin ver sus aristas. Es la
+ * disposición por omisión.
+ * @author Armando Ramírez González.
+ * @version 1.0.0.
+ */
+public class DisposicionZigzag implements DisposicionGrafica {
+
+    /**
+     * Método acomoda.
+     * Que calcula los centros en una pasada lineal.
+     * @param grafica la gráfica a acomodar.
+     * @param abscisas donde se guarda la abscisa del centro de cada vértice.
+     * @param ordenadas donde se guarda la ordenada del centro de cada vértice.
+     */
+    @Override public void acomoda(GraficaCompacta<?> grafica, int[] abscisas, int[] ordenadas) {
+        int l = 0;
+        int k = 0;
+        for (int p = 0; p < grafica.getElementos(); p++) {
+          if (p%2 == 0) {
+            abscisas[p] = 100-(l*40)+(k*40);
+            ordenadas[p] = 100+(40*p);
+          } else {
+            abscisas[p] = 260-(l*40)+(k*40);
+            ordenadas[p] = 20+(40*p);
+            if (l == 0) {
+              l = 1;
+              k = 0;
+            } else {
+              l = 0;
+              k = 1;
+            }
+          }
+        }
+    }
+
+    /**
+     * Método porComponentes.
+     * @return <code>false</code>; el zigzag sólo depende del orden de los
+     *         vértices, así que ya junta a todas las componentes.
+     */
+    @Override public boolean porComponentes() {
+        return false;
+    }
+
+    /**
+     * Método getNombre.
+     * @return <code>zigzag</code>.
+     */
+    @Override public String getNombre() {
+        return "zigzag";
+    }
+}
@@ -0,0 +1,165 @@
+package mx.unam.ciencias.edd.proyecto2;
+
+import mx.unam.ciencias.edd.*;
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Clase EmisorArbol.
+ * Que escribe en SVG un {@link ArbolPlano} ya acomodado por una {@link
+ * Disposicion}. Recorre los vértices en preorden con un solo ciclo y
+ * produce las figuras en el mismo orden que los graficadores recursivos:
+ * cada vértice, la línea a su hijo izquierdo, el subárbol izquierdo, la
+ * línea a su hijo derecho y el subárbol derecho.
+ *
+ * <p>Como los vértices están en preorden, cada rango de índices se puede
+ * escribir sin ver el resto del árbol. Los árboles grandes se escriben en
+ * paralelo: cada bloque de vértices se escribe en su propio búfer en el
+ * {@link ForkJoinPool} común y los búferes se copian a la salida en orden,
+ * así que el resultado es idéntico byte por byte al secuencial.</p>
+ * @author Armando Ramírez González.
+ * @version 1.0.0.
+ */
+public class EmisorArbol {
+
+    /**
+     * Interfaz EstiloVertice.
+     * Para las figuras de un vértice, que dependen de cada estructura.
+     */
+    public interface EstiloVertice {
+
+        /**
+         * Método escribe.
+         * Que escribe las figuras del vértice centrado en (x, y).
+         * @param arbol el árbol plano.
+         * @param i el índice del vértice.
+         * @param x la abscisa del centro del vértice.
+         * @param y la ordenada del centro del vértice.
+         * @param salida donde se escriben las figuras.
+         * @throws IOException si ocurre un error al escribir en la salida.
+         */
+        void escribe(ArbolPlano arbol, int i, int x, int y, Appendable salida)
+            throws IOException;
+    }
+
+    /** Número mínimo de vértices para escribir en paralelo. */
+    public static final int UMBRAL_PARALELO = 1 << 13;
+    /* Número de vértices de cada bloque que se escribe en paralelo. */
+    private static final int BLOQUE = 1 << 11;
+
+    /* Constructor privado, la clase sólo tiene métodos estáticos. */
+    private EmisorArbol() {}
+
+    /**
+     * Método emite.
+     * Que acomoda el árbol con la disposición recibida y lo escribe.
+     * @param arbol el árbol plano.
+     * @param disposicion la disposición con la que se acomoda.
+     * @param estilo las figuras de cada vértice.
+     * @param salida donde se escribe el árbol.
+     * @throws IOException si ocurre un error al escribir en la salida.
+     */
+    public static void emite(ArbolPlano arbol, Disposicion disposicion,
+                             EstiloVertice estilo, Appendable salida)
+        throws IOException {
+        int n = arbol.getElementos();
+        int[] x = new int[n];
+        int[] y = new int[n];
+        disposicion.acomoda(arbol, x, y);
+        emite(arbol, x, y, estilo, salida);
+    }
+
+    /**
+     * Método emite.
+     * Que escribe el árbol con las coordenadas ya calculadas. Si el árbol
+     * tiene al menos {@link #UMBRAL_PARALELO} vértices y hay más de un
+     * procesador, lo escribe con {@link #emiteParalelo}.
+     * @param arbol el árbol plano.
+     * @param x la abscisa del centro de cada vértice.
+     * @param y la ordenada del centro de cada vértice.
+     * @param estilo las figuras de cada vértice.
+     * @param salida donde se escribe el árbol.
+     * @throws IOException si ocurre un error al escribir en la salida.
+     */
+    public static void emite(ArbolPlano arbol, int[] x, int[] y,
+                             EstiloVertice estilo, Appendable salida)
+        throws IOException {
+        if (arbol.getElementos() >= UMBRAL_PARALELO
+            && ForkJoinPool.getCommonPoolParallelism() > 1) {
+          emiteParalelo(arbol, x, y, estilo, salida);
+          return;
+        }
+        emite(arbol, x, y, estilo, salida, 0, arbol.getElementos());
+    }
+
+    /**
+     * Método emiteParalelo.
+     * Que escribe cada bloque de vértices en su propio búfer en el {@link
+     * ForkJoinPool} común, y copia los búferes a la salida en orden conforme
+     * terminan. El estilo debe poder usarse desde varios hilos a la vez.
+     * @param arbol el árbol plano.
+     * @param x la abscisa del centro de cada vértice.
+     * @param y la ordenada del centro de cada vértice.
+     * @param estilo las figuras de cada vértice.
+     * @param salida donde se escribe el árbol.
+     * @throws IOException si ocurre un error al escribir en la salida.
+     */
+    public static void emiteParalelo(ArbolPlano arbol, int[] x, int[] y,
+                                     EstiloVertice estilo, Appendable salida)
+        throws IOException {
+        int n = arbol.getElementos();
+        ListaArreglo<ForkJoinTask<StringBuilder>> tareas =
+            new ListaArreglo<ForkJoinTask<StringBuilder>>(n / BLOQUE + 1);
+        for (int ini = 0; ini < n; ini += BLOQUE) {
+          final int i = ini;
+          final int fin = Math.min(n, ini + BLOQUE);
+          tareas.agrega(ForkJoinPool.commonPool().submit(() -> {
+              StringBuilder bufer = new StringBuilder();
+              emite(arbol, x, y, estilo, bufer, i, fin);
+              return bufer;
+            }));
+        }
+        for (ForkJoinTask<StringBuilder> tarea : tareas) {
+          salida.append(tarea.join());
+        }
+    }
+
+    /**
+     * Método emite.
+     * Que escribe en un solo hilo los vértices con índices en [ini, fin),
+     * junto con la línea a cada hijo derecho del rango y de cada vértice del
+     * rango a su hijo izquierdo.
+     * @param arbol el árbol plano.
+     * @param x la abscisa del centro de cada vértice.
+     * @param y la ordenada del centro de cada vértice.
+     * @param estilo las figuras de cada vértice.
+     * @param salida donde se escriben los vértices.
+     * @param ini el índice del primer vértice a escribir.
+     * @param fin el índice siguiente al último vértice a escribir.
+     * @throws IOException si ocurre un error al escribir en la salida.
+     */
+    public static void emite(ArbolPlano arbol, int[] x, int[] y,
+                              EstiloVertice estilo, Appendable salida,
+                              int ini, int fin) throws IOException {
+        for (int i = ini; i < fin; i++) {
+          int p = arbol.getPadre(i);
+          /* La línea al hijo derecho va justo antes de su subárbol. */
+          if (p != -1 && arbol.getDerecho(p) == i) {
+            linea(x[p], y[p], x[i], y[i], salida);
+          }
+          estilo.escribe(arbol, i, x[i], y[i], salida);
+          int izq = arbol.getIzquierdo(i);
+          if (izq != -1) {
+            linea(x[i], y[i], x[izq], y[izq], salida);
+          }
+        }
+    }
+
+    /* Escribe la línea del borde inferior de un vértice al superior de otro. */
+    static void linea(int x1, int y1, int x2, int y2, Appendable salida)
+        throws IOException {
+        new Linea(x1, y1+20, x2, y2-20).toSVG(salida);
+        salida.append("\n");
+    }
+}
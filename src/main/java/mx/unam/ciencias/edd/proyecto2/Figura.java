@@ -1,5 +1,7 @@
 package mx.unam.ciencias.edd.proyecto2;
 
+import java.io.IOException;
+
 /**
  * Clase abstracta para dibujar figuras en formato
  * svg.
@@ -43,9 +45,10 @@ public abstract class Figura {
     }
 
     /**
-     * Crea el formato svg correspondiente a la figura
-     * que se elija.
-     * @return String con la cadena correspondiente al formato svg.
+     * Escribe el formato svg correspondiente a la figura directamente
+     * en la salida recibida, sin construir cadenas intermedias.
+     * @param salida donde se escribe la figura.
+     * @throws IOException si ocurre un error al escribir en la salida.
      */
-    public abstract String toSVG();
+    public abstract void toSVG(Appendable salida) throws IOException;
 }
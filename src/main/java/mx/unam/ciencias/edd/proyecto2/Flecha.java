@@ -1,5 +1,7 @@
 package mx.unam.ciencias.edd.proyecto2;
 
+import java.io.IOException;
+
 /**
  * Clase Flecha que modelas flechas en formato SVG.
  * @author Armando Ramírez González.
@@ -7,53 +9,60 @@ package mx.unam.ciencias.edd.proyecto2;
  */
 public class Flecha {
 
-    /* String correspondiente a la flecha en SVG. */
-    private String flecha;
-
     /**
      * Método flechaDerecha.
+     * Que escribe la flecha directamente en la salida recibida.
      * @param x,y coordenadas del inicio de la flecha.
      * @param x1,y1 coordenadas del final de la flecha.
-     * @return String una flecha en formato SVG en dirección
-     *        a la derecha.
+     * @param salida donde se escribe la flecha.
+     * @throws IOException si ocurre un error al escribir en la salida.
      */
-    public String flechaDerecha(double x, double y, double x1, double y1) {
+    public void flechaDerecha(double x, double y, double x1, double y1,
+                              Appendable salida) throws IOException {
         Linea f = new Linea(x,y,x1,y1);
         Triangulo t = new Triangulo(x1,y1,x1-3,y1+3,x1-3,y1-3);
-        flecha += f.toSVG() + "\n";
-        flecha += t.toSVG() + "\n";
-        return flecha;
+        f.toSVG(salida);
+        salida.append("\n");
+        t.toSVG(salida);
+        salida.append("\n");
     }
 
     /**
      * Método flechaIzquierda.
+     * Que escribe la flecha directamente en la salida recibida.
      * @param x,y coordenadas del inicio de la flecha.
      * @param x1,y1 coordenadas del final de la flecha.
-     * @return String una flecha en formato SVG en dirección
-     *        a la izquierda.
+     * @param salida donde se escribe la flecha.
+     * @throws IOException si ocurre un error al escribir en la salida.
      */
-    public String flechaIzquierda(double x, double y, double x1, double y1) {
+    public void flechaIzquierda(double x, double y, double x1, double y1,
+                                Appendable salida) throws IOException {
       Linea f = new Linea(x,y,x1,y1);
       Triangulo t = new Triangulo(x,y,x-3,y+3,x-3,y-3);
-      flecha += f.toSVG() + "\n";
-      flecha += t.toSVG() + "\n";
-      return flecha;
+      f.toSVG(salida);
+      salida.append("\n");
+      t.toSVG(salida);
+      salida.append("\n");
     }
 
     /**
      * Método flechaBidireccional.
+     * Que escribe la flecha directamente en la salida recibida.
      * @param x,y coordenadas del inicio de la flecha.
      * @param x1,y1 coordenadas del final de la flecha.
-     * @return String una flecha en formato SVG en dirección
-     * en ambas direcciones.
+     * @param salida donde se escribe la flecha.
+     * @throws IOException si ocurre un error al escribir en la salida.
      */
-    public String flechaBidireccional(double x, double y, double x1, double y1) {
+    public void flechaBidireccional(double x, double y, double x1, double y1,
+                                    Appendable salida) throws IOException {
       Linea f = new Linea(x,y,x1,y1);
       Triangulo ti = new Triangulo(x,y,x+3,y+3,x+3,y-3);
       Triangulo tf = new Triangulo(x1,y1,x1-3,y1+3,x1-3,y1-3);
-      flecha += f.toSVG() + "\n";
-      flecha += ti.toSVG() + "\n";
-      flecha += tf.toSVG() + "\n";
-      return flecha;
+      f.toSVG(salida);
+      salida.append("\n");
+      ti.toSVG(salida);
+      salida.append("\n");
+      tf.toSVG(salida);
+      salida.append("\n");
     }
 }
@@ -0,0 +1,44 @@
+package mx.unam.ciencias.edd.proyecto2;
+
+import java.io.IOException;
+
+/**
+ * Clase Fragmento.
+ * Que escribe en una cadena el SVG de los métodos que lo escriben en un
+ * {@link Appendable}. La cadena se construye en un {@link StringBuilder},
+ * que nunca lanza {@link IOException}, así que quien la pide no tiene que
+ * atraparla.
+ * @author Armando Ramírez González.
+ * @version 1.0.0.
+ */
+final class Fragmento {
+
+    /** Interfaz para lo que escribe SVG en una salida. */
+    @FunctionalInterface
+    interface Escritor {
+        /**
+         * Escribe el SVG en la salida recibida.
+         * @param salida donde se escribe el SVG.
+         * @throws IOException si ocurre un error al escribir en la salida.
+         */
+        void escribe(Appendable salida) throws IOException;
+    }
+
+    /* No se crean fragmentos. */
+    private Fragmento() {}
+
+    /**
+     * Método cadena.
+     * @param escritor lo que escribe el SVG.
+     * @return el SVG que escribe el escritor, en una cadena.
+     */
+    static String cadena(Escritor escritor) {
+        StringBuilder svg = new StringBuilder();
+        try {
+          escritor.escribe(svg);
+        } catch (IOException ioe) {
+          /* Un StringBuilder nunca lanza IOException. */
+        }
+        return svg.toString();
+    }
+}
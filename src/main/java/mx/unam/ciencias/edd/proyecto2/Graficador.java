@@ -1,6 +1,8 @@
 package mx.unam.ciencias.edd.proyecto2;
 
 import mx.unam.ciencias.edd.*;
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Clase Graficador para graficar las estructuras
@@ -10,12 +12,15 @@ import mx.unam.ciencias.edd.*;
  */
 public class Graficador {
 
+    /* Vértices de las componentes que escribe cada tarea en paralelo. */
+    private static final int UMBRAL_FRAGMENTO = 1 << 12;
+    /* Espacio alrededor de los vértices para sus círculos y etiquetas. */
+    private static final int ORILLA = 160;
+
     /* El tipo de estrucutra a graficar. */
     private Estructura est;
-    /* Variable de tipo string para la estructura. */
-    private String svg;
-    private int j;
-    private int alt;
+    /* La disposición de los vértices de las gráficas. */
+    private DisposicionGrafica disposicion;
 
     /**
      * Constructor, que crea un objeto
@@ -23,7 +28,7 @@ public class Graficador {
      */
     public Graficador() {
         est = Estructura.NINGUNO;
-        this.svg = "";
+        disposicion = new DisposicionZigzag();
     }
 
     /**
@@ -35,268 +40,351 @@ public class Graficador {
         this.est = nombre;
     }
 
+    /**
+     * Método getEstructura.
+     * @return el tipo de estructura que se grafica.
+     */
+    public Estructura getEstructura() {
+        return est;
+    }
+
+    /**
+     * Método disposicion.
+     * Que define cómo se acomodan los vértices de {@link
+     * Estructura#GRAFICA}; por omisión, en zigzag.
+     * @param disposicion la disposición de los vértices.
+     */
+    public void disposicion(DisposicionGrafica disposicion) {
+        this.disposicion = disposicion;
+    }
+
+    /**
+     * Método getDisposicion.
+     * @return la disposición de los vértices de las gráficas.
+     */
+    public DisposicionGrafica getDisposicion() {
+        return disposicion;
+    }
+
     /**
      * Método grafica.
      * Que devuelve la estructura graficada en SVG.
-     * @param coleccion una lista.
+     * @param coleccion una colección con los elementos.
      * @return String el código SVG de la estructura.
      */
-    public String grafica(Lista<Integer> coleccion) {
+    public String grafica(Coleccion<Integer> coleccion) {
+        return grafica(new ListaEnteros(coleccion));
+    }
+
+    /**
+     * Método grafica.
+     * Que devuelve la estructura graficada en SVG.
+     * @param enteros una lista de enteros con los elementos.
+     * @return String el código SVG de la estructura.
+     */
+    public String grafica(ListaEnteros enteros) {
+        return Fragmento.cadena(salida -> grafica(enteros, salida));
+    }
+
+    /**
+     * Método grafica.
+     * Que escribe la estructura graficada en SVG directamente en la salida.
+     * Los elementos se copian a una lista de enteros primitivos.
+     * @param coleccion una colección con los elementos.
+     * @param salida donde se escribe el código SVG de la estructura.
+     * @throws IOException si ocurre un error al escribir en la salida.
+     */
+    public void grafica(Coleccion<Integer> coleccion, Appendable salida) throws IOException {
+        grafica(new ListaEnteros(coleccion), salida);
+    }
+
+    /**
+     * Método grafica.
+     * Que escribe la estructura graficada en SVG directamente en la salida
+     * recibida, figura por figura, sin construir la gráfica completa en
+     * memoria.
+     * @param coleccion una lista de enteros con los elementos.
+     * @param salida donde se escribe el código SVG de la estructura.
+     * @throws IOException si ocurre un error al escribir en la salida.
+     */
+    public void grafica(ListaEnteros coleccion, Appendable salida) throws IOException {
+        salida.append("<g>\n");
         /* switch para saber la estructura a graficar. */
         switch (est) {
           case LISTA:
-            svg = graficaLista(coleccion);
+            graficaLista(coleccion, salida);
           break;
 
           case PILA:
-            svg = graficaPila(coleccion);
+            graficaPila(coleccion, salida);
           break;
 
           case COLA:
-            svg = graficaCola(coleccion);
+            graficaCola(coleccion, salida);
           break;
 
           case ARBOLCOMPLETO:
-            svg = graficaArbolCompleto(coleccion);
+            graficaArbolCompleto(coleccion, salida);
           break;
 
           case ARBOLORDENADO:
-            svg = graficaArbolOrdenado(coleccion);
+            graficaArbolOrdenado(coleccion, salida);
           break;
 
           case ARBOLROJINEGRO:
-            svg = graficaRojinegro(coleccion);
+            graficaRojinegro(coleccion, salida);
           break;
 
           case ARBOLAVL:
-            svg = graficaArbolAVL(coleccion);
+            graficaArbolAVL(coleccion, salida);
           break;
 
           case GRAFICA:
-            svg = graficaGrafo(coleccion);
+            graficaGrafo(coleccion, salida);
           break;
 
           case MONTICULOMINIMO:
-            svg = graficaMonticulo(coleccion);
+            graficaMonticulo(coleccion, salida);
           break;
 
           default:
-            svg = "No hay estructura";
+            salida.append("No hay estructura");
           break;
         }
-        return ("<g>\n" + svg + "</g>");
+        salida.append("</g>");
+    }
+
+    /*
+     * Método auxiliar escribe.
+     * Que escribe una figura seguida de un salto de línea en la salida.
+     */
+    private void escribe(Figura figura, Appendable salida) throws IOException {
+        figura.toSVG(salida);
+        salida.append("\n");
+    }
+
+    /*
+     * Método auxiliar potencia.
+     * Que regresa 2 elevado al exponente recibido, truncado a entero como
+     * lo haría (int)Math.pow(2,e): los exponentes negativos regresan 0.
+     */
+    private static int potencia(int e) {
+        return e < 0 ? 0 : 1 << e;
+    }
+
+    /*
+     * Método auxiliar log2.
+     * Que regresa el piso del logaritmo base 2 de un entero positivo.
+     */
+    private static int log2(int n) {
+        return 31 - Integer.numberOfLeadingZeros(n);
     }
 
     /*
      * Método auxiliar graficaLista.
-     * Que recibe una colección y regresa un String con el formato svg
+     * Que recibe una lista de enteros y escribe en la salida el formato svg
      * de una lista.
      */
-    private String graficaLista(Lista<Integer> coleccion) {
-        IteradorLista<Integer> i = coleccion.iteradorLista();
-        int j = 0;
-        int x = 0;
-        Flecha f = new Flecha();
-        while (i.hasNext()) {
-          /* Construímos los rectángulos. */
-          Rectangulo rect = new Rectangulo(20.0+(80*j),20.0,40.0,20.0);
-          svg += rect.toSVG() + "\n";
-          x = 20 + (80*j);
-          if (i.hasPrevious()) {
-            svg += f.flechaBidireccional(x-40,30,x,30) + "\n";
-          }
-          Texto tex = new Texto(i.next().toString(),30+(80*j),37,"black");
-          svg += tex.toSVG() + "\n";
-          j++;
+    private void graficaLista(ListaEnteros coleccion, Appendable salida) throws IOException {
+        for (int j = 0; j < coleccion.getElementos(); j++) {
+          elementoLista(j, coleccion.get(j), salida);
         }
-        return svg;
     }
 
     /*
-     * Método auxiliar graficaPila.
-     * Que recibe una Lista y regresa un String con el formato svg
-     * de una pila.
+     * Método auxiliar elementoLista.
+     * Que escribe el j-ésimo elemento de una lista: su rectángulo, la flecha
+     * desde el anterior y su valor. Lo usa también SesionLista.
      */
-    private String graficaPila(Lista<Integer> coleccion) {
-        /* Construimos la pila. */
-        Pila<Integer> pila = new Pila<>();
-        for (Integer e : coleccion) {
-          pila.mete(e);
+    static void elementoLista(int j, int elemento, Appendable salida) throws IOException {
+        /* Construímos los rectángulos. */
+        Rectangulo rect = new Rectangulo(20.0+(80*j),20.0,40.0,20.0);
+        rect.toSVG(salida);
+        salida.append("\n");
+        int x = 20 + (80*j);
+        if (j > 0) {
+          new Flecha().flechaBidireccional(x-40,30,x,30,salida);
+          salida.append("\n");
         }
+        Texto tex = new Texto(Integer.toString(elemento),30+(80*j),37,"black");
+        tex.toSVG(salida);
+        salida.append("\n");
+    }
+
+    /*
+     * Método auxiliar graficaPila.
+     * Que recibe una lista de enteros y escribe en la salida el formato svg
+     * de una pila. El tope de la pila es el último elemento de la lista.
+     */
+    private void graficaPila(ListaEnteros coleccion, Appendable salida) throws IOException {
         int j = 0;
-        while (!pila.esVacia()) {
-          Integer elemento = pila.saca();
+        for (int k = coleccion.getElementos()-1; k >= 0; k--) {
           Linea izq = new Linea(20,20+(40*j),20,60+(40*j));
           Linea der = new Linea(60,20+(40*j),60,60+(40*j));
-          Texto tex = new Texto(elemento.toString(),30,40+(40*j),"black");
-          svg += izq.toSVG() + "\n";
-          svg += der.toSVG() + "\n";
-          svg += tex.toSVG() + "\n";
+          Texto tex = new Texto(Integer.toString(coleccion.get(k)),30,40+(40*j),"black");
+          escribe(izq, salida);
+          escribe(der, salida);
+          escribe(tex, salida);
           j++;
         }
         Linea fin = new Linea(20,20+(40*j),60,20+(40*j));
-        svg += fin.toSVG() + "\n";
-        return svg;
+        escribe(fin, salida);
     }
 
     /*
      * Método auxiliar graficaCola.
-     * Que recibe una colección y regresa un String con el formato svg
+     * Que recibe una lista de enteros y escribe en la salida el formato svg
      * de una cola.
      */
-    private String graficaCola(Lista<Integer> coleccion) {
-      /* Construimos la cola. */
-      Cola<Integer> cola = new Cola<>();
+    private void graficaCola(ListaEnteros coleccion, Appendable salida) throws IOException {
       int m = coleccion.getElementos();
-      for (Integer e : coleccion) {
-        cola.mete(e);
-      }
-      int j = 1;
       Linea iniArriba = new Linea(20,20,60,20);
       Linea iniAbajo = new Linea(20,60,60,60);
       Linea finArriba = new Linea((40*m)+60,20,(40*m)+100,20);
       Linea finAbajo = new Linea((40*m)+60,60,(40*m)+100,60);
-      svg += iniArriba.toSVG() + "\n";
-      svg += iniAbajo.toSVG() + "\n";
-      svg += finArriba.toSVG() + "\n";
-      svg += finAbajo.toSVG() + "\n";
-      while (!cola.esVacia()) {
-        Integer elemento = cola.saca();
+      escribe(iniArriba, salida);
+      escribe(iniAbajo, salida);
+      escribe(finArriba, salida);
+      escribe(finAbajo, salida);
+      for (int k = 0; k < coleccion.getElementos(); k++) {
         Linea arriba = new Linea((40*m)+20,20,(40*m)+60,20);
         Linea abajo = new Linea((40*m)+20,60,(40*m)+60,60);
-        Texto tex = new Texto(elemento.toString(),(40*m)+40,45,"black");
-        svg += arriba.toSVG() + "\n";
-        svg += abajo.toSVG() + "\n";
-        svg += tex.toSVG() + "\n";
+        Texto tex = new Texto(Integer.toString(coleccion.get(k)),(40*m)+40,45,"black");
+        escribe(arriba, salida);
+        escribe(abajo, salida);
+        escribe(tex, salida);
         m--;
       }
-      return svg;
     }
 
     /*
      * Método auxiliar graficaArbolCompleto.
-     * Que recibe una colección y regresa un String con el formato svg
-     * de un árbol binario completo.
+     * Que recibe una lista de enteros y escribe en la salida el formato svg
+     * de un árbol binario completo. Un árbol binario completo recorrido
+     * por BFS coincide con la lista, así que el vértice k tiene hijos en
+     * 2k+1 y 2k+2 y no hace falta construir el árbol.
      */
-    private String graficaArbolCompleto(Lista<Integer> coleccion) {
-        /* Construimos el árbol. */
-        ArbolBinarioCompleto<Integer> arbolC = new ArbolBinarioCompleto<>(coleccion);
-        int altG = arbolC.altura();
-        VerticeArbolBinario<Integer> r = arbolC.raiz();
-        arbolC.bfs((v) -> {
-          if (v.equals(r)) {
-            alt = altG;
-          }
-          int aux = (int)(Math.pow(2,alt));
-          int dibuj = aux-1;
-          int i = v.profundidad();
-          int nivel = (int)(Math.pow(2,i));
-          if (v.hayPadre()) {
-            int mx = (int)(Math.pow(2,alt+1));
-            int hijo = (mx-1);
-            int nx = (int)(Math.pow(2,(alt-1)));
-            int lin1 = nx-1;
+    private void graficaArbolCompleto(ListaEnteros coleccion, Appendable salida) throws IOException {
+        int n = coleccion.getElementos();
+        if (n == 0) {
+          return;
+        }
+        int altG = log2(n);
+        for (int k = 0; k < n; k++) {
+          /* Profundidad, posición en el nivel y altura restante. */
+          int i = log2(k+1);
+          int j = k - (potencia(i)-1);
+          int alt = altG - i;
+          int dibuj = potencia(alt)-1;
+          boolean hayIzquierdo = 2*k+1 < n;
+          boolean hayDerecho = 2*k+2 < n;
+          String elemento = Integer.toString(coleccion.get(k));
+          if (k > 0) {
+            int hijo = potencia(alt+1)-1;
+            int lin1 = potencia(alt-1)-1;
             Circulo h = new Circulo((40*j*(hijo))+(40*dibuj)+40*j+20, 40+(100*i), 20, "black", "white");
-            Texto tex1 = new Texto(v.get().toString(), (40*j)*(hijo+1)+(40*dibuj)+10,40+(100*i), "black");
-            if (v.hayIzquierdo()) {
+            Texto tex1 = new Texto(elemento, (40*j)*(hijo+1)+(40*dibuj)+10,40+(100*i), "black");
+            if (hayIzquierdo) {
               Linea lin = new Linea((40*j)*(hijo+1)+(40*dibuj)+20, 60+(100*i),
                                     ((40*j)*(hijo+1)+(40*dibuj)+20)-(lin1*40)-40, 20+(100*(i+1)));
-              svg += lin.toSVG() + "\n";
+              escribe(lin, salida);
             }
-            if (v.hayDerecho()) {
+            if (hayDerecho) {
               Linea lin = new Linea((40*j)*(hijo+1)+(40*dibuj)+20, 60+(100*i),
                                     ((40*j)*(hijo+1)+(40*dibuj)+20)+(lin1*40)+40, 20+(100*(i+1)));
-              svg += lin.toSVG() + "\n";
+              escribe(lin, salida);
             }
-            svg += h.toSVG() + "\n";
-            svg += tex1.toSVG() + "\n";
+            escribe(h, salida);
+            escribe(tex1, salida);
           } else {
             Circulo c = new Circulo((dibuj*40)+20, 40+(100*i), 20, "black", "white");
-            Texto tex = new Texto(v.get().toString(),(dibuj*40)+20, 40+(100*i),"black");
-            svg += c.toSVG() + "\n";
-            svg += tex.toSVG() + "\n";
-            if (v.hayIzquierdo()) {
+            Texto tex = new Texto(elemento,(dibuj*40)+20, 40+(100*i),"black");
+            escribe(c, salida);
+            escribe(tex, salida);
+            if (hayIzquierdo) {
               Linea lin = new Linea((dibuj*40)+20, 60+(100*i),
                                     ((dibuj+1)/2)*40-20, 20+(100*(i+1)));
-              svg += lin.toSVG() + "\n";
+              escribe(lin, salida);
             }
-            if (v.hayDerecho()) {
+            if (hayDerecho) {
               Linea lin = new Linea((dibuj*40)+20, 60+(100*i),
                                     (dibuj*40)+((dibuj+1)/2)*40+20, 20+(100*(i+1)));
-              svg += lin.toSVG() + "\n";
+              escribe(lin, salida);
             }
           }
-          j += 1;
-          if (j >= nivel) {
-            j = 0;
-            alt--;
-          }
-        });
-        return svg;
+        }
     }
 
     /*
      * Método auxiliar graficaArbolOrdenado.
-     * Que recibe una colección y regresa un String con el formato svg
+     * Que recibe una lista de enteros y escribe en la salida el formato svg
      * de un árbol binario ordenado.
      */
-    private String graficaArbolOrdenado(Lista<Integer> coleccion) {
+    private void graficaArbolOrdenado(ListaEnteros coleccion, Appendable salida) throws IOException {
         Ordenado m = new Ordenado();
-        svg += m.graficadorOrdenado(coleccion);
-        return svg;
+        m.graficadorOrdenado(coleccion, salida);
     }
 
     /*
      * Método auxiliar graficaRojinegro.
-     * Que recibe una colección y regresa un String con el formato svg
+     * Que recibe una lista de enteros y escribe en la salida el formato svg
      * de un árbol rojinegro.
      */
-    private String graficaRojinegro(Lista<Integer> coleccion) {
+    private void graficaRojinegro(ListaEnteros coleccion, Appendable salida) throws IOException {
       Rojinegro r = new Rojinegro();
-      svg += r.graficadorRojinegro(coleccion);
-      return svg;
+      r.graficadorRojinegro(coleccion, salida);
     }
 
     /*
      * Método auxiliar graficaArbolAVL.
-     * Que recibe una colección y regresa un String con el formato svg
+     * Que recibe una lista de enteros y escribe en la salida el formato svg
      * de un árbol AVL.
      */
-    private String graficaArbolAVL(Lista<Integer> coleccion) {
+    private void graficaArbolAVL(ListaEnteros coleccion, Appendable salida) throws IOException {
       AvlSvg a = new AvlSvg();
-      svg += a.graficadorAVL(coleccion);
-      return svg;
+      a.graficadorAVL(coleccion, salida);
     }
 
     /*
      * Método auxiliar graficaGrafo.
-     * Que recibe una colección y regresa un String con el formato svg
+     * Que recibe una lista de enteros y escribe en la salida el formato svg
      * de una gráfica.
      */
-    private String graficaGrafo(Lista<Integer> coleccion) {
-      int longitud = coleccion.getLongitud();
-      int indice = 0;
+    private void graficaGrafo(ListaEnteros coleccion, Appendable salida) throws IOException {
+      GraficaCompacta<Integer> compacta = construyeGrafo(coleccion).compacta();
+      ComponentesConexas<Integer> componentes = componentesGrafo(compacta);
+      int[][] posiciones = posicionesGrafo(compacta, componentes);
+      boolean escalada = abreLienzo(posiciones[0], posiciones[1], salida);
+      dibujaGrafo(compacta, componentes, posiciones[0], posiciones[1], salida);
+      if (escalada) {
+        salida.append("</svg>\n");
+      }
+    }
+
+    /*
+     * Método auxiliar construyeGrafo.
+     * Que construye la gráfica de una lista de enteros: cada entero es un
+     * vértice y cada pareja consecutiva es una arista.
+     */
+    private Grafica<Integer> construyeGrafo(ListaEnteros coleccion) {
+      int longitud = coleccion.getElementos();
       int j = 0;
-      int l = 0;
-      int k = 0;
-      int abscisa = 0;
-      int ordenada = 0;
 
       /* Construimos la gráfica. */
       Grafica<Integer> graph = new Grafica<Integer>();
-      for (Integer elemento : coleccion) {
-        if (!graph.contiene(elemento)) {
-          graph.agrega(elemento);
+      for (int i = 0; i < longitud; i++) {
+        if (!graph.contiene(coleccion.get(i))) {
+          graph.agrega(coleccion.get(i));
         }
       }
 
       /* Conectamos. */
       for (int i = 0; i<longitud-1; i+=2) {
         j = i + 1;
-        Integer izq = coleccion.get(i);
-        Integer der = coleccion.get(j);
+        int izq = coleccion.get(i);
+        int der = coleccion.get(j);
         try {
-          if (!izq.equals(der)) {
+          if (izq != der) {
             graph.conecta(izq,der);
           }
         } catch(IllegalArgumentException e) {
@@ -304,116 +392,188 @@ public class Graficador {
                            + " no puede conectar dos vértices ya conectados.");
         }
       }
+      return graph;
+    }
 
-      /* Dibujamos la gráfica. */
-      for (Integer a : graph) {
-        if (indice%2 == 0) {
-          abscisa = 100-(l*40)+(k*40);
-          ordenada = 100+(40*indice);
-          Circulo n = new Circulo(abscisa, ordenada, 20, "black", "black");
-          Texto texV = new Texto(a.toString(), abscisa-30, ordenada-10, "blue");
-          svg += n.toSVG() + "\n";
-          svg += texV.toSVG() + "\n";
-        } else {
-          abscisa = 260-(l*40)+(k*40);
-          ordenada = 20+40*indice;
-          Circulo n1 = new Circulo(abscisa, ordenada, 20, "black", "black");
-          Texto texV1 = new Texto(a.toString(), abscisa+25, ordenada-10, "blue");
-          svg += n1.toSVG() + "\n";
-          svg += texV1.toSVG() + "\n";
-          if (l == 0) {
-            l = 1;
-            k = 0;
-          } else {
-            l = 0;
-            k = 1;
-          }
-        }
-        int p = 0;
-        int aux = 0;
-        int aux1 = 0;
-        for (Integer b : graph) {
-          if (graph.sonVecinos(a,b)) {
-            int abscisaFin = 0;
-            int ordenadaFin = 0;
-            if (p%2 == 0) {
-              abscisaFin = 100-(aux*40)+(aux1*40);
-              ordenadaFin = 100+(40*p);
-              Linea arista = new Linea(abscisa, ordenada, abscisaFin, ordenadaFin);
-              svg += arista.toSVG() + "\n";
-            } else {
-              abscisaFin = 260-(aux*40)+(aux1*40);
-              ordenadaFin = 20+(40*p);
-              Linea arista = new Linea(abscisa, ordenada, abscisaFin, ordenadaFin);
-              svg += arista.toSVG() + "\n";
-            }
-          }
-          if (aux == 0 && p%2 == 1) {
-            aux = 1;
-            aux1 = 0;
-          } else if (aux == 1 && p%2 == 1){
-            aux = 0;
-            aux1 = 1;
-          }
-          p++;
-        }
-        indice++;
+    /*
+     * Método auxiliar componentesGrafo.
+     * Que regresa las componentes conexas de la gráfica si la disposición
+     * acomoda por componentes, o null si acomoda la gráfica completa.
+     */
+    private ComponentesConexas<Integer> componentesGrafo(GraficaCompacta<Integer> compacta) {
+      return disposicion.porComponentes() ? compacta.componentes() : null;
+    }
+
+    /*
+     * Método auxiliar posicionesGrafo.
+     * Que calcula la posición de cada vértice con la disposición del
+     * graficador: para toda la gráfica si no hay componentes, o para cada
+     * componente en paralelo, empacándolas después. Regresa las abscisas y
+     * las ordenadas.
+     */
+    private int[][] posicionesGrafo(GraficaCompacta<Integer> compacta,
+                                    ComponentesConexas<Integer> componentes) {
+      int[] abscisas = new int[compacta.getElementos()];
+      int[] ordenadas = new int[compacta.getElementos()];
+      if (componentes == null) {
+        disposicion.acomoda(compacta, abscisas, ordenadas);
+      } else {
+        new DisposicionComponentes(disposicion, ForkJoinPool.getCommonPoolParallelism())
+            .acomoda(componentes, abscisas, ordenadas);
       }
-      return svg;
+      return new int[][] { abscisas, ordenadas };
     }
 
     /*
-     * Método auxiliar graficaMonticulo.
-     * Que recibe una colección y regresa un String con el formato svg
-     * de un montículo mínimo.
+     * Método auxiliar abreLienzo.
+     * Que calcula los límites de los vértices acomodados y, si alguno queda
+     * fuera del lienzo de {@link Proyecto2#INICIO}, abre un svg anidado del
+     * tamaño del lienzo con un viewBox que cubre todos los vértices, para
+     * que la gráfica se escale y quepa completa. Regresa si lo abrió; quien
+     * lo abre lo debe cerrar.
      */
-    private String graficaMonticulo(Lista<Integer> coleccion) {
-      /* Construimos el montículo. */
-      Lista<ValorIndexable<Integer>> l = new Lista<ValorIndexable<Integer>>();
-      for (Integer m : coleccion) {
-        double p = 5.1;
-        ValorIndexable<Integer> val = new ValorIndexable<Integer>(m, p);
-        l.agrega(val);
+    private boolean abreLienzo(int[] abscisas, int[] ordenadas,
+                               Appendable salida) throws IOException {
+      long minX = 0, minY = 0, maxX = 0, maxY = 0;
+      for (int v = 0; v < abscisas.length; v++) {
+        minX = Math.min(minX, abscisas[v]);
+        minY = Math.min(minY, ordenadas[v]);
+        maxX = Math.max(maxX, abscisas[v]);
+        maxY = Math.max(maxY, ordenadas[v]);
       }
-      MonticuloMinimo<ValorIndexable<Integer>> mont = new MonticuloMinimo<>(l);
-      int elementos = mont.getElementos();
-      double a = Math.log(elementos)/Math.log(2);
-      int alt = (int)(Math.floor(a));
-      int pos = (int)(Math.pow(2,alt));
-      svg += gMont(mont,0,pos,0,pos);
-      svg += "\n";
-      return svg;
+      maxX += ORILLA;
+      maxY += ORILLA;
+      if (minX == 0 && minY == 0 && maxX <= Proyecto2.LIENZO && maxY <= Proyecto2.LIENZO) {
+        return false;
+      }
+      minX = Math.min(0, minX - ORILLA);
+      minY = Math.min(0, minY - ORILLA);
+      salida.append("<svg width='" + Proyecto2.LIENZO + "' height='" + Proyecto2.LIENZO
+                    + "' viewBox='" + minX + " " + minY + " " + (maxX - minX)
+                    + " " + (maxY - minY) + "'>\n");
+      return true;
     }
 
     /*
-     * Método auxiliar recursivo gMont.
-     * Que se encarga de devolver en formato svg un montículo mínimo.
-     * Recibe un montículo mínimo a graficar.
+     * Método auxiliar dibujaGrafo.
+     * Que escribe cada vértice de la gráfica en su posición y sus aristas
+     * hacia todos sus vecinos. Si no hay componentes, los vértices se
+     * escriben en orden directamente en la salida; si las hay, cada
+     * componente se escribe en paralelo en su propio fragmento, y los
+     * fragmentos se escriben en el orden de las componentes.
      */
-    private String gMont(MonticuloMinimo<ValorIndexable<Integer>> monticulo, int indice, int posicion, int n, int p) {
-        String svgMont = "";
-        int pos = posicion*40;
-        int aux = p/2;
-        int vert = indice;
-        int hijoIzq = 2*vert+1;
-        int hijoDer = 2*vert+2;
-        Circulo v = new Circulo(pos-20,40+(100*n),20,"black","white");
-        Texto tex = new Texto(monticulo.get(vert).getElemento().toString(),pos-30,40+(100*n),"black");
-        svgMont += v.toSVG() + "\n";
-        svgMont += tex.toSVG() + "\n";
-        /* Caso base. */
-        if (hijoIzq >= monticulo.getElementos() ) {
-          return svgMont;
+    private void dibujaGrafo(GraficaCompacta<Integer> compacta,
+                             ComponentesConexas<Integer> componentes, int[] abscisas,
+                             int[] ordenadas, Appendable salida) throws IOException {
+      if (componentes == null) {
+        for (int v = 0; v < compacta.getElementos(); v++) {
+          dibujaVertice(compacta, v, abscisas, ordenadas, salida);
         }
-        Linea linI = new Linea(pos-20, 60+(100*n), pos-(aux*40)-20, 20+(100*(n+1)));
-        svgMont += linI.toSVG() + "\n";
-        svgMont += gMont(monticulo,hijoIzq,posicion-aux,n+1,aux);
-        if (hijoDer >= monticulo.getElementos() ) {
-          return svgMont;
+        return;
+      }
+      int c = componentes.getComponentes();
+      String[] fragmentos = new String[c];
+      int umbral = (int)Math.max(1, (long)c * UMBRAL_FRAGMENTO / Math.max(compacta.getElementos(), 1));
+      TareaRangos.ejecuta(ForkJoinPool.commonPool(), c, umbral, (inicio, fin) -> {
+          for (int i = inicio; i < fin; i++) {
+            int componente = i;
+            fragmentos[i] = Fragmento.cadena(fragmento -> {
+                for (int k = componentes.getInicio(componente); k < componentes.getFin(componente); k++) {
+                  dibujaVertice(compacta, componentes.getVertice(k), abscisas, ordenadas, fragmento);
+                }
+              });
+          }
+        });
+      for (String fragmento : fragmentos) {
+        salida.append(fragmento);
+      }
+    }
+
+    /*
+     * Método auxiliar dibujaVertice.
+     * Que escribe el vértice v en su posición, su etiqueta y sus aristas
+     * hacia todos sus vecinos.
+     */
+    private void dibujaVertice(GraficaCompacta<Integer> compacta, int v, int[] abscisas,
+                               int[] ordenadas, Appendable salida) throws IOException {
+      int abscisa = abscisas[v];
+      int ordenada = ordenadas[v];
+      escribe(new Circulo(abscisa, ordenada, 20, "black", "black"), salida);
+      String elemento = compacta.get(v).toString();
+      if (v%2 == 0) {
+        escribe(new Texto(elemento, abscisa-30, ordenada-10, "blue"), salida);
+      } else {
+        escribe(new Texto(elemento, abscisa+25, ordenada-10, "blue"), salida);
+      }
+      for (int e = compacta.getInicio(v); e < compacta.getFin(v); e++) {
+        int u = compacta.getVecino(e);
+        escribe(new Linea(abscisa, ordenada, abscisas[u], ordenadas[u]), salida);
+      }
+    }
+
+    /**
+     * Método graficaTrayectorias.
+     * Que escribe en SVG la gráfica de los enteros recibidos, como con {@link
+     * Estructura#GRAFICA}, y encima el árbol de trayectorias mínimas desde el
+     * origen que calcula {@link Grafica#dijkstra}. Todas las aristas pesan 1.
+     * Las aristas del árbol van en un solo trazo, así que en gráficas grandes
+     * agregan un elemento al SVG y no uno por arista.
+     * @param coleccion una lista de enteros con los extremos de las aristas.
+     * @param origen el elemento donde comienzan las trayectorias.
+     * @param salida donde se escribe el código SVG.
+     * @throws IOException si ocurre un error al escribir en la salida.
+     * @throws java.util.NoSuchElementException si el origen no está en la
+     *         gráfica.
+     */
+    public void graficaTrayectorias(ListaEnteros coleccion, int origen,
+                                    Appendable salida) throws IOException {
+      Grafica<Integer> grafica = construyeGrafo(coleccion);
+      TrayectoriasMinimas<Integer> trayectorias = grafica.dijkstra(origen);
+      GraficaCompacta<Integer> compacta = grafica.compacta();
+      ComponentesConexas<Integer> componentes = componentesGrafo(compacta);
+      int[][] posiciones = posicionesGrafo(compacta, componentes);
+      int[] abscisas = posiciones[0];
+      int[] ordenadas = posiciones[1];
+      salida.append("<g>\n");
+      boolean escalada = abreLienzo(abscisas, ordenadas, salida);
+      dibujaGrafo(compacta, componentes, abscisas, ordenadas, salida);
+      /* Los índices de las trayectorias son los de la fotografía compacta. */
+      salida.append("<path fill='none' stroke='red' stroke-width='6' "
+                    + "stroke-linecap='round' stroke-opacity='0.8' d='");
+      for (int v = 0; v < trayectorias.getElementos(); v++) {
+        int u = trayectorias.getAnterior(v);
+        if (u != -1) {
+          salida.append('M').append(String.valueOf(abscisas[v])).append(' ')
+                .append(String.valueOf(ordenadas[v])).append('L')
+                .append(String.valueOf(abscisas[u])).append(' ')
+                .append(String.valueOf(ordenadas[u]));
         }
-        Linea linD = new Linea(pos-20, 60+(100*n), pos+(aux*40)-20,20+(100*(n+1)));
-        svgMont += linD.toSVG() + "\n";
-        svgMont += gMont(monticulo,hijoDer,posicion+aux,n+1,aux);
-        return svgMont;
+      }
+      salida.append("'/>\n");
+      int s = trayectorias.getOrigen();
+      escribe(new Circulo(abscisas[s], ordenadas[s], 20, "red", "red"), salida);
+      if (escalada) {
+        salida.append("</svg>\n");
+      }
+      salida.append("</g>");
+    }
+
+    /*
+     * Método auxiliar graficaMonticulo.
+     * Que recibe una lista de enteros y escribe en la salida el formato svg
+     * de un montículo mínimo ordenado por el valor de sus elementos.
+     */
+    private void graficaMonticulo(ListaEnteros coleccion, Appendable salida) throws IOException {
+      /* Construimos el montículo. */
+      MonticuloEnteros mont = new MonticuloEnteros(coleccion);
+      int elementos = mont.getElementos();
+      if (elementos == 0) {
+        return;
+      }
+      ArbolPlano plano = ArbolPlano.deMonticulo(mont);
+      EmisorArbol.emite(plano, Disposicion.elige(plano),
+                        (arbol, i, x, y, s) -> Ordenado.vertice(arbol.getValor(i), x, y, s),
+                        salida);
+      salida.append("\n");
     }
 }
@@ -49,6 +49,7 @@ public class Identificador {
 
       case "Grafica":
         graph.estructura(Estructura.GRAFICA);
+        graph.disposicion(DisposicionGrafica.porOmision());
       break;
 
       case "MonticuloMinimo":
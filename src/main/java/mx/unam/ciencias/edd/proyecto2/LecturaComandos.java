@@ -2,6 +2,8 @@ package mx.unam.ciencias.edd.proyecto2;
 
 import mx.unam.ciencias.edd.*;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.nio.file.Path;
@@ -38,4 +40,78 @@ public class LecturaComandos {
         }
         return m;
     }
+
+    /**
+     * Método tokenizaArchivo.
+     * Que mapea a memoria el archivo recibido y lo tokeniza directamente
+     * de los bytes, sin guardar sus líneas.
+     * @param archivo la dirección al archivo de texto que se recibe.
+     * @return el tokenizador con la estructura y los enteros del archivo.
+     * @throws IOException si el archivo no existe.
+     * @throws NumberFormatException si un elemento no es un entero.
+     */
+    public Tokenizador tokenizaArchivo(String archivo) throws IOException {
+        path = Paths.get(archivo);
+        Tokenizador tokenizador = new Tokenizador();
+        try (FileChannel canal = FileChannel.open(path)) {
+          tokenizador.procesa(canal);
+        }
+        return tokenizador;
+    }
+
+    /**
+     * Método archivos.
+     * Que expande los argumentos recibidos a la lista de archivos que
+     * representan. Un directorio representa a todos sus archivos regulares
+     * que no son SVG; un argumento con *, ? o [ que no es un archivo es un
+     * patrón sobre los nombres de su directorio, como dir/*.txt; cualquier
+     * otro argumento es un archivo.
+     * @param argumentos los archivos, directorios o patrones recibidos.
+     * @return la lista de archivos, en el orden de los argumentos.
+     * @throws IOException si no se puede leer un directorio.
+     */
+    public static Lista<Path> archivos(String[] argumentos) throws IOException {
+        Lista<Path> archivos = new Lista<Path>();
+        for (String argumento : argumentos) {
+          Path ruta = Paths.get(argumento);
+          if (Files.isDirectory(ruta)) {
+            agregaDirectorio(ruta, "*", archivos);
+          } else if (!Files.exists(ruta) && esPatron(argumento)) {
+            Path dir = ruta.getParent() == null ? Paths.get(".") : ruta.getParent();
+            agregaDirectorio(dir, ruta.getFileName().toString(), archivos);
+          } else {
+            archivos.agregaFinal(ruta);
+          }
+        }
+        return archivos;
+    }
+
+    /*
+     * Método auxiliar esPatron.
+     * Que nos dice si el argumento tiene caracteres de patrón.
+     */
+    private static boolean esPatron(String argumento) {
+        return argumento.indexOf('*') != -1 || argumento.indexOf('?') != -1
+            || argumento.indexOf('[') != -1;
+    }
+
+    /*
+     * Método auxiliar agregaDirectorio.
+     * Que agrega los archivos regulares del directorio cuyo nombre cumple
+     * el patrón, salvo los SVG, ordenados por nombre.
+     */
+    private static void agregaDirectorio(Path dir, String patron,
+                                         Lista<Path> archivos) throws IOException {
+        Lista<Path> encontrados = new Lista<Path>();
+        try (DirectoryStream<Path> rutas = Files.newDirectoryStream(dir, patron)) {
+          for (Path ruta : rutas) {
+            if (Files.isRegularFile(ruta) && !ruta.toString().endsWith(".svg")) {
+              encontrados.agregaFinal(ruta);
+            }
+          }
+        }
+        for (Path ruta : Lista.mergeSort(encontrados)) {
+          archivos.agregaFinal(ruta);
+        }
+    }
 }
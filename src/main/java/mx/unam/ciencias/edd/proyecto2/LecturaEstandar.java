@@ -3,6 +3,7 @@ package mx.unam.ciencias.edd.proyecto2;
 import java.io.IOException;
 import java.io.BufferedReader;
 import java.io.InputStreamReader;
+import java.nio.channels.Channels;
 import mx.unam.ciencias.edd.*;
 
 /**
@@ -31,4 +32,18 @@ public class LecturaEstandar {
       lector.close();
       return archivo;
     }
+
+    /**
+     * Método estático tokenizaEstandar.
+     * Que lee la entrada estándar por bloques de bytes y la tokeniza
+     * sin guardar sus líneas.
+     * @throws IOException si ocurre un error al leer.
+     * @throws NumberFormatException si un elemento no es un entero.
+     * @return el tokenizador con la estructura y los enteros leídos.
+     */
+    public static Tokenizador tokenizaEstandar() throws IOException {
+      Tokenizador tokenizador = new Tokenizador();
+      tokenizador.procesa(Channels.newChannel(System.in));
+      return tokenizador;
+    }
 }
@@ -1,5 +1,7 @@
 package mx.unam.ciencias.edd.proyecto2;
 
+import java.io.IOException;
+
 /**
  * Clase Linea que modela una línea en formato SVG.
  * @author Armando Ramírez González.
@@ -25,10 +27,11 @@ public class Linea extends Figura {
     }
 
     /**
-     * Método para regresar la linea en formato SVG.
-     * @return String cadena con el formato SVG de una línea.
+     * Método para escribir la linea en formato SVG.
+     * @param salida donde se escribe la línea.
+     * @throws IOException si ocurre un error al escribir en la salida.
      */
-    public String toSVG(){
+    @Override public void toSVG(Appendable salida) throws IOException {
       /*
       * stroke indica el color de la línea exterior que delimita la
       *        figura.
@@ -37,11 +40,10 @@ public class Linea extends Figura {
       * x1,y1 indican el vector incial de la línea.
       * x2,y2 indican el vector final de la línea.
       */
-      String linea = ("<line x1='" + v1.abscisa
-                      + "' y1='" + v1.ordenada
-                      + "' x2='" + v2.abscisa
-                      + "' y2='" + v2.ordenada
-                      + "' stroke-width='3' stroke='Black'/>");
-      return linea;
+      salida.append("<line x1='").append(String.valueOf(v1.abscisa))
+            .append("' y1='").append(String.valueOf(v1.ordenada))
+            .append("' x2='").append(String.valueOf(v2.abscisa))
+            .append("' y2='").append(String.valueOf(v2.ordenada))
+            .append("' stroke-width='3' stroke='Black'/>");
     }
 }
@@ -0,0 +1,162 @@
+package mx.unam.ciencias.edd.proyecto2;
+
+import mx.unam.ciencias.edd.*;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Clase Lote.
+ * Que grafica muchos archivos de entrada a la vez, con un número fijo de
+ * hilos. La gráfica de cada archivo se escribe junto a él, con la extensión
+ * cambiada a .svg.
+ *
+ * <p>Si un archivo falla, se reporta en la salida de error con su motivo,
+ * se borra su SVG incompleto y se sigue con los demás. Si dos archivos
+ * tienen el mismo SVG, como a.txt y a.dat, sólo se grafica el primero y los
+ * demás se reportan como fallas, para que no se sobreescriban.</p>
+ * @author Armando Ramírez González.
+ * @version 1.0.0.
+ */
+public class Lote {
+
+    /* El número de archivos que se grafican a la vez. */
+    private int hilos;
+    /* La caché de gráficas, o null si no hay. */
+    private CacheGraficas cache;
+
+    /**
+     * Constructor, que crea un lote con el número de hilos recibido.
+     * @param hilos el número de archivos que se grafican a la vez.
+     * @throws IllegalArgumentException si hilos es menor que uno.
+     */
+    public Lote(int hilos) {
+        this(hilos, null);
+    }
+
+    /**
+     * Constructor, que crea un lote con el número de hilos y la caché
+     * recibidos; los archivos con la misma estructura y los mismos enteros
+     * se grafican una sola vez.
+     * @param hilos el número de archivos que se grafican a la vez.
+     * @param cache la caché de gráficas, o null para no usar caché.
+     * @throws IllegalArgumentException si hilos es menor que uno.
+     */
+    public Lote(int hilos, CacheGraficas cache) {
+        if (hilos < 1) {
+          throw new IllegalArgumentException("Número de hilos no válido.");
+        }
+        this.hilos = hilos;
+        this.cache = cache;
+    }
+
+    /**
+     * Método grafica.
+     * Que grafica todos los archivos recibidos y espera a que terminen.
+     * @param archivos los archivos de entrada.
+     * @return el número de archivos que fallaron.
+     * @throws InterruptedException si el hilo se interrumpe mientras espera.
+     */
+    public int grafica(Lista<Path> archivos) throws InterruptedException {
+        ExecutorService trabajadores = Executors.newFixedThreadPool(hilos);
+        ThreadLocal<Identificador> identificadores =
+            ThreadLocal.withInitial(Identificador::new);
+        AtomicInteger fallas = new AtomicInteger();
+        Diccionario<Path, Path> destinos = new Diccionario<Path, Path>();
+        for (Path archivo : archivos) {
+          Path svg = destino(archivo).toAbsolutePath().normalize();
+          if (destinos.contiene(svg)) {
+            fallas.incrementAndGet();
+            System.err.println(archivo + ": Su SVG es el mismo que el de "
+                               + destinos.get(svg) + ".");
+            continue;
+          }
+          destinos.agrega(svg, archivo);
+          trabajadores.execute(() -> {
+            String error = grafica(identificadores.get(), cache, archivo);
+            if (error != null) {
+              fallas.incrementAndGet();
+              System.err.println(archivo + ": " + error);
+            }
+          });
+        }
+        trabajadores.shutdown();
+        while (!trabajadores.awaitTermination(1, TimeUnit.MINUTES))
+          ;
+        return fallas.get();
+    }
+
+    /**
+     * Método destino.
+     * Que regresa el archivo SVG que corresponde al archivo de entrada: el
+     * mismo nombre en el mismo directorio, con la extensión .svg en lugar de
+     * la suya.
+     * @param archivo el archivo de entrada.
+     * @return el archivo SVG donde se escribe su gráfica.
+     */
+    public static Path destino(Path archivo) {
+        String nombre = archivo.getFileName().toString();
+        int punto = nombre.lastIndexOf('.');
+        if (punto > 0) {
+          nombre = nombre.substring(0, punto);
+        }
+        return archivo.resolveSibling(nombre + ".svg");
+    }
+
+    /*
+     * Método auxiliar grafica.
+     * Que grafica un archivo con el graficador del identificador recibido y
+     * la caché, si hay. Regresa el motivo de la falla, o null si no falló.
+     */
+    private static String grafica(Identificador identificador,
+                                  CacheGraficas cache, Path archivo) {
+        Tokenizador tok;
+        try {
+          tok = new LecturaComandos().tokenizaArchivo(archivo.toString());
+        } catch (NumberFormatException nfe) {
+          return "Los elementos deben ser enteros.";
+        } catch (IOException ioe) {
+          return "No se pudo leer el archivo.";
+        }
+        String est = tok.getEstructura();
+        ListaEnteros enteros = tok.getEnteros();
+        if (est == null) {
+          return "El archivo no tiene estructura.";
+        }
+        if (est.equals("Grafica") && enteros.getElementos()%2 != 0) {
+          return "El número de elementos debe ser par.";
+        }
+        Path svg = destino(archivo);
+        try (Writer salida = Files.newBufferedWriter(svg, StandardCharsets.UTF_8)) {
+          salida.write(Proyecto2.INICIO + "\n");
+          if (cache == null) {
+            identificador.define(est).grafica(enteros, salida);
+          } else {
+            cache.grafica(identificador.define(est), enteros, salida);
+          }
+          salida.write("\n" + Proyecto2.CIERRE + "\n");
+          return null;
+        } catch (IOException | RuntimeException | StackOverflowError e) {
+          borra(svg);
+          return "No se pudo graficar: " + e;
+        }
+    }
+
+    /*
+     * Método auxiliar borra.
+     * Que borra el SVG incompleto de un archivo que falló.
+     */
+    private static void borra(Path svg) {
+        try {
+          Files.deleteIfExists(svg);
+        } catch (IOException ioe) {
+          System.err.println(svg + ": no se pudo borrar.");
+        }
+    }
+}
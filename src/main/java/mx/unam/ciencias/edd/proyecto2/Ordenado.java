@@ -1,6 +1,7 @@
 package mx.unam.ciencias.edd.proyecto2;
 
 import mx.unam.ciencias.edd.*;
+import java.io.IOException;
 
 /**
  * Clase auxiliar Ordenado.
@@ -11,48 +12,77 @@ import mx.unam.ciencias.edd.*;
  */
 public class Ordenado {
 
+    /* La disposición de los vértices, o null para elegirla por árbol. */
+    private Disposicion disposicion;
+
+    /**
+     * Constructor que elige la disposición de cada árbol según su altura.
+     * @see Disposicion#elige
+     */
+    public Ordenado() {}
+
+    /**
+     * Constructor que acomoda todos los árboles con la disposición recibida.
+     * @param disposicion la disposición de los vértices.
+     */
+    public Ordenado(Disposicion disposicion) {
+      this.disposicion = disposicion;
+    }
+
+    /**
+     * Método graficadorOrdenado.
+     * Que escribe el árbol binario ordenado en svg directamente en la salida.
+     * @param coleccion una colección de enteros.
+     * @param salida donde se escribe el árbol.
+     * @throws IOException si ocurre un error al escribir en la salida.
+     */
+    public void graficadorOrdenado(Coleccion<Integer> coleccion, Appendable salida)
+        throws IOException {
+      /* Construimos el árbol. */
+      graficadorOrdenado(new ArbolBinarioOrdenado<>(coleccion), salida);
+    }
+
     /**
      * Método graficadorOrdenado.
-     * @param coleccion una lista de tipo String.
-     * @return String el árbol binario ordenado en svg.
+     * Que escribe el árbol binario ordenado en svg directamente en la salida,
+     * construyéndolo a partir de una lista de enteros primitivos.
+     * @param enteros la lista de enteros.
+     * @param salida donde se escribe el árbol.
+     * @throws IOException si ocurre un error al escribir en la salida.
      */
-    public String graficadorOrdenado(Lista<Integer> coleccion) {
-      String svg = "";
+    public void graficadorOrdenado(ListaEnteros enteros, Appendable salida)
+        throws IOException {
       /* Construimos el árbol. */
-      ArbolBinarioOrdenado<Integer> arbolO = new ArbolBinarioOrdenado<>(coleccion);
-      /* Altura del árbol. */
-      int alturaArbol = arbolO.altura();
-      VerticeArbolBinario<Integer> raiz = arbolO.raiz();
-      int v = (int)(Math.pow(2,alturaArbol));
-      int p = v/2;
-      svg += ordenadoSVG(raiz, v, 0,v);
-      return svg;
+      ArbolBinarioOrdenado<Integer> arbolO = new ArbolBinarioOrdenado<>();
+      for (int i = 0; i < enteros.getElementos(); i++) {
+        arbolO.agrega(enteros.get(i));
+      }
+      graficadorOrdenado(arbolO, salida);
+    }
+
+    /*
+     * Método auxiliar graficadorOrdenado.
+     * Que recibe el árbol ya construido, lo aplana, lo acomoda y lo escribe
+     * en la salida.
+     */
+    private void graficadorOrdenado(ArbolBinarioOrdenado<Integer> arbolO, Appendable salida)
+        throws IOException {
+      ArbolPlano plano = ArbolPlano.deArbol(arbolO);
+      Disposicion d = disposicion != null ? disposicion : Disposicion.elige(plano);
+      EmisorArbol.emite(plano, d,
+                        (arbol, i, x, y, s) -> vertice(arbol.getValor(i), x, y, s),
+                        salida);
     }
 
     /*
-     * Método auxiliar ordenadoSVG.
-     * Que recibe un vértice de VerticeArbolBinario, su posicion espacial,
-     * el nivel del vértice y su posicion auxiliar.
-     * Regresa un String con el formato SVG del árbol.
+     * Método auxiliar vertice.
+     * Que escribe las figuras de un vértice con el elemento recibido,
+     * centrado en (x, y). Lo usan también SesionArbol y los montículos.
      */
-    private String ordenadoSVG(VerticeArbolBinario<Integer> n, int posicion, int nivel, int aux) {
-        String m = "";
-        int pos = posicion*40;
-        int pvp = aux/2;
-        Circulo circ = new Circulo(pos-20,40+(100*nivel),20,"black","white");
-        Texto texO = new Texto(n.get().toString(),pos-30,40+(100*nivel),"black");
-        m += circ.toSVG() + "\n";
-        m += texO.toSVG() + "\n";
-        if (n.hayIzquierdo()) {
-          Linea linI = new Linea(pos-20, 60+(100*nivel), pos-(pvp*40)-20, 20+(100*(nivel+1)));
-          m += linI.toSVG() + "\n";
-          m += ordenadoSVG(n.izquierdo(), posicion-pvp, nivel+1, pvp);
-        }
-        if (n.hayDerecho()) {
-          Linea linD = new Linea(pos-20, 60+(100*nivel), pos+(pvp*40)-20, 20+(100*(nivel+1)));
-          m += linD.toSVG() + "\n";
-          m += ordenadoSVG(n.derecho(), posicion+pvp, nivel+1,pvp);
-        }
-        return m;
+    static void vertice(int elemento, int x, int y, Appendable s) throws IOException {
+      new Circulo(x, y, 20, "black", "white").toSVG(s);
+      s.append("\n");
+      new Texto(Integer.toString(elemento), x-10, y, "black").toSVG(s);
+      s.append("\n");
     }
 }
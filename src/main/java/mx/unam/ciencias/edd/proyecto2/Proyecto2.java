@@ -2,12 +2,13 @@ package mx.unam.ciencias.edd.proyecto2;
 
 import mx.unam.ciencias.edd.*;
 import java.io.IOException;
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.nio.file.Path;
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.text.NumberFormat;
+import java.nio.file.Paths;
+import java.util.NoSuchElementException;
 
 /**
  * Proyecto 2 de Estrucutas de Datos.
@@ -19,12 +20,31 @@ import java.text.NumberFormat;
  */
 public class Proyecto2 {
 
+    /** Ancho y alto del lienzo. */
+    static final int LIENZO = 10000;
+    /** Inicio del lienzo. */
+    static final String INICIO = "<svg width='" + LIENZO + "' height='" + LIENZO + "'>";
+    /** Cierre del lienzo. */
+    static final String CIERRE = "</svg>";
+    /* Máximo de la caché en memoria del servidor y los lotes: 64 MiB. */
+    private static final long CACHE_MEMORIA = 64L << 20;
+    /* Máximo por omisión de la caché en disco: 1 GiB. */
+    private static final long CACHE_DISCO = 1L << 30;
+
     /* Imprime el uso del programa y lo termina. */
     private static void uso() {
       System.err.println("El archivo de entrada debe especificarse como:\n"
                         + "  java -jar proyecto2.jar archivo.txt\n"
                         + "      ó\n"
-                        + "  cat archivo.txt | java -jar proyecto2.jar");
+                        + "  cat archivo.txt | java -jar proyecto2.jar\n"
+                        + "      ó\n"
+                        + "  java -jar proyecto2.jar archivo.txt... | directorio | 'dir/*.txt'\n"
+                        + "      ó\n"
+                        + "  java -jar proyecto2.jar --servidor [puerto]\n"
+                        + "      ó\n"
+                        + "  java -jar proyecto2.jar --traza archivo.txt\n"
+                        + "      ó\n"
+                        + "  java -jar proyecto2.jar --trayectorias origen archivo.txt");
       System.exit(1);
     }
 
@@ -41,53 +61,233 @@ public class Proyecto2 {
       System.exit(1);
     }
 
+    /*
+     * Revisa que la propiedad proyecto2.disposicion, si está definida, sea
+     * una disposición de gráficas; si no, imprime las que hay y termina el
+     * programa.
+     */
+    private static void revisaDisposicion() {
+      try {
+        DisposicionGrafica.porOmision();
+      } catch(IllegalArgumentException iae) {
+        System.err.println(iae.getMessage() + "\n"
+                          + "Las disposiciones de gráficas son zigzag, circular,\n"
+                          + "capas[:iteraciones] y fuerzas[:iteraciones].");
+        System.exit(1);
+      }
+    }
+
+    /*
+     * Crea la caché de gráficas con el máximo en memoria recibido. Si se
+     * define la propiedad proyecto2.cache con un directorio, la caché también
+     * guarda ahí las gráficas, hasta proyecto2.cache.max bytes. Regresa null
+     * si la caché no tendría ningún nivel.
+     */
+    private static CacheGraficas cache(long memoria) throws IOException {
+      String directorio = System.getProperty("proyecto2.cache");
+      if (directorio == null) {
+        return memoria > 0 ? new CacheGraficas(memoria) : null;
+      }
+      long disco = Long.getLong("proyecto2.cache.max", CACHE_DISCO);
+      return new CacheGraficas(memoria, Paths.get(directorio), disco);
+    }
+
+    /* Grafica los enteros en la salida, con la caché en disco si se pidió. */
+    private static void grafica(Graficador graf, ListaEnteros enteros,
+                                Writer salida) throws IOException {
+      CacheGraficas cache = cache(0);
+      if (cache == null) {
+        graf.grafica(enteros, salida);
+      } else {
+        cache.grafica(graf, enteros, salida);
+      }
+    }
+
+    /* Atiende peticiones en la entrada estándar o en un puerto local. */
+    private static void servidor(String[] args) {
+      try {
+        if (args.length == 1) {
+          new Servidor(cache(CACHE_MEMORIA)).atiende(System.in, System.out);
+        } else {
+          Servidor.escucha(Integer.parseInt(args[1]),
+                           Runtime.getRuntime().availableProcessors(),
+                           cache(CACHE_MEMORIA));
+        }
+      } catch(NumberFormatException nfe) {
+        uso();
+      } catch(IOException ioe) {
+        System.err.println("Servidor terminado: " + ioe.getMessage());
+        System.exit(1);
+      }
+    }
+
+    /* Nos dice si los argumentos son varios archivos, un directorio o un patrón. */
+    private static boolean esLote(String[] args) {
+      if (args.length != 1) {
+        return args.length > 1;
+      }
+      return !Files.isRegularFile(Paths.get(args[0]))
+          && (Files.isDirectory(Paths.get(args[0])) || args[0].matches(".*[*?\\[].*"));
+    }
+
+    /* Grafica cada archivo de los argumentos en su propio SVG. */
+    private static void lote(String[] args) {
+      try {
+        Lista<Path> archivos = LecturaComandos.archivos(args);
+        int fallas = new Lote(Runtime.getRuntime().availableProcessors(),
+                              cache(CACHE_MEMORIA)).grafica(archivos);
+        System.err.println((archivos.getElementos() - fallas) + " de "
+                          + archivos.getElementos() + " archivos graficados.");
+        if (fallas > 0) {
+          System.exit(1);
+        }
+      } catch(IOException | InterruptedException e) {
+        System.err.println("Lote terminado: " + e.getMessage());
+        System.exit(1);
+      }
+    }
+
+    /*
+     * Escribe el SVG animado de los giros y recoloreos al agregar, uno por
+     * uno, los enteros de un archivo de árbol AVL o rojinegro.
+     */
+    private static void traza(String archivo) {
+      Tokenizador tok = null;
+      try {
+        tok = new LecturaComandos().tokenizaArchivo(archivo);
+      } catch(NumberFormatException nfe) {
+        usoEnteros();
+      } catch(IOException ioe) {
+        System.err.println("El archivo: " + ioe.getMessage() + " no se pudo leer.");
+        System.exit(1);
+      }
+      if (tok.getEstructura() == null) {
+        usoEnteros();
+      }
+      try {
+        Traza traza = new Traza(new Identificador().define(tok.getEstructura()).getEstructura());
+        ListaEnteros enteros = tok.getEnteros();
+        for (int i = 0; i < enteros.getElementos(); i++) {
+          traza.agrega(enteros.get(i));
+        }
+        Writer salida = new BufferedWriter(new OutputStreamWriter(System.out));
+        AnimacionArbol.emite(traza.getEstructura(), traza.getEventos(), salida);
+        salida.flush();
+      } catch(IllegalArgumentException | IllegalStateException e) {
+        System.err.println(e.getMessage());
+        System.exit(1);
+      } catch(IOException ioe) {
+        System.err.println("No se pudo escribir la animación: " + ioe.getMessage());
+        System.exit(1);
+      }
+    }
+
+    /*
+     * Escribe el SVG de la gráfica de un archivo con el árbol de
+     * trayectorias mínimas desde el origen resaltado encima.
+     */
+    private static void trayectorias(String origen, String archivo) {
+      Tokenizador tok = null;
+      int s = 0;
+      try {
+        s = Integer.parseInt(origen);
+        tok = new LecturaComandos().tokenizaArchivo(archivo);
+      } catch(NumberFormatException nfe) {
+        usoEnteros();
+      } catch(IOException ioe) {
+        System.err.println("El archivo: " + ioe.getMessage() + " no se pudo leer.");
+        System.exit(1);
+      }
+      if (tok.getEstructura() == null) {
+        usoEnteros();
+      }
+      if (new Identificador().define(tok.getEstructura()).getEstructura() != Estructura.GRAFICA) {
+        System.err.println("Sólo se calculan trayectorias en gráficas.");
+        System.exit(1);
+      }
+      ListaEnteros enteros = tok.getEnteros();
+      if (enteros.getElementos()%2 != 0) {
+        usoLong();
+      }
+      try {
+        Writer salida = new BufferedWriter(new OutputStreamWriter(System.out));
+        salida.write(INICIO + "\n");
+        new Graficador().graficaTrayectorias(enteros, s, salida);
+        salida.write("\n" + CIERRE + "\n");
+        salida.flush();
+      } catch(NoSuchElementException nsee) {
+        System.err.println("El origen " + origen + " no está en la gráfica.");
+        System.exit(1);
+      } catch(IOException ioe) {
+        System.err.println("No se pudo escribir la gráfica: " + ioe.getMessage());
+        System.exit(1);
+      }
+    }
+
     public static void main(String[] args) {
-        if (args.length > 1) {
-          uso();
+        revisaDisposicion();
+        if (args.length >= 1 && args[0].equals("--trayectorias")) {
+          if (args.length != 3) {
+            uso();
+          }
+          trayectorias(args[1], args[2]);
+          return;
+        }
+        if (args.length >= 1 && args[0].equals("--traza")) {
+          if (args.length != 2) {
+            uso();
+          }
+          traza(args[1]);
+          return;
+        }
+        if (args.length >= 1 && args[0].equals("--servidor")) {
+          if (args.length > 2) {
+            uso();
+          }
+          servidor(args);
+          return;
+        }
+        if (esLote(args)) {
+          lote(args);
+          return;
         }
 
         /* Constantes que delimitan el lienzo. */
-        final String inicio = "<svg width='10000' height='10000'>";
-        final String cierre = "</svg>";
-        /* Variable en la cual se guardará la salida del programa. */
-        String estructuraG = "";
+        final String inicio = INICIO;
+        final String cierre = CIERRE;
+        /* Salida del programa, se escribe conforme se grafica. */
+        Writer salida = new BufferedWriter(new OutputStreamWriter(System.out));
         /* Objeto para graficar estrucutras de la clase Graficador. */
         Graficador graf = new Graficador();
         /* Objeto para lectura de línea de comandos. */
         LecturaComandos leCo = new LecturaComandos();
         /* Objeto para lectura de entrada estándar. */
         LecturaEstandar leSe = new LecturaEstandar();
-        /* Objeto para organizar la lista recibida*/
-        Archivo arc = new Archivo();
         /* Identificador para Graficadores. */
         Identificador h = new Identificador();
-        /* Lista auxiliar de tipo String para trabajar con los archivos. */
-        Lista<String> lista = new Lista<>();
 
         /* Entrada estándar, no recibe archivos. */
         if (args.length == 0) {
           try {
-            lista = leSe.lecturaEstandar();
-            lista = arc.organiza(lista);
-            String est = lista.eliminaPrimero();
-            if (est.equals("Grafica") && (lista.getLongitud()%2 != 0)) {
-              usoLong();
-            }
-            graf = h.define(est);
-            Lista<Integer> aux = new Lista<Integer>();
+            Tokenizador tok = null;
             try {
-              int n;
-              for (String s : lista) {
-                n = Integer.parseInt(s);
-                aux.agrega(n);
-              }
+              tok = leSe.tokenizaEstandar();
             } catch(NumberFormatException t) {
               usoEnteros();
             }
-            estructuraG = graf.grafica(aux);
-            System.out.println(inicio);
-            System.out.println(estructuraG);
-            System.out.println(cierre);
+            String est = tok.getEstructura();
+            if (est == null) {
+              usoEnteros();
+            }
+            ListaEnteros aux = tok.getEnteros();
+            if (est.equals("Grafica") && (aux.getElementos()%2 != 0)) {
+              usoLong();
+            }
+            graf = h.define(est);
+            salida.write(inicio + "\n");
+            grafica(graf, aux, salida);
+            salida.write("\n" + cierre + "\n");
+            salida.flush();
           } catch(IOException e) {
             System.err.println("Archivo" + e.getMessage() + "no encontrado o inexistente.");
           }
@@ -96,27 +296,25 @@ public class Proyecto2 {
         /* Línea de comandos. */
         try {
           if (args.length == 1) {
-            lista = leCo.leerArchivo(args);
-            lista = arc.organiza(lista);
-            String est = lista.eliminaPrimero();
-            if (est.equals("Grafica") && (lista.getLongitud()%2 != 0)) {
-              usoLong();
-            }
-            graf = h.define(est);
-            Lista<Integer> auxi = new Lista<>();
+            Tokenizador tok = null;
             try {
-              int n;
-              for (String s : lista) {
-                n = Integer.parseInt(s);
-                auxi.agrega(n);
-              }
+              tok = leCo.tokenizaArchivo(args[0]);
             } catch(NumberFormatException t) {
               usoEnteros();
             }
-            estructuraG = graf.grafica(auxi);
-            System.out.println(inicio);
-            System.out.println(estructuraG);
-            System.out.println(cierre);
+            String est = tok.getEstructura();
+            if (est == null) {
+              usoEnteros();
+            }
+            ListaEnteros auxi = tok.getEnteros();
+            if (est.equals("Grafica") && (auxi.getElementos()%2 != 0)) {
+              usoLong();
+            }
+            graf = h.define(est);
+            salida.write(inicio + "\n");
+            grafica(graf, auxi, salida);
+            salida.write("\n" + cierre + "\n");
+            salida.flush();
           }
         } catch(Exception o) {
           System.err.println("El archivo: " + o.getMessage()
@@ -1,5 +1,7 @@
 package mx.unam.ciencias.edd.proyecto2;
 
+import java.io.IOException;
+
 /**
  * Clase Rectangulo.
  * Que modela un rectangulo en formato SVG.
@@ -34,8 +36,8 @@ public class Rectangulo extends Figura {
 
     /**
      * Método toSVG.
-     * Que regresa el rectángulo en formato SVG.
-     * @return String que contiene el rectángulo en SVG.
+     * Que escribe el rectángulo en formato SVG.
+     * @param salida donde se escribe el rectángulo.
      * stroke indica el color de la línea exterior que delimita la
      *        figura.
      * stroke-width indica el grosor de la línea exterior que delimita
@@ -45,14 +47,14 @@ public class Rectangulo extends Figura {
      *     del rectangulo.
      * width indica el ancho del rectangulo.
      * height indica la altura del rectangulo.
+     * @throws IOException si ocurre un error al escribir en la salida.
      */
-    public String toSVG(){
-      String rectangulo = "<rect x='" + punto.abscisa
-                            + "' y='" + punto.ordenada
-                            + "' width='" + ancho
-                            + "' height='" + alto
-                            + "' stroke='black' stroke-width='2'"
-                            + " fill='white'/>";
-      return rectangulo;
+    @Override public void toSVG(Appendable salida) throws IOException {
+      salida.append("<rect x='").append(String.valueOf(punto.abscisa))
+            .append("' y='").append(String.valueOf(punto.ordenada))
+            .append("' width='").append(String.valueOf(ancho))
+            .append("' height='").append(String.valueOf(alto))
+            .append("' stroke='black' stroke-width='2'")
+            .append(" fill='white'/>");
     }
 }
@@ -1,6 +1,7 @@
 package mx.unam.ciencias.edd.proyecto2;
 
 import mx.unam.ciencias.edd.*;
+import java.io.IOException;
 
 /**
  * Clase auxiliar Rojinegro.
@@ -11,54 +12,98 @@ import mx.unam.ciencias.edd.*;
  */
 public class Rojinegro {
 
+    /* La disposición de los vértices, o null para elegirla por árbol. */
+    private Disposicion disposicion;
+
+    /**
+     * Constructor que elige la disposición de cada árbol según su altura.
+     * @see Disposicion#elige
+     */
+    public Rojinegro() {}
+
+    /**
+     * Constructor que acomoda todos los árboles con la disposición recibida.
+     * @param disposicion la disposición de los vértices.
+     */
+    public Rojinegro(Disposicion disposicion) {
+      this.disposicion = disposicion;
+    }
+
+    /**
+     * Método graficadorRojinegro.
+     * Que escribe el árbol rojinegro en svg directamente en la salida.
+     * @param coleccion una colección de enteros.
+     * @param salida donde se escribe el árbol.
+     * @throws IOException si ocurre un error al escribir en la salida.
+     */
+    public void graficadorRojinegro(Coleccion<Integer> coleccion, Appendable salida)
+        throws IOException {
+      /* Construimos el árbol. */
+      graficadorRojinegro(new ArbolRojinegro<>(coleccion), salida);
+    }
+
     /**
      * Método graficadorRojinegro.
-     * @param coleccion una lista de tipo String.
-     * @return String el árbol binario ordenado en svg.
+     * Que escribe el árbol rojinegro en svg directamente en la salida,
+     * construyéndolo a partir de una lista de enteros primitivos.
+     * @param enteros la lista de enteros.
+     * @param salida donde se escribe el árbol.
+     * @throws IOException si ocurre un error al escribir en la salida.
      */
-    public String graficadorRojinegro(Lista<Integer> coleccion) {
-      String svg = "";
+    public void graficadorRojinegro(ListaEnteros enteros, Appendable salida)
+        throws IOException {
       /* Construimos el árbol. */
-      ArbolRojinegro<Integer> arbolR = new ArbolRojinegro<>(coleccion);
-      /* Altura del árbol. */
-      int alturaArbol = arbolR.altura();
-      VerticeArbolBinario<Integer> raiz = arbolR.raiz();
-      int v = (int)(Math.pow(2,alturaArbol));
-      int p = v/2;
-      svg += rojinegroSVG(arbolR,raiz, v, 0, v);
-      return svg;
+      ArbolRojinegro<Integer> arbolR = new ArbolRojinegro<>();
+      for (int i = 0; i < enteros.getElementos(); i++) {
+        arbolR.agrega(enteros.get(i));
+      }
+      graficadorRojinegro(arbolR, salida);
+    }
+
+    /**
+     * Método graficadorRojinegroOrdenado.
+     * Que escribe en la salida el árbol rojinegro balanceado con los enteros
+     * recibidos, armado en tiempo lineal con {@link
+     * ArbolRojinegro#cargaOrdenada} en lugar de agregarlos uno por uno. La
+     * forma del árbol puede ser distinta a la de {@link
+     * #graficadorRojinegro(ListaEnteros, Appendable)}.
+     * @param enteros la lista de enteros, de preferencia ya ordenada.
+     * @param salida donde se escribe el árbol.
+     * @throws IOException si ocurre un error al escribir en la salida.
+     */
+    public void graficadorRojinegroOrdenado(ListaEnteros enteros, Appendable salida)
+        throws IOException {
+      graficadorRojinegro(ArbolRojinegro.cargaOrdenada(enteros.toListaArreglo()), salida);
+    }
+
+    /*
+     * Método auxiliar graficadorRojinegro.
+     * Que recibe el árbol ya construido, lo aplana, lo acomoda y lo escribe
+     * en la salida.
+     */
+    private void graficadorRojinegro(ArbolRojinegro<Integer> arbolR, Appendable salida)
+        throws IOException {
+      ArbolPlano plano = ArbolPlano.deArbol(arbolR);
+      Disposicion d = disposicion != null ? disposicion : Disposicion.elige(plano);
+      EmisorArbol.emite(plano, d,
+                        (arbol, i, x, y, s) -> vertice(arbolR, arbol.getVertice(i), x, y, s),
+                        salida);
     }
 
     /*
-     * Método auxiliar rojinegroSVG.
-     * Que recibe un árbol rojinegro de tipo String,
-     * un vértice de VerticeArbolBinario, su posicion espacial,
-     * el nivel del vértice y su posicion auxiliar.
-     * Regresa un String con el formato SVG del árbol.
+     * Método auxiliar vertice.
+     * Que escribe las figuras de un vértice del árbol centrado en (x, y),
+     * del color del vértice. Lo usa también SesionArbol.
      */
-    private String rojinegroSVG(ArbolRojinegro<Integer> r, VerticeArbolBinario<Integer> n, int posicion, int nivel, int aux) {
-        String m = "";
-        int pos = posicion*40;
-        int pvp = aux/2;
-        if (r.getColor(n) == Color.NEGRO) {
-          Circulo circ = new Circulo(pos-20,40+(100*nivel),20,"black","black");
-          m += circ.toSVG() + "\n";
-        } else {
-          Circulo circ = new Circulo(pos-20,40+(100*nivel),20,"red","red");
-          m += circ.toSVG() + "\n";
-        }
-        Texto texO = new Texto(n.get().toString(),pos-30,40+(100*nivel),"white");
-        m += texO.toSVG() + "\n";
-        if (n.hayIzquierdo()) {
-          Linea linI = new Linea(pos-20, 60+(100*nivel), pos-(pvp*40)-20, 20+(100*(nivel+1)));
-          m += linI.toSVG() + "\n";
-          m += rojinegroSVG(r,n.izquierdo(), posicion-pvp, nivel+1, pvp);
-        }
-        if (n.hayDerecho()) {
-          Linea linD = new Linea(pos-20, 60+(100*nivel), pos+(pvp*40)-20, 20+(100*(nivel+1)));
-          m += linD.toSVG() + "\n";
-          m += rojinegroSVG(r,n.derecho(), posicion+pvp, nivel+1,pvp);
-        }
-        return m;
+    static void vertice(ArbolRojinegro<Integer> arbolR, VerticeArbolBinario<Integer> v,
+                        int x, int y, Appendable s) throws IOException {
+      if (arbolR.getColor(v) == Color.NEGRO) {
+        new Circulo(x, y, 20, "black", "black").toSVG(s);
+      } else {
+        new Circulo(x, y, 20, "red", "red").toSVG(s);
+      }
+      s.append("\n");
+      new Texto(Integer.toString(v.get()), x-10, y, "white").toSVG(s);
+      s.append("\n");
     }
 }
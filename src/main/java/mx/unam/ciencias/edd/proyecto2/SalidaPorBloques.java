@@ -0,0 +1,137 @@
+package mx.unam.ciencias.edd.proyecto2;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Clase SalidaPorBloques.
+ * Un {@link Writer} que escribe en un flujo de bytes por bloques: cada
+ * bloque es su longitud en bytes en decimal, un salto de línea y los bytes
+ * en UTF-8. Al cerrarse escribe el bloque vacío "0\n", que marca el fin de
+ * la respuesta, sin cerrar el flujo. Así una respuesta se envía conforme se
+ * genera, sin conocer su tamaño de antemano.
+ * @author Armando Ramírez González.
+ * @version 1.0.0.
+ */
+public class SalidaPorBloques extends Writer {
+
+    /* Tamaño de cada bloque, en caracteres. */
+    private static final int BLOQUE = 1 << 15;
+
+    /* El flujo donde se escriben los bloques. */
+    private OutputStream salida;
+    /* Los caracteres del bloque actual. */
+    private StringBuilder bloque;
+    /* Cuántos bloques con datos se han escrito. */
+    private int bloques;
+
+    /**
+     * Constructor, que recibe el flujo donde se escriben los bloques.
+     * @param salida el flujo de bytes.
+     */
+    public SalidaPorBloques(OutputStream salida) {
+        this.salida = salida;
+        bloque = new StringBuilder(BLOQUE);
+    }
+
+    /**
+     * Método write.
+     * Que agrega caracteres al bloque actual y lo envía si se llena.
+     * @param cbuf el arreglo de caracteres.
+     * @param off el primer caracter a escribir.
+     * @param len el número de caracteres a escribir.
+     * @throws IOException si ocurre un error al escribir un bloque.
+     */
+    @Override public void write(char[] cbuf, int off, int len) throws IOException {
+        bloque.append(cbuf, off, len);
+        if (bloque.length() >= BLOQUE) {
+          envia();
+        }
+    }
+
+    /**
+     * Método write.
+     * Que agrega una cadena al bloque actual y lo envía si se llena.
+     * @param str la cadena.
+     * @param off el primer caracter a escribir.
+     * @param len el número de caracteres a escribir.
+     * @throws IOException si ocurre un error al escribir un bloque.
+     */
+    @Override public void write(String str, int off, int len) throws IOException {
+        bloque.append(str, off, off + len);
+        if (bloque.length() >= BLOQUE) {
+          envia();
+        }
+    }
+
+    /*
+     * Método auxiliar envia.
+     * Que escribe el bloque actual, si tiene caracteres.
+     */
+    private void envia() throws IOException {
+        if (bloque.length() == 0) {
+          return;
+        }
+        byte[] bytes = bloque.toString().getBytes(StandardCharsets.UTF_8);
+        bloque.setLength(0);
+        salida.write((bytes.length + "\n").getBytes(StandardCharsets.US_ASCII));
+        salida.write(bytes);
+        bloques++;
+    }
+
+    /**
+     * Método escribeBytes.
+     * Que envía el bloque actual y después los bytes recibidos, ya en UTF-8,
+     * en bloques de a lo más el tamaño de bloque, sin decodificarlos. Los
+     * bloques no parten ningún caracter.
+     * @param bytes los bytes en UTF-8 de caracteres completos.
+     * @throws IOException si ocurre un error al escribir un bloque.
+     */
+    public void escribeBytes(byte[] bytes) throws IOException {
+        envia();
+        int inicio = 0;
+        while (inicio < bytes.length) {
+          int fin = Math.min(bytes.length, inicio + BLOQUE);
+          /* Retrocedemos si el bloque terminaría a la mitad de un caracter. */
+          while (fin < bytes.length && fin > inicio + 1 && (bytes[fin] & 0xc0) == 0x80) {
+            fin--;
+          }
+          salida.write(((fin - inicio) + "\n").getBytes(StandardCharsets.US_ASCII));
+          salida.write(bytes, inicio, fin - inicio);
+          bloques++;
+          inicio = fin;
+        }
+    }
+
+    /**
+     * Método getBloques.
+     * @return cuántos bloques con datos se han escrito en el flujo.
+     */
+    public int getBloques() {
+        return bloques;
+    }
+
+    /**
+     * Método flush.
+     * Que envía el bloque actual y vacía el flujo.
+     * @throws IOException si ocurre un error al escribir.
+     */
+    @Override public void flush() throws IOException {
+        envia();
+        salida.flush();
+    }
+
+    /**
+     * Método close.
+     * Que envía el bloque actual y el bloque vacío que termina la respuesta.
+     * No cierra el flujo.
+     * @throws IOException si ocurre un error al escribir.
+     */
+    @Override public void close() throws IOException {
+        envia();
+        salida.write("0\n".getBytes(StandardCharsets.US_ASCII));
+        salida.flush();
+    }
+}
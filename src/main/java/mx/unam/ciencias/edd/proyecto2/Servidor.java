@@ -0,0 +1,215 @@
+package mx.unam.ciencias.edd.proyecto2;
+
+import mx.unam.ciencias.edd.*;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Clase Servidor.
+ * Que grafica muchas estructuras en una misma máquina virtual, reutilizando
+ * su graficador entre peticiones.
+ *
+ * <p>Cada petición es una línea con su longitud en bytes, en decimal,
+ * seguida de esos bytes en el mismo formato que los archivos de entrada: el
+ * nombre de la estructura y sus enteros, con comentarios #.</p>
+ *
+ * <p>Si la petición es válida, la respuesta es la línea "OK" seguida del SVG
+ * completo en bloques de {@link SalidaPorBloques}, terminados por "0". Si no,
+ * es una sola línea "ERROR" con el motivo. Si la graficación falla a la
+ * mitad, la respuesta termina con el bloque "-1" y se descarta.</p>
+ * @author Armando Ramírez González.
+ * @version 1.0.0.
+ */
+public class Servidor {
+
+    /* Tamaño del búfer para leer las peticiones. */
+    private static final int BUFER = 1 << 16;
+
+    /* Identificador con el graficador que se reutiliza. */
+    private Identificador identificador;
+    /* Búfer reutilizado para leer las peticiones. */
+    private byte[] bufer;
+    /* La caché de gráficas, o null si no hay. */
+    private CacheGraficas cache;
+
+    /**
+     * Constructor, que crea un servidor con su propio graficador.
+     */
+    public Servidor() {
+        this(null);
+    }
+
+    /**
+     * Constructor, que crea un servidor con su propio graficador y la caché
+     * recibida, que puede compartir con otros servidores.
+     * @param cache la caché de gráficas, o null para no usar caché.
+     */
+    public Servidor(CacheGraficas cache) {
+        identificador = new Identificador();
+        bufer = new byte[BUFER];
+        this.cache = cache;
+    }
+
+    /**
+     * Método atiende.
+     * Que atiende peticiones de la entrada hasta que ésta termine.
+     * @param entrada de donde se leen las peticiones.
+     * @param salida donde se escriben las respuestas.
+     * @throws IOException si ocurre un error al leer o escribir, o una
+     *         petición está incompleta.
+     */
+    public void atiende(InputStream entrada, OutputStream salida) throws IOException {
+        InputStream in = new BufferedInputStream(entrada, BUFER);
+        OutputStream out = new BufferedOutputStream(salida, BUFER);
+        long longitud;
+        while ((longitud = leeLongitud(in)) != -1) {
+          responde(in, longitud, out);
+        }
+        out.flush();
+    }
+
+    /*
+     * Método auxiliar leeLongitud.
+     * Que lee la línea con la longitud de la siguiente petición. Regresa -1
+     * si la entrada terminó antes de la línea.
+     */
+    private long leeLongitud(InputStream in) throws IOException {
+        long longitud = 0;
+        int digitos = 0;
+        int b;
+        while ((b = in.read()) != '\n') {
+          if (b == -1) {
+            if (digitos == 0) {
+              return -1;
+            }
+            break;
+          }
+          if (b == '\r') {
+            continue;
+          }
+          if (b < '0' || b > '9' || digitos == 18) {
+            throw new IOException("Longitud de petición no válida.");
+          }
+          longitud = longitud*10 + (b - '0');
+          digitos++;
+        }
+        if (digitos == 0) {
+          throw new IOException("Longitud de petición no válida.");
+        }
+        return longitud;
+    }
+
+    /*
+     * Método auxiliar responde.
+     * Que tokeniza los bytes de una petición y escribe su respuesta.
+     */
+    private void responde(InputStream in, long longitud, OutputStream out)
+        throws IOException {
+        Tokenizador tok = new Tokenizador();
+        String error = null;
+        while (longitud > 0) {
+          int r = in.read(bufer, 0, (int)Math.min(bufer.length, longitud));
+          if (r == -1) {
+            throw new IOException("Petición incompleta.");
+          }
+          longitud -= r;
+          if (error == null) {
+            try {
+              tok.procesa(ByteBuffer.wrap(bufer, 0, r));
+            } catch (NumberFormatException nfe) {
+              error = "Los elementos deben ser enteros.";
+            }
+          }
+        }
+        if (error == null) {
+          try {
+            tok.termina();
+          } catch (NumberFormatException nfe) {
+            error = "Los elementos deben ser enteros.";
+          }
+        }
+        String est = tok.getEstructura();
+        ListaEnteros enteros = tok.getEnteros();
+        if (error == null && est == null) {
+          error = "La petición no tiene estructura.";
+        }
+        if (error == null && est.equals("Grafica") && enteros.getElementos()%2 != 0) {
+          error = "El número de elementos debe ser par.";
+        }
+        if (error != null) {
+          out.write(("ERROR " + error + "\n").getBytes(StandardCharsets.UTF_8));
+          out.flush();
+          return;
+        }
+        out.write("OK\n".getBytes(StandardCharsets.US_ASCII));
+        SalidaPorBloques svg = new SalidaPorBloques(out);
+        try {
+          svg.write(Proyecto2.INICIO + "\n");
+          if (cache == null) {
+            identificador.define(est).grafica(enteros, svg);
+          } else {
+            cache.grafica(identificador.define(est), enteros, svg);
+          }
+          svg.write("\n" + Proyecto2.CIERRE + "\n");
+        } catch (RuntimeException | StackOverflowError e) {
+          out.write("-1\n".getBytes(StandardCharsets.US_ASCII));
+          out.flush();
+          return;
+        }
+        svg.close();
+    }
+
+    /**
+     * Método escucha.
+     * Que atiende conexiones en el puerto local recibido, cada una con su
+     * propio servidor, con a lo más tantas conexiones simultáneas como
+     * hilos. No regresa mientras el socket siga abierto.
+     * @param puerto el puerto en la interfaz local.
+     * @param hilos el número de conexiones que se atienden a la vez.
+     * @throws IOException si no se puede abrir el puerto.
+     */
+    public static void escucha(int puerto, int hilos) throws IOException {
+        escucha(puerto, hilos, null);
+    }
+
+    /**
+     * Método escucha.
+     * Que atiende conexiones en el puerto local recibido como {@link
+     * #escucha(int, int)}, con una caché compartida por todas las conexiones.
+     * @param puerto el puerto en la interfaz local.
+     * @param hilos el número de conexiones que se atienden a la vez.
+     * @param cache la caché de gráficas, o null para no usar caché.
+     * @throws IOException si no se puede abrir el puerto.
+     */
+    public static void escucha(int puerto, int hilos, CacheGraficas cache)
+        throws IOException {
+        ExecutorService hilosConexion = Executors.newFixedThreadPool(hilos);
+        ThreadLocal<Servidor> servidores =
+            ThreadLocal.withInitial(() -> new Servidor(cache));
+        try (ServerSocket socket = new ServerSocket(puerto, 50,
+                                                    InetAddress.getLoopbackAddress())) {
+          while (true) {
+            Socket conexion = socket.accept();
+            hilosConexion.execute(() -> {
+              try (Socket c = conexion) {
+                servidores.get().atiende(c.getInputStream(), c.getOutputStream());
+              } catch (IOException ioe) {
+                System.err.println("Conexión terminada: " + ioe.getMessage());
+              }
+            });
+          }
+        } finally {
+          hilosConexion.shutdown();
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package mx.unam.ciencias.edd.proyecto2;
+
+import mx.unam.ciencias.edd.*;
+import java.io.IOException;
+
+/**
+ * Clase SesionArbol.
+ * Que guarda la gráfica de un árbol binario por casillas: la raíz es la
+ * casilla 1 y los hijos de la casilla <i>c</i> son 2<i>c</i> y 2<i>c</i>+1.
+ * Las coordenadas son las de {@link DisposicionBinaria}, que sólo dependen
+ * de la casilla y de la altura del árbol.
+ *
+ * <p>Las subclases deciden qué casillas revisar después de cada operación;
+ * esta clase redibuja sólo las que cambiaron, o todo el árbol si cambió su
+ * altura.</p>
+ * @author Armando Ramírez González.
+ * @version 1.0.0.
+ */
+abstract class SesionArbol extends SesionGrafica {
+
+    /* Espacio alrededor de las casillas para los círculos y las etiquetas. */
+    private static final int ORILLA = 120;
+
+    /* Lo que se dibujó en una casilla. */
+    private static class Dibujo {
+        /* El vértice dibujado. */
+        private Object vertice;
+        /* Su fragmento. */
+        private String fragmento;
+
+        /* Crea el dibujo de un vértice. */
+        private Dibujo(Object vertice, String fragmento) {
+            this.vertice = vertice;
+            this.fragmento = fragmento;
+        }
+    }
+
+    /* Lo dibujado en cada casilla ocupada. */
+    private Diccionario<Long, Dibujo> dibujos;
+    /* Cuántas casillas ocupadas hay en cada nivel. */
+    private int[] porNivel;
+    /* La altura con la que se acomodan las casillas; -1 si no hay ninguna. */
+    private int altura;
+    /* Los niveles de más al acomodar, o -1 para usar la altura exacta. */
+    private int holgura;
+
+    /* Crea una sesión con el árbol vacío. */
+    protected SesionArbol() {
+        dibujos = new Diccionario<Long, Dibujo>();
+        porNivel = new int[Disposicion.ALTURA_BINARIA + 1];
+        altura = -1;
+        holgura = -1;
+    }
+
+    /*
+     * Método auxiliar setHolgura.
+     * Que acomoda las casillas con los niveles de más recibidos cada vez que
+     * el árbol crece, y nunca con menos: la gráfica completa sólo se
+     * redibuja cuando el árbol pasa de esa altura.
+     */
+    void setHolgura(int niveles) {
+        holgura = niveles;
+    }
+
+    /* Nos dice si la altura recibida obliga a acomodar de nuevo las casillas. */
+    private boolean reacomoda(int h) {
+        if (holgura < 0) {
+          return h != altura;
+        }
+        return h > altura;
+    }
+
+    /* Regresa la altura con la que se acomoda un árbol de la altura recibida. */
+    private int acomodo(int h) {
+        if (holgura < 0 || h < 0) {
+          return h;
+        }
+        return Math.min(h + holgura, Disposicion.ALTURA_BINARIA);
+    }
+
+    /*
+     * Método auxiliar vertice.
+     * Que regresa el vértice de la casilla recibida, o null si está vacía.
+     * Dos vértices distintos se reconocen por su identidad.
+     */
+    protected abstract Object vertice(long casilla);
+
+    /*
+     * Método auxiliar escribeVertice.
+     * Que escribe las figuras del vértice recibido centrado en (x, y).
+     */
+    protected abstract void escribeVertice(Object vertice, int x, int y,
+                                           Appendable salida) throws IOException;
+
+    /*
+     * Método auxiliar dibujado.
+     * Que regresa el vértice dibujado en la casilla, o null si no había.
+     */
+    protected Object dibujado(long casilla) {
+        return dibujos.contiene(casilla) ? dibujos.get(casilla).vertice : null;
+    }
+
+    /*
+     * Método auxiliar nivel.
+     * Que regresa el nivel de la casilla; la raíz está en el nivel 0.
+     */
+    protected static int nivel(long casilla) {
+        return 63 - Long.numberOfLeadingZeros(casilla);
+    }
+
+    /*
+     * Método auxiliar actualiza.
+     * Que revisa las casillas recibidas y todas las de los subárboles
+     * recibidos, antes y después de la operación, y regresa los fragmentos
+     * que cambiaron. Si cambió la altura, regresa la gráfica completa.
+     */
+    protected Cambios actualiza(Lista<Long> casillas, Lista<Long> subarboles) {
+        Lista<Long> tocadas = new Lista<Long>();
+        Diccionario<Long, Boolean> vistas = new Diccionario<Long, Boolean>();
+        for (long c : casillas) {
+          toca(c, tocadas, vistas);
+        }
+        for (long r : subarboles) {
+          Pila<Long> pendientes = new Pila<Long>();
+          pendientes.mete(r);
+          while (!pendientes.esVacia()) {
+            long c = pendientes.saca();
+            if (dibujos.contiene(c)) {
+              toca(c, tocadas, vistas);
+              pendientes.mete(2*c);
+              pendientes.mete(2*c + 1);
+            }
+          }
+          pendientes.mete(r);
+          while (!pendientes.esVacia()) {
+            long c = pendientes.saca();
+            if (vertice(c) != null) {
+              toca(c, tocadas, vistas);
+              pendientes.mete(2*c);
+              pendientes.mete(2*c + 1);
+            }
+          }
+        }
+        for (long c : tocadas) {
+          boolean antes = dibujos.contiene(c);
+          boolean ahora = vertice(c) != null;
+          if (ahora && !antes) {
+            if (nivel(c) > Disposicion.ALTURA_BINARIA) {
+              throw new IllegalStateException("El árbol es demasiado alto para graficarlo.");
+            }
+            porNivel[nivel(c)]++;
+          } else if (antes && !ahora) {
+            porNivel[nivel(c)]--;
+          }
+        }
+        int h = Disposicion.ALTURA_BINARIA;
+        while (h >= 0 && porNivel[h] == 0) {
+          h--;
+        }
+        Cambios cambios = new Cambios();
+        if (reacomoda(h)) {
+          altura = acomodo(h);
+          redibuja(cambios);
+          return cambios;
+        }
+        for (long c : tocadas) {
+          Object v = vertice(c);
+          if (v == null) {
+            if (dibujos.contiene(c)) {
+              dibujos.elimina(c);
+              cambios.agregaEliminado("v" + c);
+            }
+            continue;
+          }
+          String fragmento = fragmento(c, v);
+          if (!dibujos.contiene(c) || !dibujos.get(c).fragmento.equals(fragmento)) {
+            cambios.agregaFragmento(fragmento);
+          }
+          dibujos.agrega(c, new Dibujo(v, fragmento));
+        }
+        return cambios;
+    }
+
+    /*
+     * Método auxiliar reinicia.
+     * Que vuelve a contar las casillas de cada nivel y dibuja todo el
+     * árbol; lo usan las subclases después de cargar muchos elementos.
+     */
+    protected void reinicia() {
+        porNivel = new int[Disposicion.ALTURA_BINARIA + 1];
+        int h = -1;
+        Pila<Long> pendientes = new Pila<Long>();
+        pendientes.mete(1L);
+        while (!pendientes.esVacia()) {
+          long c = pendientes.saca();
+          if (vertice(c) != null) {
+            if (nivel(c) > Disposicion.ALTURA_BINARIA) {
+              throw new IllegalStateException("El árbol es demasiado alto para graficarlo.");
+            }
+            porNivel[nivel(c)]++;
+            h = Math.max(h, nivel(c));
+            pendientes.mete(2*c + 1);
+            pendientes.mete(2*c);
+          }
+        }
+        altura = acomodo(h);
+        redibuja(new Cambios());
+    }
+
+    /* Agrega la casilla a las tocadas, si no estaba. */
+    private static void toca(long c, Lista<Long> tocadas, Diccionario<Long, Boolean> vistas) {
+        if (!vistas.contiene(c)) {
+          vistas.agrega(c, true);
+          tocadas.agrega(c);
+        }
+    }
+
+    /* Vuelve a dibujar todas las casillas ocupadas, con la altura nueva. */
+    private void redibuja(Cambios cambios) {
+        cambios.setCompleta();
+        dibujos.limpia();
+        Pila<Long> pendientes = new Pila<Long>();
+        pendientes.mete(1L);
+        while (!pendientes.esVacia()) {
+          long c = pendientes.saca();
+          Object v = vertice(c);
+          if (v != null) {
+            String fragmento = fragmento(c, v);
+            dibujos.agrega(c, new Dibujo(v, fragmento));
+            cambios.agregaFragmento(fragmento);
+            pendientes.mete(2*c + 1);
+            pendientes.mete(2*c);
+          }
+        }
+    }
+
+    /* Regresa el fragmento del vértice de la casilla, con las líneas a sus hijos. */
+    private String fragmento(long c, Object v) {
+        return Fragmento.cadena(s -> {
+            s.append("<g id='v").append(String.valueOf(c)).append("'>\n");
+            int x = x(c), y = y(c);
+            escribeVertice(v, x, y, s);
+            if (vertice(2*c) != null) {
+              EmisorArbol.linea(x, y, x(2*c), y(2*c), s);
+            }
+            if (vertice(2*c + 1) != null) {
+              EmisorArbol.linea(x, y, x(2*c + 1), y(2*c + 1), s);
+            }
+            s.append("</g>");
+          });
+    }
+
+    /*
+     * Método auxiliar lienzo.
+     * Que regresa el rectángulo que cubre todas las casillas hasta la altura
+     * con la que se acomodan, con espacio para las figuras de los vértices,
+     * como {x, y, ancho, alto}. Sólo cambia cuando se redibuja el árbol
+     * completo.
+     */
+    long[] lienzo() {
+        int a = Math.max(altura, 0);
+        long ultima = ((2L << a) - 1)*40 - 20;
+        return new long[] { 20 - ORILLA, 0, ultima - 20 + 2*ORILLA, y(1L << a) + ORILLA };
+    }
+
+    /*
+     * Método auxiliar dentro.
+     * Que nos dice si el vértice de la casilla, con el acomodo actual, queda
+     * dentro del rectángulo de {@link #lienzo}.
+     */
+    boolean dentro(long casilla) {
+        if (casilla < 1 || nivel(casilla) > altura) {
+          return false;
+        }
+        long[] lienzo = lienzo();
+        long x = x(casilla), y = y(casilla);
+        return x - ORILLA >= lienzo[0] && x + ORILLA <= lienzo[0] + lienzo[2]
+            && y >= lienzo[1] && y + ORILLA <= lienzo[1] + lienzo[3];
+    }
+
+    /* Regresa la coordenada x de la casilla, como en DisposicionBinaria. */
+    private int x(long c) {
+        int l = nivel(c);
+        long r = c - (1L << l);
+        int columna = (int)((2*r + 1) << (altura - l));
+        return columna*40 - 20;
+    }
+
+    /* Regresa la coordenada y de la casilla. */
+    private static int y(long c) {
+        return 40 + 100*nivel(c);
+    }
+
+    /**
+     * Método grafica.
+     * Que escribe la gráfica actual completa.
+     * @param salida donde se escribe el código SVG.
+     * @throws IOException si ocurre un error al escribir en la salida.
+     */
+    @Override public void grafica(Appendable salida) throws IOException {
+        salida.append("<g>\n");
+        for (Dibujo d : dibujos) {
+          salida.append(d.fragmento).append("\n");
+        }
+        salida.append("</g>");
+    }
+}
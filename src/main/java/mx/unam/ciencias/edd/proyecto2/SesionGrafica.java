@@ -0,0 +1,123 @@
+package mx.unam.ciencias.edd.proyecto2;
+
+import mx.unam.ciencias.edd.*;
+import java.io.IOException;
+
+/**
+ * Clase SesionGrafica.
+ * Que mantiene una estructura y su gráfica entre operaciones: cada
+ * {@link #agrega} o {@link #elimina} regresa sólo los fragmentos SVG que
+ * cambiaron, sin volver a graficar toda la estructura.
+ *
+ * <p>En los árboles cada vértice es un fragmento identificado por su
+ * casilla: la raíz es la casilla 1 y los hijos de la casilla <i>c</i> son
+ * 2<i>c</i> y 2<i>c</i>+1. Sólo se redibujan las casillas del camino de la
+ * operación, sus hijos y los subárboles que se movieron por una rotación;
+ * cuando cambia la altura del árbol cambian todas las coordenadas y se
+ * regresa la gráfica completa. En las listas cada elemento es un fragmento
+ * identificado por su posición.</p>
+ *
+ * <p>Las sesiones no son seguras para varios hilos.</p>
+ * @author Armando Ramírez González.
+ * @version 1.0.0.
+ */
+public abstract class SesionGrafica {
+
+    /**
+     * Método abre.
+     * Que abre una sesión vacía para la estructura recibida.
+     * @param estructura la estructura de la sesión.
+     * @return la sesión.
+     * @throws IllegalArgumentException si la estructura no tiene sesiones:
+     *         sólo las tienen las listas, los árboles ordenados, rojinegros
+     *         y AVL, y los montículos mínimos.
+     */
+    public static SesionGrafica abre(Estructura estructura) {
+        switch (estructura) {
+          case LISTA:
+            return new SesionLista();
+          case ARBOLORDENADO:
+            return new SesionOrdenada(new ArbolBinarioOrdenado<Integer>(),
+                                      (a, v, x, y, s) -> Ordenado.vertice(v.get(), x, y, s));
+          case ARBOLROJINEGRO:
+            return new SesionOrdenada(new ArbolRojinegro<Integer>(),
+                                      (a, v, x, y, s) -> Rojinegro.vertice((ArbolRojinegro<Integer>)a, v, x, y, s));
+          case ARBOLAVL:
+            return new SesionOrdenada(new ArbolAVL<Integer>(),
+                                      (a, v, x, y, s) -> AvlSvg.vertice(v, x, y, s));
+          case MONTICULOMINIMO:
+            return new SesionMonticulo();
+          default:
+            throw new IllegalArgumentException("La estructura no tiene sesiones.");
+        }
+    }
+
+    /**
+     * Método abre.
+     * Que abre una sesión para la estructura recibida y le agrega los
+     * enteros recibidos, en orden.
+     * @param estructura la estructura de la sesión.
+     * @param enteros los elementos iniciales.
+     * @return la sesión.
+     * @throws IllegalArgumentException si la estructura no tiene sesiones.
+     * @throws IllegalStateException si el árbol crece más de lo que se
+     *         puede graficar.
+     */
+    public static SesionGrafica abre(Estructura estructura, ListaEnteros enteros) {
+        SesionGrafica sesion = abre(estructura);
+        sesion.carga(enteros);
+        return sesion;
+    }
+
+    /*
+     * Método auxiliar carga.
+     * Que agrega los enteros a la sesión. Las subclases que pueden los
+     * agregan a su estructura directamente y la dibujan una sola vez.
+     */
+    void carga(ListaEnteros enteros) {
+        for (int i = 0; i < enteros.getElementos(); i++) {
+          agrega(enteros.get(i));
+        }
+    }
+
+    /**
+     * Método agrega.
+     * Que agrega un elemento a la estructura.
+     * @param elemento el elemento a agregar.
+     * @return los fragmentos que cambiaron.
+     * @throws IllegalStateException si el árbol crece más de lo que se
+     *         puede graficar; la sesión ya no se debe usar.
+     */
+    public abstract Cambios agrega(int elemento);
+
+    /**
+     * Método elimina.
+     * Que elimina un elemento de la estructura, si está.
+     * @param elemento el elemento a eliminar.
+     * @return los fragmentos que cambiaron; vacíos si no estaba.
+     */
+    public abstract Cambios elimina(int elemento);
+
+    /**
+     * Método getElementos.
+     * @return el número de elementos de la estructura.
+     */
+    public abstract int getElementos();
+
+    /**
+     * Método grafica.
+     * Que escribe la gráfica actual completa, como un grupo con todos los
+     * fragmentos.
+     * @param salida donde se escribe el código SVG.
+     * @throws IOException si ocurre un error al escribir en la salida.
+     */
+    public abstract void grafica(Appendable salida) throws IOException;
+
+    /**
+     * Método grafica.
+     * @return la gráfica actual completa.
+     */
+    public String grafica() {
+        return Fragmento.cadena(this::grafica);
+    }
+}
@@ -0,0 +1,99 @@
+package mx.unam.ciencias.edd.proyecto2;
+
+import mx.unam.ciencias.edd.*;
+import java.io.IOException;
+
+/**
+ * Clase SesionLista.
+ * Que es la sesión de una lista. Cada elemento es el fragmento
+ * <code>e</code><i>j</i>, con su rectángulo, su valor y la flecha desde el
+ * anterior; agregar al final sólo dibuja el fragmento nuevo, y eliminar
+ * redibuja los elementos que se recorren a la izquierda.
+ * @author Armando Ramírez González.
+ * @version 1.0.0.
+ */
+class SesionLista extends SesionGrafica {
+
+    /* Los elementos de la lista. */
+    private ListaEnteros lista;
+
+    /* Crea la sesión de una lista vacía. */
+    SesionLista() {
+        lista = new ListaEnteros();
+    }
+
+    /**
+     * Método agrega.
+     * Que agrega un elemento al final de la lista.
+     * @param elemento el elemento a agregar.
+     * @return el fragmento del elemento nuevo.
+     */
+    @Override public Cambios agrega(int elemento) {
+        lista.agrega(elemento);
+        Cambios cambios = new Cambios();
+        cambios.agregaFragmento(fragmento(lista.getElementos()-1));
+        return cambios;
+    }
+
+    /**
+     * Método elimina.
+     * Que elimina la primera aparición del elemento, si está.
+     * @param elemento el elemento a eliminar.
+     * @return los fragmentos de los elementos que se recorrieron y el
+     *         identificador del último, que ya no existe.
+     */
+    @Override public Cambios elimina(int elemento) {
+        Cambios cambios = new Cambios();
+        int n = lista.getElementos();
+        int k = 0;
+        while (k < n && lista.get(k) != elemento) {
+          k++;
+        }
+        if (k == n) {
+          return cambios;
+        }
+        ListaEnteros nueva = new ListaEnteros(n-1);
+        for (int j = 0; j < n; j++) {
+          if (j != k) {
+            nueva.agrega(lista.get(j));
+          }
+        }
+        lista = nueva;
+        for (int j = k; j < n-1; j++) {
+          cambios.agregaFragmento(fragmento(j));
+        }
+        cambios.agregaEliminado("e" + (n-1));
+        return cambios;
+    }
+
+    /**
+     * Método getElementos.
+     * @return el número de elementos de la lista.
+     */
+    @Override public int getElementos() {
+        return lista.getElementos();
+    }
+
+    /**
+     * Método grafica.
+     * Que escribe la gráfica actual completa.
+     * @param salida donde se escribe el código SVG.
+     * @throws IOException si ocurre un error al escribir en la salida.
+     */
+    @Override public void grafica(Appendable salida) throws IOException {
+        salida.append("<g>\n");
+        for (int j = 0; j < lista.getElementos(); j++) {
+          salida.append(fragmento(j)).append("\n");
+        }
+        salida.append("</g>");
+    }
+
+    /* Regresa el fragmento del j-ésimo elemento. */
+    private String fragmento(int j) {
+        return Fragmento.cadena(s -> {
+            s.append("<g id='e").append(String.valueOf(j)).append("'>\n");
+            Graficador.elementoLista(j, lista.get(j), s);
+            s.append("</g>");
+          });
+    }
+}
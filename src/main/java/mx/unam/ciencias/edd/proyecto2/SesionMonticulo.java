@@ -0,0 +1,157 @@
+package mx.unam.ciencias.edd.proyecto2;
+
+import mx.unam.ciencias.edd.*;
+import java.io.IOException;
+
+/**
+ * Clase SesionMonticulo.
+ * Que es la sesión de un montículo mínimo. Acomoda los elementos igual que
+ * {@link MonticuloMinimo} y recuerda los índices que tocó cada operación;
+ * el índice <i>i</i> del arreglo es la casilla <i>i</i>+1 del árbol.
+ * @author Armando Ramírez González.
+ * @version 1.0.0.
+ */
+class SesionMonticulo extends SesionArbol {
+
+    /* Los elementos del montículo. */
+    private int[] arbol;
+    /* El número de elementos. */
+    private int elementos;
+    /* Los índices tocados por la operación actual. */
+    private Lista<Long> tocadas;
+
+    /* Crea la sesión de un montículo vacío. */
+    SesionMonticulo() {
+        arbol = new int[64];
+    }
+
+    /**
+     * Método agrega.
+     * Que agrega un elemento al montículo y lo sube a su lugar.
+     * @param elemento el elemento a agregar.
+     * @return los fragmentos que cambiaron.
+     */
+    @Override public Cambios agrega(int elemento) {
+        if (elementos == arbol.length) {
+          int[] nuevo = new int[arbol.length*2];
+          System.arraycopy(arbol, 0, nuevo, 0, elementos);
+          arbol = nuevo;
+        }
+        tocadas = new Lista<Long>();
+        arbol[elementos++] = elemento;
+        if (elementos > 1) {
+          toca((elementos-2)/2);
+        }
+        haciaArriba(elementos-1);
+        return actualiza(tocadas, new Lista<Long>());
+    }
+
+    /**
+     * Método elimina.
+     * Que elimina una aparición del elemento, si está: el último elemento
+     * toma su lugar y se acomoda hacia arriba o hacia abajo. Encontrar el
+     * elemento toma tiempo lineal.
+     * @param elemento el elemento a eliminar.
+     * @return los fragmentos que cambiaron; vacíos si no estaba.
+     */
+    @Override public Cambios elimina(int elemento) {
+        int i = 0;
+        while (i < elementos && arbol[i] != elemento) {
+          i++;
+        }
+        if (i == elementos) {
+          return new Cambios();
+        }
+        tocadas = new Lista<Long>();
+        elementos--;
+        toca(elementos);
+        if (elementos > 0) {
+          toca((elementos-1)/2);
+        }
+        if (i < elementos) {
+          arbol[i] = arbol[elementos];
+          toca(i);
+          haciaArriba(i);
+          haciaAbajo(i);
+        }
+        return actualiza(tocadas, new Lista<Long>());
+    }
+
+    /*
+     * Agrega los enteros y acomoda todo el montículo de abajo hacia arriba,
+     * como MonticuloEnteros, para que quede igual que en Graficador; luego
+     * lo dibuja una sola vez.
+     */
+    @Override void carga(ListaEnteros enteros) {
+        int[] nuevo = new int[Math.max(64, elementos + enteros.getElementos())];
+        System.arraycopy(arbol, 0, nuevo, 0, elementos);
+        arbol = nuevo;
+        for (int i = 0; i < enteros.getElementos(); i++) {
+          arbol[elementos++] = enteros.get(i);
+        }
+        tocadas = new Lista<Long>();
+        for (int i = elementos/2 - 1; i >= 0; i--) {
+          haciaAbajo(i);
+        }
+        tocadas = null;
+        reinicia();
+    }
+
+    /**
+     * Método getElementos.
+     * @return el número de elementos del montículo.
+     */
+    @Override public int getElementos() {
+        return elementos;
+    }
+
+    /* Marca como tocado el índice recibido. */
+    private void toca(int i) {
+        tocadas.agrega((long)i + 1);
+    }
+
+    /* Sube el elemento del índice mientras su padre sea mayor. */
+    private void haciaArriba(int i) {
+        int e = arbol[i];
+        toca(i);
+        while (i > 0 && arbol[(i-1)/2] > e) {
+          arbol[i] = arbol[(i-1)/2];
+          i = (i-1)/2;
+          toca(i);
+        }
+        arbol[i] = e;
+    }
+
+    /* Baja el elemento del índice mientras algún hijo sea menor. */
+    private void haciaAbajo(int i) {
+        int e = arbol[i];
+        int hijo = 2*i + 1;
+        while (hijo < elementos) {
+          if (hijo+1 < elementos && arbol[hijo+1] < arbol[hijo]) {
+            hijo++;
+          }
+          if (e <= arbol[hijo]) {
+            break;
+          }
+          arbol[i] = arbol[hijo];
+          i = hijo;
+          toca(i);
+          hijo = 2*i + 1;
+        }
+        arbol[i] = e;
+    }
+
+    /*
+     * Método auxiliar vertice.
+     * Que regresa el elemento de la casilla, o null si está vacía.
+     */
+    @Override protected Object vertice(long casilla) {
+        return casilla <= elementos ? Integer.valueOf(arbol[(int)casilla - 1]) : null;
+    }
+
+    /* Escribe el vértice como los de Graficador. */
+    @Override protected void escribeVertice(Object vertice, int x, int y,
+                                            Appendable salida) throws IOException {
+        Ordenado.vertice((Integer)vertice, x, y, salida);
+    }
+}
@@ -0,0 +1,180 @@
+package mx.unam.ciencias.edd.proyecto2;
+
+import mx.unam.ciencias.edd.*;
+import java.io.IOException;
+
+/**
+ * Clase SesionOrdenada.
+ * Que es la sesión de un árbol binario ordenado, rojinegro o AVL. Después
+ * de cada operación revisa el camino de la raíz a la casilla del vértice
+ * agregado o eliminado, y los hijos de ese camino: ahí están todas las
+ * rotaciones y recoloraciones. Una casilla cuyo vértice cambió de identidad
+ * es la raíz de un subárbol que se movió, y se redibuja completo.
+ * @author Armando Ramírez González.
+ * @version 1.0.0.
+ */
+class SesionOrdenada extends SesionArbol {
+
+    /* Interfaz para escribir las figuras de un vértice del árbol. */
+    @FunctionalInterface
+    interface Estilo {
+        /* Escribe las figuras del vértice del árbol centrado en (x, y). */
+        void escribe(ArbolBinarioOrdenado<Integer> arbol, VerticeArbolBinario<Integer> vertice,
+                     int x, int y, Appendable salida) throws IOException;
+    }
+
+    /* El árbol. */
+    private ArbolBinarioOrdenado<Integer> arbol;
+    /* El estilo de sus vértices. */
+    private Estilo estilo;
+
+    /* Crea la sesión de un árbol vacío con el estilo recibido. */
+    SesionOrdenada(ArbolBinarioOrdenado<Integer> arbol, Estilo estilo) {
+        this.arbol = arbol;
+        this.estilo = estilo;
+    }
+
+    /**
+     * Método agrega.
+     * Que agrega un elemento al árbol.
+     * @param elemento el elemento a agregar.
+     * @return los fragmentos que cambiaron.
+     * @throws IllegalStateException si el árbol es demasiado alto para
+     *         graficarlo con la disposición binaria.
+     */
+    @Override public Cambios agrega(int elemento) {
+        arbol.agrega(elemento);
+        return actualizaCamino(casilla(arbol.getUltimoVerticeAgregado()));
+    }
+
+    /**
+     * Método elimina.
+     * Que elimina un elemento del árbol, si está. Se revisa el camino a la
+     * casilla del vértice que se desconecta: el del elemento, o el máximo
+     * de su subárbol izquierdo si tiene dos hijos.
+     * @param elemento el elemento a eliminar.
+     * @return los fragmentos que cambiaron; vacíos si no estaba.
+     */
+    @Override public Cambios elimina(int elemento) {
+        VerticeArbolBinario<Integer> v = arbol.busca(elemento);
+        if (v == null) {
+          return new Cambios();
+        }
+        if (v.hayIzquierdo() && v.hayDerecho()) {
+          v = v.izquierdo();
+          while (v.hayDerecho()) {
+            v = v.derecho();
+          }
+        }
+        long casilla = casilla(v);
+        arbol.elimina(elemento);
+        return actualizaCamino(casilla);
+    }
+
+    /* Agrega los enteros al árbol y lo dibuja una sola vez. */
+    @Override void carga(ListaEnteros enteros) {
+        for (int i = 0; i < enteros.getElementos(); i++) {
+          arbol.agrega(enteros.get(i));
+        }
+        reinicia();
+    }
+
+    /**
+     * Método getElementos.
+     * @return el número de elementos del árbol.
+     */
+    @Override public int getElementos() {
+        return arbol.getElementos();
+    }
+
+    /*
+     * Método auxiliar actualizaCamino.
+     * Que actualiza las casillas del camino de la raíz a la casilla
+     * recibida y sus hijos; las que cambiaron de vértice se actualizan con
+     * todo su subárbol.
+     */
+    private Cambios actualizaCamino(long casilla) {
+        Lista<Long> casillas = new Lista<Long>();
+        Lista<Long> subarboles = new Lista<Long>();
+        for (long c = casilla; c >= 1; c /= 2) {
+          revisa(c, casillas, subarboles);
+          revisa(2*c, casillas, subarboles);
+          revisa(2*c + 1, casillas, subarboles);
+        }
+        return actualiza(casillas, subarboles);
+    }
+
+    /* Clasifica la casilla según si su vértice cambió de identidad. */
+    private void revisa(long c, Lista<Long> casillas, Lista<Long> subarboles) {
+        if (vertice(c) != dibujado(c)) {
+          subarboles.agrega(c);
+        } else {
+          casillas.agrega(c);
+        }
+    }
+
+    /* Regresa el árbol de la sesión; lo usa AnimacionArbol para observarlo. */
+    ArbolBinarioOrdenado<Integer> getArbol() {
+        return arbol;
+    }
+
+    /*
+     * Método auxiliar paso.
+     * Que actualiza el camino al vértice recibido a mitad de una operación,
+     * después de un giro o un recoloreo.
+     */
+    Cambios paso(VerticeArbolBinario<Integer> vertice) {
+        return actualizaCamino(casilla(vertice));
+    }
+
+    /* Regresa la casilla del vértice, subiendo hasta la raíz. */
+    static long casilla(VerticeArbolBinario<Integer> v) {
+        long bits = 0;
+        int nivel = 0;
+        while (v.hayPadre()) {
+          VerticeArbolBinario<Integer> padre = v.padre();
+          if (padre.hayDerecho() && padre.derecho() == v) {
+            bits |= 1L << nivel;
+          }
+          if (++nivel > Disposicion.ALTURA_BINARIA) {
+            throw new IllegalStateException("El árbol es demasiado alto para graficarlo.");
+          }
+          v = padre;
+        }
+        return (1L << nivel) | bits;
+    }
+
+    /*
+     * Método auxiliar vertice.
+     * Que regresa el vértice de la casilla, bajando desde la raíz según los
+     * bits de la casilla. Los vértices fantasma que usa el árbol rojinegro
+     * al eliminar no se dibujan.
+     */
+    @Override protected Object vertice(long casilla) {
+        if (arbol.esVacia()) {
+          return null;
+        }
+        VerticeArbolBinario<Integer> v = arbol.raiz();
+        for (int b = nivel(casilla) - 1; b >= 0; b--) {
+          if ((casilla >> b & 1) == 0) {
+            if (!v.hayIzquierdo()) {
+              return null;
+            }
+            v = v.izquierdo();
+          } else {
+            if (!v.hayDerecho()) {
+              return null;
+            }
+            v = v.derecho();
+          }
+        }
+        return v.get() == null ? null : v;
+    }
+
+    /* Escribe el vértice con el estilo del árbol. */
+    @SuppressWarnings("unchecked")
+    @Override protected void escribeVertice(Object vertice, int x, int y,
+                                            Appendable salida) throws IOException {
+        estilo.escribe(arbol, (VerticeArbolBinario<Integer>)vertice, x, y, salida);
+    }
+}
@@ -0,0 +1,80 @@
+package mx.unam.ciencias.edd.proyecto2;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Clase TareaRangos.
+ * Tarea que reparte un rango de índices entre los hilos de un {@link
+ * ForkJoinPool}: lo parte a la mitad hasta que los tramos miden a lo más el
+ * umbral, y cada tramo se procesa en un solo hilo. Cada índice se procesa
+ * exactamente una vez, así que si el trabajo de un índice sólo escribe en
+ * sus propias casillas el resultado no depende del número de hilos.
+ * @author Armando Ramírez González.
+ * @version 1.0.0.
+ */
+@SuppressWarnings("serial")
+class TareaRangos extends RecursiveAction {
+
+    /** Interfaz para el trabajo de un tramo de índices. */
+    @FunctionalInterface
+    interface Tramo {
+        /**
+         * Procesa los índices de inicio (incluido) a fin (excluido).
+         * @param inicio el primer índice.
+         * @param fin el índice después del último.
+         */
+        void procesa(int inicio, int fin);
+    }
+
+    /* El trabajo de cada tramo. */
+    private Tramo tramo;
+    /* Los índices de la tarea. */
+    private int inicio, fin;
+    /* La longitud máxima de un tramo. */
+    private int umbral;
+
+    /* Crea la tarea de un rango. */
+    private TareaRangos(Tramo tramo, int inicio, int fin, int umbral) {
+        this.tramo = tramo;
+        this.inicio = inicio;
+        this.fin = fin;
+        this.umbral = umbral;
+    }
+
+    /* Procesa el rango, o lo parte en dos tareas. */
+    @Override protected void compute() {
+        if (fin - inicio <= umbral) {
+          tramo.procesa(inicio, fin);
+          return;
+        }
+        int mitad = (inicio + fin) >>> 1;
+        invokeAll(new TareaRangos(tramo, inicio, mitad, umbral),
+                  new TareaRangos(tramo, mitad, fin, umbral));
+    }
+
+    /*
+     * Método auxiliar ejecuta.
+     * Que procesa los índices de 0 a n con el trabajo recibido, en el
+     * ForkJoinPool recibido, o en el hilo actual si es null o si n no pasa
+     * del umbral.
+     */
+    static void ejecuta(ForkJoinPool hilos, int n, int umbral, Tramo tramo) {
+        if (hilos == null || n <= umbral) {
+          tramo.procesa(0, n);
+          return;
+        }
+        hilos.invoke(new TareaRangos(tramo, 0, n, Math.max(1, umbral)));
+    }
+
+    /*
+     * Método auxiliar hilos.
+     * Que crea un ForkJoinPool con los hilos recibidos para procesar n
+     * índices con el umbral recibido, o regresa null si es un solo hilo o si
+     * n no pasa del umbral, para no crear hilos que no se usarían. Quien lo
+     * crea debe terminarlo.
+     */
+    static ForkJoinPool hilos(int hilos, int n, int umbral) {
+        return hilos > 1 && n > umbral ? new ForkJoinPool(hilos) : null;
+    }
+}
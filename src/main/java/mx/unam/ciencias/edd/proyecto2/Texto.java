@@ -1,5 +1,7 @@
 package mx.unam.ciencias.edd.proyecto2;
 
+import java.io.IOException;
+
 /**
  * Clase Texto que modela una línea de texto en formato SVG.
  * @author Armando Ramírez González.
@@ -28,14 +30,15 @@ public class Texto extends Figura {
 
     /**
      * Método toSVG.
-     * @return String un texto en formato SVG.
+     * Que escribe el texto en formato SVG.
+     * @param salida donde se escribe el texto.
+     * @throws IOException si ocurre un error al escribir en la salida.
      */
-    public String toSVG() {
-        String texto = "<text x='" + posicion.abscisa
-                       + "' y='" + posicion.ordenada
-                       + "' font-family='sans-serif' font-size='18'"
-                       + " fill='" + relleno + "'>"
-                       + elemento + "</text>";
-        return texto;
+    @Override public void toSVG(Appendable salida) throws IOException {
+        salida.append("<text x='").append(String.valueOf(posicion.abscisa))
+              .append("' y='").append(String.valueOf(posicion.ordenada))
+              .append("' font-family='sans-serif' font-size='18'")
+              .append(" fill='").append(relleno).append("'>")
+              .append(elemento).append("</text>");
     }
 }
@@ -0,0 +1,205 @@
+package mx.unam.ciencias.edd.proyecto2;
+
+import mx.unam.ciencias.edd.*;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Clase Tokenizador.
+ * Que lee la descripción de una estructura directamente de bytes, sin
+ * construir cadenas por línea ni por elemento. Las líneas que comienzan
+ * con # son comentarios; el primer token es el nombre de la estructura y
+ * los demás deben ser enteros, con un signo + o - opcional como en
+ * {@link Integer#parseInt}, separados por espacios o saltos de línea.
+ * Los bytes pueden llegar en varios bloques: un token puede quedar partido
+ * entre dos bloques.
+ * @author Armando Ramírez González.
+ * @version 1.0.0.
+ */
+public class Tokenizador {
+
+    /* Tamaño máximo de cada ventana mapeada de un archivo. */
+    private static final long VENTANA = 1L << 30;
+    /* Tamaño del búfer para leer de un canal. */
+    private static final int BUFER = 1 << 16;
+
+    /* El nombre de la estructura, null mientras no se lea. */
+    private String estructura;
+    /* Los caracteres del nombre de la estructura mientras se lee. */
+    private StringBuilder nombre;
+    /* Los enteros leídos. */
+    private ListaEnteros enteros;
+
+    /* Si el siguiente byte es el primero de la línea (sin contar espacios). */
+    private boolean inicioLinea;
+    /* Si estamos dentro de un comentario. */
+    private boolean comentario;
+    /* Si estamos dentro de un token. */
+    private boolean enToken;
+    /* Si el entero actual es negativo. */
+    private boolean negativo;
+    /* Valor absoluto acumulado del entero actual. */
+    private long valor;
+    /* Número de dígitos del entero actual. */
+    private int digitos;
+
+    /**
+     * Constructor, que crea un tokenizador sin bytes leídos.
+     */
+    public Tokenizador() {
+        nombre = new StringBuilder();
+        enteros = new ListaEnteros();
+        inicioLinea = true;
+    }
+
+    /**
+     * Método procesa.
+     * Que consume todos los bytes restantes del búfer recibido.
+     * @param bufer el búfer con el siguiente bloque de la entrada.
+     * @throws NumberFormatException si un elemento no es un entero.
+     */
+    public void procesa(ByteBuffer bufer) {
+        while (bufer.hasRemaining()) {
+          procesa(bufer.get());
+        }
+    }
+
+    /*
+     * Método auxiliar procesa.
+     * Que recibe un byte de la entrada y actualiza el estado.
+     */
+    private void procesa(byte b) {
+        if (comentario) {
+          if (b == '\n') {
+            comentario = false;
+            inicioLinea = true;
+          }
+          return;
+        }
+        if (b == '\n' || b == '\r') {
+          terminaToken();
+          inicioLinea = true;
+          return;
+        }
+        if (b == ' ' || b == '\t') {
+          terminaToken();
+          return;
+        }
+        if (b == '#' && inicioLinea) {
+          comentario = true;
+          return;
+        }
+        inicioLinea = false;
+        if (estructura == null) {
+          enToken = true;
+          nombre.append((char)(b & 0xff));
+          return;
+        }
+        if (!enToken) {
+          enToken = true;
+          negativo = false;
+          valor = 0;
+          digitos = 0;
+          if (b == '-') {
+            negativo = true;
+            return;
+          }
+          if (b == '+') {
+            return;
+          }
+        }
+        if (b < '0' || b > '9') {
+          throw new NumberFormatException("Elemento no entero.");
+        }
+        valor = valor*10 + (b - '0');
+        digitos++;
+        if (valor > (long)Integer.MAX_VALUE + 1) {
+          throw new NumberFormatException("Entero fuera de rango.");
+        }
+    }
+
+    /*
+     * Método auxiliar terminaToken.
+     * Que cierra el token actual, si lo hay.
+     */
+    private void terminaToken() {
+        if (!enToken) {
+          return;
+        }
+        enToken = false;
+        if (estructura == null) {
+          estructura = nombre.toString();
+          nombre = null;
+          return;
+        }
+        long v = negativo ? -valor : valor;
+        if (digitos == 0 || v > Integer.MAX_VALUE) {
+          throw new NumberFormatException("Elemento no entero.");
+        }
+        enteros.agrega((int)v);
+    }
+
+    /**
+     * Método termina.
+     * Que cierra el último token; se llama al terminar la entrada.
+     * @throws NumberFormatException si el último elemento no es un entero.
+     */
+    public void termina() {
+        terminaToken();
+    }
+
+    /**
+     * Método getEstructura.
+     * @return el nombre de la estructura, o null si la entrada no tenía
+     *         ningún token.
+     */
+    public String getEstructura() {
+        return estructura;
+    }
+
+    /**
+     * Método getEnteros.
+     * @return los enteros leídos después del nombre de la estructura.
+     */
+    public ListaEnteros getEnteros() {
+        return enteros;
+    }
+
+    /**
+     * Método procesa.
+     * Que mapea a memoria el archivo del canal recibido, en ventanas de a lo
+     * más un gigabyte, y consume todos sus bytes sin copiarlos al heap.
+     * @param canal el canal del archivo a leer.
+     * @throws IOException si ocurre un error al mapear el archivo.
+     * @throws NumberFormatException si un elemento no es un entero.
+     */
+    public void procesa(FileChannel canal) throws IOException {
+        long tam = canal.size();
+        for (long inicio = 0; inicio < tam; inicio += VENTANA) {
+          long largo = Math.min(VENTANA, tam - inicio);
+          MappedByteBuffer ventana = canal.map(FileChannel.MapMode.READ_ONLY, inicio, largo);
+          procesa(ventana);
+        }
+        termina();
+    }
+
+    /**
+     * Método procesa.
+     * Que lee el canal recibido por bloques con un único búfer reutilizado.
+     * @param canal el canal a leer.
+     * @throws IOException si ocurre un error al leer.
+     * @throws NumberFormatException si un elemento no es un entero.
+     */
+    public void procesa(ReadableByteChannel canal) throws IOException {
+        ByteBuffer bufer = ByteBuffer.allocateDirect(BUFER);
+        while (canal.read(bufer) != -1) {
+          bufer.flip();
+          procesa(bufer);
+          bufer.clear();
+        }
+        termina();
+    }
+}
@@ -0,0 +1,133 @@
+package mx.unam.ciencias.edd.proyecto2;
+
+import mx.unam.ciencias.edd.*;
+import java.util.function.IntConsumer;
+
+/**
+ * Clase Traza.
+ * Que aplica operaciones a un árbol AVL o rojinegro y guarda en una bitácora
+ * cada operación y cada giro y recoloreo que hizo el árbol para
+ * rebalancearse. La bitácora es una lista de enteros con dos por evento: su
+ * tipo y su dato. El dato de las operaciones es el elemento; el de los
+ * giros y recoloreos es la casilla del vértice (la raíz es la casilla 1 y
+ * los hijos de la casilla <i>c</i> son 2<i>c</i> y 2<i>c</i>+1).
+ *
+ * <p>{@link AnimacionArbol} convierte la bitácora en un SVG animado.</p>
+ * @author Armando Ramírez González.
+ * @version 1.0.0.
+ */
+public class Traza {
+
+    /** Evento de agregar un elemento. */
+    public static final int AGREGA = 0;
+    /** Evento de eliminar un elemento. */
+    public static final int ELIMINA = 1;
+    /** Evento de girar a la izquierda sobre un vértice. */
+    public static final int GIRO_IZQUIERDA = 2;
+    /** Evento de girar a la derecha sobre un vértice. */
+    public static final int GIRO_DERECHA = 3;
+    /** Evento de pintar un vértice de rojo. */
+    public static final int ROJO = 4;
+    /** Evento de pintar un vértice de negro. */
+    public static final int NEGRO = 5;
+
+    /* La estructura del árbol. */
+    private Estructura estructura;
+    /* El árbol. */
+    private ArbolBinarioOrdenado<Integer> arbol;
+    /* La bitácora. */
+    private ListaEnteros eventos;
+
+    /**
+     * Constructor, que crea la traza de un árbol vacío.
+     * @param estructura {@link Estructura#ARBOLAVL} o {@link
+     *        Estructura#ARBOLROJINEGRO}.
+     * @throws IllegalArgumentException si la estructura no es uno de esos
+     *         árboles.
+     */
+    public Traza(Estructura estructura) {
+        this.estructura = estructura;
+        arbol = arbol(estructura);
+        eventos = new ListaEnteros();
+        arbol.setObservador(observador(arbol, eventos::agrega));
+    }
+
+    /**
+     * Método agrega.
+     * Que agrega un elemento al árbol y registra sus giros y recoloreos.
+     * @param elemento el elemento a agregar.
+     */
+    public void agrega(int elemento) {
+        evento(eventos::agrega, AGREGA, elemento);
+        arbol.agrega(elemento);
+    }
+
+    /**
+     * Método elimina.
+     * Que elimina un elemento del árbol, si está, y registra sus giros y
+     * recoloreos.
+     * @param elemento el elemento a eliminar.
+     */
+    public void elimina(int elemento) {
+        evento(eventos::agrega, ELIMINA, elemento);
+        arbol.elimina(elemento);
+    }
+
+    /**
+     * Método getEstructura.
+     * @return la estructura del árbol.
+     */
+    public Estructura getEstructura() {
+        return estructura;
+    }
+
+    /**
+     * Método getEventos.
+     * @return la bitácora, con dos enteros por evento.
+     */
+    public ListaEnteros getEventos() {
+        return eventos;
+    }
+
+    /*
+     * Método auxiliar arbol.
+     * Que regresa un árbol vacío de la estructura recibida.
+     */
+    static ArbolBinarioOrdenado<Integer> arbol(Estructura estructura) {
+        switch (estructura) {
+          case ARBOLAVL:
+            return new ArbolAVL<Integer>();
+          case ARBOLROJINEGRO:
+            return new ArbolRojinegro<Integer>();
+          default:
+            throw new IllegalArgumentException("Sólo se trazan árboles AVL y rojinegros.");
+        }
+    }
+
+    /*
+     * Método auxiliar observador.
+     * Que regresa un observador que pasa a la bitácora, entero por entero,
+     * los giros y recoloreos del árbol.
+     */
+    static ObservadorArbol<Integer> observador(ArbolBinarioOrdenado<Integer> arbol,
+                                               IntConsumer eventos) {
+        return new ObservadorArbol<Integer>() {
+            @Override public void giro(VerticeArbolBinario<Integer> vertice, boolean derecha) {
+                evento(eventos, derecha ? GIRO_DERECHA : GIRO_IZQUIERDA,
+                       SesionOrdenada.casilla(vertice));
+            }
+
+            @Override public void recoloreo(VerticeArbolBinario<Integer> vertice) {
+                Color c = ((ArbolRojinegro<Integer>)arbol).getColor(vertice);
+                evento(eventos, c == Color.ROJO ? ROJO : NEGRO,
+                       SesionOrdenada.casilla(vertice));
+            }
+        };
+    }
+
+    /* Agrega un evento a la bitácora. */
+    private static void evento(IntConsumer eventos, int tipo, long dato) {
+        eventos.accept(tipo);
+        eventos.accept((int)dato);
+    }
+}
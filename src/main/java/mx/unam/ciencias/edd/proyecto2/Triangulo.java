@@ -1,5 +1,7 @@
 package mx.unam.ciencias.edd.proyecto2;
 
+import java.io.IOException;
+
 /**
  * Clase Triangulo.
  * Que modela un triángulo en formato SVG.
@@ -32,7 +34,8 @@ public class Triangulo extends Figura {
 
     /**
      * Método toSVG.
-     * @return String que regresa el triángulo en formato SVG.
+     * Que escribe el triángulo en formato SVG.
+     * @param salida donde se escribe el triángulo.
      * stroke indica el color de la línea exterior que delimita la
      *        figura.
      * stroke-width indica el grosor de la línea exterior que delimita
@@ -42,13 +45,16 @@ public class Triangulo extends Figura {
      * x1,y1 indican el primer punto del triángulo.
      * x2,y2 indican el segundo punto del triángulo.
      * x3,y3 indican el tercer punto del triángulo.
+     * @throws IOException si ocurre un error al escribir en la salida.
      */
-    public String toSVG(){
-      String triangulo = "<polygon points='"
-                          + punto1.abscisa + ", " + punto1.ordenada + " "
-                          + punto2.abscisa + ", " + punto2.ordenada + " "
-                          + punto3.abscisa + ", " + punto3.ordenada
-                          + "' fill='black' stroke-width='3' stroke='black' />";
-      return triangulo;
+    @Override public void toSVG(Appendable salida) throws IOException {
+      salida.append("<polygon points='")
+            .append(String.valueOf(punto1.abscisa)).append(", ")
+            .append(String.valueOf(punto1.ordenada)).append(" ")
+            .append(String.valueOf(punto2.abscisa)).append(", ")
+            .append(String.valueOf(punto2.ordenada)).append(" ")
+            .append(String.valueOf(punto3.abscisa)).append(", ")
+            .append(String.valueOf(punto3.ordenada))
+            .append("' fill='black' stroke-width='3' stroke='black' />");
     }
 }